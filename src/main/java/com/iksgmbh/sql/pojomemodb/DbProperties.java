@@ -31,6 +31,8 @@ public class DbProperties {
 	public static Boolean REPLACE_EMPTY_STRING_BY_NULL = true;
 	public static Boolean USE_ORACLE_DUAL_TABLE = true;
 	public static Boolean SUPPORT_MYSQL = true;
+	public static Integer PARSED_STATEMENT_CACHE_SIZE = 1000;  // 0 disables the cache
+	public static Boolean PARAMETERIZE_LITERALS = false;  // lets statements differing only in literals share a parse result
 
     /**
      * Loads properties from file and overwrites default if properties are found in file.
@@ -74,6 +76,18 @@ public class DbProperties {
                     counter++;
                 }
 
+                value = properties.getProperty("PARSED_STATEMENT_CACHE_SIZE");
+                if ( value != null) {
+                    PARSED_STATEMENT_CACHE_SIZE = Integer.valueOf(value.trim());
+                    counter++;
+                }
+
+                value = properties.getProperty("PARAMETERIZE_LITERALS");
+                if ( value != null) {
+                    PARAMETERIZE_LITERALS = value.equalsIgnoreCase("true");
+                    counter++;
+                }
+
                 fileReader.close();
                 return counter;
             }
@@ -20,8 +20,13 @@ public class SQLKeyWords {
 	// SQL commands
 	public static final String CREATE_TABLE_COMMAND = "create table";
 	public static final String CREATE_SEQUENCE_COMMAND = "create sequence";
+	public static final String CREATE_INDEX_COMMAND = "create index";
+	public static final String CREATE_BITMAP_INDEX_COMMAND = "create bitmap index";
 	public static final String DELETE_COMMAND = "delete";
+	public static final String EXPLAIN_COMMAND = "explain";
+	public static final String EXPLAIN_ANALYZE = "analyze";
 	public static final String INSERT_INTO_COMMAND = "insert into";
+	public static final String LOAD_DATA_COMMAND = "load data";
 	public static final String SELECT_COMMAND = "select";
 	public static final String UPDATE_COMMAND = "update";
 
@@ -43,12 +48,23 @@ public class SQLKeyWords {
 	// InsertIntoParser
 	public static final String VALUES = "values";
 
+	// LoadDataParser
+	public static final String LOCAL = "local";
+	public static final String INFILE = "infile";
+	public static final String INTO_TABLE = "into table";
+	public static final String FIELDS_TERMINATED_BY = "fields terminated by";
+	public static final String IGNORE = "ignore";
+	public static final String LINES = "lines";
+	public static final String ROWS = "rows";
+
 	// UpdateParser
 	public static final String SET = "set";
 
 	// where clauses
 	public static final String WHERE = "where";
 	public static final String AND = "and";
+	public static final String OR = "or";
+	public static final String NOT = "not";
 
     // ANSI JOIN Statements
 	public static final String ON = "on";
@@ -79,6 +95,11 @@ public class SQLKeyWords {
     public static final String COMPARATOR_NOT_NULL = "IS NOT NULL";
 
 	public static final String COMPARATOR_IS_NULL = "IS NULL";
+    public static final String COMPARATOR_IN = "IN";
+    public static final String COMPARATOR_NOT_IN = "NOT IN";
+    public static final String COMPARATOR_LIKE = "LIKE";
+    public static final String COMPARATOR_NOT_LIKE = "NOT LIKE";
+    public static final String COMPARATOR_EXISTS = "EXISTS";
     // order by
 	public static final String ORDER_BY = "ORDER BY";
     public static final String ASC = "ASC";
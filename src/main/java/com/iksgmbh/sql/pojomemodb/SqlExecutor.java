@@ -15,11 +15,18 @@
  */
 package com.iksgmbh.sql.pojomemodb;
 
+import java.io.File;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.BatchUpdateException;
 import java.sql.SQLDataException;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.data.TableData;
 import com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.metadata.TableMetaData;
@@ -29,16 +36,27 @@ import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Table;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.ApartValue;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.ColumnInitData;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.JoinTable;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.JoinTable.JoinStep;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.OrderCondition;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.RowOperator;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.SelectionTable;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.Subquery;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.WhereCondition;
+import com.iksgmbh.sql.pojomemodb.sqlparser.CreateIndexParser;
 import com.iksgmbh.sql.pojomemodb.sqlparser.CreateSequenceParser;
 import com.iksgmbh.sql.pojomemodb.sqlparser.CreateTableParser;
 import com.iksgmbh.sql.pojomemodb.sqlparser.DeleteTableParser;
 import com.iksgmbh.sql.pojomemodb.sqlparser.InsertIntoParser;
+import com.iksgmbh.sql.pojomemodb.sqlparser.LoadDataParser;
+import com.iksgmbh.sql.pojomemodb.sqlparser.ParsedStatementCache;
 import com.iksgmbh.sql.pojomemodb.sqlparser.SelectParser;
 import com.iksgmbh.sql.pojomemodb.sqlparser.UpdateTableParser;
+import com.iksgmbh.sql.pojomemodb.sqlparser.helper.LiteralParameterizer;
+import com.iksgmbh.sql.pojomemodb.sqlparser.helper.LiteralParameterizer.ParameterizedSql;
+import com.iksgmbh.sql.pojomemodb.sqlparser.helper.SqlTokenizer;
+import com.iksgmbh.sql.pojomemodb.utils.CsvImporter;
 import com.iksgmbh.sql.pojomemodb.utils.StringParseUtil;
+import com.iksgmbh.sql.pojomemodb.utils.WriteAheadLog;
 
 public class SqlExecutor 
 {
@@ -51,6 +69,10 @@ public class SqlExecutor
 	private UpdateTableParser updateParser;
 	private DeleteTableParser deleteParser;
 	private CreateSequenceParser createSequenceParser;
+	private CreateIndexParser createIndexParser;
+	private LoadDataParser loadDataParser;
+	
+	private volatile WriteAheadLog writeAheadLog;  // null if changes are not logged
 	
 	public SqlExecutor(final SqlPojoMemoDB sqlPojoMemoryDB) 
 	{
@@ -61,37 +83,458 @@ public class SqlExecutor
 		updateParser = new UpdateTableParser(sqlPojoMemoryDB);
 		deleteParser = new DeleteTableParser(sqlPojoMemoryDB);
 		createSequenceParser = new CreateSequenceParser(sqlPojoMemoryDB);
+		createIndexParser = new CreateIndexParser(sqlPojoMemoryDB);
+		loadDataParser = new LoadDataParser(sqlPojoMemoryDB);
+	}
+	
+	/**
+	 * @param writeAheadLog to record all successful changes into or null to stop recording them
+	 */
+	public void setWriteAheadLog(final WriteAheadLog writeAheadLog) {
+		this.writeAheadLog = writeAheadLog;
+	}
+	
+	public WriteAheadLog getWriteAheadLog() {
+		return writeAheadLog;
+	}
+	
+	/**
+	 * Changes are applied and appended to the write-ahead log under its change lock,
+	 * so that the log records them in the order in which they have been applied.
+	 * @return the write-ahead log locked for changes or null if changes are not logged
+	 */
+	public WriteAheadLog lockWriteAheadLog() 
+	{
+		while (true) 
+		{
+			final WriteAheadLog log = writeAheadLog;
+			if (log == null) {
+				return null;
+			}
+			log.lockChanges();
+			if (log == writeAheadLog) {
+				return log;
+			}
+			log.unlockChanges();  // replaced meanwhile
+		}
 	}
 	
 	public Object executeSqlStatement(final String sql) throws SQLException 
 	{
-		if (sql.toLowerCase().startsWith(SQLKeyWords.CREATE_TABLE_COMMAND))  {
+		final WriteAheadLog log = isLoggedStatement(sql) ? lockWriteAheadLog() : null;
+		if (log == null) {
+			return executeStatement(sql);
+		}
+		
+		final Object toReturn;
+		final long recordNumber;
+		try {
+			toReturn = executeStatement(sql);
+			recordNumber = log.logStatement(sql);
+		} catch (IOException e) {
+			throw new SQLException("Statement has been executed, but not written into the write-ahead log: " + e.getMessage(), e);
+		} finally {
+			log.unlockChanges();
+		}
+		
+		commit(log, recordNumber, "Statement has been executed");
+		return toReturn;
+	}
+	
+	private void commit(final WriteAheadLog log, 
+			            final long recordNumber, 
+			            final String change) throws SQLException 
+	{
+		try {
+			log.commit(recordNumber);
+		} catch (IOException e) {
+			throw new SQLException(change + ", but not written into the write-ahead log: " + e.getMessage(), e);
+		}
+	}
+	
+	/**
+	 * Statements that change the database, except LOAD DATA statements, whose rows are logged instead of the file name.
+	 */
+	private boolean isLoggedStatement(final String sql) 
+	{
+		if (startsWithCommand(sql, SQLKeyWords.SELECT_COMMAND))  {
+			return sql.toLowerCase().contains("." + SQLKeyWords.NEXTVAL);  // sequence values have been consumed
+		}
+		
+		return ! startsWithCommand(sql, SQLKeyWords.EXPLAIN_COMMAND)
+			   && ! startsWithCommand(sql, SQLKeyWords.LOAD_DATA_COMMAND);
+	}
+	
+	private Object executeStatement(final String sql) throws SQLException 
+	{
+		if (startsWithCommand(sql, SQLKeyWords.CREATE_TABLE_COMMAND))  {
 			return executeCreateTableStatement(sql);
 		}
 		
-		if (sql.toLowerCase().startsWith(SQLKeyWords.INSERT_INTO_COMMAND))  {
-			return executeInsertStatement(sql);
+		if (startsWithCommand(sql, SQLKeyWords.EXPLAIN_COMMAND))  {
+			return executeExplainStatement(sql);
+		}
+		
+		if (DbProperties.PARAMETERIZE_LITERALS) 
+		{
+			final Object result = executeWithParameterizedLiterals(sql);
+			if (result != null) {
+				return result;
+			}
+		}
+		
+		if (startsWithCommand(sql, SQLKeyWords.INSERT_INTO_COMMAND))  {
+			return executeInsertStatement(parseInsertStatement(sql), null);
 		}
 		
-		if (sql.toLowerCase().startsWith(SQLKeyWords.SELECT_COMMAND))  {
-			return executeSelectStatement(sql);
+		if (startsWithCommand(sql, SQLKeyWords.SELECT_COMMAND))  {
+			return executeSelectStatement(parseSelectStatement(sql), null);
 		}
 		
-		if (sql.toLowerCase().startsWith(SQLKeyWords.UPDATE_COMMAND))  {
-			return executeUpdateStatement(sql);
+		if (startsWithCommand(sql, SQLKeyWords.UPDATE_COMMAND))  {
+			return executeUpdateStatement(parseUpdateStatement(sql), null);
 		}
 		
-		if (sql.toLowerCase().startsWith(SQLKeyWords.DELETE_COMMAND))  {
-			return executeDeleteStatement(sql);
+		if (startsWithCommand(sql, SQLKeyWords.DELETE_COMMAND))  {
+			return executeDeleteStatement(parseDeleteStatement(sql), null);
 		}
 		
-		if (sql.toLowerCase().startsWith(SQLKeyWords.CREATE_SEQUENCE_COMMAND))  {
+		if (startsWithCommand(sql, SQLKeyWords.CREATE_SEQUENCE_COMMAND))  {
 			return executeCreateSequenceStatement(sql);
 		}
 		
+		if (startsWithCommand(sql, SQLKeyWords.CREATE_INDEX_COMMAND)
+			|| startsWithCommand(sql, SQLKeyWords.CREATE_BITMAP_INDEX_COMMAND))  {
+			return executeCreateIndexStatement(sql);
+		}
+		
+		if (startsWithCommand(sql, SQLKeyWords.LOAD_DATA_COMMAND))  {
+			return executeLoadDataStatement(sql);
+		}
+		
 		throw new SQLException("Unknown command in SQL statement: '" + sql + "'");
 	}
 	
+	/**
+	 * Parses a statement with parameter markers (?) once, so that it can be executed 
+	 * repeatedly with different parameter values without parsing it again.
+	 * @param sql
+	 * @return parse result or null if the statement cannot be executed with bound parameter values,
+	 *         e.g. because it is no DML statement, contains a subquery or a parameter within an expression
+	 */
+	public Object prepareStatement(final String sql) 
+	{
+		try {
+			return prepareStatement(sql, new SqlTokenizer(sql).getNumberOfParameters());
+		} catch (SQLException e) {
+			return null;  // the statement is executed as before to report the problem
+		}
+	}
+
+	private Object prepareStatement(final String sql, 
+			                        final int numberOfParameters) 
+	{
+		try {
+			final Object toReturn = parseDmlStatement(sql);
+			return isPreparable(toReturn, numberOfParameters) ? toReturn : null;
+		} catch (SQLException e) {
+			return null;  // the statement is executed as before to report the problem
+		}
+	}
+
+	private boolean isPreparable(final Object parsedStatement, 
+			                     final int numberOfParameters) 
+	{
+		if (parsedStatement == null || parsedStatement instanceof ParsedSelectData && ((ParsedSelectData) parsedStatement).mysqlNextIdTable != null) {
+			return false;
+		}
+		
+		return countBindableParameters(parsedStatement) == numberOfParameters;  // otherwise some parameter markers are not bindable 
+	}
+
+	/**
+	 * Replaces the literals of a DML statement by parameters, so that the parse result 
+	 * is cached for all statements that differ only in their literal values.
+	 * A parameterized statement whose parameters cannot all be bound is neither cached 
+	 * nor parsed again, statements of its form are executed with their literals.
+	 * @return result of the statement or null if it has not been executed, 
+	 *         because its literals cannot be bound as parameter values
+	 */
+	private Object executeWithParameterizedLiterals(final String sql) throws SQLException 
+	{
+		if ( ! startsWithCommand(sql, SQLKeyWords.INSERT_INTO_COMMAND) 
+			 && ! startsWithCommand(sql, SQLKeyWords.SELECT_COMMAND)
+			 && ! startsWithCommand(sql, SQLKeyWords.UPDATE_COMMAND)
+			 && ! startsWithCommand(sql, SQLKeyWords.DELETE_COMMAND) ) {
+			return null;
+		}
+		
+		final ParameterizedSql parameterizedSql;
+		try {
+			parameterizedSql = LiteralParameterizer.doYourJob(sql);
+		} catch (SQLException e) {
+			return null;  // the statement is executed as it is to report the problem
+		}
+		
+		if (parameterizedSql == null) {
+			return null;
+		}
+		
+		final ParsedStatementCache cache = memoryDb.getParsedStatementCache();
+		final String normalizedSql = ParsedStatementCache.normalize(parameterizedSql.sql);
+		if (cache.isNonParameterizable(normalizedSql)) {
+			return null;
+		}
+		
+		Object preparedStatement = cache.get(normalizedSql);
+		if (preparedStatement == null) 
+		{
+			try {
+				preparedStatement = parseDmlStatementWithoutCache(normalizedSql);
+			} catch (SQLException e) {
+				return null;  // the statement is executed as it is to report the problem
+			}
+			
+			if ( ! isPreparable(preparedStatement, parameterizedSql.parameterValues.length) ) {
+				cache.putNonParameterizable(normalizedSql);
+				return null;
+			}
+			cache.put(normalizedSql, preparedStatement);
+		}
+		
+		return executePrepared(preparedStatement, parameterizedSql.parameterValues);
+	}
+
+	/**
+	 * @return parse result or null if the statement contains a subquery
+	 */
+	private Object parseDmlStatementWithoutCache(final String normalizedSql) throws SQLException 
+	{
+		if (startsWithCommand(normalizedSql, SQLKeyWords.INSERT_INTO_COMMAND))  {
+			final ParsedInsertData toReturn = insertIntoParser.parseInsertStatement(normalizedSql);
+			toReturn.sql = normalizedSql;
+			return toReturn;
+		}
+		
+		if (startsWithCommand(normalizedSql, SQLKeyWords.SELECT_COMMAND))  {
+			final ParsedSelectData toReturn = selectParser.parseSelectSql(normalizedSql);
+			toReturn.sql = normalizedSql;
+			return toReturn.whereConditions != null && containsSubquery(toReturn.whereConditions) ? null : toReturn;
+		}
+		
+		if (startsWithCommand(normalizedSql, SQLKeyWords.UPDATE_COMMAND))  {
+			final ParsedUpdateData toReturn = updateParser.parseUpdateStatement(normalizedSql);
+			toReturn.sql = normalizedSql;
+			return containsSubquery(toReturn.whereConditions) ? null : toReturn;
+		}
+		
+		if (startsWithCommand(normalizedSql, SQLKeyWords.DELETE_COMMAND))  {
+			final ParsedDeleteData toReturn = deleteParser.parseDeleteStatement(normalizedSql);
+			toReturn.sql = normalizedSql;
+			return containsSubquery(toReturn.whereConditions) ? null : toReturn;
+		}
+		
+		return null;
+	}
+
+	private Object parseDmlStatement(final String sql) throws SQLException 
+	{
+		if (startsWithCommand(sql, SQLKeyWords.INSERT_INTO_COMMAND))  {
+			return parseInsertStatement(sql);
+		}
+		
+		if (startsWithCommand(sql, SQLKeyWords.SELECT_COMMAND))  {
+			final ParsedSelectData toReturn = parseSelectStatement(sql);
+			return toReturn.whereConditions != null && containsSubquery(toReturn.whereConditions) ? null : toReturn;
+		}
+		
+		if (startsWithCommand(sql, SQLKeyWords.UPDATE_COMMAND))  {
+			final ParsedUpdateData toReturn = parseUpdateStatement(sql);
+			return containsSubquery(toReturn.whereConditions) ? null : toReturn;
+		}
+		
+		if (startsWithCommand(sql, SQLKeyWords.DELETE_COMMAND))  {
+			final ParsedDeleteData toReturn = parseDeleteStatement(sql);
+			return containsSubquery(toReturn.whereConditions) ? null : toReturn;
+		}
+		
+		return null;
+	}
+
+	/**
+	 * Executes a statement prepared by prepareStatement.
+	 * @param preparedStatement parse result of the statement
+	 * @param parameterValues typed values of the parameters in the order of their markers 
+	 * @return result of the statement
+	 * @throws SQLException
+	 */
+	public Object executePreparedStatement(final Object preparedStatement, 
+			                               final Object[] parameterValues) throws SQLException 
+	{
+		final String sql = getSql(preparedStatement);
+		final WriteAheadLog log = sql != null && isLoggedStatement(sql) ? lockWriteAheadLog() : null;
+		if (log == null) {
+			return executePrepared(preparedStatement, parameterValues);
+		}
+		
+		final Object toReturn;
+		final long recordNumber;
+		try {
+			toReturn = executePrepared(preparedStatement, parameterValues);
+			recordNumber = log.logPreparedStatement(sql, parameterValues);
+		} catch (IOException e) {
+			throw new SQLException("Statement has been executed, but not written into the write-ahead log: " + e.getMessage(), e);
+		} finally {
+			log.unlockChanges();
+		}
+		
+		commit(log, recordNumber, "Statement has been executed");
+		return toReturn;
+	}
+
+	private Object executePrepared(final Object preparedStatement, 
+			                       final Object[] parameterValues) throws SQLException 
+	{
+		if (preparedStatement instanceof ParsedInsertData)  {
+			return executeInsertStatement((ParsedInsertData) preparedStatement, parameterValues);
+		}
+		
+		if (preparedStatement instanceof ParsedSelectData)  {
+			return executeSelectStatement((ParsedSelectData) preparedStatement, parameterValues);
+		}
+		
+		if (preparedStatement instanceof ParsedUpdateData)  {
+			return executeUpdateStatement((ParsedUpdateData) preparedStatement, parameterValues);
+		}
+		
+		if (preparedStatement instanceof ParsedDeleteData)  {
+			return executeDeleteStatement((ParsedDeleteData) preparedStatement, parameterValues);
+		}
+		
+		throw new SQLException("Unknown prepared statement: " + preparedStatement);
+	}
+
+	/**
+	 * Executes a prepared statement once for each set of parameter values.
+	 * The rows of an insert statement are appended to the table in one pass, i.e. their constraints 
+	 * are validated and the indexes are updated once for the whole batch. 
+	 * If one of these rows is invalid, none is inserted.
+	 * Other statements are executed set by set, so the sets in front of a failing one remain applied.
+	 * @param preparedStatement parse result of the statement
+	 * @param parameterValueSets typed values of the parameters for each execution 
+	 * @return number of rows affected by each execution
+	 * @throws BatchUpdateException with the update counts of the sets applied before the failing one
+	 * @throws SQLException
+	 */
+	public int[] executePreparedBatch(final Object preparedStatement, 
+			                          final List<Object[]> parameterValueSets) throws SQLException 
+	{
+		if (preparedStatement instanceof ParsedSelectData)  {
+			throw new SQLException("Select statements cannot be executed as batch.");
+		}
+		
+		final WriteAheadLog log = lockWriteAheadLog();
+		if (log == null) {
+			return executeBatch(preparedStatement, parameterValueSets);
+		}
+		
+		final int[] toReturn;
+		final long recordNumber;
+		BatchUpdateException batchUpdateException = null;
+		try {
+			int[] updateCounts;
+			try {
+				updateCounts = executeBatch(preparedStatement, parameterValueSets);
+			} catch (BatchUpdateException e) {
+				batchUpdateException = e;
+				updateCounts = e.getUpdateCounts();  // of the sets applied before the failing one
+			}
+			recordNumber = updateCounts.length == 0 ? 0 
+					       : log.logPreparedBatch(getSql(preparedStatement), parameterValueSets.subList(0, updateCounts.length));
+			toReturn = updateCounts;
+		} catch (IOException e) {
+			throw new SQLException("Batch has been executed, but not written into the write-ahead log: " + e.getMessage(), e);
+		} finally {
+			log.unlockChanges();
+		}
+		
+		commit(log, recordNumber, "Batch has been executed");
+		if (batchUpdateException != null) {
+			throw batchUpdateException;
+		}
+		return toReturn;
+	}
+	
+	private int[] executeBatch(final Object preparedStatement, 
+			                   final List<Object[]> parameterValueSets) throws SQLException 
+	{
+		final int[] toReturn;
+		if (preparedStatement instanceof ParsedInsertData && ((ParsedInsertData) preparedStatement).selectSql == null)  {
+			toReturn = executeInsertBatch((ParsedInsertData) preparedStatement, parameterValueSets);
+		} 
+		else 
+		{
+			toReturn = new int[parameterValueSets.size()];
+			for (int i = 0; i < toReturn.length; i++) 
+			{
+				final Object result;
+				try {
+					result = executePrepared(preparedStatement, parameterValueSets.get(i));
+				} catch (SQLException e) {
+					final int[] updateCounts = new int[i];
+					System.arraycopy(toReturn, 0, updateCounts, 0, i);
+					throw new BatchUpdateException(e.getMessage(), updateCounts, e);
+				}
+				toReturn[i] = result instanceof Integer ? ((Integer) result).intValue() : Statement.SUCCESS_NO_INFO;
+			}
+		}
+		
+		return toReturn;
+	}
+	
+	private String getSql(final Object preparedStatement) 
+	{
+		if (preparedStatement instanceof ParsedInsertData)  {
+			return ((ParsedInsertData) preparedStatement).sql;
+		}
+		if (preparedStatement instanceof ParsedSelectData)  {
+			return ((ParsedSelectData) preparedStatement).sql;
+		}
+		if (preparedStatement instanceof ParsedUpdateData)  {
+			return ((ParsedUpdateData) preparedStatement).sql;
+		}
+		if (preparedStatement instanceof ParsedDeleteData)  {
+			return ((ParsedDeleteData) preparedStatement).sql;
+		}
+		return null;
+	}
+
+	private int[] executeInsertBatch(final ParsedInsertData parsedInsertData, 
+			                         final List<Object[]> parameterValueSets) throws SQLException 
+	{
+		final ResolvedPlan plan = resolveSingleTablePlan(parsedInsertData.resolvedPlan, parsedInsertData.tableName);
+		parsedInsertData.resolvedPlan = plan;
+		
+		final int[] toReturn = new int[parameterValueSets.size()];
+		final List<List<ApartValue>> valueRows = new ArrayList<List<ApartValue>>();
+		
+		for (int i = 0; i < toReturn.length; i++) 
+		{
+			for (List<String> dataValues : parsedInsertData.dataValueRows) {
+				valueRows.add(buildApartValueList(parsedInsertData.columnNames, dataValues, parameterValueSets.get(i)));
+			}
+			toReturn[i] = parsedInsertData.dataValueRows.size();
+		}
+		
+		plan.tableData.insertDataRows(valueRows);
+		return toReturn;
+	}
+
+	private boolean startsWithCommand(final String sql, 
+			                          final String command) 
+	{
+		return sql.regionMatches(true, 0, command, 0, command.length());
+	}
 
 	private String executeCreateTableStatement(final String sql) throws SQLException 
 	{
@@ -100,18 +543,73 @@ public class SqlExecutor
 		return "Table " + tableMetaData.getTableName() +  " has been created.";
 	}
 	
-	private String executeInsertStatement(final String sql) throws SQLException 
+	private String executeInsertStatement(final ParsedInsertData parsedInsertData, 
+			                              final Object[] parameterValues) throws SQLException 
 	{
-		final ParsedInsertData parsedInsertData = insertIntoParser.parseInsertStatement(sql);
-		final List<ApartValue> values = buildApartValueList(parsedInsertData.columnNames, 
-				                                            parsedInsertData.dataValues);
-		memoryDb.getTableStoreData().getTableData(parsedInsertData.tableName).insertDataRow(values);
+		final ResolvedPlan plan = resolveSingleTablePlan(parsedInsertData.resolvedPlan, parsedInsertData.tableName);
+		parsedInsertData.resolvedPlan = plan;
+		
+		if (parsedInsertData.selectSql != null) {
+			return executeInsertSelectStatement(parsedInsertData, plan.tableData);
+		}
 		
-		return "Data row has been inserted into " + parsedInsertData.tableName +  ".";
+		if (parsedInsertData.dataValueRows.size() == 1)
+		{
+			final List<ApartValue> values = buildApartValueList(parsedInsertData.columnNames, 
+					                                            parsedInsertData.dataValues,
+					                                            parameterValues);
+			plan.tableData.insertDataRow(values);
+			return "Data row has been inserted into " + parsedInsertData.tableName +  ".";
+		}
+		
+		final List<List<ApartValue>> valueRows = new ArrayList<List<ApartValue>>();
+		for (List<String> dataValues : parsedInsertData.dataValueRows) {
+			valueRows.add(buildApartValueList(parsedInsertData.columnNames, dataValues, parameterValues));
+		}
+		plan.tableData.insertDataRows(valueRows);
+		
+		return valueRows.size() + " data rows have been inserted into " + parsedInsertData.tableName +  ".";
+	}
+
+	/**
+	 * Selects all rows before inserting them, so that a table can be filled by rows selected from itself.
+	 * The selected values are bound like parameter values, i.e. they are converted without formatting them.
+	 */
+	private String executeInsertSelectStatement(final ParsedInsertData parsedInsertData, 
+			                                    final TableData tableData) throws SQLException 
+	{
+		final List<String> columnNames = parsedInsertData.columnNames != null ? parsedInsertData.columnNames 
+				                                                              : tableData.getNamesOfColumns();
+		final List<Object[]> selectedRows = executeSelectStatement(parseSelectStatement(parsedInsertData.selectSql), null).fetchAllRows();
+		
+		final List<String> parameterMarkers = new ArrayList<String>();
+		for (int i = 1; i <= columnNames.size(); i++) {
+			parameterMarkers.add(StringParseUtil.createParameterMarker(i));
+		}
+		
+		final List<List<ApartValue>> valueRows = new ArrayList<List<ApartValue>>();
+		for (Object[] selectedRow : selectedRows) 
+		{
+			if (selectedRow.length != columnNames.size()) {
+				throw new SQLDataException("Unequal number of column names (" + columnNames.size() + ") and selected values ("
+						                   + selectedRow.length + ").");
+			}
+			valueRows.add(buildApartValueList(columnNames, parameterMarkers, selectedRow));
+		}
+		tableData.insertDataRows(valueRows);
+		
+		return valueRows.size() + " data rows have been inserted into " + parsedInsertData.tableName +  ".";
 	}
 
 	List<ApartValue> buildApartValueList(final List<String> columnNames, 
 			                             final List<String> dataValues) throws SQLDataException
+	{
+		return buildApartValueList(columnNames, dataValues, null);
+	}
+
+	private List<ApartValue> buildApartValueList(final List<String> columnNames, 
+			                                     final List<String> dataValues,
+			                                     final Object[] parameterValues) throws SQLDataException
 	{
 		if (columnNames.size() != dataValues.size()) {
 			System.err.println("###############################################");
@@ -149,43 +647,223 @@ public class SqlExecutor
 		final List<ApartValue> toReturn = new ArrayList<ApartValue>();
 
 		for (int i = 0; i < dataValues.size(); i++) {
-			toReturn.add(new ApartValue(dataValues.get(i), columnNames.get(i)));
+			toReturn.add(new ApartValue(dataValues.get(i), columnNames.get(i), parameterValues));
 		}
 
 		return toReturn;
 	}
 
-	private SelectionTable executeSelectStatement(final String sql) throws SQLException 
+	private SelectionTable executeSelectStatement(final ParsedSelectData parseResult, 
+			                                      final Object[] parameterValues) throws SQLException 
 	{
-		final ParsedSelectData parseResult = selectParser.parseSelectSql(sql);
-		
 		if (parseResult.mysqlNextIdTable != null) {
 			return buildSelectionTableForMysqlNextId(parseResult.mysqlNextIdTable);
 		}
 		
-        final TableData tableData;
-        final List<Object[]> selectedData;
-        final List<String> selectedColumns = parseResult.selectedColumns;
+		executeSubqueries(parseResult.whereConditions);
+		final List<WhereCondition> boundWhereConditions = WhereCondition.bindParameters(parseResult.whereConditions, parameterValues);
+		return createSelectionTable(parseResult, boundWhereConditions, resolveSelectedTable(parseResult));
+	}
 
+	/**
+	 * @return the table to select from, for several tables the join table built from them
+	 */
+	private TableData resolveSelectedTable(final ParsedSelectData parseResult) throws SQLException 
+	{
         if (parseResult.tableNames.size() == 1)
 		{
 			// simple select for a single table
-			tableData = memoryDb.getTableStoreData().getTableData(parseResult.tableNames.get(0));
-            selectedData = tableData.select(selectedColumns, parseResult.whereConditions, parseResult.orderConditions);
+			final ResolvedPlan plan = resolveSingleTablePlan(parseResult.resolvedPlan, parseResult.tableNames.get(0));
+			parseResult.resolvedPlan = plan;
+			return plan.tableData;
 		}
-        else // build join table and select on it
+        
+        return buildJoinTable(parseResult);
+	}
+
+	private SelectionTable createSelectionTable(final ParsedSelectData parseResult, 
+			                                    final List<WhereCondition> boundWhereConditions,
+			                                    final TableData tableData) throws SQLException 
+	{
+        final RowOperator selectPipeline;
+        final List<String> selectedColumns = copy(parseResult.selectedColumns);  // the parse result may be cached
+
+        if (parseResult.tableNames.size() == 1)
+		{
+            selectPipeline = tableData.createSelectPipeline(selectedColumns, boundWhereConditions, parseResult.orderConditions);
+		}
+        else // select on the join table
         {
-            tableData = buildJoinTable(parseResult);
-            final List<WhereCondition> whereConditions = getOnlyNonJoinConditions(parseResult.whereConditions);
+            final List<WhereCondition> whereConditions = getOnlyNonJoinConditions(boundWhereConditions);
             resolveColmnNamesIfNeeded(selectedColumns); 
-            selectedData = tableData.select(selectedColumns, whereConditions, parseResult.orderConditions);
+            selectPipeline = tableData.createSelectPipeline(selectedColumns, whereConditions, parseResult.orderConditions);
         }
 
         final SelectionTable toReturn = new SelectionTable((Table)tableData, selectedColumns);
-        toReturn.setDataRows(selectedData);
+        toReturn.setRowSource(selectPipeline);  // rows are pulled when read
         return toReturn;
 	}
 
+	/**
+	 * Shows the operators of the select pipeline as a tree, i.e. each row refers to the row of 
+	 * the operator that pulls its rows (PARENT_ID). EXPLAIN ANALYZE executes the select statement 
+	 * and shows for each operator the rows delivered, the time needed to deliver them 
+	 * (including the time of its inputs) and the number of row arrays it has created or buffered.
+	 */
+	private SelectionTable executeExplainStatement(final String sql) throws SQLException 
+	{
+		String selectSql = sql.substring(SQLKeyWords.EXPLAIN_COMMAND.length()).trim();
+		final boolean analyze = startsWithCommand(selectSql, SQLKeyWords.EXPLAIN_ANALYZE + " ");
+		if (analyze) {
+			selectSql = selectSql.substring(SQLKeyWords.EXPLAIN_ANALYZE.length()).trim();
+		}
+		
+		if ( ! startsWithCommand(selectSql, SQLKeyWords.SELECT_COMMAND) ) {
+			throw new SQLException("Only select statements can be explained: '" + sql + "'");
+		}
+		
+		final ParsedSelectData parseResult = parseSelectStatement(selectSql);
+		if (parseResult.mysqlNextIdTable != null) {
+			throw new SQLException("Select statement cannot be explained: '" + sql + "'");
+		}
+		
+		executeSubqueries(parseResult.whereConditions);
+		final TableData tableData = resolveSelectedTable(parseResult);
+		final SelectionTable selectionTable = createSelectionTable(parseResult, parseResult.whereConditions, tableData);
+		final RowOperator selectPipeline = selectionTable.getRowSource();
+		
+		if (analyze) {
+			selectPipeline.enableAnalysis();
+			selectionTable.fetchAllRows();
+		}
+		
+		final List<JoinStep> joinSteps = tableData instanceof JoinTable ? ((JoinTable) tableData).getJoinSteps() : null;
+		return buildSelectionTableForExplain(selectPipeline, joinSteps, analyze);
+	}
+
+	private SelectionTable buildSelectionTableForExplain(final RowOperator selectPipeline, 
+			                                             final List<JoinStep> joinSteps,
+			                                             final boolean analyze) throws SQLDataException 
+	{
+		final Table tmpTable = new Table("ExplainTable");
+		final List<String> sortedColumnNames = new ArrayList<String>();
+		addExplainColumn(tmpTable, sortedColumnNames, "ID", "Number");
+		addExplainColumn(tmpTable, sortedColumnNames, "PARENT_ID", "Number");
+		addExplainColumn(tmpTable, sortedColumnNames, "OPERATION", "VARCHAR(50)");
+		addExplainColumn(tmpTable, sortedColumnNames, "DETAILS", "VARCHAR(4000)");
+		
+		if (analyze) {
+			addExplainColumn(tmpTable, sortedColumnNames, "ACTUAL_ROWS", "Number");
+			addExplainColumn(tmpTable, sortedColumnNames, "TIME_MS", "Number");
+			addExplainColumn(tmpTable, sortedColumnNames, "ALLOCATED_ROWS", "Number");
+		}
+		
+		final List<Object[]> dataRows = new ArrayList<Object[]>();
+		addExplainRows(dataRows, selectPipeline, null, joinSteps, analyze);
+		
+		final SelectionTable selectionTable = new SelectionTable(tmpTable, sortedColumnNames);
+		selectionTable.setDataRows(dataRows);
+		return selectionTable;
+	}
+
+	private void addExplainColumn(final Table table, 
+			                      final List<String> columnNames, 
+			                      final String columnName, 
+			                      final String columnType) throws SQLDataException 
+	{
+        final ColumnInitData columnInitData = new ColumnInitData(columnName);
+        columnInitData.columnType = columnType;
+        table.createNewColumn(columnInitData, memoryDb);
+        columnNames.add(columnName);
+	}
+
+	/**
+	 * Adds a row for the operator and its inputs. The join steps that built the table scanned
+	 * are added as a chain below the scan, i.e. the last join step is the input of the scan.
+	 */
+	private void addExplainRows(final List<Object[]> dataRows, 
+			                    final RowOperator operator, 
+			                    final Integer parentId,
+			                    final List<JoinStep> joinSteps,
+			                    final boolean analyze) 
+	{
+		final int id = dataRows.size() + 1;
+		dataRows.add(createExplainRow(id, parentId, operator.getOperation(), operator.getDetails(), analyze,
+				                      operator.getNumberOfDeliveredRows(), operator.getNanoTime(), operator.getNumberOfAllocatedRows()));
+		
+		final List<RowOperator> inputs = operator.getInputs();
+		for (RowOperator input : inputs) {
+			addExplainRows(dataRows, input, id, joinSteps, analyze);
+		}
+		
+		if (inputs.isEmpty() && joinSteps != null) 
+		{
+			int joinStepParentId = id;
+			for (int i = joinSteps.size() - 1; i >= 0; i--) 
+			{
+				final JoinStep joinStep = joinSteps.get(i);
+				final int joinStepId = dataRows.size() + 1;
+				dataRows.add(createExplainRow(joinStepId, joinStepParentId, joinStep.operation, joinStep.details, analyze,
+						                      joinStep.numberOfRows, joinStep.nanoTime, joinStep.numberOfAllocatedRows));
+				joinStepParentId = joinStepId;
+			}
+		}
+	}
+
+	private Object[] createExplainRow(final int id, 
+			                          final Integer parentId, 
+			                          final String operation, 
+			                          final String details,
+			                          final boolean analyze,
+			                          final long numberOfRows, 
+			                          final long nanoTime, 
+			                          final long numberOfAllocatedRows) 
+	{
+		final Object[] toReturn = new Object[analyze ? 7 : 4];
+		toReturn[0] = new BigDecimal(id);
+		toReturn[1] = parentId == null ? null : new BigDecimal(parentId);
+		toReturn[2] = operation;
+		toReturn[3] = details;
+		
+		if (analyze) {
+			toReturn[4] = new BigDecimal(numberOfRows);
+			toReturn[5] = BigDecimal.valueOf(nanoTime, 6).setScale(3, RoundingMode.HALF_UP);  // nanoseconds in milliseconds
+			toReturn[6] = new BigDecimal(numberOfAllocatedRows);
+		}
+		return toReturn;
+	}
+
+	/**
+	 * Executes each uncorrelated subquery once and stores its result in the subquery,
+	 * so that the table can match its data rows against a hash set of the result values
+	 * (i.e. a hash semi join or anti join) instead of evaluating the subquery for each row.
+	 */
+	private void executeSubqueries(final List<WhereCondition> whereConditions) throws SQLException 
+	{
+		for (WhereCondition whereCondition : whereConditions) 
+		{
+			if (whereCondition.isLogicalCondition()) {
+				executeSubqueries(whereCondition.getSubConditions());
+			} 
+			else if (whereCondition.isSubqueryCondition()) 
+			{
+				final Subquery subquery = whereCondition.getSubquery();
+				final SelectionTable result = executeSelectStatement(parseSelectStatement(subquery.getSql()), null);
+				
+				if ( ! whereCondition.isExistsCondition() && result.getNumberOfColumns() > 1) {
+					throw new SQLDataException("Subquery of condition '" + whereCondition.getColumnName() 
+					                           + " " + whereCondition.getComparator() + "' must select a single column.");
+				}
+				
+				final List<Object> resultValues = new ArrayList<Object>();
+				for (Object[] dataRow : result.fetchAllRows()) {
+					resultValues.add(dataRow.length == 0 ? null : dataRow[0]);
+				}
+				subquery.setResultValues(resultValues);
+			}
+		}
+	}
+
 	private void resolveColmnNamesIfNeeded(final List<String> selectedColumns) throws SQLDataException 
 	{
 		List<String> resolvedSelectedColumns = new ArrayList<String>();
@@ -251,12 +929,28 @@ public class SqlExecutor
 		return selectionTable;
 	}
 
+	/**
+	 * Joins the tables in the order resolved by the first execution of the statement.
+	 */
 	TableData buildJoinTable(final ParsedSelectData parseResult) throws SQLDataException 
 	{
 		final JoinTable joinTable = new JoinTable(memoryDb, parseResult.tableNames.get(0));
-		final List<WhereCondition> joinConditions = getOnlyJoinConditions(parseResult.whereConditions);
-		applyJoinConditions(joinTable, joinConditions);
-		return new JoinTable(joinTable, buildJoinTableName(parseResult.tableNames));
+		ResolvedPlan plan = getValidPlan(parseResult.resolvedPlan);
+		
+		if (plan == null) 
+		{
+			final long schemaVersion = memoryDb.getTableStoreMetaData().getSchemaVersion();
+			final List<WhereCondition> appliedJoinConditions = new ArrayList<WhereCondition>();
+			applyJoinConditions(joinTable, getOnlyJoinConditions(parseResult.whereConditions), appliedJoinConditions);
+			plan = new ResolvedPlan(schemaVersion, appliedJoinConditions, buildJoinTableName(parseResult.tableNames));
+			parseResult.resolvedPlan = plan;
+		} 
+		else 
+		{
+			applyJoinConditions(joinTable, new ArrayList<WhereCondition>(plan.joinConditions), null);
+		}
+		
+		return new JoinTable(joinTable, plan.joinTableName);
 	}
 
 	private String buildJoinTableName(List<String> tableNames) {
@@ -267,8 +961,13 @@ public class SqlExecutor
 		return toReturn.trim().replace(' ', '_');
 	}
 
+	/**
+	 * Applies join conditions that refer to tables not yet joined again, until all have been applied.
+	 * @param appliedJoinConditions if not null, receives the join conditions in the order they have been applied
+	 */
 	private void applyJoinConditions(final JoinTable joinTable, 
-			                         List<WhereCondition> joinConditions) throws SQLDataException 
+			                         List<WhereCondition> joinConditions,
+			                         final List<WhereCondition> appliedJoinConditions) throws SQLDataException 
 	{
 		final List<WhereCondition> conditionsUnableToApply = new ArrayList<WhereCondition>();
 		
@@ -280,6 +979,8 @@ public class SqlExecutor
 				boolean ok = joinTable.join(joinCondition);
 				if ( ! ok )  {
 					conditionsUnableToApply.add(joinCondition);
+				} else if (appliedJoinConditions != null) {
+					appliedJoinConditions.add(joinCondition);
 				}
 			}
 			
@@ -318,19 +1019,27 @@ public class SqlExecutor
 		return toReturn;
 	}
 
-	private int executeUpdateStatement(final String sql) throws SQLException 
+	private int executeUpdateStatement(final ParsedUpdateData parseResult, 
+			                           final Object[] parameterValues) throws SQLException 
 	{
-		final ParsedUpdateData parseResult = updateParser.parseUpdateStatement(sql);
-		final TableData tableData = memoryDb.getTableStoreData().getTableData(parseResult.tableName);
-		return tableData.update(parseResult.newValues, parseResult.whereConditions);
+		executeSubqueries(parseResult.whereConditions);
+		final List<ApartValue> newValues = new ArrayList<ApartValue>();
+		for (ApartValue newValue : parseResult.newValues) {
+			newValues.add(newValue.bindParameters(parameterValues));
+		}
+		final ResolvedPlan plan = resolveSingleTablePlan(parseResult.resolvedPlan, parseResult.tableName);
+		parseResult.resolvedPlan = plan;
+		return plan.tableData.update(newValues, WhereCondition.bindParameters(parseResult.whereConditions, parameterValues));
 	}
 	
 
-	private int executeDeleteStatement(final String sql) throws SQLException 
+	private int executeDeleteStatement(final ParsedDeleteData parseResult, 
+			                           final Object[] parameterValues) throws SQLException 
 	{
-		final ParsedDeleteData parseResult = deleteParser.parseDeleteStatement(sql);
-		final TableData tableData = memoryDb.getTableStoreData().getTableData(parseResult.tableName);
-		return tableData.delete(parseResult.whereConditions);
+		executeSubqueries(parseResult.whereConditions);
+		final ResolvedPlan plan = resolveSingleTablePlan(parseResult.resolvedPlan, parseResult.tableName);
+		parseResult.resolvedPlan = plan;
+		return plan.tableData.delete(WhereCondition.bindParameters(parseResult.whereConditions, parameterValues));
 	}
 	
 	private String executeCreateSequenceStatement(final String sql) throws SQLException 
@@ -342,6 +1051,256 @@ public class SqlExecutor
 		return "Sequence " + result.sequenceName +  " has been created.";
 	}
 
+	private String executeCreateIndexStatement(final String sql) throws SQLException 
+	{
+		final ParsedIndexData result = createIndexParser.parseCreateIndexStatement(sql);
+		final Table table = (Table) memoryDb.getTableStoreData().getTableData(result.tableName);
+		if (result.bitmap) {
+			if (result.columnNames.size() > 1) {
+				throw new SQLDataException("Bitmap index '" + result.indexName + "' must be defined for a single column.");
+			}
+			table.createBitmapIndex(result.indexName, result.columnNames.get(0));
+		} else {
+			table.createIndex(result.indexName, result.columnNames);
+		}
+		memoryDb.getTableStoreMetaData().increaseSchemaVersion();
+		return "Index " + result.indexName +  " has been created.";
+	}
+
+	private String executeLoadDataStatement(final String sql) throws SQLException 
+	{
+		final ParsedLoadData result = loadDataParser.parseLoadDataStatement(sql);
+		final Table table = (Table) memoryDb.getTableStoreData().getTableData(result.tableName);
+		final List<String> columnNames = result.columnNames != null ? result.columnNames 
+				                                                    : table.getNamesOfColumns();
+		final int numberOfRows = importCsvFile(table, columnNames, result.fileName, 
+				                               result.separator, result.numberOfLinesToSkip);
+		return numberOfRows + " data rows have been imported into " + result.tableName + ".";
+	}
+
+	/**
+	 * @param columnNames null if the first record of the file contains the column names 
+	 * @return number of imported rows
+	 */
+	public int importCsvFile(final Table table,
+			                 final List<String> columnNames,
+			                 final String fileName,
+			                 final char separator,
+			                 final int numberOfLinesToSkip) throws SQLException 
+	{
+		final File csvFile = new File(fileName);
+		if ( ! csvFile.isFile() ) {
+			throw new SQLException("CSV file not found: " + csvFile.getAbsolutePath());
+		}
+		
+		final CsvImporter csvImporter = new CsvImporter(table, columnNames, separator, numberOfLinesToSkip);
+		final List<Object[]> dataRows;
+		try {
+			dataRows = csvImporter.parseFile(csvFile);
+		} catch (IOException e) {
+			throw new SQLException("Error reading CSV file " + csvFile.getAbsolutePath() + ": " + e.getMessage(), e);
+		}
+		
+		final WriteAheadLog log = lockWriteAheadLog();
+		if (log == null) {
+			table.loadConvertedDataRows(csvImporter.getColumnNames(), dataRows);
+			return dataRows.size();
+		}
+		
+		final long recordNumber;
+		try {
+			table.loadConvertedDataRows(csvImporter.getColumnNames(), dataRows);
+			recordNumber = log.logLoadedRows(table.getTableName(), csvImporter.getColumnNames(), dataRows);
+		} catch (IOException e) {
+			throw new SQLException("CSV file has been imported, but not written into the write-ahead log: " + e.getMessage(), e);
+		} finally {
+			log.unlockChanges();
+		}
+		
+		commit(log, recordNumber, "CSV file has been imported");
+		return dataRows.size();
+	}
+
+
+	
+	// #########################################################################################
+	//                        R E S O L V E D   P L A N S
+	// #########################################################################################
+
+	/**
+	 * @return the plan if it has been resolved for the current schema version, otherwise null
+	 */
+	private ResolvedPlan getValidPlan(final ResolvedPlan plan) 
+	{
+		if (plan != null && plan.schemaVersion == memoryDb.getTableStoreMetaData().getSchemaVersion()) {
+			return plan;
+		}
+		return null;
+	}
+
+	private ResolvedPlan resolveSingleTablePlan(final ResolvedPlan plan, 
+			                                    final String tableName) throws SQLDataException 
+	{
+		final ResolvedPlan validPlan = getValidPlan(plan);
+		if (validPlan != null) {
+			return validPlan;
+		}
+		
+		final long schemaVersion = memoryDb.getTableStoreMetaData().getSchemaVersion();  // read before resolving
+		return new ResolvedPlan(schemaVersion, memoryDb.getTableStoreData().getTableData(tableName));
+	}
+	
+	
+	// #########################################################################################
+	//                  C A C H E D   P A R S I N G   O F   S T A T E M E N T S
+	// #########################################################################################
+
+	private ParsedInsertData parseInsertStatement(final String sql) throws SQLException 
+	{
+		final ParsedStatementCache cache = memoryDb.getParsedStatementCache();
+		final String normalizedSql = ParsedStatementCache.normalize(sql);
+		ParsedInsertData toReturn = (ParsedInsertData) cache.get(normalizedSql);
+		
+		if (toReturn == null) {
+			toReturn = insertIntoParser.parseInsertStatement(normalizedSql);
+			toReturn.sql = normalizedSql;
+			cache.put(normalizedSql, toReturn);
+		}
+		
+		return toReturn;
+	}
+
+	private ParsedSelectData parseSelectStatement(final String sql) throws SQLException 
+	{
+		final ParsedStatementCache cache = memoryDb.getParsedStatementCache();
+		final String normalizedSql = ParsedStatementCache.normalize(sql);
+		ParsedSelectData toReturn = (ParsedSelectData) cache.get(normalizedSql);
+		
+		if (toReturn == null) 
+		{
+			toReturn = selectParser.parseSelectSql(normalizedSql);
+			toReturn.sql = normalizedSql;
+			if (toReturn.whereConditions == null || ! containsSubquery(toReturn.whereConditions)) {
+				cache.put(normalizedSql, toReturn);
+			}
+		}
+		
+		return toReturn;
+	}
+
+	private ParsedUpdateData parseUpdateStatement(final String sql) throws SQLException 
+	{
+		final ParsedStatementCache cache = memoryDb.getParsedStatementCache();
+		final String normalizedSql = ParsedStatementCache.normalize(sql);
+		ParsedUpdateData toReturn = (ParsedUpdateData) cache.get(normalizedSql);
+		
+		if (toReturn == null) 
+		{
+			toReturn = updateParser.parseUpdateStatement(normalizedSql);
+			toReturn.sql = normalizedSql;
+			if ( ! containsSubquery(toReturn.whereConditions) ) {
+				cache.put(normalizedSql, toReturn);
+			}
+		}
+		
+		return toReturn;
+	}
+
+	private ParsedDeleteData parseDeleteStatement(final String sql) throws SQLException 
+	{
+		final ParsedStatementCache cache = memoryDb.getParsedStatementCache();
+		final String normalizedSql = ParsedStatementCache.normalize(sql);
+		ParsedDeleteData toReturn = (ParsedDeleteData) cache.get(normalizedSql);
+		
+		if (toReturn == null) 
+		{
+			toReturn = deleteParser.parseDeleteStatement(normalizedSql);
+			toReturn.sql = normalizedSql;
+			if ( ! containsSubquery(toReturn.whereConditions) ) {
+				cache.put(normalizedSql, toReturn);
+			}
+		}
+		
+		return toReturn;
+	}
+
+	/**
+	 * Subqueries store their results of the current execution,
+	 * so statements containing them are not shared via the cache.
+	 */
+	private boolean containsSubquery(final List<WhereCondition> whereConditions) 
+	{
+		for (WhereCondition whereCondition : whereConditions) 
+		{
+			if (whereCondition.isLogicalCondition()) {
+				if (containsSubquery(whereCondition.getSubConditions())) {
+					return true;
+				}
+			} else if (whereCondition.isSubqueryCondition()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return number of different parameter markers whose values can be bound to the parsed statement 
+	 */
+	private int countBindableParameters(final Object parsedStatement) 
+	{
+		final Set<String> parameterMarkers = new HashSet<String>();
+		
+		if (parsedStatement instanceof ParsedInsertData) {
+			if (((ParsedInsertData) parsedStatement).dataValueRows != null) {
+				for (List<String> dataValues : ((ParsedInsertData) parsedStatement).dataValueRows) {
+					collectParameterMarkers(dataValues, parameterMarkers);
+				}
+			}
+		} else if (parsedStatement instanceof ParsedSelectData) {
+			collectParameterMarkersOfConditions(((ParsedSelectData) parsedStatement).whereConditions, parameterMarkers);
+		} else if (parsedStatement instanceof ParsedUpdateData) {
+			for (ApartValue newValue : ((ParsedUpdateData) parsedStatement).newValues) {
+				if (newValue.isParameter()) parameterMarkers.add(newValue.getValueAsString());
+			}
+			collectParameterMarkersOfConditions(((ParsedUpdateData) parsedStatement).whereConditions, parameterMarkers);
+		} else if (parsedStatement instanceof ParsedDeleteData) {
+			collectParameterMarkersOfConditions(((ParsedDeleteData) parsedStatement).whereConditions, parameterMarkers);
+		}
+		
+		return parameterMarkers.size();
+	}
+
+	private void collectParameterMarkersOfConditions(final List<WhereCondition> whereConditions, 
+			                                         final Set<String> parameterMarkers) 
+	{
+		if (whereConditions == null) {
+			return;
+		}
+		
+		for (WhereCondition whereCondition : whereConditions) 
+		{
+			if (whereCondition.isLogicalCondition()) {
+				collectParameterMarkersOfConditions(whereCondition.getSubConditions(), parameterMarkers);
+			} else if (whereCondition.isValueListCondition()) {
+				collectParameterMarkers(whereCondition.getValueList(), parameterMarkers);
+			} else if (StringParseUtil.isParameterMarker(whereCondition.getValueAsString()) 
+					   && ! StringParseUtil.isParameterMarker(whereCondition.getColumnName())) {
+				parameterMarkers.add(whereCondition.getValueAsString());
+			}
+		}
+	}
+
+	private void collectParameterMarkers(final List<String> values, 
+			                             final Set<String> parameterMarkers) 
+	{
+		for (String value : values) {
+			if (StringParseUtil.isParameterMarker(value)) parameterMarkers.add(value);
+		}
+	}
+
+	private List<String> copy(final List<String> list) {
+		return list == null ? null : new ArrayList<String>(list);
+	}
 	
 	
 	// #########################################################################################
@@ -353,8 +1312,12 @@ public class SqlExecutor
 	{
 		public String tableName;
 		public List<ApartValue> values;
-		public List<String> columnNames;
-		public List<String> dataValues;
+		public List<String> columnNames;  // null if all columns are filled in their order
+		public List<String> dataValues;  // of the first row
+		public List<List<String>> dataValueRows;  // null if the rows are selected
+		public String selectSql;  // null if the values are given
+		public String sql;  // as parsed
+		public volatile ResolvedPlan resolvedPlan;  // set by the first execution
 		
 		public ParsedInsertData(final String tableName, 
 				                final List<String> columnNames, 
@@ -363,6 +1326,20 @@ public class SqlExecutor
 			this.tableName = tableName;
 			this.columnNames = columnNames;
 			this.dataValues = dataValues;
+			this.dataValueRows = new ArrayList<List<String>>();
+			this.dataValueRows.add(dataValues);
+		}
+		
+		public ParsedInsertData(final String tableName, 
+				                final List<String> columnNames, 
+				                final List<List<String>> dataValueRows,
+				                final String selectSql) 
+		{
+			this.tableName = tableName;
+			this.columnNames = columnNames;
+			this.dataValueRows = dataValueRows;
+			this.dataValues = dataValueRows == null ? null : dataValueRows.get(0);
+			this.selectSql = selectSql;
 		}
 	}
 	
@@ -373,6 +1350,8 @@ public class SqlExecutor
 		public List<WhereCondition> whereConditions;
 		public List<OrderCondition> orderConditions;
 		public String mysqlNextIdTable;
+		public String sql;  // as parsed
+		public volatile ResolvedPlan resolvedPlan;  // set by the first execution
 		
 		public ParsedSelectData(final List<String> tableNames, 
 				                final List<String> selectedColumns, 
@@ -447,6 +1426,8 @@ public class SqlExecutor
 		public String tableName;
 		public List<ApartValue> newValues;
 		public List<WhereCondition> whereConditions;
+		public String sql;  // as parsed
+		public volatile ResolvedPlan resolvedPlan;  // set by the first execution
 		
 		public ParsedUpdateData(final String tableName, 
 				                final List<ApartValue> newValues, 
@@ -462,6 +1443,8 @@ public class SqlExecutor
 	{
 		public String tableName;
 		public List<WhereCondition> whereConditions;
+		public String sql;  // as parsed
+		public volatile ResolvedPlan resolvedPlan;  // set by the first execution
 		
 		public ParsedDeleteData(final String tableName, 
 				                final List<WhereCondition> whereConditions) 
@@ -471,6 +1454,37 @@ public class SqlExecutor
 		}
 	}
 
+	/**
+	 * Tables and join order resolved for a parsed statement. 
+	 * The plan is valid as long as the schema version of the table store is unchanged.
+	 */
+	public static class ResolvedPlan  
+	{
+		public final long schemaVersion;
+		public final TableData tableData;  // for statements on a single table
+		public final List<WhereCondition> joinConditions;  // in the order they are applied
+		public final String joinTableName;
+		
+		public ResolvedPlan(final long schemaVersion, 
+				            final TableData tableData) 
+		{
+			this.schemaVersion = schemaVersion;
+			this.tableData = tableData;
+			this.joinConditions = null;
+			this.joinTableName = null;
+		}
+		
+		public ResolvedPlan(final long schemaVersion, 
+				            final List<WhereCondition> joinConditions,
+				            final String joinTableName) 
+		{
+			this.schemaVersion = schemaVersion;
+			this.tableData = null;
+			this.joinConditions = joinConditions;
+			this.joinTableName = joinTableName;
+		}
+	}
+
 	public static class ParsedSequenceData  
 	{
 		public String sequenceName;
@@ -483,5 +1497,46 @@ public class SqlExecutor
 			this.currentValue = currentValue;
 		}
 	}
+
+	public static class ParsedIndexData  
+	{
+		public String indexName;
+		public String tableName;
+		public List<String> columnNames;
+		public boolean bitmap;
+		
+		public ParsedIndexData(final String indexName, 
+				               final String tableName, 
+				               final List<String> columnNames,
+				               final boolean bitmap) 
+		{
+			this.indexName = indexName;
+			this.tableName = tableName;
+			this.columnNames = columnNames;
+			this.bitmap = bitmap;
+		}
+	}
+
+	public static class ParsedLoadData  
+	{
+		public String fileName;
+		public String tableName;
+		public List<String> columnNames;  // null if not specified
+		public char separator;
+		public int numberOfLinesToSkip;
+		
+		public ParsedLoadData(final String fileName, 
+				              final String tableName, 
+				              final List<String> columnNames,
+				              final char separator,
+				              final int numberOfLinesToSkip) 
+		{
+			this.fileName = fileName;
+			this.tableName = tableName;
+			this.columnNames = columnNames;
+			this.separator = separator;
+			this.numberOfLinesToSkip = numberOfLinesToSkip;
+		}
+	}
 	
 }
\ No newline at end of file
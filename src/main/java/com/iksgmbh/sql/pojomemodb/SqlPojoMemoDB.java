@@ -20,11 +20,21 @@ import com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.data.SequenceData;
 import com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.data.TableStoreData;
 import com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.metadata.TableStoreMetaData;
 import com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.statistics.TableStoreStatistics;
+import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Table;
 import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.TableStore;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.SelectionTable;
+import com.iksgmbh.sql.pojomemodb.sqlparser.ParsedStatementCache;
+import com.iksgmbh.sql.pojomemodb.utils.FileUtil;
+import com.iksgmbh.sql.pojomemodb.utils.TableStoreReader;
+import com.iksgmbh.sql.pojomemodb.utils.TableStoreWriter;
+import com.iksgmbh.sql.pojomemodb.utils.WriteAheadLog;
 
+import java.io.File;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLDataException;
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * This class represents the main class of an incomplete but lightweight implementation of a SQL database,
@@ -50,6 +60,7 @@ public class SqlPojoMemoDB
 	private TableStore tableStore;
 	private SqlExecutor sqlExecutor;
 	private SqlPojoConnection connection;
+	private File snapshotFile;  // of the write-ahead log
 
 	/**
 	 * Private Singleton Constructor!
@@ -83,14 +94,285 @@ public class SqlPojoMemoDB
 	}
 	
 	/**
-	 * Executes a sql statement.
+	 * Executes a sql statement. The rows of a select statement are all selected before it returns.
 	 * @param sql to execute
 	 * @throws SQLException 
 	 */
 	public static Object execute(final String sql) throws SQLException {
+		return fetchAllRowsOf(executeQuery(sql));
+	}
+
+	/**
+	 * Executes a sql statement. The rows of a select statement are selected 
+	 * when they are fetched from the returned SelectionTable.
+	 * @param sql to execute
+	 * @throws SQLException 
+	 */
+	public static Object executeQuery(final String sql) throws SQLException {
 		return SQL_MEMORY_DB.executeSqlStatement(sql.trim());
 	}
 
+	/**
+	 * Parses a sql statement with parameter markers (?) for repeated execution.
+	 * @param sql to prepare
+	 * @return prepared statement or null if the statement cannot be executed with bound parameter values
+	 */
+	public static Object prepare(final String sql) {
+		return SQL_MEMORY_DB.sqlExecutor.prepareStatement(SQL_MEMORY_DB.removeLineBreaks(sql.trim()));
+	}
+
+	/**
+	 * Executes a prepared sql statement. The rows of a select statement are all selected before it returns.
+	 * @param preparedStatement as returned by prepare
+	 * @param parameterValues typed values bound to the parameter markers in their order
+	 * @throws SQLException 
+	 */
+	public static Object execute(final Object preparedStatement, 
+			                     final Object[] parameterValues) throws SQLException {
+		return fetchAllRowsOf(executeQuery(preparedStatement, parameterValues));
+	}
+
+	/**
+	 * Executes a prepared sql statement. The rows of a select statement are selected 
+	 * when they are fetched from the returned SelectionTable.
+	 * @param preparedStatement as returned by prepare
+	 * @param parameterValues typed values bound to the parameter markers in their order
+	 * @throws SQLException 
+	 */
+	public static Object executeQuery(final Object preparedStatement, 
+			                          final Object[] parameterValues) throws SQLException {
+		return SQL_MEMORY_DB.sqlExecutor.executePreparedStatement(preparedStatement, parameterValues);
+	}
+
+	/**
+	 * Errors in the select pipeline are thrown here and not when the rows are read later.
+	 */
+	private static Object fetchAllRowsOf(final Object result) throws SQLException 
+	{
+		if (result instanceof SelectionTable) {
+			((SelectionTable) result).fetchAllRows();
+		}
+		return result;
+	}
+
+	/**
+	 * Executes a prepared sql statement for several sets of parameter values.
+	 * @param preparedStatement as returned by prepare
+	 * @param parameterValueSets typed values bound to the parameter markers for each execution
+	 * @return number of rows affected by each execution
+	 * @throws SQLException 
+	 */
+	public static int[] executeBatch(final Object preparedStatement, 
+			                         final List<Object[]> parameterValueSets) throws SQLException {
+		return SQL_MEMORY_DB.sqlExecutor.executePreparedBatch(preparedStatement, parameterValueSets);
+	}
+
+	/**
+	 * Appends rows of Java values to a table without any sql, e.g. to set up test fixtures.
+	 * @param tableName of the table to fill
+	 * @param columnNames of the values in each row
+	 * @param valueRows values in the order of the column names
+	 * @throws SQLException if a value or constraint is invalid - then no row is appended
+	 */
+	public static void loadDataRows(final String tableName, 
+			                        final List<String> columnNames, 
+			                        final List<Object[]> valueRows) throws SQLException {
+		final WriteAheadLog log = SQL_MEMORY_DB.sqlExecutor.lockWriteAheadLog();
+		if (log == null) {
+			SQL_MEMORY_DB.getTableStoreData().getTableData(tableName).loadDataRows(columnNames, valueRows);
+			return;
+		}
+		
+		try {
+			final long recordNumber;
+			try {
+				SQL_MEMORY_DB.getTableStoreData().getTableData(tableName).loadDataRows(columnNames, valueRows);
+				recordNumber = log.logLoadedRows(tableName, columnNames, valueRows);
+			} finally {
+				log.unlockChanges();
+			}
+			log.commit(recordNumber);
+		} catch (IOException e) {
+			throw new SQLException("Rows have been loaded, but not written into the write-ahead log: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Imports a CSV file with comma separated fields into a table. 
+	 * The first record of the file must contain the column names.
+	 * @param tableName of the table to fill
+	 * @param pathAndFileName of the CSV file (encoded in UTF-8)
+	 * @return number of imported rows
+	 * @throws SQLException if a record or a value is invalid - then no row is imported
+	 */
+	public static int importCsv(final String tableName, 
+			                    final String pathAndFileName) throws SQLException {
+		return importCsv(tableName, pathAndFileName, ',');
+	}
+
+	/**
+	 * Imports a CSV file into a table. The first record of the file must contain the column names.
+	 * @param tableName of the table to fill
+	 * @param pathAndFileName of the CSV file (encoded in UTF-8)
+	 * @param separator of the fields in a record
+	 * @return number of imported rows
+	 * @throws SQLException if a record or a value is invalid - then no row is imported
+	 */
+	public static int importCsv(final String tableName, 
+			                    final String pathAndFileName,
+			                    final char separator) throws SQLException {
+		final Table table = (Table) SQL_MEMORY_DB.getTableStoreData().getTableData(tableName);
+		return SQL_MEMORY_DB.sqlExecutor.importCsvFile(table, null, pathAndFileName, separator, 0);
+	}
+
+	/**
+	 * Adds the tables, sequences and rows of a fixture bundle to the DB without any sql parsing.
+	 * Bundles are written by the FixtureBundleCompiler.
+	 * @param pathAndFileName of the bundle
+	 * @throws SQLException if a table or sequence of the bundle is already existing
+	 */
+	public static void loadFixtureBundle(final String pathAndFileName) throws IOException, SQLException 
+	{
+		final WriteAheadLog log = SQL_MEMORY_DB.sqlExecutor.lockWriteAheadLog();
+		try {
+			SQL_MEMORY_DB.readTableStoreFile(new File(pathAndFileName));
+			SQL_MEMORY_DB.checkpointIfLogged(log);
+		} finally {
+			if (log != null) {
+				log.unlockChanges();
+			}
+		}
+	}
+
+	/**
+	 * Adds a single table of a snapshot file to the DB in read-only mode. Its data rows are not 
+	 * loaded into the heap, but read from the memory-mapped file whenever they are accessed,
+	 * so that processes attaching the same file share its pages.
+	 * @param pathAndFileName of the snapshot or fixture bundle
+	 * @param tableName of the table to attach
+	 * @throws SQLException if the table is not contained in the file or already existing in the DB
+	 *                      or if the write-ahead log is active, which cannot restore attached tables
+	 */
+	public static void attachReadOnlyTable(final String pathAndFileName, 
+			                               final String tableName) throws IOException, SQLException 
+	{
+		if (SQL_MEMORY_DB.sqlExecutor.getWriteAheadLog() != null) {
+			throw new SQLException("Tables cannot be attached while the write-ahead log is active.");
+		}
+		
+		final TableStoreReader reader = new TableStoreReader(FileUtil.getExistingFileOrReplacement(new File(pathAndFileName)));
+		try {
+			reader.attachTable(SQL_MEMORY_DB, tableName);
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Writes all tables (with constraints and indexes), sequences and rows into a binary snapshot file.
+	 * The file is replaced not before the snapshot has been written completely.
+	 * @param pathAndFileName of the snapshot
+	 */
+	public static void saveSnapshot(final String pathAndFileName) throws IOException, SQLException {
+		SQL_MEMORY_DB.writeTableStoreFile(new File(pathAndFileName), 0);
+	}
+
+	/**
+	 * Replaces the complete content of the DB by the content of a snapshot file.
+	 * @param pathAndFileName of the snapshot
+	 */
+	public static void loadSnapshot(final String pathAndFileName) throws IOException, SQLException 
+	{
+		final WriteAheadLog log = SQL_MEMORY_DB.sqlExecutor.lockWriteAheadLog();
+		try {
+			reset();
+			SQL_MEMORY_DB.readTableStoreFile(new File(pathAndFileName));
+			SQL_MEMORY_DB.checkpointIfLogged(log);
+		} finally {
+			if (log != null) {
+				log.unlockChanges();
+			}
+		}
+	}
+
+	/**
+	 * Makes all changes of the DB durable. The content of the DB is replaced by the content of 
+	 * the snapshot file (if existing) and the changes recorded in the log file after this snapshot.
+	 * Then all successful changes are recorded in the log file (see WriteAheadLog) before the statement 
+	 * returns. Concurrently executed statements share the writes to the storage device (group commit).
+	 * @param snapshotPathAndFileName of the last snapshot, written by checkpoint
+	 * @param logPathAndFileName of the write-ahead log, created if not existing
+	 * @return number of changes replayed from the log file
+	 */
+	public static synchronized int startWriteAheadLog(final String snapshotPathAndFileName, 
+			                                          final String logPathAndFileName) throws IOException, SQLException 
+	{
+		stopWriteAheadLog();
+		reset();
+		
+		final File snapshotFile = new File(snapshotPathAndFileName);
+		final long lastRecordNumberOfSnapshot;
+		if (FileUtil.getExistingFileOrReplacement(snapshotFile).exists()) {
+			lastRecordNumberOfSnapshot = SQL_MEMORY_DB.readTableStoreFile(snapshotFile);
+		} else {
+			lastRecordNumberOfSnapshot = 0;
+		}
+		
+		final WriteAheadLog log = new WriteAheadLog(new File(logPathAndFileName));
+		final int toReturn;
+		try {
+			toReturn = log.replay(lastRecordNumberOfSnapshot);
+		} catch (IOException e) {
+			log.close();
+			throw e;
+		} catch (SQLException e) {
+			log.close();
+			throw e;
+		}
+		
+		SQL_MEMORY_DB.snapshotFile = snapshotFile;
+		SQL_MEMORY_DB.sqlExecutor.setWriteAheadLog(log);
+		return toReturn;
+	}
+
+	/**
+	 * Writes a snapshot of the DB and removes the changes contained in it from the write-ahead log.
+	 * Changes are blocked until the checkpoint is finished. The snapshot contains the number 
+	 * of the last change it includes, so that a log that has not been truncated because of a crash 
+	 * is replayed only from the next change on.
+	 */
+	public static synchronized void checkpoint() throws IOException, SQLException 
+	{
+		final WriteAheadLog log = SQL_MEMORY_DB.sqlExecutor.lockWriteAheadLog();
+		if (log == null) {
+			throw new SQLException("The write-ahead log has not been started.");
+		}
+		
+		try {
+			SQL_MEMORY_DB.writeCheckpoint(log);
+		} finally {
+			log.unlockChanges();
+		}
+	}
+
+	/**
+	 * Stops recording the changes of the DB. The log file and the snapshot remain unchanged.
+	 */
+	public static synchronized void stopWriteAheadLog() throws IOException 
+	{
+		final WriteAheadLog log = SQL_MEMORY_DB.sqlExecutor.lockWriteAheadLog();
+		if (log != null) 
+		{
+			try {
+				SQL_MEMORY_DB.sqlExecutor.setWriteAheadLog(null);
+				SQL_MEMORY_DB.snapshotFile = null;
+			} finally {
+				log.unlockChanges();
+			}
+			log.close();
+		}
+	}
+
 	/**
 	 * Returns some metrics on the database content.
 	 * @return ContentStatistics
@@ -103,24 +385,78 @@ public class SqlPojoMemoDB
 	 * Removes all tables and sequences from the DB. 
 	 * Total clean up!
 	 */
-	public static void reset() {
-		SQL_MEMORY_DB.tableStore.dropAllTables();
-		SQL_MEMORY_DB.tableStore.dropAllSequences();
+	public static void reset() 
+	{
+		final WriteAheadLog log = SQL_MEMORY_DB.sqlExecutor.lockWriteAheadLog();
+		try {
+			final long recordNumber;
+			try {
+				SQL_MEMORY_DB.tableStore.dropAllTables();
+				SQL_MEMORY_DB.tableStore.dropAllSequences();
+				SQL_MEMORY_DB.tableStore.getParsedStatementCache().clear();
+				recordNumber = log == null ? 0 : log.logReset();
+			} finally {
+				if (log != null) {
+					log.unlockChanges();
+				}
+			}
+			if (log != null) {
+				log.commit(recordNumber);
+			}
+		} catch (IOException e) {
+			throw new RuntimeException("DB has been reset, but this is not written into the write-ahead log.", e);
+		}
 	}
 
 	/**
 	 * Removes a single table from the DB.
 	 */
-	public static void dropTable(final String tableName) {
-		SQL_MEMORY_DB.tableStore.dropTable(tableName);
+	public static void dropTable(final String tableName) 
+	{
+		final WriteAheadLog log = SQL_MEMORY_DB.sqlExecutor.lockWriteAheadLog();
+		try {
+			final long recordNumber;
+			try {
+				SQL_MEMORY_DB.tableStore.dropTable(tableName);
+				recordNumber = log == null ? 0 : log.logDroppedTable(tableName);
+			} finally {
+				if (log != null) {
+					log.unlockChanges();
+				}
+			}
+			if (log != null) {
+				log.commit(recordNumber);
+			}
+		} catch (IOException e) {
+			throw new RuntimeException("Table has been dropped, but this is not written into the write-ahead log.", e);
+		}
 	}
 
 	/**
-	 * Results in all tables being empty.
+	 * Results in all tables being empty, except read-only tables.
 	 * @return total number of datasets deleted
 	 */
-	public static int removeAllContentOfAllTables() {
-		return SQL_MEMORY_DB.tableStore.removeAllContentOfAllTables();
+	public static int removeAllContentOfAllTables() 
+	{
+		final WriteAheadLog log = SQL_MEMORY_DB.sqlExecutor.lockWriteAheadLog();
+		try {
+			final int toReturn;
+			final long recordNumber;
+			try {
+				toReturn = SQL_MEMORY_DB.tableStore.removeAllContentOfAllTables();
+				recordNumber = log == null ? 0 : log.logRemovedAllContent();
+			} finally {
+				if (log != null) {
+					log.unlockChanges();
+				}
+			}
+			if (log != null) {
+				log.commit(recordNumber);
+			}
+			return toReturn;
+		} catch (IOException e) {
+			throw new RuntimeException("Content has been removed, but this is not written into the write-ahead log.", e);
+		}
 	}
 	
 	
@@ -141,6 +477,10 @@ public class SqlPojoMemoDB
 		return tableStore;
 	}
 
+	public ParsedStatementCache getParsedStatementCache() {
+		return tableStore.getParsedStatementCache();
+	}
+
 	private String removeLineBreaks(String sql) {
 		return sql.replace("\n", " ").replace("\r", "");
 	}
@@ -149,6 +489,56 @@ public class SqlPojoMemoDB
 		return tableStore.getSequenceData(sequenceName.toUpperCase());
 	}
 	
+	/**
+	 * @return number of the last write-ahead log record contained in the file
+	 */
+	private long readTableStoreFile(final File file) throws IOException, SQLException 
+	{
+		final TableStoreReader reader = new TableStoreReader(FileUtil.getExistingFileOrReplacement(file));
+		try {
+			reader.read(this);
+			return reader.getLastLoggedRecordNumber();
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Content loaded from files is not recorded in the write-ahead log, but written into a new snapshot.
+	 * @param lockedLog write-ahead log whose change lock is held by the current thread or null if not active
+	 */
+	private void checkpointIfLogged(final WriteAheadLog lockedLog) throws IOException, SQLException 
+	{
+		if (lockedLog != null) {
+			writeCheckpoint(lockedLog);
+		}
+	}
+
+	/**
+	 * Must be called while holding the change lock of the log. Unlike checkpoint, it does not acquire 
+	 * the lock of this class, which would have to be acquired before the change lock.
+	 */
+	private void writeCheckpoint(final WriteAheadLog lockedLog) throws IOException, SQLException 
+	{
+		writeTableStoreFile(snapshotFile, lockedLog.getLastRecordNumber());
+		lockedLog.truncate();
+	}
+
+	private void writeTableStoreFile(final File file, 
+			                         final long lastLoggedRecordNumber) throws IOException, SQLException 
+	{
+		final File tmpFile = new File(file.getPath() + ".tmp");
+		final TableStoreWriter writer = new TableStoreWriter(tmpFile);
+		try {
+			writer.write(this, lastLoggedRecordNumber);
+			writer.sync();
+		} finally {
+			writer.close();
+		}
+		
+		FileUtil.replaceFile(file, tmpFile);
+	}
+	
 	private Object executeSqlStatement(String sql) throws SQLException {
 		return sqlExecutor.executeSqlStatement( removeLineBreaks(sql) );
 	}
@@ -24,24 +24,37 @@ import java.math.BigDecimal;
 import java.net.URL;
 import java.sql.*;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.List;
 
 /**
  * This class represents an incomplete implementation of java.sql.PreparedStatement class.
  * It implements the most basic methods to make the SqlPojoMemoryDB running.
  * 
+ * The sql is parsed once when the statement is created. The typed parameter values 
+ * are bound to the parse result for each execution. Statements that cannot be executed 
+ * with bound values (see SqlPojoMemoDB.prepare) are executed with the parameter values 
+ * replaced as literals into the sql.
+ * 
+ * A batch of parameter value sets is executed with the same parse result. 
+ * The rows of a batched insert statement are inserted all at once.
+ * 
  * @author Reik Oberrath
  */
 @SuppressWarnings("unused")
 public class SqlPojoPreparedStatement implements PreparedStatement 
 {
-	private static SimpleDateFormat JAVA_DATE_FORMAT = new SimpleDateFormat("dd:MM:yyyy HH:mm:ss.SSS");
+	private static String JAVA_DATE_FORMAT = "dd:MM:yyyy HH:mm:ss.SSS";
 	private static String SQL_DATE_FORMAT = "DD:MM:RR hh:mm:ss.FF";
 	private static final String QUESTION_MARK = "?";
 	
 	private String inputSql;
 	private String[] replacements;
+	private Object[] parameterValues;
 	private String[] sqlParts;
+	private Object preparedStatement;
+	private List<Object> batch = new ArrayList<Object>();  // parameter values or sql of each statement added
 	private boolean closed = false;
 
 	public SqlPojoPreparedStatement(final String inputSql) {
@@ -58,13 +71,25 @@ public class SqlPojoPreparedStatement implements PreparedStatement
 		final String tmp = inputSql + " ";
 		sqlParts = tmp.split("\\" + QUESTION_MARK);
 		replacements = new String[sqlParts.length - 1];
+		parameterValues = new Object[replacements.length];
+		preparedStatement = SqlPojoMemoDB.prepare(inputSql);
+	}
+
+	/**
+	 * @return result of the prepared statement if available, otherwise of the sql with replaced parameters
+	 */
+	private Object executeStatement() throws SQLException 
+	{
+		if (preparedStatement != null) {
+			return SqlPojoMemoDB.executeQuery(preparedStatement, parameterValues.clone());
+		}
+		return SqlPojoMemoDB.executeQuery(buildOutputSql());  // uses the SqlExecutor
 	}
 
 	@Override
 	public ResultSet executeQuery() throws SQLException 
 	{
-        String sql = buildOutputSql();
-        final Object result = SqlPojoMemoDB.execute(sql);  // uses the SqlExecutor
+        final Object result = executeStatement();
 		if (result instanceof SelectionTable)  {
 			return new SqlPojoResultSet((SelectionTable)result);
 		}
@@ -74,8 +99,7 @@ public class SqlPojoPreparedStatement implements PreparedStatement
 	@Override
 	public boolean execute() throws SQLException 
 	{
-        final String outputSql = buildOutputSql();
-        SqlPojoMemoDB.execute(outputSql);  // uses the SqlExecutor
+        executeStatement();
 		return true;
 	}
 	
@@ -85,7 +109,7 @@ public class SqlPojoPreparedStatement implements PreparedStatement
 		this.inputSql = sql;
 		analyseSql();
         String outputSql = buildOutputSql();
-        SelectionTable result = (SelectionTable) SqlPojoMemoDB.execute(outputSql);  // uses the SqlExecutor
+        SelectionTable result = (SelectionTable) SqlPojoMemoDB.executeQuery(outputSql);  // uses the SqlExecutor
 
 		return new SqlPojoResultSet(result);
 	}
@@ -106,75 +130,90 @@ public class SqlPojoPreparedStatement implements PreparedStatement
 
 	@Override
 	public int executeUpdate() throws SQLException {
-		return ((Integer)SqlPojoMemoDB.execute(buildOutputSql())).intValue();
+		return ((Integer)executeStatement()).intValue();
+	}
+	
+	private void setParameter(final int parameterIndex, 
+			                  final Object value, 
+			                  final String replacement) throws SQLException 
+	{
+		checkParameterIndex(parameterIndex);
+		replacements[parameterIndex-1] = replacement;
+		parameterValues[parameterIndex-1] = value;
 	}
 	
 	@Override
 	public void setString(final int parameterIndex, final String s) throws SQLException {
-		checkParameterIndex(parameterIndex);
-		replacements[parameterIndex-1] = "'" + s + "'";
+		setParameter(parameterIndex, s, s == null ? "null" : "'" + s + "'");
 	}
 
 	@Override
 	public void setLong(int parameterIndex, long l) throws SQLException {
-		checkParameterIndex(parameterIndex);
-		replacements[parameterIndex-1] = "" + l;
+		setParameter(parameterIndex, Long.valueOf(l), "" + l);
 	}
 
 	@Override
 	public void setInt(int parameterIndex, int i) throws SQLException {
-		checkParameterIndex(parameterIndex);
-		replacements[parameterIndex-1] = "" + i;
+		setParameter(parameterIndex, Integer.valueOf(i), "" + i);
 	}
 
 
     @Override
     public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
-        checkParameterIndex(parameterIndex);
-        if (x == null) {
-        	replacements[parameterIndex-1] = "null";        	
-        } else {
-        	replacements[parameterIndex-1] = x.toPlainString();
-        }
+        setParameter(parameterIndex, x, x == null ? "null" : x.toPlainString());
     }
 
     @Override
     public void setDate(int parameterIndex, Date x) throws SQLException {
-        checkParameterIndex(parameterIndex);
-        if (x == null) {
-        	replacements[parameterIndex-1] = "null";        	
-        } else {
-        	replacements[parameterIndex-1] = toSqlString(x);
-        }
+        setParameter(parameterIndex, x, x == null ? "null" : toSqlString(x));
     }
 
 
     @Override
     public void setTime(int parameterIndex, Time x) throws SQLException {
-        checkParameterIndex(parameterIndex);
-        if (x == null) {
-        	replacements[parameterIndex-1] = "null";        	
-        } else {
-        	replacements[parameterIndex-1] = "" + x.getTime();
-        }
+        setParameter(parameterIndex, x, x == null ? "null" : "" + x.getTime());
     }
 
 
     @Override
     public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
-        checkParameterIndex(parameterIndex);
-        if (x == null) {
-        	replacements[parameterIndex-1] = "null";        	
-        } else {
-        	replacements[parameterIndex-1] = "" + x.getTime();
-        }
+        setParameter(parameterIndex, x, x == null ? "null" : "" + x.getTime());
     }
 
     @Override
     public void setBoolean(int parameterIndex, boolean x) throws SQLException {
-    	 checkParameterIndex(parameterIndex);
-         replacements[parameterIndex-1] = "" + x;
+    	setParameter(parameterIndex, Boolean.valueOf(x), "" + x);
     }
+
+	@Override
+	public void setNull(int parameterIndex, int sqlType) throws SQLException {
+		setParameter(parameterIndex, null, "null");
+	}
+
+	@Override
+	public void setObject(int parameterIndex, Object x) throws SQLException 
+	{
+		if (x == null) {
+			setParameter(parameterIndex, null, "null");
+		} else if (x instanceof String) {
+			setParameter(parameterIndex, x, "'" + x + "'");
+		} else if (x instanceof java.util.Date) {
+			setParameter(parameterIndex, x, toSqlString((java.util.Date) x));
+		} else if (x instanceof BigDecimal) {
+			setParameter(parameterIndex, x, ((BigDecimal) x).toPlainString());
+		} else {
+			setParameter(parameterIndex, x, x.toString());
+		}
+	}
+
+	@Override
+	public void clearParameters() throws SQLException 
+	{
+		for (int i = 0; i < replacements.length; i++) {
+			replacements[i] = null;
+			parameterValues[i] = null;
+		}
+	}
     
 	private void checkParameterIndex(int parameterIndex) throws SQLException 
 	{
@@ -187,10 +226,10 @@ public class SqlPojoPreparedStatement implements PreparedStatement
 		}
 	}
 
-	private String toSqlString(Date creationDateTime) 
+	private String toSqlString(java.util.Date creationDateTime) 
 	{
 		if (creationDateTime == null) return "NULL";
-		return "to_date('" + JAVA_DATE_FORMAT.format(creationDateTime)
+		return "to_date('" + new SimpleDateFormat(JAVA_DATE_FORMAT).format(creationDateTime)
                    + "','" + SQL_DATE_FORMAT + "')";
 	}
 
@@ -367,22 +406,87 @@ public class SqlPojoPreparedStatement implements PreparedStatement
 
 	@Override
 	public void addBatch(String sql) throws SQLException {
-		if (true) throw new RuntimeException("Not yet implemented!");
-		
+		batch.add(sql);
 	}
 
 
 	@Override
 	public void clearBatch() throws SQLException {
-		if (true) throw new RuntimeException("Not yet implemented!");
-		
+		batch.clear();
 	}
 
 
+	/**
+	 * Executes the batch with the prepared statement at once if possible, 
+	 * otherwise each statement of the batch by itself.
+	 */
 	@Override
-	public int[] executeBatch() throws SQLException {
-		if (true) throw new RuntimeException("Not yet implemented!");
-		return null;
+	public int[] executeBatch() throws SQLException 
+	{
+		try {
+			final List<Object[]> parameterValueSets = getBatchedParameterValues();
+			
+			if (parameterValueSets != null) 
+			{
+				try {
+					return SqlPojoMemoDB.executeBatch(preparedStatement, parameterValueSets);
+				} catch (BatchUpdateException e) {
+					throw e;  // knows the update counts of the applied parameter value sets
+				} catch (SQLException e) {
+					throw new BatchUpdateException(e.getMessage(), new int[0], e);
+				}
+			}
+			
+			return executeBatchedStatementsOneByOne();
+		} finally {
+			batch.clear();
+		}
+	}
+
+	/**
+	 * @return null if not all statements of the batch can be executed with the prepared statement
+	 */
+	private List<Object[]> getBatchedParameterValues() 
+	{
+		if (preparedStatement == null) {
+			return null;
+		}
+		
+		final List<Object[]> toReturn = new ArrayList<Object[]>();
+		for (Object batchedStatement : batch) 
+		{
+			if ( ! (batchedStatement instanceof Object[]) ) {
+				return null;
+			}
+			toReturn.add((Object[]) batchedStatement);
+		}
+		return toReturn;
+	}
+
+	private int[] executeBatchedStatementsOneByOne() throws BatchUpdateException 
+	{
+		final int[] toReturn = new int[batch.size()];
+		
+		for (int i = 0; i < toReturn.length; i++) 
+		{
+			final Object batchedStatement = batch.get(i);
+			final Object result;
+			
+			try {
+				if (batchedStatement instanceof Object[]) {
+					result = SqlPojoMemoDB.execute(preparedStatement, (Object[]) batchedStatement);
+				} else {
+					result = SqlPojoMemoDB.execute((String) batchedStatement);
+				}
+			} catch (SQLException e) {
+				final int[] updateCounts = new int[i];
+				System.arraycopy(toReturn, 0, updateCounts, 0, i);
+				throw new BatchUpdateException(e.getMessage(), updateCounts, e);
+			}
+			
+			toReturn[i] = result instanceof Integer ? ((Integer) result).intValue() : SUCCESS_NO_INFO;
+		}
+		return toReturn;
 	}
 
 
@@ -482,13 +586,6 @@ public class SqlPojoPreparedStatement implements PreparedStatement
 	}
 
 
-	@Override
-	public void setNull(int parameterIndex, int sqlType) throws SQLException {
-		if (true) throw new RuntimeException("Not yet implemented!");
-		
-	}
-
-
 	@Override
 	public void setByte(int parameterIndex, byte x) throws SQLException {
 		if (true) throw new RuntimeException("Not yet implemented!");
@@ -537,13 +634,6 @@ public class SqlPojoPreparedStatement implements PreparedStatement
 	}
 
 
-	@Override
-	public void clearParameters() throws SQLException {
-		if (true) throw new RuntimeException("Not yet implemented!");
-		
-	}
-
-
 	@Override
 	public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException {
 		if (true) throw new RuntimeException("Not yet implemented!");
@@ -551,17 +641,19 @@ public class SqlPojoPreparedStatement implements PreparedStatement
 	}
 
 
+	/**
+	 * Adds the current parameter values to the batch and clears them,
+	 * because a parameter value cannot be set again before it is cleared.
+	 */
 	@Override
-	public void setObject(int parameterIndex, Object x) throws SQLException {
-		if (true) throw new RuntimeException("Not yet implemented!");
-		
-	}
-
-
-	@Override
-	public void addBatch() throws SQLException {
-		if (true) throw new RuntimeException("Not yet implemented!");
-		
+	public void addBatch() throws SQLException 
+	{
+		if (preparedStatement != null) {
+			batch.add(parameterValues.clone());
+		} else {
+			batch.add(buildOutputSql());
+		}
+		clearParameters();
 	}
 
 
@@ -35,27 +35,25 @@ import java.util.Date;
 public class SqlPojoResultSet implements ResultSet 
 {
     private SelectionTable selectionTable;
-    private final List<Object[]> selectedData;
+    private final List<Object[]> selectedData;  // rows fetched so far from the selection table
     private int resultCursorPosition = -1;
-	private int maximumIndex;
 	private boolean closed;
 
 	public SqlPojoResultSet(final SelectionTable aSelectionTable)
     {
 		this.selectionTable = aSelectionTable;
-        this.selectedData = aSelectionTable.getDataRows();
 
 		if (aSelectionTable == null) {
-			maximumIndex = -1;
+			this.selectedData = new ArrayList<Object[]>();
 		} else {
-			maximumIndex = selectionTable.getNumberOfRows() - 1;
+			this.selectedData = aSelectionTable.getFetchedDataRows();
 		}
 	}
 	
 	@Override
 	public boolean first() throws SQLException 
 	{
-		if (selectedData.size() == 0) {
+		if (selectedData.size() == 0 && ! fetchNextRow()) {
 			return false;
 		}
 		resultCursorPosition = 0;
@@ -82,9 +80,18 @@ public class SqlPojoResultSet implements ResultSet
 	@Override
 	public boolean next() throws SQLException 
 	{
-        boolean toReturn = (selectedData != null && selectedData.size() > 0 && resultCursorPosition < maximumIndex);
+		if (resultCursorPosition + 1 >= selectedData.size()) {
+			fetchNextRow();
+		}
 		resultCursorPosition++;
-		return toReturn;
+		return resultCursorPosition < selectedData.size();
+	}
+
+	/**
+	 * Pulls a single row from the selection table, so that the rows are selected while reading them.
+	 */
+	private boolean fetchNextRow() throws SQLException {
+		return selectionTable != null && selectionTable.fetchNextRow();
 	}
 
 	@Override
@@ -29,6 +29,11 @@ public interface ColumnData extends ColumnStatistics {
 
 	Object convertIntoColumnType(String valueAsString) throws SQLDataException;
 
+	/**
+	 * Converts a typed Java value bound to a parameter of a prepared statement.
+	 */
+	Object convertBoundValueIntoColumnType(Object value) throws SQLDataException;
+
 	/**
 	 * Validates validation type specific settings.
 	 * Nullable check is not performed here!
@@ -18,6 +18,7 @@ package com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.data;
 import com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.statistics.TableStatistics;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.ApartValue;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.OrderCondition;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.RowOperator;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.WhereCondition;
 
 import java.sql.SQLDataException;
@@ -33,10 +34,31 @@ public interface TableData extends TableStatistics {
 
 	void insertDataRow(List<ApartValue> values) throws SQLDataException;
 
+	/**
+	 * Inserts all rows or none of them, if a value or constraint is invalid.
+	 */
+	void insertDataRows(List<List<ApartValue>> valueRows) throws SQLDataException;
+
+	/**
+	 * Appends rows of Java values without converting them from strings, e.g. to set up test fixtures.
+	 * All rows are appended or none of them, if a value or constraint is invalid.
+	 * 
+	 * @param columnNames of the values in each row
+	 * @param valueRows values in the order of the column names, e.g. String, BigDecimal, Integer, Date or Boolean
+	 */
+	void loadDataRows(List<String> columnNames, List<Object[]> valueRows) throws SQLDataException;
+
 	List<Object[]> select(List<String> selectedColumns,
 						  List<WhereCondition> whereConditions,
 						  List<OrderCondition> orderConditions) throws SQLException;
 
+	/**
+	 * Builds the operators that deliver the selected data rows one by one on demand.
+	 */
+	RowOperator createSelectPipeline(List<String> selectedColumns,
+						             List<WhereCondition> whereConditions,
+						             List<OrderCondition> orderConditions) throws SQLException;
+
 	int update(List<ApartValue> newValues, List<WhereCondition> whereConditions) throws SQLException;
 
 	int delete(List<WhereCondition> whereConditions) throws SQLDataException;
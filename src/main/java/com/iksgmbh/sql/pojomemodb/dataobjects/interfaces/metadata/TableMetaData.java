@@ -20,6 +20,7 @@ import com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.statistics.TableStatist
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.ColumnInitData;
 
 import java.sql.SQLDataException;
+import java.util.List;
 
 /**
  * List for methods to manage the structure of a table. 
@@ -30,4 +31,8 @@ public interface TableMetaData extends TableStatistics {
 
 	void createNewColumn(ColumnInitData columnInitData, SqlPojoMemoDB memoryDb) throws SQLDataException;
 
+	void createIndex(String indexName, List<String> columnNames) throws SQLDataException;
+
+	void createBitmapIndex(String indexName, String columnName) throws SQLDataException;
+
 }
\ No newline at end of file
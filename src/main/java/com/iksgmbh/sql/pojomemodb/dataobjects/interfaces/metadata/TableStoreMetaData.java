@@ -16,6 +16,7 @@
 package com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.metadata;
 
 import java.sql.SQLException;
+import java.util.List;
 
 import com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.statistics.TableStoreStatistics;
 import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Sequence;
@@ -35,6 +36,22 @@ public interface TableStoreMetaData extends TableStoreStatistics {
 
 	void addSequence(Sequence sequence) throws SQLException;
 	
+	void dropSequence(String sequenceName);
+	
 	void dropAllSequences();
 
+	/**
+	 * @return all sequences sorted by name
+	 */
+	List<Sequence> getSequences();
+
+	/**
+	 * The schema version is increased by each change of the tables or their indexes,
+	 * so that plans resolved for older versions are recognized as outdated.
+	 * @return current schema version
+	 */
+	long getSchemaVersion();
+	
+	void increaseSchemaVersion();
+
 }
\ No newline at end of file
@@ -50,4 +50,14 @@ public interface TableStoreStatistics {
 
 	boolean isColumnNullable(String tableName, String columnName) throws SQLDataException;
 
+	/**
+	 * @return number of statements whose parse result was found in the parsed statement cache
+	 */
+	long getNumberOfParsedStatementCacheHits();
+
+	/**
+	 * @return number of statements that had to be parsed because they were not found in the cache
+	 */
+	long getNumberOfParsedStatementCacheMisses();
+
 }
\ No newline at end of file
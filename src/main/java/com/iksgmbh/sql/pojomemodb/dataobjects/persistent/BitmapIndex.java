@@ -0,0 +1,128 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.dataobjects.persistent;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Bitmap index on a single column with few distinct values like flags or status codes.
+ * For each distinct value it holds a compressed bitmap of the positions of the data rows 
+ * that contain this value. The bitmaps of several conditions are combined with AND and OR
+ * before any data row is read. Null values are not indexed.
+ * 
+ * Like TableIndex, insertions are applied immediately, whereas updates and deletes
+ * mark the index as outdated and it is rebuilt with the next lookup, 
+ * so lookups and changes of the index are synchronized.
+ */
+public class BitmapIndex 
+{
+	private String indexName;
+	private Table table;
+	private Column column;
+	private TreeMap<Object, RunLengthBitmap> bitmaps;
+	private boolean upToDate = false;
+
+	public BitmapIndex(final String indexName, 
+			           final Table table,
+			           final Column column) 
+	{
+		this.indexName = indexName.toUpperCase();
+		this.table = table;
+		this.column = column;
+		this.bitmaps = new TreeMap<Object, RunLengthBitmap>(column.getTypeValidator().getValueComparator());
+	}
+	
+	public String getIndexName() {
+		return indexName;
+	}
+	
+	public Column getColumn() {
+		return column;
+	}
+
+	/**
+	 * @param keys typed values of the column
+	 * @return bitmap of the data rows whose value equals one of the given keys
+	 */
+	public synchronized RunLengthBitmap lookup(final Collection<Object> keys) 
+	{
+		ensureUpToDate();
+		
+		RunLengthBitmap toReturn = new RunLengthBitmap();
+		for (Object key : keys) 
+		{
+			final RunLengthBitmap bitmap = key == null ? null : bitmaps.get(key);
+			if (bitmap != null) {
+				toReturn = toReturn.or(bitmap);
+			}
+		}
+		return toReturn;
+	}
+
+	public synchronized int getNumberOfDistinctValues() 
+	{
+		ensureUpToDate();
+		return bitmaps.size();
+	}
+
+	synchronized void addDataRow(final Object[] dataRow, final int rowIndex) 
+	{
+		if (upToDate) {
+			addPosition(dataRow, rowIndex);
+		}
+	}
+	
+	synchronized void invalidate() {
+		upToDate = false;
+	}
+
+	private void ensureUpToDate() 
+	{
+		if (upToDate) {
+			return;
+		}
+		
+		bitmaps.clear();
+		final List<Object[]> dataRows = table.getDataRows();
+		for (int rowIndex = 0; rowIndex < dataRows.size(); rowIndex++) {
+			addPosition(dataRows.get(rowIndex), rowIndex);
+		}
+		upToDate = true;
+	}
+
+	private void addPosition(final Object[] dataRow, final int rowIndex) 
+	{
+		final Object key = dataRow[column.getIndexInTable()];
+		if (key == null) {
+			return;
+		}
+		
+		RunLengthBitmap bitmap = bitmaps.get(key);
+		if (bitmap == null) {
+			bitmap = new RunLengthBitmap();
+			bitmaps.put(key, bitmap);
+		}
+		bitmap.add(rowIndex);
+	}
+
+	@Override
+	public String toString() {
+		return "BitmapIndex [indexName=" + indexName + ", tableName=" + table.getTableName() 
+		                    + ", column=" + column.getColumnName() + "]";
+	}
+}
@@ -22,10 +22,19 @@ import com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.data.SequenceData;
 import com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.metadata.ColumnMetaData;
 import com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.statistics.ColumnStatistics;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.ColumnInitData;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.ComparatorMatcher;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.ConditionMatcher;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.InListMatcher;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.LikeMatcher;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.LiteralValue;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.WhereCondition;
 import com.iksgmbh.sql.pojomemodb.validator.TypeValidator;
+import com.iksgmbh.sql.pojomemodb.utils.StringParseUtil;
 import com.iksgmbh.sql.pojomemodb.validator.TypeValidator.ValidatorType;
 
 import java.sql.SQLDataException;
+import java.util.ArrayList;
+import java.util.List;
 
 import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.*;
 
@@ -136,6 +145,37 @@ public class Column implements ColumnStatistics, ColumnMetaData, ColumnData
 		return typeValidator.convertIntoColumnType(valueAsString);
 	}
 
+	@Override
+	public Object convertBoundValueIntoColumnType(final Object value) throws SQLDataException 
+	{
+		if (value == null) {
+			return null;
+		}
+		
+		if (value instanceof LiteralValue) {
+			return convertIntoColumnType(((LiteralValue) value).getText());
+		}
+		
+		if (DbProperties.REPLACE_EMPTY_STRING_BY_NULL && "".equals(value))  {
+			return null;
+		}
+		
+		return typeValidator.convertBoundValueIntoColumnType(value);
+	}
+
+	/**
+	 * @return value of the condition converted into the column type - 
+	 *         for a parameter marker the value bound to it
+	 */
+	private Object convertConditionValue(final WhereCondition condition, 
+			                             final String valueAsString) throws SQLDataException 
+	{
+		if (StringParseUtil.isParameterMarker(valueAsString)) {
+			return convertBoundValueIntoColumnType(condition.getParameterValue(valueAsString));
+		}
+		return convertIntoColumnType(valueAsString);
+	}
+
 	private Object getValueFromSequence(String valueAsString) throws SQLDataException 
 	{
 		final int pos = valueAsString.indexOf("." + NEXTVAL);
@@ -172,7 +212,20 @@ public class Column implements ColumnStatistics, ColumnMetaData, ColumnData
 	{
 		final Object conditionValue = convertIntoColumnType(conditionValueAsString);
 		validate(conditionValue);
-		
+		return isMatchedByConditionValue(conditionValue, comparator, dataValueToCheck);
+	}
+	
+	/**
+	 * Compares a data value against a WhereCondition value that is already converted into the column type.
+	 * @param conditionValue
+	 * @param comparator
+	 * @param dataValueToCheck
+	 * @return true if dataValueToCheck is valid 
+	 */
+	public boolean isMatchedByConditionValue(final Object conditionValue, 
+			                                 final String comparator, 
+			                                 final Object dataValueToCheck) 
+	{
 		if ( COMPARATOR_EQUAL.equals(comparator) ) {
 			return checkForEquality(conditionValue, dataValueToCheck);
 		}
@@ -192,6 +245,71 @@ public class Column implements ColumnStatistics, ColumnMetaData, ColumnData
 		throw new RuntimeException("Unsupported comparator: " + comparator);
 	}
 
+	/**
+	 * Converts the value(s) of a where condition into the column type
+	 * and creates a matcher that checks the data rows against them.
+	 * @param condition that refers to this column
+	 * @return matcher to be used for all data rows checked in the current statement
+	 * @throws SQLDataException
+	 */
+	public ConditionMatcher createConditionMatcher(final WhereCondition condition) throws SQLDataException 
+	{
+		if (condition.isSubqueryCondition()) 
+		{
+			final List<Object> resultValues = condition.getSubquery().getResultValues();
+			if (resultValues == null) {
+				throw new SQLDataException("Subquery has not been executed: " + condition.getSubquery());
+			}
+			final List<Object> values = new ArrayList<Object>(resultValues.size());
+			for (Object resultValue : resultValues) {
+				values.add(convertBoundValueIntoColumnType(resultValue));  // the subquery may select a column of another type
+			}
+			return new InListMatcher(this, values, COMPARATOR_NOT_IN.equals(condition.getComparator()));
+		}
+		
+		if (condition.isValueListCondition()) 
+		{
+			final List<Object> values = new ArrayList<Object>();
+			for (String valueAsString : condition.getValueList()) {
+				final Object value = convertConditionValue(condition, valueAsString);
+				validate(value);
+				values.add(value);
+			}
+			return new InListMatcher(this, values, COMPARATOR_NOT_IN.equals(condition.getComparator()));
+		}
+		
+		if (condition.isPatternCondition()) 
+		{
+			String patternAsString = condition.getValueAsString();
+			if (StringParseUtil.isParameterMarker(patternAsString)) 
+			{
+				final Object boundPattern = condition.getParameterValue(patternAsString);
+				if ( ! (boundPattern instanceof LiteralValue) ) {
+					return createLikeMatcher(condition, boundPattern);
+				}
+				patternAsString = ((LiteralValue) boundPattern).getText();
+			}
+			if ( ! patternAsString.startsWith("'") || ! patternAsString.endsWith("'") || patternAsString.length() < 2) {
+				throw new SQLDataException("Pattern '" + patternAsString + "' of column '" + columnName + "' is not surrounded by '.");
+			}
+			final String pattern = StringParseUtil.removeSurroundingPrefixAndPostFix(patternAsString, "'", "'");
+			return new LikeMatcher(this, pattern, COMPARATOR_NOT_LIKE.equals(condition.getComparator()));
+		}
+		
+		final Object conditionValue = convertConditionValue(condition, condition.getValueAsString());
+		validate(conditionValue);
+		return new ComparatorMatcher(this, condition.getComparator(), conditionValue);
+	}
+
+	private ConditionMatcher createLikeMatcher(final WhereCondition condition, 
+			                                   final Object boundPattern) throws SQLDataException 
+	{
+		if (boundPattern == null) {
+			throw new SQLDataException("Pattern of column '" + columnName + "' must not be null.");
+		}
+		return new LikeMatcher(this, boundPattern.toString(), COMPARATOR_NOT_LIKE.equals(condition.getComparator()));
+	}
+
 	private boolean checkForEquality(Object conditionValue, Object dataValueToCheck) 
 	{
 		if (conditionValue == null && dataValueToCheck == null)  {
@@ -206,7 +324,7 @@ public class Column implements ColumnStatistics, ColumnMetaData, ColumnData
 			return true;
 		}
 		
-		return conditionValue.toString().equals(dataValueToCheck.toString());
+		return typeValidator.getValueComparator().isEqual(conditionValue, dataValueToCheck);
 	}
 
 	public String getDefaultValue() {
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.dataobjects.persistent;
+
+import java.util.BitSet;
+
+/**
+ * Compressed bitmap of row positions that stores runs of consecutive positions 
+ * as pairs of start and end position. Columns with few distinct values tend to
+ * contain long runs of the same value, so their bitmaps need much less memory 
+ * than an uncompressed bitmap and can be combined run by run.
+ */
+public class RunLengthBitmap 
+{
+	private int[] runs;  // start (inclusive) and end (exclusive) of each run, sorted and not adjacent
+	private int numberOfRuns;
+
+	public RunLengthBitmap() {
+		this(4);
+	}
+
+	private RunLengthBitmap(final int capacity) {
+		runs = new int[2 * capacity];
+	}
+
+	/**
+	 * @param position must be greater than all positions added before
+	 */
+	public void add(final int position) 
+	{
+		if (numberOfRuns > 0) 
+		{
+			final int lastEnd = runs[2 * numberOfRuns - 1];
+			if (position < lastEnd) {
+				throw new IllegalArgumentException("Position " + position + " must be added in ascending order.");
+			}
+			if (position == lastEnd) {
+				runs[2 * numberOfRuns - 1] = position + 1;
+				return;
+			}
+		}
+		addRun(position, position + 1);
+	}
+
+	public int getNumberOfRuns() {
+		return numberOfRuns;
+	}
+
+	public int cardinality() 
+	{
+		int toReturn = 0;
+		for (int i = 0; i < numberOfRuns; i++) {
+			toReturn += runs[2 * i + 1] - runs[2 * i];
+		}
+		return toReturn;
+	}
+
+	/**
+	 * @return new bitmap that contains the positions contained in both bitmaps
+	 */
+	public RunLengthBitmap and(final RunLengthBitmap other) 
+	{
+		final RunLengthBitmap toReturn = new RunLengthBitmap(Math.max(1, Math.min(numberOfRuns, other.numberOfRuns)));
+		int i = 0;
+		int j = 0;
+		
+		while (i < numberOfRuns && j < other.numberOfRuns) 
+		{
+			final int start = Math.max(runs[2 * i], other.runs[2 * j]);
+			final int end = Math.min(runs[2 * i + 1], other.runs[2 * j + 1]);
+			
+			if (start < end) {
+				toReturn.addRun(start, end);
+			}
+			
+			if (runs[2 * i + 1] < other.runs[2 * j + 1]) {
+				i++;
+			} else {
+				j++;
+			}
+		}
+		
+		return toReturn;
+	}
+
+	/**
+	 * @return new bitmap that contains the positions contained in at least one of the bitmaps
+	 */
+	public RunLengthBitmap or(final RunLengthBitmap other) 
+	{
+		final RunLengthBitmap toReturn = new RunLengthBitmap(Math.max(1, numberOfRuns + other.numberOfRuns));
+		int i = 0;
+		int j = 0;
+		
+		while (i < numberOfRuns || j < other.numberOfRuns) 
+		{
+			final int start;
+			final int end;
+			
+			if (j == other.numberOfRuns || (i < numberOfRuns && runs[2 * i] <= other.runs[2 * j])) {
+				start = runs[2 * i];
+				end = runs[2 * i + 1];
+				i++;
+			} else {
+				start = other.runs[2 * j];
+				end = other.runs[2 * j + 1];
+				j++;
+			}
+			
+			toReturn.mergeRun(start, end);
+		}
+		
+		return toReturn;
+	}
+
+	public BitSet toBitSet() 
+	{
+		final BitSet toReturn = new BitSet(numberOfRuns == 0 ? 0 : runs[2 * numberOfRuns - 1]);
+		for (int i = 0; i < numberOfRuns; i++) {
+			toReturn.set(runs[2 * i], runs[2 * i + 1]);
+		}
+		return toReturn;
+	}
+
+	/**
+	 * Appends a run whose start is not smaller than the start of the last run.
+	 */
+	private void mergeRun(final int start, final int end) 
+	{
+		if (numberOfRuns > 0 && start <= runs[2 * numberOfRuns - 1]) 
+		{
+			if (end > runs[2 * numberOfRuns - 1]) {
+				runs[2 * numberOfRuns - 1] = end;
+			}
+			return;
+		}
+		addRun(start, end);
+	}
+
+	private void addRun(final int start, final int end) 
+	{
+		if (2 * numberOfRuns == runs.length) 
+		{
+			final int[] newRuns = new int[2 * runs.length];
+			System.arraycopy(runs, 0, newRuns, 0, runs.length);
+			runs = newRuns;
+		}
+		runs[2 * numberOfRuns] = start;
+		runs[2 * numberOfRuns + 1] = end;
+		numberOfRuns++;
+	}
+	
+	@Override
+	public String toString() 
+	{
+		final StringBuilder sb = new StringBuilder("RunLengthBitmap [");
+		for (int i = 0; i < numberOfRuns; i++) {
+			if (i > 0) sb.append(", ");
+			sb.append(runs[2 * i]).append("-").append(runs[2 * i + 1] - 1);
+		}
+		return sb.append("]").toString();
+	}
+}
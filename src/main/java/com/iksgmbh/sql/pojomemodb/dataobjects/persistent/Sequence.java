@@ -28,18 +28,18 @@ public class Sequence implements SequenceData, SequenceMetaData
 	}
 
 	@Override
-	public long nextVal() {
+	public synchronized long nextVal() {
 		currentValue++;
 		return currentValue;
 	}
 
 	@Override
-	public long getCurrentValue() {
+	public synchronized long getCurrentValue() {
 		return currentValue;
 	}
 
 	@Override
-	public void setCurrentValue(final long newValue) {
+	public synchronized void setCurrentValue(final long newValue) {
 		currentValue = newValue;
 		
 	}
@@ -21,10 +21,17 @@ import java.math.BigDecimal;
 import java.sql.SQLDataException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.iksgmbh.sql.pojomemodb.SQLKeyWords;
 import com.iksgmbh.sql.pojomemodb.SqlPojoMemoDB;
@@ -33,9 +40,19 @@ import com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.data.TableData;
 import com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.metadata.TableMetaData;
 import com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.statistics.ColumnStatistics;
 import com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.statistics.TableStatistics;
+import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.TableIndex.IndexEntry;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.ApartValue;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.ColumnInitData;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.ConditionMatcher;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.ExistsMatcher;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.FilterOperator;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.IndexScanOperator;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.LogicalMatcher;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.OrderCondition;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.ProjectionOperator;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.RowOperator;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.SortOperator;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.TableScanOperator;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.WhereCondition;
 import com.iksgmbh.sql.pojomemodb.utils.StringParseUtil;
 import com.iksgmbh.sql.pojomemodb.validator.ConstraintValidator;
@@ -55,11 +72,16 @@ import com.iksgmbh.sql.pojomemodb.validator.TypeValidator.ValidatorType;
 public class Table implements TableStatistics, TableMetaData, TableData
 {
 	protected final static Comparator<Column> COLUMN_SORT_COMPARATOR = createColumnSortComparator();
+	private final static int MAX_CACHED_PROJECTIONS = 100;
 	
 	protected String tableName;
 	protected HashMap<String, Column> columnMap = new HashMap<String, Column>();
 	protected List<String> sortedColumnNames = new ArrayList<String>();  // sorted by Column.orderNumber
 	protected List<Object[]> dataRows = new ArrayList<Object[]>();  // objectArray is sorted by Column.orderNumber
+	protected List<TableIndex> indexes = new ArrayList<TableIndex>();
+	protected List<BitmapIndex> bitmapIndexes = new ArrayList<BitmapIndex>();
+	protected Map<List<String>, Projection> projectionCache = new ConcurrentHashMap<List<String>, Projection>();  // key: selected columns as in the statement
+	protected boolean readOnly = false;
 
 	public Table(String tableName) {
 		this.tableName = tableName.toUpperCase();
@@ -86,6 +108,47 @@ public class Table implements TableStatistics, TableMetaData, TableData
 
 	public void setDataRows(List<Object[]> dataRows) {
 		this.dataRows = dataRows;
+		invalidateIndexes();
+	}
+	
+	/**
+	 * Sets data rows that must not be changed, e.g. rows decoded from a mapped file on each access.
+	 * Afterwards, inserts, updates and deletes are rejected.
+	 */
+	public void attachReadOnlyDataRows(final List<Object[]> dataRows) {
+		setDataRows(dataRows);
+		readOnly = true;
+	}
+	
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+	
+	public List<TableIndex> getIndexes() {
+		return indexes;
+	}
+	
+	public List<BitmapIndex> getBitmapIndexes() {
+		return bitmapIndexes;
+	}
+	
+	/**
+	 * Creates an index for each column with a primary key or unique constraint.
+	 * Oracle backs these constraints by an index as well.
+	 */
+	public void createConstraintIndexes() throws SQLDataException 
+	{
+		for (String columnName : sortedColumnNames) 
+		{
+			final Column column = columnMap.get(columnName);
+			final String constraintId = column.getPrimaryKeyId() != null ? column.getPrimaryKeyId() 
+					                                                     : column.getUniqueConstraintId();
+			if (constraintId != null && findIndex(constraintId) == null) {
+				final List<String> indexColumnNames = new ArrayList<String>();
+				indexColumnNames.add(columnName);
+				createIndex(constraintId, indexColumnNames);
+			}
+		}
 	}
 	
 	// #########################################################################################
@@ -144,6 +207,92 @@ public class Table implements TableStatistics, TableMetaData, TableData
 		final Column column = new Column(columnInitData, orderNumber, memoryDB);
 		columnMap.put(upperCaseColumnName, column);
 		sortedColumnNames.add(upperCaseColumnName);
+		projectionCache.clear();
+	}
+	
+	@Override
+	public void createIndex(final String indexName, 
+			                final List<String> columnNames) throws SQLDataException 
+	{
+		checkIndexName(indexName);
+		
+		if (columnNames.isEmpty()) {
+			throw new SQLDataException("No column defined for index '" + indexName + "'.");
+		}
+		
+		final List<Column> indexColumns = new ArrayList<Column>();
+		for (String columnName : columnNames) {
+			indexColumns.add(getColumn(columnName));
+		}
+		
+		indexes.add(new TableIndex(indexName, this, indexColumns));
+	}
+	
+	@Override
+	public void createBitmapIndex(final String indexName, 
+			                      final String columnName) throws SQLDataException 
+	{
+		checkIndexName(indexName);
+		bitmapIndexes.add(new BitmapIndex(indexName, this, getColumn(columnName)));
+	}
+	
+	private void checkIndexName(final String indexName) throws SQLDataException 
+	{
+		boolean existing = findIndex(indexName) != null;
+		for (BitmapIndex index : bitmapIndexes) {
+			existing = existing || index.getIndexName().equalsIgnoreCase(indexName);
+		}
+		
+		if (existing) {
+			throw new SQLDataException("An index '" + indexName.toUpperCase() + "' is already existing for table '" + tableName + "'.");
+		}
+	}
+	
+	private TableIndex findIndex(final String indexName) 
+	{
+		for (TableIndex index : indexes) {
+			if (index.getIndexName().equalsIgnoreCase(indexName)) {
+				return index;
+			}
+		}
+		return null;
+	}
+	
+	private TableIndex findIndexWithLeadingColumn(final Column column) 
+	{
+		for (TableIndex index : indexes) {
+			if (index.getLeadingColumn() == column) {
+				return index;
+			}
+		}
+		return null;
+	}
+	
+	private BitmapIndex findBitmapIndex(final Column column) 
+	{
+		for (BitmapIndex index : bitmapIndexes) {
+			if (index.getColumn() == column) {
+				return index;
+			}
+		}
+		return null;
+	}
+	
+	private void checkWritable() throws SQLDataException 
+	{
+		if (readOnly) {
+			throw new SQLDataException("Table " + tableName + " is read-only.");
+		}
+	}
+	
+	private void invalidateIndexes() 
+	{
+		for (TableIndex index : indexes) {
+			index.invalidate();
+		}
+		for (BitmapIndex index : bitmapIndexes) {
+			index.invalidate();
+		}
 	}
 	
 	// #########################################################################################
@@ -153,8 +302,125 @@ public class Table implements TableStatistics, TableMetaData, TableData
 	@Override
 	public void insertDataRow(final List<ApartValue> values) throws SQLDataException 
 	{
-		final Object[] newDataRow = new Object[getNumberOfColumns()];
+		checkWritable();
+		final List<SQLDataException> exceptionList = new ArrayList<SQLDataException>();
+		final Object[] newDataRow = createNewDataRow(values, exceptionList);
+        exceptionList.addAll( ConstraintValidator.validatePrimaryKeyConstraints(dataRows, newDataRow, sortedColumnNames, columnMap) );
+        throwValidationProblems(exceptionList);
+
+		dataRows.add(newDataRow);
+		addToIndexes(newDataRow, dataRows.size() - 1);
+	}
+
+	/**
+	 * Inserts the rows as one bulk append.
+	 */
+	@Override
+	public void insertDataRows(final List<List<ApartValue>> valueRows) throws SQLDataException 
+	{
+		checkWritable();
+		final List<SQLDataException> exceptionList = new ArrayList<SQLDataException>();
+		final List<Object[]> newDataRows = new ArrayList<Object[]>(valueRows.size());
+		
+		for (List<ApartValue> values : valueRows) {
+			newDataRows.add(createNewDataRow(values, exceptionList));
+		}
+		
+		appendDataRows(newDataRows, exceptionList);
+	}
+
+	/**
+	 * The values are converted into the column types like bound parameter values, i.e. without 
+	 * formatting and parsing them, and validated against the column types. As for insertDataRows,
+	 * the constraints are validated and the indexes are updated in one final pass.
+	 */
+	@Override
+	public void loadDataRows(final List<String> columnNames, 
+			                 final List<Object[]> valueRows) throws SQLDataException {
+		loadDataRows(columnNames, valueRows, true);
+	}
+
+	/**
+	 * Like loadDataRows, but for values that have already been converted into the column types 
+	 * and validated against them (e.g. by the CsvImporter), so only the constraints are validated.
+	 */
+	public void loadConvertedDataRows(final List<String> columnNames, 
+			                          final List<Object[]> valueRows) throws SQLDataException {
+		loadDataRows(columnNames, valueRows, false);
+	}
+
+	private void loadDataRows(final List<String> columnNames, 
+			                  final List<Object[]> valueRows,
+			                  final boolean convertValues) throws SQLDataException 
+	{
+		checkWritable();
+		final Column[] columns = new Column[columnNames.size()];
+		for (int i = 0; i < columns.length; i++) {
+			columns[i] = getColumn(columnNames.get(i));
+		}
+		
 		final List<SQLDataException> exceptionList = new ArrayList<SQLDataException>();
+		final List<Object[]> newDataRows = new ArrayList<Object[]>(valueRows.size());
+		
+		for (Object[] values : valueRows) 
+		{
+			if (values.length != columns.length) {
+				throw new SQLDataException("Unequal number of column names (" + columns.length + ") and data values ("
+						                   + values.length + ").");
+			}
+			
+			final Object[] newDataRow = new Object[getNumberOfColumns()];
+			for (int i = 0; i < columns.length; i++) 
+			{
+				if ( ! convertValues ) {
+					newDataRow[columns[i].getIndexInTable()] = values[i];
+					continue;
+				}
+				
+				try {
+					final Object value = columns[i].convertBoundValueIntoColumnType(values[i]);
+					columns[i].validate(value);
+					newDataRow[columns[i].getIndexInTable()] = value;
+				} catch (SQLDataException e) {
+					exceptionList.add(e);
+				}
+			}
+			
+	        exceptionList.addAll( ConstraintValidator.validateNullConstraints(newDataRow, sortedColumnNames, columnMap) );
+			newDataRows.add(newDataRow);
+		}
+		
+		appendDataRows(newDataRows, exceptionList);
+	}
+
+	/**
+	 * Validates the primary key and unique constraints of all new rows at once. 
+	 * Indexes that would grow by more entries than they contain are rebuilt 
+	 * by their next lookup instead of adding the entries one by one.
+	 */
+	private void appendDataRows(final List<Object[]> newDataRows, 
+			                    final List<SQLDataException> exceptionList) throws SQLDataException 
+	{
+        exceptionList.addAll( ConstraintValidator.validatePrimaryKeyConstraints(dataRows, newDataRows, sortedColumnNames, columnMap) );
+        throwValidationProblems(exceptionList);
+        
+        final int firstRowIndex = dataRows.size();
+        dataRows.addAll(newDataRows);
+        
+        if (newDataRows.size() > firstRowIndex) {
+        	invalidateIndexes();
+        	return;
+        }
+        
+		for (int i = 0; i < newDataRows.size(); i++) {
+			addToIndexes(newDataRows.get(i), firstRowIndex + i);
+		}
+	}
+
+	private Object[] createNewDataRow(final List<ApartValue> values, 
+			                          final List<SQLDataException> exceptionList) 
+	{
+		final Object[] newDataRow = new Object[getNumberOfColumns()];
 		
 		for (ApartValue apartValue : values) {
 			
@@ -166,8 +432,11 @@ public class Table implements TableStatistics, TableMetaData, TableData
 		}
 
         exceptionList.addAll( ConstraintValidator.validateNullConstraints(newDataRow, sortedColumnNames, columnMap) );
-        exceptionList.addAll( ConstraintValidator.validatePrimaryKeyConstraints(dataRows, newDataRow, sortedColumnNames, columnMap) );
+        return newDataRow;
+	}
 
+	private void throwValidationProblems(final List<SQLDataException> exceptionList) throws SQLDataException 
+	{
         if ( ! exceptionList.isEmpty() )
 		{
 			final StringBuilder  sb = new StringBuilder ();
@@ -183,32 +452,64 @@ public class Table implements TableStatistics, TableMetaData, TableData
 			
 			throw new SQLDataException(sb.toString());
 		}
-		
+	}
 
-		dataRows.add(newDataRow);
+	private void addToIndexes(final Object[] newDataRow, 
+			                  final int rowIndex) 
+	{
+		for (TableIndex index : indexes) {
+			index.addDataRow(newDataRow, rowIndex);
+		}
+		for (BitmapIndex index : bitmapIndexes) {
+			index.addDataRow(newDataRow, rowIndex);
+		}
 	}
 
 	@Override
-	public List<Object[]> select(List<String> selectedColumns,
+	public List<Object[]> select(final List<String> selectedColumns,
 								 final List<WhereCondition> whereConditions,
 								 final List<OrderCondition> orderConditions) throws SQLDataException
+	{
+		return createSelectPipeline(selectedColumns, whereConditions, orderConditions).fetchAllRows();
+	}
+
+	@Override
+	public RowOperator createSelectPipeline(List<String> selectedColumns,
+			                                final List<WhereCondition> whereConditions,
+			                                final List<OrderCondition> orderConditions) throws SQLDataException
 	{
 		if (selectedColumns == null) {
 			selectedColumns = getNamesOfColumns();
 		}
 		
-		final List<Object[]> tableData = createDataRowsClone();
-		applySqlFunctions(tableData, selectedColumns);
-		List<Object[]> selectedDataRows = selectDataRows(whereConditions, tableData).selectedRows;
-		selectedDataRows = orderBy(selectedDataRows, orderConditions);	
-		return removeUnselectedColumns(selectedDataRows, selectedColumns);
+		final Projection projection = resolveProjection(selectedColumns);
+		if (projection.dateFormatPatterns != null) {
+			selectedColumns.clear();  // sql functions are removed from the column names
+			selectedColumns.addAll(projection.columnNames);
+		}
+		
+		final List<ConditionMatcher> conditionMatchers = createConditionMatchers(whereConditions);
+		
+		RowOperator pipeline = createIndexOnlyScan(projection.columns, conditionMatchers, orderConditions);
+		if (pipeline == null) {
+			final Set<String> usedIndexNames = new LinkedHashSet<String>();
+			final BitSet candidateRows = conditionMatchers.isEmpty() ? null : findCandidateRowsByIndex(conditionMatchers, usedIndexNames);
+			pipeline = new TableScanOperator(tableName, dataRows, candidateRows, usedIndexNames);
+		}
+		
+		if ( ! conditionMatchers.isEmpty() ) {
+			pipeline = new FilterOperator(pipeline, conditionMatchers, whereConditions);
+		}
+		
+		pipeline = orderBy(pipeline, orderConditions);	
+		return new ProjectionOperator(pipeline, projection.columnNames, projection.columnIndices, projection.createDateFormats());
 	}
 
-	private List<Object[]> orderBy(final List<Object[]> selectedTableData,
-								   final List<OrderCondition> orderConditions) throws SQLDataException
+	private RowOperator orderBy(final RowOperator input,
+								final List<OrderCondition> orderConditions) throws SQLDataException
 	{
 		if (orderConditions.size() == 0) {
-			return selectedTableData;
+			return input;
 		}
 
 		if (orderConditions.size() > 1) {
@@ -219,46 +520,14 @@ public class Table implements TableStatistics, TableMetaData, TableData
 		final Column column = getColumn(columnName);
 		final String direction = orderConditions.get(0).getDirection();
 
-		return orderBy(selectedTableData, column, direction);
-	}
-
-	private List<Object[]> orderBy(List<Object[]> inputData, Column column, String direction) throws SQLDataException
-	{
-		final List<Object[]> toReturn = new ArrayList<Object[]>();  // objectArray is sorted by Column.orderNumber
-		final int orderColumnIndex = column.getIndexInTable();
-		final TypeValidator typeValidator = column.getTypeValidator();
-
-		while (inputData.size() > 0)
-		{
-			Object[] orderedRow = inputData.get(0);
-			for (Object[] dataRow : inputData) {
-				if (isDataRowGreaterOrLess(typeValidator, orderedRow[orderColumnIndex], dataRow[orderColumnIndex], direction)) {
-					orderedRow = dataRow;
-				}
-			}
-			toReturn.add(orderedRow);
-			inputData.remove(orderedRow);
-		}
-
-		return toReturn;
-	}
-
-	private boolean isDataRowGreaterOrLess(TypeValidator typeValidator, Object value1, Object value2, String direction) throws SQLDataException
-	{
-		Boolean result = typeValidator.isValue1SmallerThanValue2(value1, value2);
-		if (result == null) return false;
-
-		if (SQLKeyWords.ASC.equals(direction)) {
-			return ! result;
-		} else {  // DESC
-			return result;
-		}
+		return new SortOperator(input, columnName, column.getIndexInTable(), column.getTypeValidator().getValueComparator(), direction);
 	}
 
 	@Override
 	public int update(final List<ApartValue> newValues, 
 			          final List<WhereCondition> whereConditions) throws SQLDataException 
 	{
+		checkWritable();
 		final SelectionResult selectionResult = selectDataRows(whereConditions, dataRows);
 		final List<Object[]> updatedRows = updateSelectedDataRows(selectionResult.selectedRows, newValues);
 		return integrateDataRows(updatedRows, selectionResult.rowIndices);
@@ -267,6 +536,7 @@ public class Table implements TableStatistics, TableMetaData, TableData
 
 	@Override
 	public int delete(final List<WhereCondition> whereConditions) throws SQLDataException {
+		checkWritable();
 		final SelectionResult selectionResult = selectDataRows(whereConditions, dataRows);
 		return deleteDataRows(selectionResult.rowIndices);
 	}
@@ -276,81 +546,158 @@ public class Table implements TableStatistics, TableMetaData, TableData
 	// #############################################################################################
 	
 	/**
-	 * Converts data values in those rows of the tableData where functions have to be applied and
-	 * removes the called function from the column names in selectedColumns
-	 * @param tableData 
-	 * @param selectedColumns
+	 * Creates a scan that answers a query from the entries of an index without accessing the data rows, 
+	 * if the index contains all columns the query refers to and one of the where conditions 
+	 * allows an index lookup on its leading column.
+	 * 
+	 * @return scan on the index entries found or null if no covering index is available
 	 * @throws SQLDataException
 	 */
-	private void applySqlFunctions(final List<Object[]> tableData, 
-			                       final List<String> selectedColumns) throws SQLDataException 
+	private RowOperator createIndexOnlyScan(final List<Column> projectedColumns, 
+			                                final List<ConditionMatcher> conditionMatchers,
+			                                final List<OrderCondition> orderConditions) throws SQLDataException 
 	{
+		if (indexes.isEmpty() || conditionMatchers.isEmpty() || orderConditions.size() > 1) {
+			return null;
+		}
 		
-		for (int i = 0; i < selectedColumns.size(); i++) 
+		final List<Column> referencedColumns = new ArrayList<Column>(projectedColumns);
+		
+		if (orderConditions.size() == 1) {
+			referencedColumns.add(getColumn(orderConditions.get(0).getColumnName()));
+		}
+		
+		if ( ! collectColumns(conditionMatchers, referencedColumns) ) {
+			return null;
+		}
+		
+		for (TableIndex index : indexes) 
 		{
-			final String oldColumnName = selectedColumns.get(i);
+			if ( ! index.getColumns().containsAll(referencedColumns) ) continue;
+			
+			final List<IndexEntry> indexEntries = lookupEntries(index, conditionMatchers);
+			if (indexEntries == null) continue;
 			
-			if (oldColumnName.startsWith(TO_CHAR))  
+			final List<Column> indexColumns = index.getColumns();
+			final int[] columnIndicesInTable = new int[indexColumns.size()];
+			for (int i = 0; i < columnIndicesInTable.length; i++) {
+				columnIndicesInTable[i] = indexColumns.get(i).getIndexInTable();
+			}
+			
+			return new IndexScanOperator(index.getIndexName(), indexEntries, columnIndicesInTable, getNumberOfColumns());
+		}
+		
+		return null;
+	}
+
+	/**
+	 * @return false if a condition refers to something else than columns of this table 
+	 */
+	private boolean collectColumns(final List<ConditionMatcher> conditionMatchers, 
+			                       final List<Column> columns) 
+	{
+		for (ConditionMatcher conditionMatcher : conditionMatchers) 
+		{
+			if (conditionMatcher instanceof LogicalMatcher) 
 			{
-				final String newColumnName = convertDateColumnInTableDataToString(tableData, oldColumnName);
-				selectedColumns.set(i, newColumnName);
+				if ( ! collectColumns(((LogicalMatcher) conditionMatcher).getSubMatchers(), columns) ) {
+					return false;
+				}
 			} 
+			else if (conditionMatcher.getColumn() != null) 
+			{
+				columns.add(conditionMatcher.getColumn());
+			}
+			else if ( ! (conditionMatcher instanceof ExistsMatcher) ) 
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private List<IndexEntry> lookupEntries(final TableIndex index, 
+			                               final List<ConditionMatcher> conditionMatchers) 
+	{
+		List<IndexEntry> toReturn = null;
+		
+		for (ConditionMatcher conditionMatcher : conditionMatchers) 
+		{
+			if (conditionMatcher.getColumn() != index.getLeadingColumn()) continue;
+			
+			final Collection<Object> indexKeys = conditionMatcher.getIndexKeys();
+			if (indexKeys != null) {
+				return index.lookupEntries(indexKeys);
+			}
+			
+			final String indexKeyPrefix = conditionMatcher.getIndexKeyPrefix();
+			if (indexKeyPrefix != null && toReturn == null) {
+				toReturn = index.lookupEntriesByPrefix(indexKeyPrefix);
+			}
 		}
+		
+		return toReturn;
 	}
 
 	/**
-	 * Converts date values in a date column of the tableData.
-	 * 
-	 * @param tableData
-	 * @param oldColumnName with function information
-	 * @return newColumnName without function information
-	 * @throws SQLDataException
+	 * Resolves the selected columns into their positions in the data rows.
+	 * The result is cached, so that statements selecting the same columns 
+	 * (e.g. each execution of a prepared statement) resolve them only once.
 	 */
-	private String convertDateColumnInTableDataToString(final List<Object[]> tableData, 
-			                                            final String oldColumnName) throws SQLDataException 
+	private Projection resolveProjection(final List<String> selectedColumns) throws SQLDataException 
 	{
-		String tmp = oldColumnName.substring(TO_CHAR.length());
-		tmp = StringParseUtil.removeSurroundingPrefixAndPostFix(tmp, "(", ")");
-		String[] splitResult = tmp.split(",");
-		final String newColumnName = splitResult[0].trim();
-		String dateFormat = StringParseUtil.removeSurroundingPrefixAndPostFix(splitResult[1].trim(), "'", "'");
-		final Column dateColumn = getColumn(newColumnName);
+		Projection toReturn = projectionCache.get(selectedColumns);
 		
-		convertDateColumnInTableDataToString(dateColumn, dateFormat, tableData);
-		return newColumnName;
+		if (toReturn == null) 
+		{
+			final List<String> cacheKey = new ArrayList<String>(selectedColumns);
+			toReturn = new Projection(selectedColumns.size());
+			
+			for (int i = 0; i < selectedColumns.size(); i++) 
+			{
+				final String columnName = applySqlFunctions(selectedColumns.get(i), toReturn, i);
+				final Column column = getColumn(columnName);
+				toReturn.columnNames.add(columnName);
+				toReturn.columns.add(column);
+				toReturn.columnIndices[i] = column.getIndexInTable();
+			}
+			
+			if (projectionCache.size() >= MAX_CACHED_PROJECTIONS) {
+				projectionCache.clear();
+			}
+			projectionCache.put(cacheKey, toReturn);
+		}
+		
+		return toReturn;
 	}
 
 	/**
-	 * Converts date values in a date column of the tableData.
+	 * Stores the date format of a to_char function in the projection.
 	 * 
-	 * @param dateColumn
-	 * @param dateFormat
-	 * @param tableData
+	 * @param selectedColumn column name with function information
+	 * @return column name without function information
 	 * @throws SQLDataException
 	 */
-	private void convertDateColumnInTableDataToString(final Column dateColumn, 
-			                                          final String dateFormat,
-			                                          final List<Object[]> tableData) throws SQLDataException 
+	private String applySqlFunctions(final String selectedColumn, 
+			                         final Projection projection,
+			                         final int position) throws SQLDataException 
 	{
-		final ValidatorType validationType = dateColumn.getValidationType();
-		
-		if (validationType != ValidatorType.DATE) {
-			throw new SQLDataException("Function to_char only valid ");
+		if ( ! selectedColumn.startsWith(TO_CHAR) ) {
+			return selectedColumn;
 		}
 		
-		final SimpleDateFormat sdf = new SimpleDateFormat(dateFormat.replace("mm", "MM").replace("mi", "mm").replace("hh24", "HH"));
+		String tmp = selectedColumn.substring(TO_CHAR.length());
+		tmp = StringParseUtil.removeSurroundingPrefixAndPostFix(tmp, "(", ")");
+		String[] splitResult = tmp.split(",");
+		final String newColumnName = splitResult[0].trim();
+		String dateFormat = StringParseUtil.removeSurroundingPrefixAndPostFix(splitResult[1].trim(), "'", "'");
 		
-		for (int row = 0; row < tableData.size(); row++) 
-		{
-			final Object[] columnData = tableData.get(row);
-			Object value = columnData[dateColumn.getIndexInTable()];
-			
-			if (value != null) {
-				final Date date = (Date) value;
-				final String dateAsString = sdf.format(date);
-				columnData[dateColumn.getIndexInTable()] = dateAsString;
-			}
+		if (getColumn(newColumnName).getValidationType() != ValidatorType.DATE) {
+			throw new SQLDataException("Function to_char only valid ");
 		}
+		
+		projection.setDateFormatPattern(position, dateFormat.replace("mm", "MM").replace("mi", "mm").replace("hh24", "HH"));
+		return newColumnName;
 	}
 	
 	private int deleteDataRows(final List<Integer> rowIndicesToDelete) 
@@ -366,6 +713,7 @@ public class Table implements TableStatistics, TableMetaData, TableData
 		}
 		
 		dataRows = newDataRows;
+		invalidateIndexes();
 		return rowIndicesToDelete.size();
 	}
 
@@ -377,63 +725,60 @@ public class Table implements TableStatistics, TableMetaData, TableData
 		}
 		
 		
+		final List<Object[]> newDataRows = new ArrayList<Object[]>(dataRows);
 		for (int i = 0; i < rowIndices.size(); i++) 
 		{
 			int rowIndex = rowIndices.get(i);
-			dataRows.set(rowIndex, updatedDataRows.get(i));
+			newDataRows.set(rowIndex, updatedDataRows.get(i));
 		}
 		
+		dataRows = newDataRows;
+		invalidateIndexes();
+		
 		return updatedDataRows.size();
 	}
 
+	/**
+	 * Updates copies of the selected data rows, so that select pipelines that are not 
+	 * read completely yet still deliver the data as it was when the select was executed.
+	 */
 	private List<Object[]> updateSelectedDataRows(final List<Object[]> selectedDataRows, 
 			                                      final List<ApartValue> newValues) throws SQLDataException 
 	{
+		final List<Object[]> toReturn = new ArrayList<Object[]>();
+		for (Object[] dataRow : selectedDataRows) {
+			toReturn.add(dataRow.clone());
+		}
+		
 		for (ApartValue apartValue : newValues) 
 		{
 			final Column column = getColumn(apartValue.getColumnName());
-			final Object value = column.convertIntoColumnType(apartValue.getValueAsString());
+			final Object value = convertIntoColumnType(column, apartValue);
 			column.validate(value);
-			for (Object[] dataRow : selectedDataRows) {
+			for (Object[] dataRow : toReturn) {
 				dataRow[column.getOrderNumber()-1] = value;
 			}
 		}
 		
-		return selectedDataRows;
+		return toReturn;
 	}
 
 	private void integrateValue(final ApartValue apartValue,
 			                    final Object[] newDataRow) throws SQLDataException 
 	{
 		final ColumnData column = getColumn(apartValue.getColumnName()); 
-		final Object value = column.convertIntoColumnType(apartValue.getValueAsString());
+		final Object value = convertIntoColumnType(column, apartValue);
 		column.validate(value);
 		newDataRow[column.getOrderNumber() - 1] = value;
 	}
 
-	private List<Object[]> removeUnselectedColumns(final List<Object[]> selectDataRows, 
-			                                       final List<String> selectedColumns) throws SQLDataException 
+	private Object convertIntoColumnType(final ColumnData column, 
+			                             final ApartValue apartValue) throws SQLDataException 
 	{
-		final List<Object[]> dataRowsWithSelectedColumns = new ArrayList<Object[]>();
-		
-		for (Object[] fullDataRow : selectDataRows)
-		{
-			Object[] dataRowWithReducedColumns = new Object[selectedColumns.size()];
-			int indexInReducedDataRow = 0;
-			
-			for (String selectedColumnName : selectedColumns) 
-			{
-				Column column = getColumn(selectedColumnName);
-				int indexInFullDataRow = column.getOrderNumber() - 1;
-				dataRowWithReducedColumns[indexInReducedDataRow] = fullDataRow[indexInFullDataRow];
-				indexInReducedDataRow++;
-			}
-			
-			dataRowsWithSelectedColumns.add(dataRowWithReducedColumns);
+		if (apartValue.isParameter()) {
+			return column.convertBoundValueIntoColumnType(apartValue.getParameterValue());
 		}
-		
-		
-		return dataRowsWithSelectedColumns;
+		return column.convertIntoColumnType(apartValue.getValueAsString());
 	}
 
 	private SelectionResult selectDataRows(final List<WhereCondition> whereConditions,
@@ -446,16 +791,26 @@ public class Table implements TableStatistics, TableMetaData, TableData
 			return new SelectionResult(selectedDataRows, createFullIndicesList());
 		}
 		
-		final Integer[] matchedConditionCount = applyWhereConditions(whereConditions); 
+		final List<ConditionMatcher> conditionMatchers = createConditionMatchers(whereConditions);
+		final BitSet candidateRows = findCandidateRowsByIndex(conditionMatchers, null);
 		final List<Integer> indices = new ArrayList<Integer>();
 		
-		for (int dataRowIndex = 0; dataRowIndex < getNumberOfRows(); dataRowIndex++) 
+		if (candidateRows == null) 
 		{
-			int numberOfMatchedConditions = matchedConditionCount[dataRowIndex];
-			if (numberOfMatchedConditions == whereConditions.size())  
-			{
-				indices.add(dataRowIndex);
-				selectedDataRows.add(dataRows.get(dataRowIndex));
+			for (int dataRowIndex = 0; dataRowIndex < getNumberOfRows(); dataRowIndex++) {
+				if ( areAllConditionsMatched(this.dataRows.get(dataRowIndex), conditionMatchers) ) {
+					indices.add(dataRowIndex);
+					selectedDataRows.add(dataRows.get(dataRowIndex));
+				}
+			}
+		}
+		else
+		{
+			for (int dataRowIndex = candidateRows.nextSetBit(0); dataRowIndex >= 0; dataRowIndex = candidateRows.nextSetBit(dataRowIndex + 1)) {
+				if ( areAllConditionsMatched(this.dataRows.get(dataRowIndex), conditionMatchers) ) {
+					indices.add(dataRowIndex);
+					selectedDataRows.add(dataRows.get(dataRowIndex));
+				}
 			}
 		}
 
@@ -463,33 +818,222 @@ public class Table implements TableStatistics, TableMetaData, TableData
 	}
 
 	/**
-	 * Applies all conditions to all data rows and returns rows that match all conditions.
+	 * Converts the values of all conditions into the types of the columns they refer to.
 	 * 
 	 * @param whereConditions
-	 * @return IntegerArray [number of rules that matched this data row] sorted by the index of data row in dataRows 
+	 * @return one matcher for each condition
 	 * @throws SQLDataException
 	 */
-	private Integer[] applyWhereConditions(final List<WhereCondition> whereConditions) throws SQLDataException 
+	private List<ConditionMatcher> createConditionMatchers(final List<WhereCondition> whereConditions) throws SQLDataException 
 	{
-		final Integer[] matchedConditionCount = new Integer[dataRows.size()];
+		final List<ConditionMatcher> toReturn = new ArrayList<ConditionMatcher>();
+		for (WhereCondition condition : whereConditions) 
+		{
+			if (condition.isLogicalCondition()) {
+				toReturn.add( new LogicalMatcher(condition.getLogicalOperator(), 
+						                         createConditionMatchers(condition.getSubConditions())) );
+			} else if (condition.isExistsCondition()) {
+				toReturn.add( new ExistsMatcher(condition.getSubquery()) );
+			} else {
+				toReturn.add( getColumn(condition.getColumnName()).createConditionMatcher(condition) );
+			}
+		}
+		return toReturn;
+	}
+
+	/**
+	 * Uses the index of the most selective condition that can be answered by an index.
+	 * Conditions with concrete values are preferred to prefix conditions (e.g. LIKE 'ABC%')
+	 * that need a range scan. An OR condition is answered by the union of the index 
+	 * lookups of its alternatives, if each alternative can be answered by an index. 
+	 * All conditions are checked nevertheless for the rows found. 
+	 * 
+	 * @param conditionMatchers that must all be fulfilled
+	 * @param usedIndexNames if not null, receives the names of the indexes used
+	 * @return positions of candidate rows or null if no index is applicable
+	 */
+	private BitSet findCandidateRowsByIndex(final List<ConditionMatcher> conditionMatchers,
+			                                final Collection<String> usedIndexNames) 
+	{
+		final RunLengthBitmap bitmapCandidates = findCandidateRowsByBitmapIndexes(conditionMatchers, usedIndexNames);
+		final BitSet toReturn = findCandidateRowsByTableIndex(conditionMatchers, usedIndexNames);
 		
-		for (int dataRowIndex = 0; dataRowIndex < getNumberOfRows(); dataRowIndex++) {
-			matchedConditionCount[dataRowIndex] = 0;
+		if (bitmapCandidates == null) {
+			return toReturn;
 		}
 		
-		for (WhereCondition condition : whereConditions) 
+		if (toReturn == null) {
+			return bitmapCandidates.toBitSet();
+		}
+		
+		toReturn.and(bitmapCandidates.toBitSet());
+		return toReturn;
+	}
+
+	/**
+	 * Combines the bitmaps of all conditions that can be answered by bitmap indexes, i.e.
+	 * equality and IN conditions on columns with a bitmap index and disjunctions of them.
+	 * 
+	 * @return positions of the candidate rows or null if no condition can be answered by a bitmap index
+	 */
+	private RunLengthBitmap findCandidateRowsByBitmapIndexes(final List<ConditionMatcher> conjunction,
+			                                                 final Collection<String> usedIndexNames) 
+	{
+		if (bitmapIndexes.isEmpty()) {
+			return null;
+		}
+		
+		RunLengthBitmap toReturn = null;
+		
+		for (ConditionMatcher conditionMatcher : conjunction) 
 		{
-			int dataRowIndex = 0;
-			for (Object[] dataRow : dataRows) 
+			final RunLengthBitmap bitmap = findRowsByBitmapIndex(conditionMatcher, usedIndexNames);
+			if (bitmap != null) {
+				toReturn = toReturn == null ? bitmap : toReturn.and(bitmap);
+			}
+		}
+		
+		return toReturn;
+	}
+
+	private RunLengthBitmap findRowsByBitmapIndex(final ConditionMatcher conditionMatcher,
+			                                      final Collection<String> usedIndexNames) 
+	{
+		if (conditionMatcher instanceof LogicalMatcher) 
+		{
+			if ( ! ((LogicalMatcher) conditionMatcher).isDisjunction() ) {
+				return null;
+			}
+			
+			RunLengthBitmap toReturn = new RunLengthBitmap();
+			final List<String> indexNamesOfAlternatives = new ArrayList<String>();
+			for (ConditionMatcher alternative : ((LogicalMatcher) conditionMatcher).getSubMatchers()) 
 			{
-				if ( isWhereConditionMatched(dataRow, condition) ) {
-					int numberOfMatchedConditions = matchedConditionCount[dataRowIndex];
-					matchedConditionCount[dataRowIndex] = ++numberOfMatchedConditions;
+				final RunLengthBitmap bitmap = findCandidateRowsByBitmapIndexes(asConjunction(alternative), indexNamesOfAlternatives);
+				if (bitmap == null) {
+					return null;  // this alternative cannot be answered by bitmaps
 				}
-				dataRowIndex++;
+				toReturn = toReturn.or(bitmap);
+			}
+			addIndexNames(usedIndexNames, indexNamesOfAlternatives);
+			return toReturn;
+		}
+		
+		final Collection<Object> indexKeys = conditionMatcher.getIndexKeys();
+		if (indexKeys == null) {
+			return null;
+		}
+		
+		final BitmapIndex index = findBitmapIndex(conditionMatcher.getColumn());
+		if (index == null) {
+			return null;
+		}
+		
+		addIndexName(usedIndexNames, index.getIndexName());
+		return index.lookup(indexKeys);
+	}
+
+	private BitSet findCandidateRowsByTableIndex(final List<ConditionMatcher> conditionMatchers,
+			                                     final Collection<String> usedIndexNames) 
+	{
+		TableIndex bestIndex = null;
+		Collection<Object> bestIndexKeys = null;
+		
+		for (ConditionMatcher conditionMatcher : conditionMatchers) 
+		{
+			final Collection<Object> indexKeys = conditionMatcher.getIndexKeys();
+			if (indexKeys == null) continue;
+			
+			final TableIndex index = findIndexWithLeadingColumn(conditionMatcher.getColumn());
+			if (index != null && (bestIndexKeys == null || indexKeys.size() < bestIndexKeys.size())) {
+				bestIndex = index;
+				bestIndexKeys = indexKeys;
+			}
+		}
+		
+		if (bestIndex != null) {
+			addIndexName(usedIndexNames, bestIndex.getIndexName());
+			return bestIndex.lookup(bestIndexKeys);
+		}
+		
+		for (ConditionMatcher conditionMatcher : conditionMatchers) 
+		{
+			final String indexKeyPrefix = conditionMatcher.getIndexKeyPrefix();
+			if (indexKeyPrefix == null) continue;
+			
+			final TableIndex index = findIndexWithLeadingColumn(conditionMatcher.getColumn());
+			if (index != null) {
+				addIndexName(usedIndexNames, index.getIndexName());
+				return index.lookupByPrefix(indexKeyPrefix);
+			}
+		}
+		
+		for (ConditionMatcher conditionMatcher : conditionMatchers) 
+		{
+			if (conditionMatcher instanceof LogicalMatcher && ((LogicalMatcher) conditionMatcher).isDisjunction()) 
+			{
+				final BitSet candidateRows = findCandidateRowsByIndexUnion(((LogicalMatcher) conditionMatcher).getSubMatchers(), usedIndexNames);
+				if (candidateRows != null) {
+					return candidateRows;
+				}
+			}
+		}
+		
+		return null;
+	}
+
+	private BitSet findCandidateRowsByIndexUnion(final List<ConditionMatcher> alternatives,
+			                                     final Collection<String> usedIndexNames) 
+	{
+		final BitSet toReturn = new BitSet(getNumberOfRows());
+		final List<String> indexNamesOfAlternatives = new ArrayList<String>();
+		
+		for (ConditionMatcher alternative : alternatives) 
+		{
+			final BitSet candidateRows = findCandidateRowsByIndex(asConjunction(alternative), indexNamesOfAlternatives);
+			if (candidateRows == null) {
+				return null;  // this alternative needs a full table scan anyway
+			}
+			toReturn.or(candidateRows);
+		}
+		
+		addIndexNames(usedIndexNames, indexNamesOfAlternatives);
+		return toReturn;
+	}
+
+	private void addIndexName(final Collection<String> usedIndexNames, 
+			                  final String indexName) 
+	{
+		if (usedIndexNames != null) {
+			usedIndexNames.add(indexName);
+		}
+	}
+
+	private void addIndexNames(final Collection<String> usedIndexNames, 
+			                   final Collection<String> indexNames) 
+	{
+		if (usedIndexNames != null) {
+			usedIndexNames.addAll(indexNames);
+		}
+	}
+
+	private List<ConditionMatcher> asConjunction(final ConditionMatcher conditionMatcher) 
+	{
+		if (conditionMatcher instanceof LogicalMatcher && ((LogicalMatcher) conditionMatcher).isConjunction()) {
+			return ((LogicalMatcher) conditionMatcher).getSubMatchers();
+		}
+		return Collections.singletonList(conditionMatcher);
+	}
+
+	private boolean areAllConditionsMatched(final Object[] dataRow, 
+			                                final List<ConditionMatcher> conditionMatchers) throws SQLDataException 
+	{
+		for (ConditionMatcher conditionMatcher : conditionMatchers) {
+			if ( ! conditionMatcher.matches(dataRow) ) {
+				return false;
 			}
 		}
-		return matchedConditionCount;
+		return true;
 	}
 	
 	private List<Integer> createFullIndicesList() 
@@ -504,14 +1048,6 @@ public class Table implements TableStatistics, TableMetaData, TableData
 	}
 	
 
-	private boolean isWhereConditionMatched(final Object[] dataRow, 
-			                                final WhereCondition condition) throws SQLDataException 
-	{
-		final Column column = getColumn(condition.getColumnName());
-		final Object valueToCheck = dataRow[column.getOrderNumber()-1];
-		return column.isWhereConditionMatched(condition.getValueAsString(), condition.getComparator(), valueToCheck);
-	}
-		
 	private static Comparator<Column> createColumnSortComparator() 
 	{
 		return new Comparator<Column>() 
@@ -565,6 +1101,49 @@ public class Table implements TableStatistics, TableMetaData, TableData
 		return toReturn;
 	}
 
+	/**
+	 * Selected columns resolved to their positions in the data rows.
+	 */
+	static class Projection 
+	{
+		final List<String> columnNames;  // without sql function information
+		final List<Column> columns;
+		final int[] columnIndices;
+		String[] dateFormatPatterns;  // to_char format for each column, null if no column is converted
+		
+		Projection(final int numberOfColumns) {
+			this.columnNames = new ArrayList<String>(numberOfColumns);
+			this.columns = new ArrayList<Column>(numberOfColumns);
+			this.columnIndices = new int[numberOfColumns];
+		}
+		
+		void setDateFormatPattern(final int position, final String pattern) 
+		{
+			if (dateFormatPatterns == null) {
+				dateFormatPatterns = new String[columnIndices.length];
+			}
+			dateFormatPatterns[position] = pattern;
+		}
+		
+		/**
+		 * SimpleDateFormat is not thread-safe, so each statement gets its own instances. 
+		 */
+		SimpleDateFormat[] createDateFormats() 
+		{
+			if (dateFormatPatterns == null) {
+				return null;
+			}
+			
+			final SimpleDateFormat[] toReturn = new SimpleDateFormat[dateFormatPatterns.length];
+			for (int i = 0; i < toReturn.length; i++) {
+				if (dateFormatPatterns[i] != null) {
+					toReturn[i] = new SimpleDateFormat(dateFormatPatterns[i]);
+				}
+			}
+			return toReturn;
+		}
+	}
+
 	class SelectionResult 
 	{
 		List<Object[]> selectedRows;
@@ -580,6 +1159,7 @@ public class Table implements TableStatistics, TableMetaData, TableData
 	public int removeAllContent() {
 		final int toReturn = getNumberOfRows();
 		dataRows = new ArrayList<Object[]>();
+		invalidateIndexes();
 		return toReturn;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.dataobjects.persistent;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * Ordered index on one or more columns of a table.
+ * The entries are sorted by the value of the leading column and refer
+ * to the positions of the data rows in the table's list of data rows.
+ * Each entry also holds the values of all index columns, so queries that
+ * only refer to these columns can be answered from the index alone.
+ * Null values of the leading column are not indexed.
+ * 
+ * Insertions are applied immediately. Updates and deletes may change
+ * values or positions of many rows, so they only mark the index as outdated
+ * and it is rebuilt with the next lookup. Since this rebuild changes the index also for
+ * concurrent queries, lookups and changes of the index are synchronized.
+ */
+public class TableIndex 
+{
+	private static final Comparator<IndexEntry> ROW_ORDER_COMPARATOR = createRowOrderComparator();
+	
+	private String indexName;
+	private Table table;
+	private List<Column> columns;
+	private TreeMap<Object, List<IndexEntry>> entries;  // sorted by the comparator of the leading column type
+	private boolean upToDate = false;
+
+	public TableIndex(final String indexName, 
+			          final Table table,
+			          final List<Column> columns) 
+	{
+		this.indexName = indexName.toUpperCase();
+		this.table = table;
+		this.columns = columns;
+		this.entries = new TreeMap<Object, List<IndexEntry>>(getLeadingColumn().getTypeValidator().getValueComparator());
+	}
+	
+	public String getIndexName() {
+		return indexName;
+	}
+	
+	public List<Column> getColumns() {
+		return columns;
+	}
+
+	public Column getLeadingColumn() {
+		return columns.get(0);
+	}
+
+	/**
+	 * Looks up the data rows whose leading column value equals one of the given keys.
+	 * @param keys typed values of the leading column
+	 * @return positions of the matching data rows
+	 */
+	public BitSet lookup(final Collection<Object> keys) {
+		return toRowIndices(lookupEntries(keys));
+	}
+
+	/**
+	 * Looks up the data rows whose leading column value starts with the given prefix.
+	 * @param prefix of the values of a VARCHAR column
+	 * @return positions of the matching data rows
+	 */
+	public BitSet lookupByPrefix(final String prefix) {
+		return toRowIndices(lookupEntriesByPrefix(prefix));
+	}
+
+	/**
+	 * Looks up the entries whose leading column value equals one of the given keys.
+	 * @param keys typed values of the leading column
+	 * @return matching entries in the order of the data rows in the table
+	 */
+	public synchronized List<IndexEntry> lookupEntries(final Collection<Object> keys) 
+	{
+		ensureUpToDate();
+		
+		final List<IndexEntry> toReturn = new ArrayList<IndexEntry>();
+		for (Object key : keys) 
+		{
+			final List<IndexEntry> entriesOfKey = entries.get(key);
+			if (entriesOfKey != null) {
+				toReturn.addAll(entriesOfKey);
+			}
+		}
+		
+		Collections.sort(toReturn, ROW_ORDER_COMPARATOR);
+		return toReturn;
+	}
+
+	/**
+	 * Looks up the entries whose leading column value starts with the given prefix.
+	 * Since the entries are ordered, only the range of keys that start with the prefix is scanned.
+	 * @param prefix of the values of a VARCHAR column
+	 * @return matching entries in the order of the data rows in the table
+	 */
+	public synchronized List<IndexEntry> lookupEntriesByPrefix(final String prefix) 
+	{
+		ensureUpToDate();
+		
+		final List<IndexEntry> toReturn = new ArrayList<IndexEntry>();
+		for (Entry<Object, List<IndexEntry>> entry : entries.tailMap(prefix, true).entrySet()) 
+		{
+			if ( ! entry.getKey().toString().startsWith(prefix) ) {
+				break;  // end of range
+			}
+			toReturn.addAll(entry.getValue());
+		}
+		
+		Collections.sort(toReturn, ROW_ORDER_COMPARATOR);
+		return toReturn;
+	}
+
+	synchronized void addDataRow(final Object[] dataRow, final int rowIndex) 
+	{
+		if (upToDate) {
+			addEntry(dataRow, rowIndex);
+		}
+	}
+	
+	synchronized void invalidate() {
+		upToDate = false;
+	}
+
+	private BitSet toRowIndices(final List<IndexEntry> indexEntries) 
+	{
+		final BitSet rowIndices = new BitSet(table.getNumberOfRows());
+		for (IndexEntry indexEntry : indexEntries) {
+			rowIndices.set(indexEntry.rowIndex);
+		}
+		return rowIndices;
+	}
+
+	private void ensureUpToDate() 
+	{
+		if (upToDate) {
+			return;
+		}
+		
+		entries.clear();
+		final List<Object[]> dataRows = table.getDataRows();
+		for (int rowIndex = 0; rowIndex < dataRows.size(); rowIndex++) {
+			addEntry(dataRows.get(rowIndex), rowIndex);
+		}
+		upToDate = true;
+	}
+
+	private void addEntry(final Object[] dataRow, final int rowIndex) 
+	{
+		final Object key = dataRow[getLeadingColumn().getIndexInTable()];
+		if (key == null) {
+			return;
+		}
+		
+		final Object[] values = new Object[columns.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = dataRow[columns.get(i).getIndexInTable()];
+		}
+		
+		List<IndexEntry> entriesOfKey = entries.get(key);
+		if (entriesOfKey == null) {
+			entriesOfKey = new ArrayList<IndexEntry>(1);
+			entries.put(key, entriesOfKey);
+		}
+		entriesOfKey.add(new IndexEntry(rowIndex, values));
+	}
+
+	private static Comparator<IndexEntry> createRowOrderComparator() 
+	{
+		return new Comparator<IndexEntry>() 
+		{
+			@Override public int compare(IndexEntry e1, IndexEntry e2) {
+				return e1.rowIndex < e2.rowIndex ? -1 : (e1.rowIndex == e2.rowIndex ? 0 : 1);
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+		return "TableIndex [indexName=" + indexName + ", tableName=" + table.getTableName() 
+		                    + ", columns=" + columns + "]";
+	}
+	
+	/**
+	 * Position of a data row together with the values of the index columns in this row.
+	 */
+	public static class IndexEntry 
+	{
+		public final int rowIndex;
+		public final Object[] values;  // sorted like the columns of the index
+		
+		IndexEntry(final int rowIndex, final Object[] values) 
+		{
+			this.rowIndex = rowIndex;
+			this.values = values;
+		}
+	}
+}
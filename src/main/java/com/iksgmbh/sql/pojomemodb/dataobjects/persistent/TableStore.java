@@ -25,6 +25,7 @@ import com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.metadata.TableStoreMeta
 import com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.statistics.TableStatistics;
 import com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.statistics.TableStoreStatistics;
 import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.oracle.DualTable;
+import com.iksgmbh.sql.pojomemodb.sqlparser.ParsedStatementCache;
 
 import java.sql.SQLDataException;
 import java.sql.SQLException;
@@ -58,12 +59,23 @@ public class TableStore implements TableStoreStatistics, TableStoreMetaData, Tab
 	 */
 	private HashMap<String, Sequence> sequenceMap;
 	
+	/**
+	 * Parse results of recently executed statements
+	 */
+	private ParsedStatementCache parsedStatementCache;
+	
+	/**
+	 * Increased by each change of tables and indexes
+	 */
+	private volatile long schemaVersion;
+	
 
 	public TableStore()  
 	{
 		userTableMap = new HashMap<String, Table>();
 		systemTableMap = new HashMap<String, Table>();
 		sequenceMap = new HashMap<String, Sequence>();
+		parsedStatementCache = new ParsedStatementCache(DbProperties.PARSED_STATEMENT_CACHE_SIZE);
 		
 		initDualTableIfNeeded();
 	}
@@ -117,6 +129,20 @@ public class TableStore implements TableStoreStatistics, TableStoreMetaData, Tab
 		return getTableStatistics(tableName).isColumnNullable(columnName);
 	}
 
+	@Override
+	public long getNumberOfParsedStatementCacheHits() {
+		return parsedStatementCache.getNumberOfHits();
+	}
+
+	@Override
+	public long getNumberOfParsedStatementCacheMisses() {
+		return parsedStatementCache.getNumberOfMisses();
+	}
+
+	public ParsedStatementCache getParsedStatementCache() {
+		return parsedStatementCache;
+	}
+
 	private TableStatistics getTableStatistics(final String tableName) throws SQLDataException 
 	{
 		final TableStatistics tableStatistics = userTableMap.get(tableName);
@@ -143,7 +169,10 @@ public class TableStore implements TableStoreStatistics, TableStoreMetaData, Tab
 			throw new SQLException("A table '" + tableName.toUpperCase() + "' is already existing in the database.");
 		}
 		
-		userTableMap.put(tableName, (Table) tableMetaData);
+		final Table table = (Table) tableMetaData;
+		table.createConstraintIndexes();
+		userTableMap.put(tableName, table);
+		increaseSchemaVersion();
 	}
 
 	@Override
@@ -151,6 +180,7 @@ public class TableStore implements TableStoreStatistics, TableStoreMetaData, Tab
 		userTableMap.clear();
 		systemTableMap.clear();
 		initDualTableIfNeeded();
+		increaseSchemaVersion();
 	}
 	
 	@Override
@@ -158,10 +188,39 @@ public class TableStore implements TableStoreStatistics, TableStoreMetaData, Tab
 		sequenceMap.clear();
 	}
 	
+	@Override
+	public void dropSequence(final String sequenceName) {
+		sequenceMap.remove(sequenceName);
+	}
+	
+	@Override
+	public List<Sequence> getSequences() 
+	{
+		final List<String> sequenceNames = new ArrayList<String>(sequenceMap.keySet());
+		Collections.sort(sequenceNames);
+		
+		final List<Sequence> toReturn = new ArrayList<Sequence>();
+		for (String sequenceName : sequenceNames) {
+			toReturn.add(sequenceMap.get(sequenceName));
+		}
+		return toReturn;
+	}
+	
 	
 	@Override
 	public void dropTable(final String tableName) {
 		userTableMap.remove(tableName);
+		increaseSchemaVersion();
+	}
+
+	@Override
+	public long getSchemaVersion() {
+		return schemaVersion;
+	}
+
+	@Override
+	public synchronized void increaseSchemaVersion() {
+		schemaVersion++;
 	}
 	
 	// #########################################################################################
@@ -215,7 +274,9 @@ public class TableStore implements TableStoreStatistics, TableStoreMetaData, Tab
 		final Set<Entry<String, Table>> entrySet = userTableMap.entrySet();
 		
 		for (Entry<String, Table> entry : entrySet) {
-			toReturn += entry.getValue().removeAllContent();
+			if ( ! entry.getValue().isReadOnly() ) {  // attached reference data is kept
+				toReturn += entry.getValue().removeAllContent();
+			}
 		}
 		
 		return toReturn;
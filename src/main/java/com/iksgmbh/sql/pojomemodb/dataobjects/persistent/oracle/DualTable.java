@@ -18,6 +18,8 @@ package com.iksgmbh.sql.pojomemodb.dataobjects.persistent.oracle;
 import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Table;
 import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Sequence;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.OrderCondition;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.RowOperator;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.TableScanOperator;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.WhereCondition;
 
 import java.math.BigDecimal;
@@ -68,4 +70,12 @@ public class DualTable extends Table {
 		return null;
 	}	
 
+	@Override
+	public RowOperator createSelectPipeline(final List<String> selectedColumns,
+			                                final List<WhereCondition> whereConditions, 
+			                                final List<OrderCondition> orderConditions) throws SQLDataException
+	{
+		return new TableScanOperator(select(selectedColumns, whereConditions, orderConditions), null);
+	}
+
 }
\ No newline at end of file
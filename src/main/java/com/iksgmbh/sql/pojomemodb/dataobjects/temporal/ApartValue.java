@@ -15,11 +15,18 @@
  */
 package com.iksgmbh.sql.pojomemodb.dataobjects.temporal;
 
+import java.sql.SQLDataException;
+
+import static com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.getParameterIndex;
+import static com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.isParameterMarker;
+
 /**
  * A single value stored temporarily apart a table.
  * The value does not have a defined type, but belongs
  * to column of a existing table. 
  * The value will be validated against the column's type.
+ * If the value is a parameter marker (?1, ?2, ...), 
+ * the typed value bound to this parameter is used instead.
  * 
  * @author Reik Oberrath
  */
@@ -27,6 +34,7 @@ public class ApartValue {
 
 	private String valueAsString;
 	private String columnName;
+	private Object[] parameterValues;
 	
 	public String getValueAsString() {
 		return valueAsString;
@@ -38,10 +46,41 @@ public class ApartValue {
 		this.columnName = columnName;
 	}
 	
+	public ApartValue(String valueAsString, String columnName, Object[] parameterValues) {
+		this(valueAsString, columnName);
+		this.parameterValues = parameterValues;
+	}
+	
 	public String getColumnName() {
 		return columnName;
 	}
 
+	/**
+	 * @return copy of this value that knows the parameter values
+	 */
+	public ApartValue bindParameters(final Object[] parameterValues) {
+		return new ApartValue(valueAsString, columnName, parameterValues);
+	}
+	
+	public boolean isParameter() {
+		return isParameterMarker(valueAsString);
+	}
+	
+	/**
+	 * @return value bound to the parameter this value stands for
+	 * @throws SQLDataException if no value has been bound to the parameter
+	 */
+	public Object getParameterValue() throws SQLDataException 
+	{
+		final int parameterIndex = getParameterIndex(valueAsString);
+		
+		if (parameterValues == null || parameterIndex > parameterValues.length) {
+			throw new SQLDataException("No value bound for parameter " + parameterIndex + " of column " + columnName + ".");
+		}
+		
+		return parameterValues[parameterIndex - 1];
+	}
+
 	@Override
 	public String toString() {
 		return "ApartValue [valueAsString=" + valueAsString + ", columnName=" + columnName + "]";
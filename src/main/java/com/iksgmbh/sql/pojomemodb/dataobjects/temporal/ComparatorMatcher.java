@@ -0,0 +1,71 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.dataobjects.temporal;
+
+import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.COMPARATOR_EQUAL;
+import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.COMPARATOR_IS_NULL;
+import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.COMPARATOR_NOT_NULL;
+
+import java.sql.SQLDataException;
+import java.util.Collection;
+import java.util.Collections;
+
+import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Column;
+
+/**
+ * Matches a column value against a single condition value using one of the simple comparators.
+ */
+public class ComparatorMatcher extends ConditionMatcher 
+{
+	private final String comparator;
+	private final Object conditionValue;
+
+	public ComparatorMatcher(final Column column, 
+			                 final String comparator, 
+			                 final Object conditionValue) 
+	{
+		super(column);
+		this.comparator = comparator;
+		this.conditionValue = conditionValue;
+	}
+
+	@Override
+	public boolean matches(final Object[] dataRow) throws SQLDataException {
+		return column.isMatchedByConditionValue(conditionValue, comparator, dataRow[columnIndex]);
+	}
+
+	/**
+	 * Comparing null values is UNKNOWN, only IS NULL and IS NOT NULL check them.
+	 */
+	@Override
+	protected boolean isUnknown(final Object[] dataRow) 
+	{
+		if (COMPARATOR_IS_NULL.equals(comparator) || COMPARATOR_NOT_NULL.equals(comparator)) {
+			return false;
+		}
+		return conditionValue == null || dataRow[columnIndex] == null;
+	}
+
+	@Override
+	public Collection<Object> getIndexKeys() 
+	{
+		if (COMPARATOR_EQUAL.equals(comparator) && conditionValue != null) {
+			return Collections.singletonList(conditionValue);
+		}
+		
+		return null;
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.dataobjects.temporal;
+
+import java.sql.SQLDataException;
+import java.util.Collection;
+
+import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Column;
+
+/**
+ * A where condition that has been prepared for a concrete column of a table.
+ * It is created once per statement execution, so the condition values 
+ * are converted into the column type only once and not for each data row.
+ */
+public abstract class ConditionMatcher 
+{
+	protected final Column column;
+	protected final int columnIndex;
+
+	protected ConditionMatcher(final Column column) 
+	{
+		this.column = column;
+		this.columnIndex = column.getIndexInTable();
+	}
+	
+	/**
+	 * For matchers that do not refer to a single column.
+	 */
+	protected ConditionMatcher() 
+	{
+		this.column = null;
+		this.columnIndex = -1;
+	}
+	
+	/**
+	 * @return column checked by this matcher or null if it combines other matchers
+	 */
+	public Column getColumn() {
+		return column;
+	}
+
+	/**
+	 * @param dataRow values sorted by Column.orderNumber
+	 * @return true if the value of the column in the data row fulfills the condition
+	 * @throws SQLDataException
+	 */
+	public abstract boolean matches(Object[] dataRow) throws SQLDataException;
+	
+	/**
+	 * Evaluates the condition in three-valued logic as needed to negate it.
+	 * @param dataRow values sorted by Column.orderNumber
+	 * @return TRUE, FALSE or null if the result is UNKNOWN, e.g. because a null value is compared
+	 * @throws SQLDataException
+	 */
+	public Boolean evaluate(final Object[] dataRow) throws SQLDataException 
+	{
+		if (matches(dataRow)) {
+			return Boolean.TRUE;
+		}
+		return isUnknown(dataRow) ? null : Boolean.FALSE;
+	}
+	
+	/**
+	 * @return true if the condition is neither true nor false for the data row
+	 */
+	protected boolean isUnknown(final Object[] dataRow) {
+		return false;
+	}
+	
+	/**
+	 * Returns the values the column must have to fulfill the condition. 
+	 * They are used to look up matching data rows in an index instead of scanning the whole table.
+	 * 
+	 * @return typed column values or null if the condition cannot be answered by an index lookup
+	 */
+	public abstract Collection<Object> getIndexKeys();
+	
+	/**
+	 * Returns a prefix all values of the column must start with to fulfill the condition.
+	 * It is used for a range scan on an ordered index.
+	 * 
+	 * @return prefix or null if the condition does not restrict the column to a common prefix
+	 */
+	public String getIndexKeyPrefix() {
+		return null;
+	}
+}
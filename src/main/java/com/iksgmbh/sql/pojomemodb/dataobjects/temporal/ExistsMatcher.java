@@ -0,0 +1,54 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.dataobjects.temporal;
+
+import java.sql.SQLDataException;
+import java.util.Collection;
+
+/**
+ * Matches all data rows if the subquery of an EXISTS condition has found rows and no row otherwise.
+ * The subquery is uncorrelated, so its result is the same for all data rows.
+ */
+public class ExistsMatcher extends ConditionMatcher 
+{
+	private final boolean exists;
+
+	public ExistsMatcher(final Subquery subquery) throws SQLDataException 
+	{
+		super();
+		
+		if (subquery.getResultValues() == null) {
+			throw new SQLDataException("Subquery has not been executed: " + subquery);
+		}
+		
+		this.exists = ! subquery.getResultValues().isEmpty();
+	}
+
+	@Override
+	public boolean matches(final Object[] dataRow) {
+		return exists;
+	}
+
+	@Override
+	public Collection<Object> getIndexKeys() {
+		return null;
+	}
+	
+	@Override
+	public String toString() {
+		return "ExistsMatcher [exists=" + exists + "]";
+	}
+}
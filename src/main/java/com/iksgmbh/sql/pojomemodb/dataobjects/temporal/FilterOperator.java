@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.dataobjects.temporal;
+
+import java.sql.SQLDataException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Delivers those rows of its input that match all where conditions.
+ * 
+ * @author Reik Oberrath
+ */
+public class FilterOperator extends RowOperator 
+{
+	private final RowOperator input;
+	private final List<ConditionMatcher> conditionMatchers;
+	private final List<WhereCondition> whereConditions;  // shown by EXPLAIN
+
+	public FilterOperator(final RowOperator input, 
+			              final List<ConditionMatcher> conditionMatchers,
+			              final List<WhereCondition> whereConditions) 
+	{
+		this.input = input;
+		this.conditionMatchers = conditionMatchers;
+		this.whereConditions = whereConditions;
+	}
+
+	@Override
+	public String getOperation() {
+		return "FILTER";
+	}
+
+	@Override
+	public String getDetails() {
+		return WhereCondition.toSql(whereConditions);
+	}
+
+	@Override
+	public List<RowOperator> getInputs() {
+		return Collections.singletonList(input);
+	}
+
+	@Override
+	protected Object[] computeNextRow() throws SQLDataException 
+	{
+		Object[] dataRow = input.nextRow();
+		
+		while (dataRow != null && ! areAllConditionsMatched(dataRow)) {
+			dataRow = input.nextRow();
+		}
+		
+		return dataRow;
+	}
+
+	private boolean areAllConditionsMatched(final Object[] dataRow) throws SQLDataException 
+	{
+		for (ConditionMatcher conditionMatcher : conditionMatchers) {
+			if ( ! conditionMatcher.matches(dataRow) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
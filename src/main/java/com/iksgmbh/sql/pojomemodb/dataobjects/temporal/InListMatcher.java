@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.dataobjects.temporal;
+
+import java.util.Collection;
+
+import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Column;
+import com.iksgmbh.sql.pojomemodb.validator.ValueHashMap;
+
+/**
+ * Matches a column value against the values of an IN or NOT IN list.
+ * The list values are converted into the column type once and kept in a hash map
+ * that hashes and equates them by the type of the column (e.g. 1 and 1.0 are the same number),
+ * so checking a data row is a single hash lookup regardless of the length of the list.
+ */
+public class InListMatcher extends ConditionMatcher 
+{
+	private final ValueHashMap<Boolean> values;
+	private final boolean negated;
+	private boolean nullValueInList = false;
+
+	public InListMatcher(final Column column, 
+			             final Collection<Object> typedValues, 
+			             final boolean negated) 
+	{
+		super(column);
+		this.negated = negated;
+		this.values = new ValueHashMap<Boolean>(column.getTypeValidator().getValueComparator());
+		
+		for (Object value : typedValues) {
+			if (value == null) {
+				nullValueInList = true;
+			} else {
+				values.put(value, Boolean.TRUE);
+			}
+		}
+	}
+
+	/**
+	 * Null values never match: neither 'NULL IN (...)' nor 'NULL NOT IN (...)' is true.
+	 * A null value in a NOT IN list lets the condition fail for all data rows.
+	 */
+	@Override
+	public boolean matches(final Object[] dataRow) 
+	{
+		final Object value = dataRow[columnIndex];
+		
+		if (value == null) {
+			return false;
+		}
+		
+		final boolean contained = values.containsKey(value);
+		
+		if (negated) {
+			return ! contained && ! nullValueInList;
+		}
+		
+		return contained;
+	}
+
+	/**
+	 * A null value is UNKNOWN, and so is a value not contained in a list with a null value.
+	 */
+	@Override
+	protected boolean isUnknown(final Object[] dataRow) 
+	{
+		final Object value = dataRow[columnIndex];
+		return value == null || nullValueInList && ! values.containsKey(value);
+	}
+
+	@Override
+	public Collection<Object> getIndexKeys() 
+	{
+		if (negated) {
+			return null;
+		}
+		
+		return values.getKeys();
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.dataobjects.temporal;
+
+import java.util.List;
+
+import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.TableIndex.IndexEntry;
+
+/**
+ * Delivers data rows built from the values stored in index entries, 
+ * so that a query can be answered without reading the data rows of the table.
+ * Only the index columns are filled in the rows delivered.
+ * 
+ * @author Reik Oberrath
+ */
+public class IndexScanOperator extends RowOperator 
+{
+	private final String indexName;
+	private final List<IndexEntry> indexEntries;
+	private final int[] columnIndicesInTable;  // for each index column
+	private final int numberOfColumns;
+	private int nextEntryIndex;
+
+	public IndexScanOperator(final String indexName,
+			                 final List<IndexEntry> indexEntries, 
+			                 final int[] columnIndicesInTable, 
+			                 final int numberOfColumns) 
+	{
+		this.indexName = indexName;
+		this.indexEntries = indexEntries;
+		this.columnIndicesInTable = columnIndicesInTable;
+		this.numberOfColumns = numberOfColumns;
+	}
+
+	@Override
+	public String getOperation() {
+		return "INDEX ONLY SCAN";
+	}
+
+	@Override
+	public String getDetails() {
+		return "index " + indexName + ", entries " + indexEntries.size();
+	}
+
+	@Override
+	public long getNumberOfAllocatedRows() {
+		return nextEntryIndex;
+	}
+
+	@Override
+	protected Object[] computeNextRow() 
+	{
+		if (nextEntryIndex >= indexEntries.size()) {
+			return null;
+		}
+		
+		final IndexEntry indexEntry = indexEntries.get(nextEntryIndex++);
+		final Object[] toReturn = new Object[numberOfColumns];
+		for (int i = 0; i < columnIndicesInTable.length; i++) {
+			toReturn[columnIndicesInTable[i]] = indexEntry.values[i];
+		}
+		return toReturn;
+	}
+}
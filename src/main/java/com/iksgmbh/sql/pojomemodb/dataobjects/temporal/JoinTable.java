@@ -15,20 +15,21 @@
  */
 package com.iksgmbh.sql.pojomemodb.dataobjects.temporal;
 
-import java.math.BigDecimal;
 import java.sql.SQLDataException;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
 
 import com.iksgmbh.sql.pojomemodb.SQLKeyWords;
 import com.iksgmbh.sql.pojomemodb.SqlPojoMemoDB;
 import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Column;
 import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Table;
+import com.iksgmbh.sql.pojomemodb.validator.ValueComparator;
+import com.iksgmbh.sql.pojomemodb.validator.ValueHashMap;
 
 public class JoinTable extends Table
 {
 	private SqlPojoMemoDB memoryDb;
+	private List<JoinStep> joinSteps;  // in the order they have been executed, shown by EXPLAIN
 	
 	public JoinTable(final SqlPojoMemoDB aMemoryDb, 
 			         final String firstTableName) throws SQLDataException 
@@ -39,6 +40,9 @@ public class JoinTable extends Table
 		final Table table = (Table) memoryDb.getTableStoreData().getTableData(firstTableName);
 		addColumnsFromDataTable(table);
 		setDataRows(table.getDataRows());
+		
+		joinSteps = new ArrayList<JoinStep>();
+		joinSteps.add(new JoinStep("TABLE ACCESS", table.getTableName(), getNumberOfRows(), 0, 0));
 	}
 
 	public JoinTable(JoinTable joinTable, String buildJoinTableName) throws SQLDataException 
@@ -46,6 +50,14 @@ public class JoinTable extends Table
 		super(buildJoinTableName);
 		addColumnsFromJoinTable(joinTable);
 		setDataRows(joinTable.getDataRows());
+		joinSteps = joinTable.joinSteps;
+	}
+
+	/**
+	 * @return the table access and join steps executed to build this table 
+	 */
+	public List<JoinStep> getJoinSteps() {
+		return joinSteps;
 	}
 
 	private void addColumnsFromDataTable(final Table table) throws SQLDataException 
@@ -93,36 +105,47 @@ public class JoinTable extends Table
 			throw new RuntimeException("This feature is not yet supported!");
 		}
 
+		final long startTime = System.nanoTime();
+		final String operation;
 		
 		if (isLeftHandSideKnownColumnId(joinCondition))
 		{
 			if (isRightHandSideKnownColumnId(joinCondition))  {
 				removeDataRowsNotMatching(joinCondition);
+				operation = "JOIN FILTER";
 			} else {
 				doJoining(joinCondition.getColumnName(), joinCondition.getValueAsString());
+				operation = "HASH JOIN";
 			}
 		} else {
 			if (isRightHandSideKnownColumnId(joinCondition))  {
 				doJoining(joinCondition.getValueAsString(), joinCondition.getColumnName());
+				operation = "HASH JOIN";
 			} else {
 				return false;  // columns in joinCondition does not match columns in joinTable
 			}
 		}
 		
+		final int numberOfAllocatedRows = operation.equals("HASH JOIN") ? getNumberOfRows() : 0;
+		joinSteps.add(new JoinStep(operation, joinCondition.getColumnName() + " = " + joinCondition.getValueAsString(), 
+				                   getNumberOfRows(), System.nanoTime() - startTime, numberOfAllocatedRows));
 		return true;
 	}
 
 	private void removeDataRowsNotMatching(final WhereCondition joinCondition) throws SQLDataException 
 	{
 		final List<Object[]> newDataRows = new ArrayList<Object[]>();  
+		final Column column1 = getColumn(joinCondition.getColumnName());
+		final Column column2 = getColumn(joinCondition.getValueAsString());
+		final ValueComparator valueComparator = getValueComparator(column1, column2);
+		final int i1 = column1.getIndexInTable();
+		final int i2 = column2.getIndexInTable();
 		
 		for (Object[] dataset : dataRows) 
 		{
-			final int i1 = getColumn(joinCondition.getColumnName()).getIndexInTable();
 			final Object o1 = dataset[i1];
-			final int i2 = getColumn(joinCondition.getValueAsString()).getIndexInTable();
 			final Object o2 = dataset[i2];
-			if (compareEquals(o1, o2)) newDataRows.add(dataset);
+			if (o1 != null && o2 != null && valueComparator.isEqual(o1, o2)) newDataRows.add(dataset);
 		}
 		
 		setDataRows(newDataRows);
@@ -139,26 +162,47 @@ public class JoinTable extends Table
 		setDataRows( createJoinedDataRows(table, joinColumnOfNewTable, knownColumnId) );
 	}
 
+	/**
+	 * Joins the data rows as hash join: the data rows of the new table are hashed by their join value,
+	 * then each known data row looks up its partners in the order of the new table.
+	 */
 	private List<Object[]> createJoinedDataRows(final Table table, 
 			                                    final String nameOfJoinColumnOfNewTable, 
 			                                    final String knownColumnId) 
 			                                    	  throws SQLDataException 
 	{
 		final List<Object[]> toReturn = new ArrayList<Object[]>();
-		int indexOfKnownColumn = getColumn(knownColumnId).getIndexInTable();
+		if (dataRows.isEmpty()) {
+			return toReturn;  // nothing to join
+		}
+		
+		final Column knownColumn = getColumn(knownColumnId);
+		final Column joinColumnOfNewTable = table.getColumn(nameOfJoinColumnOfNewTable);
+		final ValueComparator valueComparator = getValueComparator(knownColumn, joinColumnOfNewTable);
+		final int indexOfKnownColumn = knownColumn.getIndexInTable();
+		final int indexOfJoinColumnInNewTable = joinColumnOfNewTable.getIndexInTable();
+		
+		final ValueHashMap<List<Object[]>> newDataRowsByJoinValue = new ValueHashMap<List<Object[]>>(valueComparator);
+		for (Object[] datasetOfNewTable : table.getDataRows()) 
+		{
+			final Object o2 = datasetOfNewTable[indexOfJoinColumnInNewTable];
+			if (o2 == null) continue;
+			
+			List<Object[]> datasetsWithJoinValue = newDataRowsByJoinValue.get(o2);
+			if (datasetsWithJoinValue == null) {
+				datasetsWithJoinValue = new ArrayList<Object[]>(1);
+				newDataRowsByJoinValue.put(o2, datasetsWithJoinValue);
+			}
+			datasetsWithJoinValue.add(datasetOfNewTable);
+		}
 		
 		for (Object[] knownDataset : dataRows) 
 		{
-			final Object o1 = knownDataset[indexOfKnownColumn];
-			final List<Object[]> newDataRows = table.getDataRows();
-			int indexOfJoinColumnInNewTable = table.getColumn(nameOfJoinColumnOfNewTable).getIndexInTable();
+			final List<Object[]> datasetsOfNewTable = newDataRowsByJoinValue.get(knownDataset[indexOfKnownColumn]);
+			if (datasetsOfNewTable == null) continue;
 			
-			for (Object[] datasetOfNewTable : newDataRows) 
-			{
-				final Object o2 = datasetOfNewTable[indexOfJoinColumnInNewTable];
-				if ( compareEquals(o1, o2) ) {
-					toReturn.add(createJoinedDataSet(knownDataset, datasetOfNewTable));
-				}
+			for (Object[] datasetOfNewTable : datasetsOfNewTable) {
+				toReturn.add(createJoinedDataSet(knownDataset, datasetOfNewTable));
 			}
 		}
 		
@@ -184,39 +228,16 @@ public class JoinTable extends Table
 		return toReturn;
 	}
 
-	private boolean compareEquals(final Object o1, final Object o2) throws SQLDataException 
+	private ValueComparator getValueComparator(final Column column1, 
+			                                   final Column column2) throws SQLDataException 
 	{
-		if (o1 == null || o2 == null) return false;
+		final ValueComparator toReturn = column1.getTypeValidator().getValueComparator();
 		
-		if (o1.getClass() != o2.getClass()) {
+		if (toReturn != column2.getTypeValidator().getValueComparator()) {
 			throw new SQLDataException("Data type mismatch!");
 		}
 		
-		if (o1.getClass().getSimpleName().equals("String")) {
-			final String s1 = (String) o1;
-			final String s2 = (String) o2;
-			return s1.equals(s2);
-		}
-		
-		if (o1.getClass().getSimpleName().equals("BigDecimal")) {
-			final BigDecimal d1 = (BigDecimal) o1;
-			final BigDecimal d2 = (BigDecimal) o2;
-			return d1.compareTo(d2) == 0;
-		}
-		
-		if (o1.getClass().getSimpleName().equals("Integer")) {
-			final Integer i1 = (Integer) o1;
-			final Integer i2 = (Integer) o2;
-			return i1 == i2;
-		}
-
-		if (o1.getClass().getName().equals("java.util.Date")) {
-			final Date d1 = (Date) o1;
-			final Date d2 = (Date) o2;
-			return d1.getTime() == d2.getTime();
-		}
-
-		throw new SQLDataException("Unsupported data type: " + o1.getClass().getName());
+		return toReturn;
 	}
 
 	private boolean isRightHandSideKnownColumnId(WhereCondition joinCondition) {
@@ -237,4 +258,28 @@ public class JoinTable extends Table
 		return false;
 	}
 
+	/**
+	 * Result size and duration of a step that built the join table.
+	 */
+	public static class JoinStep 
+	{
+		public final String operation;
+		public final String details;
+		public final int numberOfRows;
+		public final long nanoTime;
+		public final int numberOfAllocatedRows;
+		
+		public JoinStep(final String operation, 
+				        final String details, 
+				        final int numberOfRows, 
+				        final long nanoTime,
+				        final int numberOfAllocatedRows) 
+		{
+			this.operation = operation;
+			this.details = details;
+			this.numberOfRows = numberOfRows;
+			this.nanoTime = nanoTime;
+			this.numberOfAllocatedRows = numberOfAllocatedRows;
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.dataobjects.temporal;
+
+import java.util.Collection;
+import java.util.regex.Pattern;
+
+import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Column;
+import com.iksgmbh.sql.pojomemodb.validator.TypeValidator.ValidatorType;
+
+/**
+ * Matches a column value against a LIKE pattern with the wildcards % and _.
+ * The pattern is analysed once per statement. Typical patterns are answered by 
+ * a plain string operation, only the remaining ones are compiled into a regular expression.
+ */
+public class LikeMatcher extends ConditionMatcher 
+{
+	private static final char ANY_CHARACTERS = '%';
+	private static final char SINGLE_CHARACTER = '_';
+	
+	enum PatternType { EXACT, PREFIX, SUFFIX, CONTAINS, GENERAL }
+	
+	private final boolean negated;
+	private final PatternType patternType;
+	private final String literal;  // pattern without wildcards - not used for GENERAL
+	private final Pattern regex;  // only used for GENERAL
+	private final String fixedPrefix;  // characters in front of the first wildcard
+
+	public LikeMatcher(final Column column, 
+			           final String pattern, 
+			           final boolean negated) 
+	{
+		super(column);
+		this.negated = negated;
+		
+		final int firstWildcard = indexOfWildcard(pattern, 0);
+		fixedPrefix = firstWildcard == -1 ? pattern : pattern.substring(0, firstWildcard);
+		
+		if (firstWildcard == -1) {
+			patternType = PatternType.EXACT;
+			literal = pattern;
+			regex = null;
+			return;
+		}
+		
+		final String innerPart = stripAnyCharacters(pattern);
+		final boolean startsWithAny = pattern.charAt(0) == ANY_CHARACTERS;
+		final boolean endsWithAny = pattern.charAt(pattern.length() - 1) == ANY_CHARACTERS;
+		
+		if (indexOfWildcard(innerPart, 0) == -1 && (startsWithAny || endsWithAny)) 
+		{
+			literal = innerPart;
+			regex = null;
+			if (startsWithAny && endsWithAny) {
+				patternType = PatternType.CONTAINS;
+			} else if (endsWithAny) {
+				patternType = PatternType.PREFIX;
+			} else {
+				patternType = PatternType.SUFFIX;
+			}
+		}
+		else
+		{
+			patternType = PatternType.GENERAL;
+			literal = null;
+			regex = compileToRegex(pattern);
+		}
+	}
+
+	PatternType getPatternType() {
+		return patternType;
+	}
+
+	/**
+	 * Null values never match, neither LIKE nor NOT LIKE.
+	 */
+	@Override
+	public boolean matches(final Object[] dataRow) 
+	{
+		final Object value = dataRow[columnIndex];
+		
+		if (value == null) {
+			return false;
+		}
+		
+		return isMatching(value.toString()) != negated;
+	}
+
+	@Override
+	protected boolean isUnknown(final Object[] dataRow) {
+		return dataRow[columnIndex] == null;
+	}
+
+	private boolean isMatching(final String value) 
+	{
+		switch (patternType) 
+		{
+			case EXACT:    return value.equals(literal);
+			case PREFIX:   return value.startsWith(literal);
+			case SUFFIX:   return value.endsWith(literal);
+			case CONTAINS: return value.contains(literal);
+			default:       return regex.matcher(value).matches();
+		}
+	}
+
+	@Override
+	public Collection<Object> getIndexKeys() {
+		return null;
+	}
+
+	/**
+	 * Patterns like 'ABC%' are answered by a range scan on an index of a VARCHAR column.
+	 */
+	@Override
+	public String getIndexKeyPrefix() 
+	{
+		if (negated || fixedPrefix.length() == 0 || column.getValidationType() != ValidatorType.VARCHAR) {
+			return null;
+		}
+		
+		return fixedPrefix;
+	}
+
+	private static int indexOfWildcard(final String pattern, final int fromIndex) 
+	{
+		for (int i = fromIndex; i < pattern.length(); i++) {
+			final char c = pattern.charAt(i);
+			if (c == ANY_CHARACTERS || c == SINGLE_CHARACTER) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static String stripAnyCharacters(final String pattern) 
+	{
+		int start = 0;
+		int end = pattern.length();
+		while (start < end && pattern.charAt(start) == ANY_CHARACTERS) start++;
+		while (end > start && pattern.charAt(end - 1) == ANY_CHARACTERS) end--;
+		return pattern.substring(start, end);
+	}
+
+	private static Pattern compileToRegex(final String pattern) 
+	{
+		final StringBuilder sb = new StringBuilder();
+		int start = 0;
+		int pos = indexOfWildcard(pattern, 0);
+		
+		while (pos != -1) 
+		{
+			if (pos > start) {
+				sb.append(Pattern.quote(pattern.substring(start, pos)));
+			}
+			sb.append(pattern.charAt(pos) == ANY_CHARACTERS ? ".*" : ".");
+			start = pos + 1;
+			pos = indexOfWildcard(pattern, start);
+		}
+		
+		if (start < pattern.length()) {
+			sb.append(Pattern.quote(pattern.substring(start)));
+		}
+		
+		return Pattern.compile(sb.toString(), Pattern.DOTALL);
+	}
+	
+	@Override
+	public String toString() {
+		return "LikeMatcher [column=" + column.getColumnName() + ", negated=" + negated 
+				            + ", patternType=" + patternType + "]";
+	}
+}
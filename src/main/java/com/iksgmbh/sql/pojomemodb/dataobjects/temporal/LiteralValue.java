@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.dataobjects.temporal;
+
+/**
+ * A literal of a statement that has been replaced by a parameter marker (see LiteralParameterizer).
+ * It is bound with its text as written in the statement (e.g. with the apostrophes of a string), 
+ * so it is converted into the column type and validated like the literal and not like a typed value.
+ * 
+ * @author Reik Oberrath
+ */
+public class LiteralValue 
+{
+	private final String text;
+
+	public LiteralValue(final String text) {
+		this.text = text;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	@Override
+	public String toString() {
+		return text;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.dataobjects.temporal;
+
+import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.AND;
+import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.OR;
+
+import java.sql.SQLDataException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Combines the matchers of the sub conditions of a logical where condition (AND, OR, NOT).
+ * Evaluation stops as soon as the result is known. The sub conditions are evaluated in 
+ * three-valued logic, so that e.g. NOT (col = 'x') is not true for a null value of col.
+ */
+public class LogicalMatcher extends ConditionMatcher 
+{
+	private final String logicalOperator;
+	private final List<ConditionMatcher> subMatchers;
+
+	public LogicalMatcher(final String logicalOperator, 
+			              final List<ConditionMatcher> subMatchers) 
+	{
+		super();
+		this.logicalOperator = logicalOperator;
+		this.subMatchers = subMatchers;
+	}
+	
+	public boolean isConjunction() {
+		return AND.equals(logicalOperator);
+	}
+
+	public boolean isDisjunction() {
+		return OR.equals(logicalOperator);
+	}
+
+	public List<ConditionMatcher> getSubMatchers() {
+		return subMatchers;
+	}
+
+	@Override
+	public boolean matches(final Object[] dataRow) throws SQLDataException {
+		return Boolean.TRUE.equals(evaluate(dataRow));
+	}
+
+	@Override
+	public Boolean evaluate(final Object[] dataRow) throws SQLDataException 
+	{
+		if (isConjunction()) 
+		{
+			boolean unknown = false;
+			for (ConditionMatcher subMatcher : subMatchers) 
+			{
+				final Boolean result = subMatcher.evaluate(dataRow);
+				if (result == null) unknown = true;
+				else if ( ! result ) return Boolean.FALSE;
+			}
+			return unknown ? null : Boolean.TRUE;
+		}
+		
+		if (isDisjunction()) 
+		{
+			boolean unknown = false;
+			for (ConditionMatcher subMatcher : subMatchers) 
+			{
+				final Boolean result = subMatcher.evaluate(dataRow);
+				if (result == null) unknown = true;
+				else if ( result ) return Boolean.TRUE;
+			}
+			return unknown ? null : Boolean.FALSE;
+		}
+		
+		final Boolean result = subMatchers.get(0).evaluate(dataRow);  // NOT
+		return result == null ? null : Boolean.valueOf( ! result );
+	}
+
+	/**
+	 * Logical conditions are resolved against indexes by the table, since 
+	 * the index lookups of the sub conditions have to be intersected or united. 
+	 */
+	@Override
+	public Collection<Object> getIndexKeys() {
+		return null;
+	}
+	
+	@Override
+	public String toString() {
+		return "LogicalMatcher [" + logicalOperator.toUpperCase() + " " + subMatchers + "]";
+	}
+}
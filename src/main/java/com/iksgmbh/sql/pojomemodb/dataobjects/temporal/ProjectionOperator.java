@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.dataobjects.temporal;
+
+import java.sql.SQLDataException;
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Builds the result rows that contain only the selected columns in the selected order.
+ * Date values of columns selected by the sql function to_char are converted into strings.
+ * 
+ * @author Reik Oberrath
+ */
+public class ProjectionOperator extends RowOperator 
+{
+	private final RowOperator input;
+	private final int[] columnIndices;  // for each selected column its index in the input rows
+	private final SimpleDateFormat[] dateFormats;  // for each selected column, null if no column is converted by to_char
+	private final List<String> columnNames;  // shown by EXPLAIN
+	private long numberOfAllocatedRows;
+
+	public ProjectionOperator(final RowOperator input, 
+			                  final List<String> columnNames, 
+			                  final int[] columnIndices, 
+			                  final SimpleDateFormat[] dateFormats) 
+	{
+		this.input = input;
+		this.columnNames = columnNames;
+		this.columnIndices = columnIndices;
+		this.dateFormats = dateFormats;
+	}
+
+	@Override
+	public String getOperation() {
+		return "PROJECTION";
+	}
+
+	@Override
+	public String getDetails() {
+		return columnNames.toString();
+	}
+
+	@Override
+	public List<RowOperator> getInputs() {
+		return Collections.singletonList(input);
+	}
+
+	@Override
+	public long getNumberOfAllocatedRows() {
+		return numberOfAllocatedRows;
+	}
+
+	@Override
+	protected Object[] computeNextRow() throws SQLDataException 
+	{
+		final Object[] dataRow = input.nextRow();
+		
+		if (dataRow == null) {
+			return null;
+		}
+		
+		numberOfAllocatedRows++;
+		final Object[] toReturn = new Object[columnIndices.length];
+		
+		if (dateFormats == null) 
+		{
+			for (int i = 0; i < columnIndices.length; i++) {
+				toReturn[i] = dataRow[columnIndices[i]];
+			}
+			return toReturn;
+		}
+		
+		for (int i = 0; i < columnIndices.length; i++) 
+		{
+			final Object value = dataRow[columnIndices[i]];
+			if (value != null && dateFormats[i] != null) {
+				toReturn[i] = dateFormats[i].format((Date) value);
+			} else {
+				toReturn[i] = value;
+			}
+		}
+		return toReturn;
+	}
+}
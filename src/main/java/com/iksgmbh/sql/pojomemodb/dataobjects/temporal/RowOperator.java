@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.dataobjects.temporal;
+
+import java.sql.SQLDataException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Operator of the pipeline that executes a select statement (scan -> filter -> sort -> projection).
+ * Each operator pulls the rows one by one from its input on demand, 
+ * so that no intermediate row lists are built except by blocking operators like sorting.
+ * 
+ * For EXPLAIN ANALYZE the operators of a pipeline count the rows they deliver and measure the time 
+ * spent to deliver them (including the time spent by their inputs).
+ * 
+ * @author Reik Oberrath
+ */
+public abstract class RowOperator 
+{
+	private boolean analyzed;
+	private long numberOfDeliveredRows;
+	private long nanoTime;
+	
+	/**
+	 * @return next data row or null if all rows have been delivered
+	 * @throws SQLDataException
+	 */
+	public final Object[] nextRow() throws SQLDataException 
+	{
+		if ( ! analyzed ) {
+			return computeNextRow();
+		}
+		
+		final long startTime = System.nanoTime();
+		final Object[] toReturn = computeNextRow();
+		nanoTime += System.nanoTime() - startTime;
+		
+		if (toReturn != null) {
+			numberOfDeliveredRows++;
+		}
+		return toReturn;
+	}
+	
+	protected abstract Object[] computeNextRow() throws SQLDataException;
+	
+	/**
+	 * @return name of the operation shown by EXPLAIN, e.g. TABLE SCAN
+	 */
+	public abstract String getOperation();
+	
+	/**
+	 * @return details of the operation shown by EXPLAIN, e.g. the table scanned
+	 */
+	public abstract String getDetails();
+	
+	/**
+	 * @return operators this operator pulls its rows from
+	 */
+	public List<RowOperator> getInputs() {
+		return Collections.emptyList();
+	}
+	
+	/**
+	 * @return number of row arrays created or buffered by this operator so far
+	 */
+	public long getNumberOfAllocatedRows() {
+		return 0;
+	}
+	
+	/**
+	 * Lets this operator and all its inputs count the delivered rows and measure the time needed.
+	 */
+	public void enableAnalysis() 
+	{
+		analyzed = true;
+		for (RowOperator input : getInputs()) {
+			input.enableAnalysis();
+		}
+	}
+	
+	public long getNumberOfDeliveredRows() {
+		return numberOfDeliveredRows;
+	}
+
+	public long getNanoTime() {
+		return nanoTime;
+	}
+
+	/**
+	 * Pulls all remaining rows through the pipeline.
+	 */
+	public List<Object[]> fetchAllRows() throws SQLDataException 
+	{
+		final List<Object[]> toReturn = new ArrayList<Object[]>();
+		Object[] dataRow = nextRow();
+		while (dataRow != null) {
+			toReturn.add(dataRow);
+			dataRow = nextRow();
+		}
+		return toReturn;
+	}
+}
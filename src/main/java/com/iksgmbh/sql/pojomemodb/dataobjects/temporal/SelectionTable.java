@@ -20,13 +20,19 @@ import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Column;
 import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Table;
 
 import java.sql.SQLDataException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Table to store information about the selection data
+ * Table to store information about the selection data.
+ * The data rows are pulled from the select pipeline when they are read, 
+ * so that a result set can deliver the first rows before all rows are selected.
+ * Until fetchAllRows has been called, getDataRows returns only the rows fetched so far.
  */
 public class SelectionTable extends Table
 {
+	private RowOperator rowSource;  // delivers the rows not fetched yet, null if all rows are fetched
+	
 	public SelectionTable(final Table parentTable,
                           List<String> sortedColumnNames) throws SQLDataException
 	{
@@ -44,6 +50,67 @@ public class SelectionTable extends Table
         }
 	}
 
+	public void setRowSource(final RowOperator rowSource) 
+	{
+		this.rowSource = rowSource;
+		this.dataRows = new ArrayList<Object[]>();
+	}
+
+	/**
+	 * @return pipeline that delivers the rows not fetched yet, null if all rows are fetched
+	 */
+	public RowOperator getRowSource() {
+		return rowSource;
+	}
+
+	@Override
+	public void setDataRows(final List<Object[]> dataRows) 
+	{
+		this.rowSource = null;
+		super.setDataRows(dataRows);
+	}
+
+	/**
+	 * Pulls the next row from the row source and appends it to the fetched data rows.
+	 * 
+	 * @return false if all rows have been fetched
+	 * @throws SQLDataException
+	 */
+	public boolean fetchNextRow() throws SQLDataException 
+	{
+		if (rowSource == null) {
+			return false;
+		}
+		
+		final Object[] dataRow = rowSource.nextRow();
+		if (dataRow == null) {
+			rowSource = null;
+			return false;
+		}
+		
+		dataRows.add(dataRow);
+		return true;
+	}
+
+	/**
+	 * @return data rows fetched so far, the list grows with each call of fetchNextRow 
+	 */
+	public List<Object[]> getFetchedDataRows() {
+		return dataRows;
+	}
+
+	/**
+	 * Pulls all rows not fetched yet from the row source.
+	 * 
+	 * @return all data rows of the selection
+	 * @throws SQLDataException
+	 */
+	public List<Object[]> fetchAllRows() throws SQLDataException 
+	{
+		while ( fetchNextRow() );
+		return dataRows;
+	}
+
     private ColumnInitData createColumnInitData(Column column)
     {
         final ColumnInitData toReturn = new ColumnInitData(column.getColumnName());
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.dataobjects.temporal;
+
+import java.sql.SQLDataException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import com.iksgmbh.sql.pojomemodb.SQLKeyWords;
+import com.iksgmbh.sql.pojomemodb.validator.ValueComparator;
+
+/**
+ * Sorts the rows of its input by the values of one column.
+ * As a blocking operator, it reads all input rows before delivering the first one.
+ * Rows with equal values keep their input order, null values are sorted as smallest values.
+ * 
+ * @author Reik Oberrath
+ */
+public class SortOperator extends RowOperator 
+{
+	private final RowOperator input;
+	private final int orderColumnIndex;
+	private final ValueComparator valueComparator;
+	private final String orderColumnName;  // shown by EXPLAIN
+	private final boolean ascending;
+	private List<Object[]> sortedRows;
+	private int nextRowIndex;
+
+	public SortOperator(final RowOperator input, 
+			            final String orderColumnName, 
+			            final int orderColumnIndex, 
+			            final ValueComparator valueComparator, 
+			            final String direction) 
+	{
+		this.input = input;
+		this.orderColumnName = orderColumnName;
+		this.orderColumnIndex = orderColumnIndex;
+		this.valueComparator = valueComparator;
+		this.ascending = SQLKeyWords.ASC.equals(direction);
+	}
+
+	@Override
+	public String getOperation() {
+		return "SORT";
+	}
+
+	@Override
+	public String getDetails() {
+		return orderColumnName + (ascending ? " ASC" : " DESC");
+	}
+
+	@Override
+	public List<RowOperator> getInputs() {
+		return Collections.singletonList(input);
+	}
+
+	@Override
+	public long getNumberOfAllocatedRows() {
+		return sortedRows == null ? 0 : sortedRows.size();
+	}
+
+	@Override
+	protected Object[] computeNextRow() throws SQLDataException 
+	{
+		if (sortedRows == null) {
+			sortedRows = input.fetchAllRows();
+			sort();
+		}
+		
+		if (nextRowIndex >= sortedRows.size()) {
+			return null;
+		}
+		
+		return sortedRows.get(nextRowIndex++);
+	}
+
+	private void sort() 
+	{
+		Collections.sort(sortedRows, new Comparator<Object[]>() 
+		{
+			@Override public int compare(Object[] dataRow1, Object[] dataRow2) {
+				final int result = valueComparator.compare(dataRow1[orderColumnIndex], dataRow2[orderColumnIndex]);
+				return ascending ? result : -result;
+			}
+		});
+	}
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.dataobjects.temporal;
+
+import java.util.List;
+
+/**
+ * Uncorrelated subquery of a where condition, e.g. ID IN (SELECT ORDER_ID FROM ITEMS).
+ * It is executed once per statement and its result is kept to match all data rows against it.
+ */
+public class Subquery 
+{
+	private final String sql;
+	private List<Object> resultValues;  // values of the first selected column
+
+	public Subquery(final String sql) {
+		this.sql = sql.trim();
+	}
+
+	public String getSql() {
+		return sql;
+	}
+
+	/**
+	 * @return values of the first selected column of all result rows or null if the subquery has not been executed yet
+	 */
+	public List<Object> getResultValues() {
+		return resultValues;
+	}
+
+	public void setResultValues(final List<Object> resultValues) {
+		this.resultValues = resultValues;
+	}
+
+	@Override
+	public String toString() {
+		return "(" + sql + ")";
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.dataobjects.temporal;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Delivers the data rows of a table as they are stored, i.e. without copying them.
+ * Rows appended to the table after creating the scan are not delivered.
+ * 
+ * @author Reik Oberrath
+ */
+public class TableScanOperator extends RowOperator 
+{
+	private final List<Object[]> dataRows;
+	private final BitSet candidateRows;  // null if all rows are to be scanned
+	private final int numberOfRows;
+	private String details;
+	private int nextRowIndex;
+
+	public TableScanOperator(final List<Object[]> dataRows, 
+			                 final BitSet candidateRows) 
+	{
+		this(null, dataRows, candidateRows, null);
+	}
+
+	/**
+	 * @param tableName of the scanned table shown by EXPLAIN
+	 * @param indexNames of the indexes used to find the candidate rows shown by EXPLAIN
+	 */
+	public TableScanOperator(final String tableName,
+			                 final List<Object[]> dataRows, 
+			                 final BitSet candidateRows,
+			                 final Collection<String> indexNames) 
+	{
+		this.details = tableName;
+		this.dataRows = dataRows;
+		this.candidateRows = candidateRows;
+		this.numberOfRows = dataRows == null ? 0 : dataRows.size();
+		this.nextRowIndex = candidateRows == null ? 0 : candidateRows.nextSetBit(0);
+		
+		if (candidateRows != null) {
+			details = (details == null ? "" : details + ", ") 
+					  + (indexNames == null || indexNames.isEmpty() ? "" : "indexes " + indexNames + ", ")
+					  + "candidate rows " + candidateRows.cardinality() + " of " + numberOfRows;
+		}
+	}
+
+	@Override
+	public String getOperation() {
+		return candidateRows == null ? "TABLE SCAN" : "TABLE ACCESS BY INDEX";
+	}
+
+	@Override
+	public String getDetails() {
+		return details;
+	}
+
+	@Override
+	protected Object[] computeNextRow() 
+	{
+		if (nextRowIndex < 0 || nextRowIndex >= numberOfRows) {
+			return null;
+		}
+		
+		final Object[] toReturn = dataRows.get(nextRowIndex);
+		nextRowIndex = candidateRows == null ? nextRowIndex + 1 : candidateRows.nextSetBit(nextRowIndex + 1);
+		return toReturn;
+	}
+}
@@ -15,12 +15,21 @@
  */
 package com.iksgmbh.sql.pojomemodb.dataobjects.temporal;
 
+import java.sql.SQLDataException;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.*;
+import static com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.getParameterIndex;
 
 /**
  * Stores information of a where clause.
+ * 
+ * A condition is either a simple comparison of a column or a logical combination 
+ * (AND, OR, NOT) of other conditions, e.g. for (A=1 OR B=2).
+ * Values may be parameter markers (?1, ?2, ...) whose values are bound
+ * to a copy of the condition when a prepared statement is executed.
  *  
  * @author Reik Oberrath
  */
@@ -32,9 +41,18 @@ public class WhereCondition
 	
 	public static String[] NULL_COMPARATORS = { COMPARATOR_IS_NULL, COMPARATOR_NOT_NULL};
 	
+	public static String[] LIST_COMPARATORS = { COMPARATOR_IN, COMPARATOR_NOT_IN};
+	
+	public static String[] PATTERN_COMPARATORS = { COMPARATOR_LIKE, COMPARATOR_NOT_LIKE};
+	
 	private String columnName;
 	private String comparator;
 	private String valueAsString;
+	private List<String> valueList;
+	private String logicalOperator;
+	private List<WhereCondition> subConditions;
+	private Subquery subquery;
+	private Object[] parameterValues;
 
 	public WhereCondition(String columnName, String comparator, String valueAsString) throws SQLException 
 	{
@@ -45,6 +63,155 @@ public class WhereCondition
 		validateComparator(comparator);
 	}
 	
+	/**
+	 * Creates a condition with a list of values on its right hand side, e.g. STATUS IN ('A', 'B').
+	 */
+	public WhereCondition(String columnName, String comparator, List<String> valueList) throws SQLException 
+	{
+		this.columnName = columnName;
+		this.comparator = comparator;
+		this.valueList = valueList;
+		this.valueAsString = buildValueListString(valueList);
+		
+		if ( ! isListComparator(comparator) ) {
+			throw new SQLException("Comparator '" + comparator + "' does not accept a list of values.");
+		}
+	}
+	
+	/**
+	 * Creates a condition that compares against the result of a subquery, e.g. ID IN (SELECT ...).
+	 */
+	public WhereCondition(String columnName, String comparator, Subquery subquery) throws SQLException 
+	{
+		this.columnName = columnName;
+		this.comparator = comparator;
+		this.subquery = subquery;
+		this.valueAsString = subquery.toString();
+		
+		if ( ! isListComparator(comparator) ) {
+			throw new SQLException("Comparator '" + comparator + "' does not accept a subquery.");
+		}
+	}
+	
+	/**
+	 * Creates an EXISTS condition.
+	 */
+	public WhereCondition(Subquery subquery) 
+	{
+		this.comparator = COMPARATOR_EXISTS;
+		this.subquery = subquery;
+		this.valueAsString = subquery.toString();
+	}
+	
+	/**
+	 * Creates a logical combination of other conditions. 
+	 * @param logicalOperator AND, OR or NOT (with a single sub condition)
+	 * @param subConditions
+	 */
+	public WhereCondition(String logicalOperator, List<WhereCondition> subConditions) throws SQLException 
+	{
+		this.logicalOperator = logicalOperator.toLowerCase();
+		this.subConditions = new ArrayList<WhereCondition>(subConditions);
+		
+		if ( ! AND.equals(this.logicalOperator) && ! OR.equals(this.logicalOperator) && ! NOT.equals(this.logicalOperator) ) {
+			throw new SQLException("Unknown logical operator '" + logicalOperator + "'.");
+		}
+		
+		if (subConditions.isEmpty() || (NOT.equals(this.logicalOperator) && subConditions.size() != 1)) {
+			throw new SQLException("Invalid number of conditions for logical operator '" + logicalOperator + "'.");
+		}
+	}
+	
+	/**
+	 * Copies the given condition for binding parameter values. 
+	 */
+	private WhereCondition(final WhereCondition condition, 
+			               final Object[] parameterValues) 
+	{
+		this.columnName = condition.columnName;
+		this.comparator = condition.comparator;
+		this.valueAsString = condition.valueAsString;
+		this.valueList = condition.valueList;
+		this.logicalOperator = condition.logicalOperator;
+		this.subquery = condition.subquery;
+		this.parameterValues = parameterValues;
+		
+		if (condition.subConditions != null) {
+			this.subConditions = bindParameters(condition.subConditions, parameterValues);
+		}
+	}
+	
+	/**
+	 * Parsed conditions may be shared between executions, 
+	 * so parameter values are bound to copies of them.
+	 * @return copy of the conditions that knows the parameter values
+	 */
+	public static List<WhereCondition> bindParameters(final List<WhereCondition> whereConditions, 
+			                                          final Object[] parameterValues) 
+	{
+		if (whereConditions == null || parameterValues == null) {
+			return whereConditions;
+		}
+		
+		final List<WhereCondition> toReturn = new ArrayList<WhereCondition>(whereConditions.size());
+		for (WhereCondition whereCondition : whereConditions) {
+			toReturn.add(new WhereCondition(whereCondition, parameterValues));
+		}
+		return toReturn;
+	}
+	
+	/**
+	 * @param parameterMarker numbered marker, e.g. ?1
+	 * @return value bound to the parameter
+	 * @throws SQLDataException if no value has been bound to the parameter
+	 */
+	public Object getParameterValue(final String parameterMarker) throws SQLDataException 
+	{
+		final int parameterIndex = getParameterIndex(parameterMarker);
+		
+		if (parameterValues == null || parameterIndex > parameterValues.length) {
+			throw new SQLDataException("No value bound for parameter " + parameterIndex + " in condition " + this);
+		}
+		
+		return parameterValues[parameterIndex - 1];
+	}
+	
+	private String buildValueListString(final List<String> values) 
+	{
+		final StringBuilder sb = new StringBuilder("(");
+		for (String value : values) {
+			if (sb.length() > 1) sb.append(", ");
+			sb.append(value);
+		}
+		return sb.append(")").toString();
+	}
+	
+	private boolean isListComparator(final String comparatorToValidate) 
+	{
+		for (String comparator : LIST_COMPARATORS) {
+			if ( comparatorToValidate.equals(comparator) ) {
+				return true; 
+			}
+		}
+		
+		return false;
+	}
+	
+	public boolean isPatternCondition() {
+		return isPatternComparator(comparator);
+	}
+	
+	private boolean isPatternComparator(final String comparatorToValidate) 
+	{
+		for (String comparator : PATTERN_COMPARATORS) {
+			if ( comparatorToValidate.equals(comparator) ) {
+				return true; 
+			}
+		}
+		
+		return false;
+	}
+	
 	private boolean isNullComparator(final String comparatorToValidate) 
 	{
 		for (String comparator : NULL_COMPARATORS) {
@@ -64,6 +231,14 @@ public class WhereCondition
 			}
 		}
 		
+		if (isPatternComparator(comparatorToValidate)) {
+			return;  // comparator is valid
+		}
+		
+		if (isListComparator(comparatorToValidate)) {
+			throw new SQLException("Comparator '" + comparatorToValidate + "' expects a list of values.");
+		}
+		
 		throw new SQLException("Unknown comparator '" + comparatorToValidate + "'.");
 	}
 
@@ -89,8 +264,96 @@ public class WhereCondition
 		return valueAsString;
 	}
 	
+	/**
+	 * Returns the single values of the right hand side if this condition compares against a value list. 
+	 * @return list of values or null if the right hand side is a single value
+	 */
+	public List<String> getValueList() {
+		return valueList;
+	}
+	
+	public boolean isValueListCondition() {
+		return valueList != null;
+	}
+	
+	public boolean isSubqueryCondition() {
+		return subquery != null;
+	}
+	
+	public boolean isExistsCondition() {
+		return COMPARATOR_EXISTS.equals(comparator);
+	}
+	
+	/**
+	 * @return subquery on the right hand side or null if there is none
+	 */
+	public Subquery getSubquery() {
+		return subquery;
+	}
+	
+	public boolean isLogicalCondition() {
+		return logicalOperator != null;
+	}
+	
+	/**
+	 * @return AND, OR or NOT in lower case or null if this is a simple condition
+	 */
+	public String getLogicalOperator() {
+		return logicalOperator;
+	}
+	
+	/**
+	 * @return conditions combined by the logical operator or null if this is a simple condition
+	 */
+	public List<WhereCondition> getSubConditions() {
+		return subConditions;
+	}
+	
+	/**
+	 * @return the conditions in SQL syntax combined by AND, e.g. for EXPLAIN
+	 */
+	public static String toSql(final List<WhereCondition> whereConditions) 
+	{
+		final StringBuilder sb = new StringBuilder();
+		for (WhereCondition whereCondition : whereConditions) {
+			if (sb.length() > 0) sb.append(" AND ");
+			sb.append(whereCondition.toSql());
+		}
+		return sb.toString();
+	}
+	
+	private String toSql() 
+	{
+		if (isLogicalCondition()) 
+		{
+			if (subConditions.size() == 1) {
+				return logicalOperator.toUpperCase() + " (" + subConditions.get(0).toSql() + ")";
+			}
+			
+			final StringBuilder sb = new StringBuilder("(");
+			for (WhereCondition subCondition : subConditions) {
+				if (sb.length() > 1) sb.append(" ").append(logicalOperator.toUpperCase()).append(" ");
+				sb.append(subCondition.toSql());
+			}
+			return sb.append(")").toString();
+		}
+		if (isExistsCondition()) {
+			return comparator + " " + valueAsString;
+		}
+		if (valueAsString == null) {
+			return columnName + " " + comparator;
+		}
+		return columnName + " " + comparator + " " + valueAsString;
+	}
+	
 	@Override
 	public String toString() {
+		if (isLogicalCondition()) {
+			return "WhereCondition [" + logicalOperator.toUpperCase() + " " + subConditions + "]";
+		}
+		if (isExistsCondition()) {
+			return "WhereCondition [" + comparator + " " + valueAsString + "]";
+		}
 		if (valueAsString == null) {
 			return "WhereCondition [" + columnName + " " + comparator + "]";
 		}
@@ -104,6 +367,10 @@ public class WhereCondition
 	 */
 	public boolean isJoinCondition()
 	{
+		if (isLogicalCondition() || isSubqueryCondition()) {
+			return false;
+		}
+		
 		if (! columnName.contains("."))  {
 			return false;
 		}
@@ -112,7 +379,7 @@ public class WhereCondition
 			return false;
 		}
 		
-		if (isNullComparator(comparator)) {
+		if (isNullComparator(comparator) || isValueListCondition()) {
 			return false;
 		}
 		
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.sqlparser;
+
+import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.ON;
+import static com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.CLOSING_PARENTHESIS;
+import static com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.OPENING_PARENTHESIS;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.iksgmbh.sql.pojomemodb.SQLKeyWords;
+import com.iksgmbh.sql.pojomemodb.SqlExecutor.ParsedIndexData;
+import com.iksgmbh.sql.pojomemodb.SqlPojoMemoDB;
+
+/**
+ * Parses statements like 'create index MY_INDEX on MY_TABLE (COLUMN1, COLUMN2)'
+ * or 'create bitmap index MY_INDEX on MY_TABLE (COLUMN1)'.
+ * Storage clauses behind the column list are ignored.
+ */
+public class CreateIndexParser extends SqlPojoMemoParser
+{
+	public CreateIndexParser(final SqlPojoMemoDB memoryDb)  {
+		this.memoryDb = memoryDb;
+	}
+	
+	/**
+	 * Defines the SQL command whose SQL statement is parsed by this parser
+	 */
+	@Override
+	protected String getSqlCommand() {
+		return SQLKeyWords.CREATE_INDEX_COMMAND.toLowerCase();
+	}
+	
+	public ParsedIndexData parseCreateIndexStatement(final String sql) throws SQLException 
+	{
+		final boolean bitmap = sql.toLowerCase().startsWith(SQLKeyWords.CREATE_BITMAP_INDEX_COMMAND);
+		final String command = bitmap ? SQLKeyWords.CREATE_BITMAP_INDEX_COMMAND : getSqlCommand();
+		final String sqlWithoutCommand = sql.substring(command.length()).trim();
+		final String[] splitResult = sqlWithoutCommand.split("(?i)\\s+" + ON + "\\s+", 2);
+		
+		if (splitResult.length != 2) {
+			throw new SQLException("Missing keyword '" + ON + "' in: " + sql);
+		}
+		
+		final String indexName = removeSurroundingQuotes(splitResult[0].trim()).toUpperCase();
+		final String rest = splitResult[1].trim();
+		final int openPos = rest.indexOf(OPENING_PARENTHESIS);
+		final int closePos = rest.indexOf(CLOSING_PARENTHESIS);
+		
+		if (openPos == -1 || closePos < openPos) {
+			throw new SQLException("Missing column list for index '" + indexName + "' in: " + sql);
+		}
+		
+		final String tableName = removeSurroundingQuotes(rest.substring(0, openPos).trim()).toUpperCase();
+		final List<String> columnNames = new ArrayList<String>();
+		
+		for (String columnName : rest.substring(openPos + 1, closePos).split(",")) 
+		{
+			columnName = columnName.trim();
+			if (columnName.length() > 0) {
+				columnNames.add(removeSurroundingQuotes(columnName).toUpperCase());
+			}
+		}
+		
+		if (tableName.length() == 0 || columnNames.isEmpty()) {
+			throw new SQLException("Unable to parse table name or column list of index '" + indexName + "' in: " + sql);
+		}
+		
+		return new ParsedIndexData(indexName, tableName, columnNames, bitmap);
+	}
+	
+}
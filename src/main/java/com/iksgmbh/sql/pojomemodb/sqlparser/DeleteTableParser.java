@@ -19,15 +19,14 @@ import com.iksgmbh.sql.pojomemodb.SQLKeyWords;
 import com.iksgmbh.sql.pojomemodb.SqlExecutor.ParsedDeleteData;
 import com.iksgmbh.sql.pojomemodb.SqlPojoMemoDB;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.WhereCondition;
+import com.iksgmbh.sql.pojomemodb.sqlparser.helper.SqlTokenizer;
 import com.iksgmbh.sql.pojomemodb.sqlparser.helper.WhereConditionParser;
-import com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.InterimParseResult;
 
 import java.sql.SQLException;
 import java.util.List;
 
 import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.FROM;
 import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.WHERE;
-import static com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.parseNextValue;
 
 public class DeleteTableParser extends SqlPojoMemoParser
 {	
@@ -45,25 +44,23 @@ public class DeleteTableParser extends SqlPojoMemoParser
 	
 	public ParsedDeleteData parseDeleteStatement(final String sql) throws SQLException 
 	{
-		InterimParseResult parseResult = parseNextValue(sql, WHERE);  
-		final String whereClause = parseResult.unparsedRest;
-		String deleteClause = parseResult.parsedValue;
-		
-		deleteClause = deleteClause.substring(getSqlCommand().length()).trim();
-
-		if ( deleteClause.toLowerCase().startsWith("*") ) {
-			deleteClause = deleteClause.substring(1).trim();
-		}
+		final SqlTokenizer tokenizer = new SqlTokenizer(sql);
+		tokenizer.expectKeyword(getSqlCommand());
+		tokenizer.acceptSymbol("*");
 
-		if (! deleteClause.toLowerCase().startsWith(FROM.toLowerCase())) {
+		if ( ! tokenizer.acceptKeyword(FROM) ) {
 			throw new SQLException("Missing FROM declaration in delete statement: " + sql);
-		} else {
-			deleteClause = deleteClause.substring(FROM.length()).trim();
 		}
 		
-		final String tableName = deleteClause;
+		int whereIndex = tokenizer.indexOfKeyword(WHERE);
+		if (whereIndex == -1) {
+			whereIndex = tokenizer.getLimit();
+		}
+		
+		final String tableName = tokenizer.getText(tokenizer.getPosition(), whereIndex);
 		
-		final List<WhereCondition> whereConditions = WhereConditionParser.doYourJob(whereClause);
+		final List<WhereCondition> whereConditions = 
+				WhereConditionParser.doYourJob(tokenizer.createSubTokenizer(whereIndex + 1, tokenizer.getLimit()));
 		
 		return new ParsedDeleteData(tableName, whereConditions);
 
@@ -18,11 +18,13 @@ package com.iksgmbh.sql.pojomemodb.sqlparser;
 import com.iksgmbh.sql.pojomemodb.SQLKeyWords;
 import com.iksgmbh.sql.pojomemodb.SqlExecutor.ParsedInsertData;
 import com.iksgmbh.sql.pojomemodb.SqlPojoMemoDB;
-import com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.*;
+import com.iksgmbh.sql.pojomemodb.sqlparser.helper.SqlTokenizer;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
+import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.SELECT_COMMAND;
 import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.VALUES;
 import static com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.*;
 
@@ -40,30 +42,49 @@ public class InsertIntoParser extends SqlPojoMemoParser
 		return SQLKeyWords.INSERT_INTO_COMMAND.toLowerCase();
 	}
 	
+	/**
+	 * Parses insert statements with one or more value tuples, e.g. 
+	 * insert into T (A, B) values (1, 'x'), (2, 'y'),
+	 * or with a select statement that delivers the rows to insert, e.g.
+	 * insert into T [(A, B)] select C, D from S where ...
+	 */
 	public ParsedInsertData parseInsertStatement(final String sql) throws SQLException 
 	{
-		InterimParseResult parseResult = parseTableName(sql);
-		final String tableName = removeSurroundingQuotes(parseResult.parsedValue);
+		final SqlTokenizer tokenizer = new SqlTokenizer(sql);
+		tokenizer.expectKeyword(getSqlCommand());
+		
+		final String tableName = removeSurroundingQuotes(tokenizer.next().getText());
 		
-		if (! parseResult.unparsedRest.startsWith(OPENING_PARENTHESIS)) {
+		if (tokenizer.isKeywordAhead(SELECT_COMMAND)) {
+			return new ParsedInsertData(tableName, null, null, sql.substring(tokenizer.peek().getStart()));
+		}
+		
+		if (! tokenizer.isSymbolAhead(OPENING_PARENTHESIS)) {
 			throw new SQLException("Missing opening parenthesis in sql statement: " + sql);
 		}
 		
-		parseResult = parseNextValue(parseResult.unparsedRest.substring(1), CLOSING_PARENTHESIS);
-		final String columnNameString = parseResult.parsedValue;
-		final List<String> parsedColumnNames = parseCommaSeparatedColumnNameList(columnNameString);
+		final List<String> parsedColumnNames = tokenizer.parseParenthesizedList();
 		
-		if (! parseResult.unparsedRest.toLowerCase().startsWith(VALUES.toLowerCase())) {
+		if (tokenizer.isKeywordAhead(SELECT_COMMAND)) {
+			return new ParsedInsertData(tableName, parsedColumnNames, null, sql.substring(tokenizer.peek().getStart()));
+		}
+		
+		if (! tokenizer.acceptKeyword(VALUES)) {
 			throw new SQLException("Missing VALUES declaration in insert statement: " + sql);
 		}
 		
-		int pos = parseResult.unparsedRest.indexOf(OPENING_PARENTHESIS) + 1;
-		parseResult.unparsedRest = parseResult.unparsedRest.substring(pos);
-		parseResult = parseNextValue(parseResult.unparsedRest, OPENING_PARENTHESIS.charAt(0), CLOSING_PARENTHESIS.charAt(0), CLOSING_PARENTHESIS.charAt(0));
-		final String dataValuesString = parseResult.parsedValue;
-		final List<String> parsedDataValues = parseCommaSeparatedValuesList(dataValuesString);
+		final List<List<String>> parsedDataValueRows = new ArrayList<List<String>>();
+		parsedDataValueRows.add(tokenizer.parseParenthesizedList());
+		
+		while (tokenizer.acceptSymbol(COMMA)) {
+			parsedDataValueRows.add(tokenizer.parseParenthesizedList());
+		}
+		
+		if (parsedDataValueRows.size() == 1) {
+			return new ParsedInsertData(tableName, parsedColumnNames, parsedDataValueRows.get(0));
+		}
 		
-		return new ParsedInsertData(tableName, parsedColumnNames, parsedDataValues);
+		return new ParsedInsertData(tableName, parsedColumnNames, parsedDataValueRows, null);
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.sqlparser;
+
+import com.iksgmbh.sql.pojomemodb.SQLKeyWords;
+import com.iksgmbh.sql.pojomemodb.SqlExecutor.ParsedLoadData;
+import com.iksgmbh.sql.pojomemodb.SqlPojoMemoDB;
+import com.iksgmbh.sql.pojomemodb.sqlparser.helper.SqlToken;
+import com.iksgmbh.sql.pojomemodb.sqlparser.helper.SqlToken.Type;
+import com.iksgmbh.sql.pojomemodb.sqlparser.helper.SqlTokenizer;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.*;
+import static com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.OPENING_PARENTHESIS;
+
+public class LoadDataParser extends SqlPojoMemoParser
+{
+	private static final char DEFAULT_SEPARATOR = ',';
+
+	public LoadDataParser(final SqlPojoMemoDB memoryDb)  {
+		this.memoryDb = memoryDb;
+	}
+	
+	/**
+	 * Defines the SQL command whose SQL statement is parsed by this parser
+	 */
+	@Override
+	protected String getSqlCommand() {
+		return SQLKeyWords.LOAD_DATA_COMMAND.toLowerCase();
+	}
+	
+	/**
+	 * Parses the subset of the MySQL statement that is needed to import CSV files, i.e.
+	 * load data [local] infile 'file' into table T [fields terminated by ';'] [ignore 1 lines] [(A, B)]
+	 * Fields may be enclosed by double quotes. Without column list, the fields are imported 
+	 * in the order of the table columns.
+	 */
+	public ParsedLoadData parseLoadDataStatement(final String sql) throws SQLException 
+	{
+		final SqlTokenizer tokenizer = new SqlTokenizer(sql);
+		tokenizer.expectKeyword(getSqlCommand());
+		tokenizer.acceptKeyword(LOCAL);
+		tokenizer.expectKeyword(INFILE);
+		final String fileName = parseStringLiteral(tokenizer.next(), sql);
+		tokenizer.expectKeyword(INTO_TABLE);
+		final String tableName = removeSurroundingQuotes(tokenizer.next().getText());
+		
+		char separator = DEFAULT_SEPARATOR;
+		if (tokenizer.acceptKeyword(FIELDS_TERMINATED_BY)) 
+		{
+			final String separatorAsString = parseStringLiteral(tokenizer.next(), sql);
+			if (separatorAsString.length() != 1) {
+				throw new SQLException("Field separator must be a single character in: " + sql);
+			}
+			separator = separatorAsString.charAt(0);
+		}
+		
+		int numberOfLinesToSkip = 0;
+		if (tokenizer.acceptKeyword(IGNORE)) 
+		{
+			final SqlToken token = tokenizer.next();
+			if (token.getType() != Type.NUMBER || ! (tokenizer.acceptKeyword(LINES) || tokenizer.acceptKeyword(ROWS))) {
+				throw new SQLException("Invalid IGNORE clause in: " + sql);
+			}
+			numberOfLinesToSkip = Integer.parseInt(token.getText());
+		}
+		
+		List<String> columnNames = null;
+		if (tokenizer.isSymbolAhead(OPENING_PARENTHESIS)) {
+			columnNames = tokenizer.parseParenthesizedList();
+		}
+		
+		if (tokenizer.hasNext()) {
+			throw new SQLException("Unexpected '" + tokenizer.peek().getText() + "' in: " + sql);
+		}
+		
+		return new ParsedLoadData(fileName, tableName, columnNames, separator, numberOfLinesToSkip);
+	}
+
+	private String parseStringLiteral(final SqlToken token, 
+			                          final String sql) throws SQLException 
+	{
+		if (token.getType() != Type.STRING) {
+			throw new SQLException("String literal expected instead of '" + token.getText() + "' in: " + sql);
+		}
+		final String text = token.getText();
+		return text.substring(1, text.length() - 1).replace("''", "'");
+	}
+	
+}
\ No newline at end of file
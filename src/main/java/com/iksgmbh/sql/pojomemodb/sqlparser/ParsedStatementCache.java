@@ -0,0 +1,178 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.sqlparser;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded and thread-safe cache that maps normalized SQL statements to their parse results
+ * (i.e. the ParsedXXXData objects of the SqlExecutor). If the cache is full, 
+ * the least recently used statement is removed.
+ * 
+ * Cached parse results are shared between executions and must not be modified.
+ *
+ * @author Reik Oberrath
+ */
+public class ParsedStatementCache
+{
+	private final int maximumSize;
+	private final LinkedHashMap<String, Object> cache;
+	private final LinkedHashMap<String, Boolean> nonParameterizableStatements;
+	private long numberOfHits;
+	private long numberOfMisses;
+	
+	/**
+	 * @param maximumSize maximum number of cached statements - 0 disables the cache
+	 */
+	public ParsedStatementCache(final int maximumSize) 
+	{
+		this.maximumSize = maximumSize;
+		this.cache = new LinkedHashMap<String, Object>(16, 0.75f, true)  // access order for LRU
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, Object> eldest) {
+				return size() > ParsedStatementCache.this.maximumSize;
+			}
+		};
+		this.nonParameterizableStatements = new LinkedHashMap<String, Boolean>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
+				return size() > ParsedStatementCache.this.maximumSize;
+			}
+		};
+	}
+
+	/**
+	 * @param normalizedSql see {@link #normalize(String)}
+	 * @return cached parse result or null
+	 */
+	public synchronized Object get(final String normalizedSql) 
+	{
+		final Object toReturn = cache.get(normalizedSql);
+		if (toReturn == null) {
+			numberOfMisses++;
+		} else {
+			numberOfHits++;
+		}
+		return toReturn;
+	}
+
+	public synchronized void put(final String normalizedSql, 
+			                     final Object parseResult) 
+	{
+		if (maximumSize > 0) {
+			cache.put(normalizedSql, parseResult);
+		}
+	}
+
+	/**
+	 * Remembers a statement with parameterized literals whose parameters cannot all be bound,
+	 * so that statements of the same form are executed with their literals without parsing it again.
+	 * @param normalizedSql of the parameterized statement
+	 */
+	public synchronized void putNonParameterizable(final String normalizedSql) 
+	{
+		if (maximumSize > 0) {
+			nonParameterizableStatements.put(normalizedSql, Boolean.TRUE);
+		}
+	}
+
+	public synchronized boolean isNonParameterizable(final String normalizedSql) {
+		return nonParameterizableStatements.containsKey(normalizedSql);
+	}
+
+	/**
+	 * Removes all cached statements and resets the counters.
+	 */
+	public synchronized void clear() 
+	{
+		cache.clear();
+		nonParameterizableStatements.clear();
+		numberOfHits = 0;
+		numberOfMisses = 0;
+	}
+
+	public synchronized int size() {
+		return cache.size();
+	}
+
+	public synchronized long getNumberOfHits() {
+		return numberOfHits;
+	}
+
+	public synchronized long getNumberOfMisses() {
+		return numberOfMisses;
+	}
+
+	/**
+	 * Trims the statement and replaces each sequence of white space characters 
+	 * outside of quotes by a single space, so that statements that differ 
+	 * only in their formatting share one cache entry.
+	 * 
+	 * @param sql
+	 * @return normalized sql (the same instance if nothing is to normalize)
+	 */
+	public static String normalize(final String sql) 
+	{
+		final String trimmedSql = sql.trim();
+		StringBuilder normalizedSql = null;  // created not before the first change
+		char quote = 0;
+		boolean previousIsWhitespace = false;
+		
+		for (int pos = 0; pos < trimmedSql.length(); pos++) 
+		{
+			final char c = trimmedSql.charAt(pos);
+			
+			if (quote == 0 && Character.isWhitespace(c)) 
+			{
+				if (previousIsWhitespace || c != ' ') 
+				{
+					if (normalizedSql == null) {
+						normalizedSql = new StringBuilder(trimmedSql.length()).append(trimmedSql, 0, pos);
+					}
+					if ( ! previousIsWhitespace ) {
+						normalizedSql.append(' ');
+					}
+				} 
+				else if (normalizedSql != null) 
+				{
+					normalizedSql.append(c);
+				}
+				previousIsWhitespace = true;
+				continue;
+			}
+			
+			if (quote == 0 && (c == '\'' || c == '"')) {
+				quote = c;
+			} else if (c == quote) {
+				quote = 0;
+			}
+			
+			previousIsWhitespace = false;
+			if (normalizedSql != null) {
+				normalizedSql.append(c);
+			}
+		}
+		
+		return normalizedSql == null ? trimmedSql : normalizedSql.toString();
+	}
+}
@@ -22,12 +22,8 @@ import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.JOIN;
 import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.ON;
 import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.ORDER_BY;
 import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.WHERE;
-import static com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.CLOSING_PARENTHESIS;
-import static com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.COMMA;
-import static com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.OPENING_PARENTHESIS;
 import static com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.SPACE;
 import static com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.parseNextValue;
-import static com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.parseNextValueByLastOccurrence;
 
 import java.sql.SQLDataException;
 import java.sql.SQLException;
@@ -42,6 +38,7 @@ import com.iksgmbh.sql.pojomemodb.SqlPojoMemoDB;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.OrderCondition;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.WhereCondition;
 import com.iksgmbh.sql.pojomemodb.sqlparser.helper.OrderConditionParser;
+import com.iksgmbh.sql.pojomemodb.sqlparser.helper.SqlTokenizer;
 import com.iksgmbh.sql.pojomemodb.sqlparser.helper.WhereConditionParser;
 import com.iksgmbh.sql.pojomemodb.utils.StringParseUtil;
 import com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.InterimParseResult;
@@ -69,38 +66,49 @@ public class SelectParser extends SqlPojoMemoParser
 			return new ParsedSelectData(parseMysqlNextIdTable(sql));
 		}
 		
-		InterimParseResult parseResult = parseNextValue(sql, ORDER_BY);
-
+		final SqlTokenizer tokenizer = new SqlTokenizer(sql);
+		tokenizer.expectKeyword(getSqlCommand());
+		final int selectClauseStart = tokenizer.getPosition();
+		
 		final List<OrderCondition> orderConditions;
-		if (parseResult.delimiter == null)  {
+		int orderByIndex = tokenizer.indexOfKeyword(ORDER_BY);
+		if (orderByIndex == -1)  {
 			orderConditions = new ArrayList<OrderCondition>();
+			orderByIndex = tokenizer.getLimit();
 		} else {
-			orderConditions = OrderConditionParser.doYourJob(parseResult.unparsedRest);
+			final int orderClauseStart = orderByIndex + ORDER_BY.split(SPACE).length;
+			orderConditions = OrderConditionParser.doYourJob(tokenizer.createSubTokenizer(orderClauseStart, tokenizer.getLimit()));
 		}
 
-		parseResult = parseNextValue(parseResult.parsedValue, WHERE);
-		final String whereClause = parseResult.unparsedRest;
-		final String selectClause = parseResult.parsedValue;
-		final List<WhereCondition> whereConditions = WhereConditionParser.doYourJob(whereClause);
-		
-		parseResult = parseNextValue(selectClause, SPACE);  // cuts command
+		final int whereIndex = tokenizer.createSubTokenizer(selectClauseStart, orderByIndex).indexOfKeyword(WHERE);
+		final int fromClauseEnd;
+		final List<WhereCondition> whereConditions;
+		if (whereIndex == -1) {
+			fromClauseEnd = orderByIndex;
+			whereConditions = new ArrayList<WhereCondition>();
+		} else {
+			fromClauseEnd = whereIndex;
+			whereConditions = WhereConditionParser.doYourJob(tokenizer.createSubTokenizer(whereIndex + 1, orderByIndex));
+		}
 		
-		if (! parseResult.unparsedRest.toLowerCase().contains(FROM.toLowerCase())) {
+		// the last FROM is used, because FROM is a valid column name
+		final int fromIndex = tokenizer.createSubTokenizer(selectClauseStart, fromClauseEnd).lastIndexOfKeyword(FROM);
+		if (fromIndex == -1) {
 			throw new SQLException("Missing FROM declaration in select statement: " + sql);
 		}
-
-		parseResult = parseNextValueByLastOccurrence(parseResult.unparsedRest, FROM);
-		List<String> selectedColumns = parseColumnList(parseResult.parsedValue);
 		
+		List<String> selectedColumns = parseColumnList(tokenizer, selectClauseStart, fromIndex);
+		
+		final SqlTokenizer fromClauseTokenizer = tokenizer.createSubTokenizer(fromIndex + 1, fromClauseEnd);
 		final List<TableId> selectedTables;
 		
-		if (sql.toUpperCase().contains(JOIN))  
+		if (fromClauseTokenizer.indexOfKeyword(JOIN) != -1)  
 		{
-			selectedTables = parseAnsiJoinStatement(parseResult.unparsedRest, whereConditions);
+			selectedTables = parseAnsiJoinStatement(fromClauseTokenizer, whereConditions);
 		} 
 		else 
 		{
-			selectedTables = parseTableList(parseResult.unparsedRest);
+			selectedTables = parseTableList(fromClauseTokenizer);
 		}
 		
 		if (selectedTables.size() == 1) {
@@ -129,59 +137,57 @@ public class SelectParser extends SqlPojoMemoParser
 
 	/**
 	 * Parses a part of the SQL join statement that follows ANSI syntax
-	 * @param joinSqlPart 
+	 * @param fromClauseTokenizer cursor on the tokens following the FROM keyword 
 	 * @param whereConditions
 	 * @return List of JoinTables and join conditions in whereConditions 
 	 * @throws SQLException 
 	 */
-	private List<TableId> parseAnsiJoinStatement(final String joinSqlPart, 
+	private List<TableId> parseAnsiJoinStatement(final SqlTokenizer fromClauseTokenizer, 
 			                                     final List<WhereCondition> whereConditions) throws SQLException  
 	{
-		InterimParseResult parseResult = parseNextJoinTable(joinSqlPart);
+		final String joinSqlPart = fromClauseTokenizer.getText(fromClauseTokenizer.getPosition(), fromClauseTokenizer.getLimit());
+		int joinIndex = indexOfNextJoin(fromClauseTokenizer);
 		
 		final List<TableId> toReturn = new ArrayList<TableId>();
-		toReturn.add( new TableId(parseResult.parsedValue) );
+		toReturn.add( new TableId(fromClauseTokenizer.getText(fromClauseTokenizer.getPosition(), joinIndex)) );
 
-		try {			
-			while (parseResult.delimiter != null)  {
-				parseResult = parseJoinInstruction(parseResult.unparsedRest, whereConditions, toReturn);
+		while (joinIndex != -1)  
+		{
+			fromClauseTokenizer.setPosition(joinIndex);
+			if ( ! fromClauseTokenizer.acceptKeyword(INNER_JOIN) ) {
+				fromClauseTokenizer.acceptKeyword(JOIN); // treat Join as InnerJoin
+			}
+			
+			final int joinTableStart = fromClauseTokenizer.getPosition();
+			final int nextJoinIndex = indexOfNextJoin(fromClauseTokenizer);
+			final int joinInstructionEnd = nextJoinIndex == -1 ? fromClauseTokenizer.getLimit() : nextJoinIndex;
+			final int onIndex = fromClauseTokenizer.createSubTokenizer(joinTableStart, joinInstructionEnd).indexOfKeyword(ON);
+			
+			if (onIndex == -1) {
+				throw new SQLDataException("Missing " + ON.toUpperCase() + " keyword: " + joinSqlPart);
 			}
-		} catch (SQLDataException e) {
-			throw new SQLDataException(e.getMessage() + joinSqlPart);
+			
+			toReturn.add( new TableId(fromClauseTokenizer.getText(joinTableStart, onIndex)) );
+			whereConditions.addAll(WhereConditionParser.doYourJob(fromClauseTokenizer.createSubTokenizer(onIndex + 1, joinInstructionEnd)));
+			
+			joinIndex = nextJoinIndex;
 		}
 				
 		return toReturn;
 	}
 
-	private InterimParseResult parseJoinInstruction(final String unparsedRest,
-			                                         final List<WhereCondition> whereConditions,
-			                                         final List<TableId> toReturn) throws SQLException 
-	{
-		InterimParseResult parseResult = parseNextJoinTable(unparsedRest);
-		
-		InterimParseResult tmpParseResult = parseNextValue(parseResult.parsedValue, ON);		
-		
-		if (tmpParseResult.delimiter == null) {
-			throw new SQLDataException("Missing " + ON.toUpperCase() + " keyword: ");
-		}
-		
-		toReturn.add( new TableId(tmpParseResult.parsedValue) );
-		
-		final String onClause = tmpParseResult.unparsedRest;  
-		List<WhereCondition> joinConditions = WhereConditionParser.doYourJob(onClause);
-		whereConditions.addAll(joinConditions);
-		
-		return parseResult;
-	}
-
-	private InterimParseResult parseNextJoinTable(final String joinSqlPart) 
+	/**
+	 * @return index of the next INNER JOIN or JOIN keyword or -1
+	 */
+	private int indexOfNextJoin(final SqlTokenizer fromClauseTokenizer) 
 	{
-		InterimParseResult parseResult = parseNextValue(joinSqlPart, INNER_JOIN);
+		final int innerJoinIndex = fromClauseTokenizer.indexOfKeyword(INNER_JOIN);
+		final int joinIndex = fromClauseTokenizer.indexOfKeyword(JOIN);
 		
-		if (parseResult.delimiter == null) {
-			parseResult = parseNextValue(joinSqlPart, JOIN); // treat Join as InnerJoin
+		if (innerJoinIndex != -1 && innerJoinIndex < joinIndex) {
+			return innerJoinIndex;
 		}
-		return parseResult;
+		return joinIndex;
 	}
 
 	/**
@@ -194,10 +200,7 @@ public class SelectParser extends SqlPojoMemoParser
 	private void checkForUnkownAliases(final ParsedSelectData parsedSelectData) throws SQLDataException 
 	{
 		final List<WhereCondition> whereConditions = parsedSelectData.whereConditions;
-		for (WhereCondition whereCondition : whereConditions) {
-			checkForUnkownAliases(whereCondition.getColumnName(), parsedSelectData.tableNames);
-			checkForUnkownAliases(whereCondition.getValueAsString(), parsedSelectData.tableNames);
-		}
+		checkForUnkownAliases(whereConditions, parsedSelectData.tableNames);
 		
 		final List<String> selectedColumns = parsedSelectData.selectedColumns;
 		if (selectedColumns != null) {
@@ -208,6 +211,27 @@ public class SelectParser extends SqlPojoMemoParser
 	}
 	
 
+	private void checkForUnkownAliases(final List<WhereCondition> whereConditions, 
+			                           final List<String> tableNames) throws SQLDataException 
+	{
+		for (WhereCondition whereCondition : whereConditions) 
+		{
+			if (whereCondition.isLogicalCondition()) {
+				checkForUnkownAliases(whereCondition.getSubConditions(), tableNames);
+				continue;
+			}
+			
+			if (whereCondition.isExistsCondition()) {
+				continue;  // the subquery is checked when it is parsed itself
+			}
+			
+			checkForUnkownAliases(whereCondition.getColumnName(), tableNames);
+			if ( ! whereCondition.isValueListCondition() && ! whereCondition.isSubqueryCondition() ) {
+				checkForUnkownAliases(whereCondition.getValueAsString(), tableNames);
+			}
+		}
+	}
+
 	private void replaceAliasInSelectClause(final List<String> selectedColumns, 
 			                                final List<TableId> selectedTables) 
 	{
@@ -233,7 +257,8 @@ public class SelectParser extends SqlPojoMemoParser
 	private void checkForUnkownAliases(final String columnId, 
 			                           final List<String> tableNames) throws SQLDataException 
 	{
-		if (columnId != null && columnId.contains(".") && ! columnId.contains("'") && ! columnId.endsWith("." + SQLKeyWords.NEXTVAL))  
+		if (columnId != null && columnId.contains(".") && ! columnId.contains("'") && ! columnId.endsWith("." + SQLKeyWords.NEXTVAL)
+			&& ! isNumberLiteral(columnId))  
 		{
 			boolean isKnown = false;
 			
@@ -250,6 +275,12 @@ public class SelectParser extends SqlPojoMemoParser
 		
 	}
 
+	private boolean isNumberLiteral(final String value) 
+	{
+		final char firstChar = value.charAt(0);
+		return Character.isDigit(firstChar) || firstChar == '-' || firstChar == '.';
+	}
+
 	private void replaceAliasInOrderConditions(final List<OrderCondition> orderConditions,
 											   final List<TableId> tableIdList) throws SQLException
 	{
@@ -267,10 +298,27 @@ public class SelectParser extends SqlPojoMemoParser
 											   final List<TableId> tableIdList) throws SQLException
 	{
 		final List<WhereCondition> toReturn = new ArrayList<WhereCondition>();
-		for (WhereCondition whereCondition : whereConditions) {
-			toReturn.add(new WhereCondition(replaceAliases(whereCondition.getColumnName(), tableIdList),
-					                        whereCondition.getComparator(), 
-					                        replaceAliases(whereCondition.getValueAsString(), tableIdList)));
+		for (WhereCondition whereCondition : whereConditions) 
+		{
+			if (whereCondition.isLogicalCondition()) {
+				final List<WhereCondition> subConditions = new ArrayList<WhereCondition>(whereCondition.getSubConditions());
+				replaceAliasInWhereConditions(subConditions, tableIdList);
+				toReturn.add(new WhereCondition(whereCondition.getLogicalOperator(), subConditions));
+			} else if (whereCondition.isExistsCondition()) {
+				toReturn.add(whereCondition);
+			} else if (whereCondition.isSubqueryCondition()) {
+				toReturn.add(new WhereCondition(replaceAliases(whereCondition.getColumnName(), tableIdList),
+						                        whereCondition.getComparator(), 
+						                        whereCondition.getSubquery()));
+			} else if (whereCondition.isValueListCondition()) {
+				toReturn.add(new WhereCondition(replaceAliases(whereCondition.getColumnName(), tableIdList),
+						                        whereCondition.getComparator(), 
+						                        whereCondition.getValueList()));
+			} else {
+				toReturn.add(new WhereCondition(replaceAliases(whereCondition.getColumnName(), tableIdList),
+						                        whereCondition.getComparator(), 
+						                        replaceAliases(whereCondition.getValueAsString(), tableIdList)));
+			}
 		}
 		whereConditions.clear();
 		whereConditions.addAll(toReturn);
@@ -302,12 +350,13 @@ public class SelectParser extends SqlPojoMemoParser
 		return toReturn;
 	}
 
-	private List<TableId> parseTableList(final String tableNameData) throws SQLException 
+	private List<TableId> parseTableList(final SqlTokenizer fromClauseTokenizer) throws SQLException 
 	{
 		final List<TableId> toReturn = new ArrayList<SqlExecutor.TableId>();
-		final String[] splitResult = tableNameData.split(COMMA);
-		for (String string : splitResult) {
-			toReturn.add(new TableId(string.trim()));
+		final List<String> tableIds = fromClauseTokenizer.parseCommaSeparatedList(fromClauseTokenizer.getPosition(), 
+				                                                                  fromClauseTokenizer.getLimit());
+		for (String tableId : tableIds) {
+			toReturn.add(new TableId(tableId));
 		}
 		
 		return toReturn;
@@ -358,35 +407,23 @@ public class SelectParser extends SqlPojoMemoParser
 		return selectedColumns;
 	}
 
-	private List<String> parseColumnList(final String columnNameData) 
+	private List<String> parseColumnList(final SqlTokenizer tokenizer, 
+			                             final int from, 
+			                             final int to) 
 	{
+		final String columnNameData = tokenizer.getText(from, to);
+		
 		if (ALL_COLUMNS.equals(columnNameData)) {
 			return null;
 		} 
 		
-		final List<String> toReturn = new ArrayList<String>();
-		
 		if (columnNameData.contains(ALL_COLUMNS)) {
+			final List<String> toReturn = new ArrayList<String>();
 			toReturn.add(columnNameData);
 			return toReturn;
 		}
 		
-		InterimParseResult parseResult = parseNextValue(columnNameData, OPENING_PARENTHESIS.charAt(0), CLOSING_PARENTHESIS.charAt(0), COMMA.charAt(0));
-		toReturn.add(parseResult.parsedValue);
-		
-		if ( StringParseUtil.isEmpty(parseResult.unparsedRest)) {
-			// do nothing
-		} else if ( ! parseResult.unparsedRest.contains(COMMA)) {
-			toReturn.add(parseResult.unparsedRest);
-		} else {			
-			while ( ! StringParseUtil.isEmpty( parseResult.unparsedRest) )
-			{
-				parseResult = parseNextValue(parseResult.unparsedRest, OPENING_PARENTHESIS.charAt(0), CLOSING_PARENTHESIS.charAt(0), COMMA.charAt(0));
-				toReturn.add(parseResult.parsedValue);
-			}
-		}
-		
-		return toReturn;
+		return tokenizer.parseCommaSeparatedList(from, to);
 	}
 
 }
\ No newline at end of file
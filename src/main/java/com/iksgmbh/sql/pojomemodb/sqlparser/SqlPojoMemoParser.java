@@ -20,8 +20,6 @@ import com.iksgmbh.sql.pojomemodb.utils.StringParseUtil;
 import com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.*;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.List;
 
 import static com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.*;
 
@@ -55,40 +53,4 @@ public abstract class SqlPojoMemoParser
 		return StringParseUtil.removeSurroundingPrefixAndPostFix(value, "\"", "\"");
 	}
 	
-	// This algorithm is a big mess and needs to be replaced by a state maschine approach
-	protected List<String> parseCommaSeparatedColumnNameList(String input) 
-	{
-		final List<String> toReturn = new ArrayList<String>();
-		InterimParseResult parseResult = null;
-		
-		while (input.length() > 0)
-		{
-			parseResult = parseNextValue(input, OPENING_PARENTHESIS.charAt(0), CLOSING_PARENTHESIS.charAt(0), COMMA.charAt(0));
-			toReturn.add(parseResult.parsedValue);
-			input = parseResult.unparsedRest;
-		}
-		
-		return toReturn;
-	}	
-
-	// This algorithm is a big mess and needs to be replaced by a state maschine approach
-	protected List<String> parseCommaSeparatedValuesList(String input) 
-	{
-		final List<String> toReturn = new ArrayList<String>();
-		InterimParseResult parseResult = null;
-		
-		while (input.length() > 0)
-		{
-			if (input.startsWith("to_date"))  {
-				parseResult = parseNextValue(input, OPENING_PARENTHESIS.charAt(0), CLOSING_PARENTHESIS.charAt(0), COMMA.charAt(0));
-			} else {
-				parseResult = parseNextValue(input, APOSTROPY.charAt(0), APOSTROPY.charAt(0), COMMA.charAt(0));
-			}
-			toReturn.add(parseResult.parsedValue);
-			input = parseResult.unparsedRest;
-		}
-		
-		return toReturn;
-	}	
-	
 }
\ No newline at end of file
@@ -20,8 +20,8 @@ import com.iksgmbh.sql.pojomemodb.SqlExecutor.ParsedUpdateData;
 import com.iksgmbh.sql.pojomemodb.SqlPojoMemoDB;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.ApartValue;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.WhereCondition;
+import com.iksgmbh.sql.pojomemodb.sqlparser.helper.SqlTokenizer;
 import com.iksgmbh.sql.pojomemodb.sqlparser.helper.WhereConditionParser;
-import com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.*;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -29,7 +29,8 @@ import java.util.List;
 
 import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.SET;
 import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.WHERE;
-import static com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.*;
+import static com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.COMMA;
+import static com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.EQUALSIGN;
 
 public class UpdateTableParser extends SqlPojoMemoParser
 {	
@@ -42,51 +43,69 @@ public class UpdateTableParser extends SqlPojoMemoParser
 	 */
 	@Override
 	protected String getSqlCommand() {
-		return SQLKeyWords.SELECT_COMMAND.toLowerCase();
+		return SQLKeyWords.UPDATE_COMMAND.toLowerCase();
 	}
 	
 	public ParsedUpdateData parseUpdateStatement(final String sql) throws SQLException 
 	{
-		InterimParseResult parseResult = parseNextValue(sql, WHERE);  
-		final String whereClause = parseResult.unparsedRest;
-		final String updateClause = parseResult.parsedValue;
+		final SqlTokenizer tokenizer = new SqlTokenizer(sql);
+		tokenizer.expectKeyword(getSqlCommand());
 		
-		parseResult = parseTableName(updateClause);
-		final String tableName = removeSurroundingQuotes(parseResult.parsedValue);
+		final int tableNameStart = tokenizer.getPosition();
+		if ( ! tokenizer.hasNext() ) {
+			throw new SQLException("Missing table name in update statement: " + sql);
+		}
+		tokenizer.next();
+		final String tableName = removeSurroundingQuotes(tokenizer.getText(tableNameStart, tokenizer.getPosition()));
 		
-		if (! parseResult.unparsedRest.toLowerCase().startsWith(SET.toLowerCase())) {
+		if ( ! tokenizer.acceptKeyword(SET) ) {
 			throw new SQLException("Missing SET declaration in update statement: " + sql);
 		}
 		
-		final List<ApartValue> newValues = parseSetInstructions(parseResult.unparsedRest);
-		final List<WhereCondition> whereConditions = WhereConditionParser.doYourJob(whereClause);
+		int whereIndex = tokenizer.indexOfKeyword(WHERE);
+		if (whereIndex == -1) {
+			whereIndex = tokenizer.getLimit();
+		}
+		
+		final List<ApartValue> newValues = parseSetInstructions(tokenizer, whereIndex);
+		final List<WhereCondition> whereConditions = 
+				WhereConditionParser.doYourJob(tokenizer.createSubTokenizer(whereIndex + 1, tokenizer.getLimit()));
 		
 		return new ParsedUpdateData(tableName, newValues, whereConditions);
 	}
 
-	private List<ApartValue> parseSetInstructions(final String setInstruction) throws SQLException 
+	/**
+	 * Set values are cut out token by token, so a single parameter marker is kept as numbered marker.
+	 */
+	private List<ApartValue> parseSetInstructions(final SqlTokenizer tokenizer, 
+			                                      final int setInstructionsEnd) throws SQLException 
 	{
 		final List<ApartValue> toReturn = new ArrayList<ApartValue>();
-		InterimParseResult parseResult = parseNextValue(setInstruction, SET); // cut leading SET
-
-		while (parseResult.unparsedRest.contains(COMMA))  {
-			parseResult = parseNextValue(parseResult.unparsedRest, OPENING_PARENTHESIS.charAt(0), CLOSING_PARENTHESIS.charAt(0), COMMA.charAt(0)); 
-			toReturn.add(parseApartValueFrom(parseResult.parsedValue));
-		}
+		final SqlTokenizer setTokenizer = tokenizer.createSubTokenizer(tokenizer.getPosition(), setInstructionsEnd);
 		
-		if (parseResult.unparsedRest.length() > 0) {
-			toReturn.add(parseApartValueFrom(parseResult.unparsedRest));
+		while (setTokenizer.hasNext()) 
+		{
+			final int columnNameStart = setTokenizer.getPosition();
+			final int columnNameEnd = setTokenizer.indexOfSymbol(EQUALSIGN);
+			if (columnNameEnd == -1 || columnNameStart == columnNameEnd) {
+				throw new SQLException("Cannot parse set instruction: " 
+			                           + setTokenizer.getText(columnNameStart, setTokenizer.getLimit()));
+			}
+			
+			setTokenizer.setPosition(columnNameEnd + 1);
+			final int valueStart = setTokenizer.getPosition();
+			int valueEnd = setTokenizer.indexOfSymbol(COMMA);
+			if (valueEnd == -1) {
+				valueEnd = setTokenizer.getLimit();
+			}
+			final String columnName = removeSurroundingQuotes(setTokenizer.getText(columnNameStart, columnNameEnd));
+			toReturn.add(new ApartValue(setTokenizer.getText(valueStart, valueEnd), columnName));
 			
+			setTokenizer.setPosition(valueEnd);
+			setTokenizer.acceptSymbol(COMMA);
 		}
 
 		return toReturn;
 	}
 
-	private ApartValue parseApartValueFrom(final String apartValueAsString) throws SQLException 
-	{
-		final InterimParseResult parseResult = parseNextValue(apartValueAsString, EQUALSIGN); 
-		final String columnName = removeSurroundingQuotes(parseResult.parsedValue);
-		return new ApartValue(parseResult.unparsedRest, columnName);
-	}
-
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.sqlparser.helper;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.LiteralValue;
+import com.iksgmbh.sql.pojomemodb.sqlparser.helper.SqlToken.Type;
+
+import static com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.PARAMETER_MARKER;
+
+/**
+ * Replaces the literals of a sql statement by parameter markers (?), 
+ * so that statements that differ only in their literal values share one parse result.
+ * 
+ * The literals become the values bound to the markers. They are bound as LiteralValue 
+ * with their text, so that they keep their kind (string or number) and are 
+ * type-checked exactly as if they were left in the statement.
+ *
+ * @author Reik Oberrath
+ */
+public class LiteralParameterizer
+{
+	/**
+	 * @param sql statement with literals
+	 * @return parameterized statement or null if the statement contains no literals to extract 
+	 *         or already contains parameter markers
+	 * @throws SQLException if the statement cannot be tokenized
+	 */
+	public static ParameterizedSql doYourJob(final String sql) throws SQLException 
+	{
+		final SqlTokenizer tokenizer = new SqlTokenizer(sql);
+		if (tokenizer.getNumberOfParameters() > 0) {
+			return null;
+		}
+		
+		final StringBuilder parameterizedSql = new StringBuilder(sql.length());
+		final List<Object> parameterValues = new ArrayList<Object>();
+		int copiedUntil = 0;
+		
+		while (tokenizer.hasNext()) 
+		{
+			final SqlToken token = tokenizer.next();
+			final Object value = toParameterValue(token);
+			if (value != null) 
+			{
+				parameterizedSql.append(sql, copiedUntil, token.getStart()).append(PARAMETER_MARKER);
+				parameterValues.add(value);
+				copiedUntil = token.getEnd();
+			}
+		}
+		
+		if (parameterValues.isEmpty()) {
+			return null;
+		}
+		
+		parameterizedSql.append(sql, copiedUntil, sql.length());
+		return new ParameterizedSql(parameterizedSql.toString(), parameterValues.toArray());
+	}
+
+	/**
+	 * @return value of the literal or null if the token is no literal to extract
+	 */
+	private static Object toParameterValue(final SqlToken token) 
+	{
+		final String text = token.getText();
+		
+		if (token.getType() == Type.STRING || token.getType() == Type.NUMBER) {
+			return new LiteralValue(text);
+		}
+		
+		return null;
+	}
+
+	public static class ParameterizedSql  
+	{
+		public final String sql;
+		public final Object[] parameterValues;
+		
+		public ParameterizedSql(final String sql, 
+				                final Object[] parameterValues) 
+		{
+			this.sql = sql;
+			this.parameterValues = parameterValues;
+		}
+	}
+}
\ No newline at end of file
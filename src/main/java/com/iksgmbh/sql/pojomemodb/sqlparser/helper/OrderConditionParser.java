@@ -33,27 +33,29 @@ import java.util.List;
 public class OrderConditionParser extends SqlPojoMemoParser
 {
 	public static List<OrderCondition> doYourJob(final String orderClause) throws SQLException {
-		return new OrderConditionParser().parseConditions(orderClause);
+		return new OrderConditionParser().parseConditions(new SqlTokenizer(orderClause));
+	}
+
+	public static List<OrderCondition> doYourJob(final SqlTokenizer orderClauseTokenizer) throws SQLException {
+		return new OrderConditionParser().parseConditions(orderClauseTokenizer);
 	}
 
 	// TODO mehere conditions mit asc, desc testen
-	public List<OrderCondition> parseConditions(final String orderClause) throws SQLException
+	public List<OrderCondition> parseConditions(final SqlTokenizer orderClauseTokenizer) throws SQLException
 	{
-		if (StringParseUtil.isEmpty(orderClause))
+		if ( ! orderClauseTokenizer.hasNext() )
 			throw new SQLException("No column defined for order by!");
 
-		String unparsedRest = orderClause;
-		if (unparsedRest.startsWith("("))  {
-			unparsedRest = StringParseUtil.removeSurroundingPrefixAndPostFix(unparsedRest, "(", ")");
+		int from = orderClauseTokenizer.getPosition();
+		int to = orderClauseTokenizer.getLimit();
+		if (orderClauseTokenizer.isSymbolAhead("(") && orderClauseTokenizer.findClosingParenthesis(from) == to - 1)  {
+			from++;
+			to--;
 		}
 		
 		final List<OrderCondition> toReturn = new ArrayList<OrderCondition>();
-		InterimParseResult parseResult = null;
-		while( unparsedRest.length() > 0 )
-		{
-			parseResult = StringParseUtil.parseNextValue(unparsedRest, StringParseUtil.COMMA);
-			toReturn.add(parseOrderCondition(parseResult.parsedValue));
-			unparsedRest = parseResult.unparsedRest;
+		for (String orderCondition : orderClauseTokenizer.parseCommaSeparatedList(from, to)) {
+			toReturn.add(parseOrderCondition(orderCondition));
 		}
 
 		return toReturn;
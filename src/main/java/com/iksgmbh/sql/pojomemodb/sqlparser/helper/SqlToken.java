@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.sqlparser.helper;
+
+/**
+ * Lexical unit of a SQL statement as produced by the SqlTokenizer.
+ * Start and end refer to the position of the token in the parsed sql string.
+ * The text of a PARAMETER token is its numbered marker (e.g. ?1), not the original ?.
+ *
+ * @author Reik Oberrath
+ */
+public class SqlToken
+{
+	public enum Type { IDENTIFIER, STRING, NUMBER, SYMBOL, PARAMETER };
+	
+	private final Type type;
+	private final String text;
+	private final int start;
+	private final int end;
+	
+	public SqlToken(final Type type, 
+			        final String text, 
+			        final int start, 
+			        final int end) 
+	{
+		this.type = type;
+		this.text = text;
+		this.start = start;
+		this.end = end;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	public int getStart() {
+		return start;
+	}
+
+	public int getEnd() {
+		return end;
+	}
+	
+	/**
+	 * Keywords are unquoted identifiers, compared case-insensitively.
+	 */
+	public boolean isKeyword(final String keyword) {
+		return type == Type.IDENTIFIER && text.equalsIgnoreCase(keyword);
+	}
+	
+	public boolean isSymbol(final String symbol) {
+		return type == Type.SYMBOL && text.equals(symbol);
+	}
+
+	@Override
+	public String toString() {
+		return type + "[" + text + "]";
+	}
+}
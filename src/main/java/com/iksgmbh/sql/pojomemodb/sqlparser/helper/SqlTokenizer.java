@@ -0,0 +1,468 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.sqlparser.helper;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.iksgmbh.sql.pojomemodb.sqlparser.helper.SqlToken.Type;
+
+import static com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.PARAMETER_MARKER;
+import static com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.createParameterMarker;
+
+/**
+ * Splits a SQL statement in a single pass into tokens and 
+ * serves as cursor on these tokens for the recursive descent parsers.
+ * 
+ * String literals and quoted identifiers are single tokens, so delimiters
+ * within them are never mistaken as part of the statement structure.
+ * Parsed values are cut out of the original statement by token positions,
+ * so they keep their original notation (e.g. surrounding apostrophes).
+ * Parameter markers (?) are numbered by their position, i.e. a single 
+ * marker value is represented as ?1, ?2, ...
+ *
+ * @author Reik Oberrath
+ */
+public class SqlTokenizer
+{
+	private static final String OPENING_PARENTHESIS = "(";
+	private static final String CLOSING_PARENTHESIS = ")";
+	private static final String COMMA = ",";
+	private static final String[] TWO_CHAR_SYMBOLS = { "<=", ">=", "<>", "!=", "||" };
+	
+	private final String sql;
+	private final List<SqlToken> tokens;
+	private final int numberOfParameters;
+	private final int limit;
+	private int position;
+
+	public SqlTokenizer(final String sql) throws SQLException {
+		this(sql, tokenize(sql), 0, -1);
+	}
+	
+	private SqlTokenizer(final String sql, 
+			             final List<SqlToken> tokens, 
+			             final int first, 
+			             final int limit) 
+	{
+		this(sql, tokens, countParameters(tokens), first, limit);
+	}
+	
+	private SqlTokenizer(final String sql, 
+			             final List<SqlToken> tokens, 
+			             final int numberOfParameters, 
+			             final int first, 
+			             final int limit) 
+	{
+		this.sql = sql;
+		this.tokens = tokens;
+		this.numberOfParameters = numberOfParameters;
+		this.position = first;
+		this.limit = limit == -1 ? tokens.size() : limit;
+	}
+
+	/**
+	 * @return cursor on the tokens between from (inclusive) and to (exclusive) 
+	 *         that shares the tokens of this tokenizer 
+	 */
+	public SqlTokenizer createSubTokenizer(final int from, final int to) {
+		return new SqlTokenizer(sql, tokens, numberOfParameters, from, to);
+	}
+
+	// ###########################################################################
+	//                               lexer
+	// ###########################################################################
+
+	private static List<SqlToken> tokenize(final String sql) throws SQLException 
+	{
+		final List<SqlToken> toReturn = new ArrayList<SqlToken>();
+		final int length = sql.length();
+		int parameterIndex = 0;
+		int pos = 0;
+		
+		while (pos < length) 
+		{
+			final char c = sql.charAt(pos);
+			final int start = pos;
+			
+			if (Character.isWhitespace(c)) 
+			{
+				pos++;
+				continue;
+			}
+			
+			final Type type;
+			if (c == '\'') {
+				pos = findEndOfQuotedText(sql, pos);
+				type = Type.STRING;
+			} else if (c == '"') {
+				pos = findEndOfQuotedText(sql, pos);
+				type = Type.IDENTIFIER;
+			} else if (Character.isDigit(c)) {
+				while (pos < length && isNumberChar(sql.charAt(pos))) pos++;
+				type = Type.NUMBER;
+			} else if (isIdentifierChar(c)) {
+				while (pos < length && isIdentifierChar(sql.charAt(pos))) pos++;
+				type = Type.IDENTIFIER;
+			} else if (c == PARAMETER_MARKER.charAt(0)) {
+				pos++;
+				type = Type.PARAMETER;
+			} else {
+				pos += isTwoCharSymbolAt(sql, pos) ? 2 : 1;
+				type = Type.SYMBOL;
+			}
+			
+			final String text = type == Type.PARAMETER ? createParameterMarker(++parameterIndex) 
+					                                   : sql.substring(start, pos);
+			toReturn.add(new SqlToken(type, text, start, pos));
+		}
+		
+		return toReturn;
+	}
+
+	private static int countParameters(final List<SqlToken> tokens) 
+	{
+		int toReturn = 0;
+		for (SqlToken token : tokens) {
+			if (token.getType() == Type.PARAMETER) toReturn++;
+		}
+		return toReturn;
+	}
+
+	/**
+	 * @return position behind the closing quote; doubled quotes are treated as escaped quote
+	 */
+	private static int findEndOfQuotedText(final String sql, 
+			                               final int openingQuotePosition) throws SQLException 
+	{
+		final char quote = sql.charAt(openingQuotePosition);
+		int pos = openingQuotePosition + 1;
+		
+		while (pos < sql.length()) 
+		{
+			if (sql.charAt(pos) == quote) 
+			{
+				if (pos + 1 < sql.length() && sql.charAt(pos + 1) == quote) {
+					pos++;
+				} else {
+					return pos + 1;
+				}
+			}
+			pos++;
+		}
+		
+		throw new SQLException("Missing closing " + quote + " in: " + sql);
+	}
+
+	private static boolean isNumberChar(final char c) {
+		return Character.isDigit(c) || c == '.';
+	}
+
+	private static boolean isIdentifierChar(final char c) {
+		return Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '$' || c == '#';
+	}
+
+	private static boolean isTwoCharSymbolAt(final String sql, 
+			                                 final int pos) 
+	{
+		for (String symbol : TWO_CHAR_SYMBOLS) {
+			if (sql.startsWith(symbol, pos)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// ###########################################################################
+	//                               cursor
+	// ###########################################################################
+
+	public boolean hasNext() {
+		return position < limit;
+	}
+
+	public SqlToken peek() {
+		return position < limit ? tokens.get(position) : null;
+	}
+
+	public SqlToken next() throws SQLException 
+	{
+		if ( ! hasNext() ) {
+			throw new SQLException("Unexpected end of sql statement: " + sql);
+		}
+		return tokens.get(position++);
+	}
+
+	/**
+	 * @param keywords one or more keywords separated by a single space, e.g. "ORDER BY"
+	 * @return true if the next tokens match the keywords
+	 */
+	public boolean isKeywordAhead(final String keywords) {
+		return countMatchingKeywordTokens(position, keywords) > 0;
+	}
+
+	/**
+	 * Moves the cursor behind the keywords if they are the next tokens.
+	 * @param keywords one or more keywords separated by a single space, e.g. "ORDER BY"
+	 * @return true if the keywords have been consumed
+	 */
+	public boolean acceptKeyword(final String keywords) 
+	{
+		final int numberOfTokens = countMatchingKeywordTokens(position, keywords);
+		position += numberOfTokens;
+		return numberOfTokens > 0;
+	}
+
+	public void expectKeyword(final String keywords) throws SQLException 
+	{
+		if ( ! acceptKeyword(keywords) ) {
+			throw new SQLException("Missing " + keywords.toUpperCase() + " in: " + sql);
+		}
+	}
+
+	public boolean isSymbolAhead(final String symbol) {
+		return position < limit && tokens.get(position).isSymbol(symbol);
+	}
+
+	public boolean acceptSymbol(final String symbol) 
+	{
+		if (isSymbolAhead(symbol)) {
+			position++;
+			return true;
+		}
+		return false;
+	}
+
+	public int getPosition() {
+		return position;
+	}
+
+	public void setPosition(final int position) {
+		this.position = position;
+	}
+
+	public int getLimit() {
+		return limit;
+	}
+
+	public String getSql() {
+		return sql;
+	}
+
+	/**
+	 * @return number of parameter markers in the whole statement
+	 */
+	public int getNumberOfParameters() {
+		return numberOfParameters;
+	}
+
+	/**
+	 * @return original text of the tokens between from (inclusive) and to (exclusive) - 
+	 *         or the numbered marker, if the only token is a parameter marker
+	 */
+	public String getText(final int from, 
+			              final int to) 
+	{
+		if (from >= to) {
+			return "";
+		}
+		if (to - from == 1) {
+			return tokens.get(from).getText();
+		}
+		return sql.substring(tokens.get(from).getStart(), tokens.get(to - 1).getEnd());
+	}
+
+	/**
+	 * Searches the keywords outside of parentheses, starting at the cursor position.
+	 * @return index of the first keyword token or -1 if not found
+	 */
+	public int indexOfKeyword(final String keywords) 
+	{
+		int depth = 0;
+		for (int index = position; index < limit; index++) 
+		{
+			final SqlToken token = tokens.get(index);
+			if (token.isSymbol(OPENING_PARENTHESIS)) {
+				depth++;
+			} else if (token.isSymbol(CLOSING_PARENTHESIS)) {
+				depth--;
+			} else if (depth == 0 && countMatchingKeywordTokens(index, keywords) > 0) {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Searches the symbol outside of parentheses, starting at the cursor position.
+	 * @return index of the symbol token or -1 if not found
+	 */
+	public int indexOfSymbol(final String symbol) 
+	{
+		int depth = 0;
+		for (int index = position; index < limit; index++) 
+		{
+			final SqlToken token = tokens.get(index);
+			if (depth == 0 && token.isSymbol(symbol)) {
+				return index;
+			}
+			if (token.isSymbol(OPENING_PARENTHESIS)) {
+				depth++;
+			} else if (token.isSymbol(CLOSING_PARENTHESIS)) {
+				depth--;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Searches the last occurrence of the keywords outside of parentheses, starting at the cursor position.
+	 * @return index of the first keyword token or -1 if not found
+	 */
+	public int lastIndexOfKeyword(final String keywords) 
+	{
+		final int position = this.position;
+		int toReturn = -1;
+		int index = indexOfKeyword(keywords);
+		
+		while (index != -1) 
+		{
+			toReturn = index;
+			this.position = index + 1;
+			index = indexOfKeyword(keywords);
+		}
+		
+		this.position = position;
+		return toReturn;
+	}
+
+	/**
+	 * @return index of the parenthesis that closes the one at the given index 
+	 */
+	public int findClosingParenthesis(final int openingParenthesisIndex) throws SQLException 
+	{
+		final int toReturn = findClosingParenthesisIfPresent(openingParenthesisIndex);
+		if (toReturn == limit) {
+			throw new SQLException("Missing closing parenthesis in: " + sql);
+		}
+		return toReturn;
+	}
+
+	/**
+	 * @return index of the closing parenthesis or, if it is missing at the end of the statement, 
+	 *         the index behind the last token
+	 */
+	private int findClosingParenthesisIfPresent(final int openingParenthesisIndex) 
+	{
+		int depth = 0;
+		for (int index = openingParenthesisIndex; index < limit; index++) 
+		{
+			final SqlToken token = tokens.get(index);
+			if (token.isSymbol(OPENING_PARENTHESIS)) {
+				depth++;
+			} else if (token.isSymbol(CLOSING_PARENTHESIS)) {
+				depth--;
+				if (depth == 0) {
+					return index;
+				}
+			}
+		}
+		return limit;
+	}
+
+	/**
+	 * Reads the comma separated list that is enclosed in the parentheses ahead.
+	 * As before, a missing closing parenthesis at the end of the statement is tolerated.
+	 * Commas within nested parentheses (e.g. of function calls) do not separate values.
+	 * @return list elements in their original notation
+	 */
+	public List<String> parseParenthesizedList() throws SQLException 
+	{
+		if ( ! isSymbolAhead(OPENING_PARENTHESIS) ) {
+			throw new SQLException("Missing opening parenthesis in: " + sql);
+		}
+		final int closingParenthesisIndex = findClosingParenthesisIfPresent(position);
+		final List<String> toReturn = parseCommaSeparatedList(position + 1, closingParenthesisIndex);
+		position = closingParenthesisIndex + 1;
+		return toReturn;
+	}
+
+	/**
+	 * Splits the tokens between from (inclusive) and to (exclusive) at those commas 
+	 * that are not enclosed in parentheses.
+	 * @return list elements in their original notation
+	 */
+	public List<String> parseCommaSeparatedList(final int from, 
+			                                    final int to) 
+	{
+		final List<String> toReturn = new ArrayList<String>();
+		if (from >= to) {
+			return toReturn;
+		}
+		
+		int depth = 0;
+		int elementStart = from;
+		for (int index = from; index < to; index++) 
+		{
+			final SqlToken token = tokens.get(index);
+			if (token.isSymbol(OPENING_PARENTHESIS)) {
+				depth++;
+			} else if (token.isSymbol(CLOSING_PARENTHESIS)) {
+				depth--;
+			} else if (depth == 0 && token.isSymbol(COMMA)) {
+				toReturn.add(getText(elementStart, index));
+				elementStart = index + 1;
+			}
+		}
+		toReturn.add(getText(elementStart, to));
+		
+		return toReturn;
+	}
+
+	private int countMatchingKeywordTokens(final int index, 
+			                               final String keywords) 
+	{
+		int tokenIndex = index;
+		int keywordStart = 0;
+		
+		while (keywordStart <= keywords.length()) 
+		{
+			int keywordEnd = keywords.indexOf(' ', keywordStart);
+			if (keywordEnd == -1) {
+				keywordEnd = keywords.length();
+			}
+			
+			if (tokenIndex >= limit) {
+				return 0;
+			}
+			
+			final SqlToken token = tokens.get(tokenIndex);
+			final int keywordLength = keywordEnd - keywordStart;
+			if ( token.getType() != Type.IDENTIFIER 
+				 || token.getText().length() != keywordLength
+				 || ! token.getText().regionMatches(true, 0, keywords, keywordStart, keywordLength) ) 
+			{
+				return 0;
+			}
+			
+			tokenIndex++;
+			keywordStart = keywordEnd + 1;
+		}
+		
+		return tokenIndex - index;
+	}
+}
@@ -15,10 +15,11 @@
  */
 package com.iksgmbh.sql.pojomemodb.sqlparser.helper;
 
+import com.iksgmbh.sql.pojomemodb.SQLKeyWords;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.Subquery;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.WhereCondition;
 import com.iksgmbh.sql.pojomemodb.sqlparser.SqlPojoMemoParser;
-import com.iksgmbh.sql.pojomemodb.utils.StringParseUtil;
-import com.iksgmbh.sql.pojomemodb.utils.StringParseUtil.InterimParseResult;
+import com.iksgmbh.sql.pojomemodb.sqlparser.helper.SqlToken.Type;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -28,6 +29,10 @@ import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.*;
 
 /**
  * Parses where conditions.
+ * 
+ * The where clause is parsed by recursive descent on its tokens 
+ * as boolean expression with the precedence NOT > AND > OR.
+ * Parentheses may be used to group conditions.
  *
  * @author Reik Oberrath
  */
@@ -35,66 +40,304 @@ public class WhereConditionParser extends SqlPojoMemoParser
 {
 	public static final String AND_SEPARATOR = " " + AND + " ";
 	
+	private static final String IS = "is";
+	private static final String UNEQUAL_ALTERNATIVE = "!=";
+	
+	private SqlTokenizer tokenizer;
+	
 	public static List<WhereCondition> doYourJob(final String whereClause) throws SQLException {
-		return new WhereConditionParser().parseConditions(whereClause);
+		return new WhereConditionParser().parseConditions(new SqlTokenizer(whereClause));
+	}
+	
+	public static List<WhereCondition> doYourJob(final SqlTokenizer whereClauseTokenizer) throws SQLException {
+		return new WhereConditionParser().parseConditions(whereClauseTokenizer);
+	}
+	
+	/**
+	 * @param whereClause
+	 * @return conditions that must all be fulfilled - each one may be a logical combination of other conditions
+	 * @throws SQLException
+	 */
+	public List<WhereCondition> parseConditions(final String whereClause) throws SQLException {
+		return parseConditions(new SqlTokenizer(whereClause));
+	}
+	
+	/**
+	 * @param whereClauseTokenizer cursor on the tokens of the where clause
+	 * @return conditions that must all be fulfilled - each one may be a logical combination of other conditions
+	 * @throws SQLException
+	 */
+	public List<WhereCondition> parseConditions(final SqlTokenizer whereClauseTokenizer) throws SQLException 
+	{
+		tokenizer = whereClauseTokenizer;
+		final List<WhereCondition> toReturn = new ArrayList<WhereCondition>();
+		
+		if (tokenizer.hasNext()) 
+		{
+			final int start = tokenizer.getPosition();
+			addConjunctions(parseOrExpression(), toReturn);
+			
+			if (tokenizer.hasNext()) {
+				throw new SQLException("Unbalanced apostrophes or parentheses in where clause: " 
+			                           + tokenizer.getText(start, tokenizer.getLimit()));
+			}
+		}
+		
+		return toReturn;
+	}
+	
+	private void addConjunctions(final WhereCondition condition, 
+			                     final List<WhereCondition> conjunctions) 
+	{
+		if (AND.equals(condition.getLogicalOperator())) {
+			for (WhereCondition subCondition : condition.getSubConditions()) {
+				addConjunctions(subCondition, conjunctions);
+			}
+		} else {
+			conjunctions.add(condition);
+		}
+	}
+
+	private WhereCondition parseOrExpression() throws SQLException 
+	{
+		final WhereCondition firstOperand = parseAndExpression();
+		
+		if ( ! tokenizer.isKeywordAhead(OR) ) {
+			return firstOperand;
+		}
+		
+		final List<WhereCondition> subConditions = new ArrayList<WhereCondition>();
+		subConditions.add(firstOperand);
+		while (tokenizer.acceptKeyword(OR)) {
+			subConditions.add(parseAndExpression());
+		}
+		return new WhereCondition(OR, subConditions);
+	}
+	
+	private WhereCondition parseAndExpression() throws SQLException 
+	{
+		final WhereCondition firstOperand = parseNotExpression();
+		
+		if ( ! tokenizer.isKeywordAhead(AND) ) {
+			return firstOperand;
+		}
+		
+		final List<WhereCondition> subConditions = new ArrayList<WhereCondition>();
+		subConditions.add(firstOperand);
+		while (tokenizer.acceptKeyword(AND)) {
+			subConditions.add(parseNotExpression());
+		}
+		return new WhereCondition(AND, subConditions);
 	}
 	
-	public List<WhereCondition> parseConditions(final String whereClause) throws SQLException 
+	private WhereCondition parseNotExpression() throws SQLException 
 	{
-		String unparsedRest = whereClause;
-		if (unparsedRest.startsWith("("))  {
-			unparsedRest = StringParseUtil.removeSurroundingPrefixAndPostFix(unparsedRest, "(", ")");
+		if ( ! tokenizer.hasNext() ) {
+			throw new SQLException("Missing condition in where clause.");
 		}
 		
-		final List<String> whereConditionsAsString = new ArrayList<String>();
-		InterimParseResult parseResult = null;
-		while( unparsedRest.length() > 0 )
+		if (tokenizer.acceptKeyword(NOT)) 
 		{
-			parseResult = StringParseUtil.parseNextValue(unparsedRest, AND_SEPARATOR);
-			whereConditionsAsString.add(parseResult.parsedValue);
-			unparsedRest = parseResult.unparsedRest;
+			final List<WhereCondition> subConditions = new ArrayList<WhereCondition>();
+			subConditions.add(parseNotExpression());
+			return new WhereCondition(NOT, subConditions);
 		}
 		
-		final List<WhereCondition> toReturn = new ArrayList<WhereCondition>();
-		for (String conditionAsString : whereConditionsAsString) {
-			toReturn.add(parseCondition(conditionAsString));
+		if (tokenizer.isSymbolAhead("(")) 
+		{
+			final int start = tokenizer.getPosition();
+			tokenizer.next();
+			final WhereCondition toReturn = parseOrExpression();
+			if ( ! tokenizer.acceptSymbol(")") ) {
+				throw new SQLException("Unbalanced apostrophes or parentheses in where clause: " 
+			                           + tokenizer.getText(start, tokenizer.getLimit()));
+			}
+			return toReturn;
 		}
 		
-		return toReturn;
+		return parseCondition();
+	}
+
+	private WhereCondition parseCondition() throws SQLException 
+	{
+		final int start = tokenizer.getPosition();
+		
+		if (tokenizer.acceptKeyword(COMPARATOR_EXISTS)) {
+			return new WhereCondition(parseSubquery(start));
+		}
+		
+		final String columnName = parseOperand(true);
+		if (columnName.length() == 0) {
+			throw createUnparseableConditionException(start);
+		}
+		
+		if (tokenizer.acceptKeyword(IS)) 
+		{
+			final String comparator = tokenizer.acceptKeyword(NOT) ? COMPARATOR_NOT_NULL : COMPARATOR_IS_NULL;
+			if ( ! tokenizer.acceptKeyword(NULL) ) {
+				throw createUnparseableConditionException(start);
+			}
+			return new WhereCondition(columnName, comparator, (String) null);
+		}
+		
+		final boolean isNegated = tokenizer.acceptKeyword(NOT);
+		
+		if (tokenizer.acceptKeyword(COMPARATOR_IN)) {
+			return parseInCondition(start, columnName, isNegated ? COMPARATOR_NOT_IN : COMPARATOR_IN);
+		}
+		
+		if (tokenizer.acceptKeyword(COMPARATOR_LIKE)) 
+		{
+			final String comparator = isNegated ? COMPARATOR_NOT_LIKE : COMPARATOR_LIKE;
+			if ( ! tokenizer.hasNext() || ! isLikePattern(tokenizer.peek()) ) {
+				throw createUnparseableConditionException(start);
+			}
+			return new WhereCondition(columnName, comparator, tokenizer.next().getText());
+		}
+		
+		if (isNegated || ! tokenizer.hasNext()) {
+			throw createUnparseableConditionException(start);
+		}
+		
+		final String comparator = determineComparator(tokenizer.next(), start);
+		final String value = parseOperand(false);
+		
+		if (value.length() == 0) {
+			throw createUnparseableConditionException(start);
+		}
+
+		return new WhereCondition(columnName, comparator, value);
+	}
+
+	private boolean isLikePattern(final SqlToken token) {
+		return token.getType() == Type.STRING || token.getType() == Type.PARAMETER;
+	}
+
+	/**
+	 * Reads the tokens of an operand up to the next token that cannot be part of it.
+	 * @return operand in its original notation
+	 */
+	private String parseOperand(final boolean isLeftOperand) 
+	{
+		final int start = tokenizer.getPosition();
+		int depth = 0;
+		
+		while (tokenizer.hasNext()) 
+		{
+			final SqlToken token = tokenizer.peek();
+			if (token.isSymbol("(")) {
+				depth++;
+			} else if (token.isSymbol(")")) {
+				if (depth == 0) break;
+				depth--;
+			} else if (depth == 0 && isEndOfOperand(token, isLeftOperand)) {
+				break;
+			}
+			tokenizer.setPosition(tokenizer.getPosition() + 1);
+		}
+		
+		return tokenizer.getText(start, tokenizer.getPosition());
+	}
+
+	private boolean isEndOfOperand(final SqlToken token, 
+			                       final boolean isLeftOperand) 
+	{
+		if (token.isKeyword(AND) || token.isKeyword(OR)) {
+			return true;
+		}
+		
+		if ( ! isLeftOperand ) {
+			return false;
+		}
+		
+		return isComparator(token) || token.isKeyword(IS) || token.isKeyword(NOT) 
+			   || token.isKeyword(COMPARATOR_IN) || token.isKeyword(COMPARATOR_LIKE);
 	}
 	
-	private WhereCondition parseCondition(final String conditionAsString) throws SQLException 
+	private boolean isComparator(final SqlToken token) 
 	{
-		final String conditionAsLowerCaseString = conditionAsString.toLowerCase();
-		if (conditionAsLowerCaseString.endsWith(COMPARATOR_IS_NULL.toLowerCase())) {
-			int pos = conditionAsLowerCaseString.indexOf(COMPARATOR_IS_NULL.toLowerCase());
-			return new WhereCondition(conditionAsString.substring(0, pos).trim(), COMPARATOR_IS_NULL, null);
+		if (token.getType() != Type.SYMBOL) {
+			return false;
 		}
 		
-		if (conditionAsLowerCaseString.endsWith(COMPARATOR_NOT_NULL.toLowerCase())) {
-			int pos = conditionAsLowerCaseString.indexOf(COMPARATOR_NOT_NULL.toLowerCase());
-			return new WhereCondition(conditionAsString.substring(0, pos).trim(), COMPARATOR_NOT_NULL, null);
+		if (token.isSymbol(UNEQUAL_ALTERNATIVE)) {
+			return true;
 		}
 		
-		final String comparator = determineComparator(conditionAsLowerCaseString);
-		final String[] splitResult = conditionAsString.trim().split(comparator);
+		for (String comparator : WhereCondition.COMPARATORS) {
+			if (token.isSymbol(comparator)) {
+				return true;
+			}
+		}
 		
-		if (splitResult.length != 2) {
-			throw new SQLException("Cannot parse condition '" + conditionAsString + "'. Expected something like AGE>100 or Name='Allan'.");
+		return false;
+	}
+
+	private WhereCondition parseInCondition(final int start,
+			                                final String columnName,
+			                                final String comparator) throws SQLException 
+	{
+		if ( ! tokenizer.isSymbolAhead("(") ) {
+			throw createUnparseableConditionException(start);
 		}
+		
+		if (isSubqueryAhead()) {
+			return new WhereCondition(columnName, comparator, parseSubquery(start));
+		}
+		
+		final List<String> valueList = tokenizer.parseParenthesizedList();
+		
+		if (valueList.isEmpty()) {
+			throw new SQLException("Cannot parse condition '" + tokenizer.getText(start, tokenizer.getPosition()) 
+			                       + "'. Expected something like STATUS IN ('A', 'B').");
+		}
+		
+		return new WhereCondition(columnName, comparator, valueList);
+	}
 
-		return new WhereCondition(splitResult[0].trim(), comparator, splitResult[1].trim());
+	private boolean isSubqueryAhead() 
+	{
+		final int position = tokenizer.getPosition();
+		tokenizer.setPosition(position + 1);
+		final boolean toReturn = tokenizer.isKeywordAhead(SQLKeyWords.SELECT_COMMAND);
+		tokenizer.setPosition(position);
+		return toReturn;
 	}
 
-	private static String determineComparator(final String conditionAsString) throws SQLException 
+	private Subquery parseSubquery(final int start) throws SQLException 
 	{
+		if ( ! tokenizer.isSymbolAhead("(") || ! isSubqueryAhead() ) {
+			throw new SQLException("Cannot parse condition '" + tokenizer.getText(start, tokenizer.getLimit()) 
+			                       + "'. Expected a subquery like (SELECT ID FROM ...).");
+		}
+		
+		final int openingParenthesisIndex = tokenizer.getPosition();
+		final int closingParenthesisIndex = tokenizer.findClosingParenthesis(openingParenthesisIndex);
+		tokenizer.setPosition(closingParenthesisIndex + 1);
+		
+		return new Subquery(tokenizer.getText(openingParenthesisIndex + 1, closingParenthesisIndex));
+	}
+
+	private String determineComparator(final SqlToken token, 
+			                           final int start) throws SQLException 
+	{
+		if (token.isSymbol(UNEQUAL_ALTERNATIVE)) {
+			return COMPARATOR_UNEQUAL;
+		}
+		
 		for (String comparator : WhereCondition.COMPARATORS) {
-			if ( conditionAsString.contains(comparator) ) {
+			if ( token.isSymbol(comparator) ) {
 				return comparator;
 			}
 		}
 		
-		throw new SQLException("Comparator in Where condition is unknown: " + conditionAsString );
+		throw new SQLException("Comparator in Where condition is unknown: " + tokenizer.getText(start, tokenizer.getLimit()) );
+	}
+
+	private SQLException createUnparseableConditionException(final int start) 
+	{
+		return new SQLException("Cannot parse condition '" + tokenizer.getText(start, tokenizer.getLimit()) 
+		                        + "'. Expected something like AGE>100 or Name='Allan'.");
 	}
 
 	@Override
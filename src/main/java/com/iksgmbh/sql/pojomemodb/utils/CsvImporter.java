@@ -0,0 +1,456 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Column;
+import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Table;
+import com.iksgmbh.sql.pojomemodb.validator.TypeValidator.ValidatorType;
+
+/**
+ * Imports the records of a CSV file into a table. The file is memory-mapped and split into chunks 
+ * of whole records. Each chunk is decoded and parsed in parallel into values of the column types,
+ * so only the chunks in work are held as characters in memory. The rows of all chunks are appended 
+ * to the table by one bulk load (see Table.loadConvertedDataRows), i.e. no row is imported if one 
+ * of them is invalid.
+ * 
+ * Fields are separated by a separator character and may be enclosed in double quotes.
+ * Within quotes, separators and line breaks belong to the value and a doubled quote stands for a quote.
+ * Empty fields without quotes are imported as null. Dates are expected as yyyy-MM-dd, 
+ * yyyy-MM-dd HH:mm:ss or in a format accepted by insert statements (e.g. to_date(...)).
+ * 
+ * @author Reik Oberrath
+ */
+public class CsvImporter 
+{
+	private static final int MIN_CHUNK_SIZE = 64 * 1024;  // in bytes
+	private static final int MAX_CHUNK_SIZE = 16 * 1024 * 1024;  // limits the characters decoded at once
+	private static final byte QUOTE = '"';
+	private static final byte LINE_FEED = '\n';
+	private static final byte[] BYTE_ORDER_MARK = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };  // in UTF-8
+	
+	private final Table table;
+	private final char separator;
+	private final int numberOfLinesToSkip;
+	private final Charset charset = Charset.forName(IOEncodingHelper.STANDARD.getEncoding());
+	private List<String> columnNames;
+	private Column[] columns;
+	private ByteBuffer content;
+
+	/**
+	 * @param columnNames of the fields in each record or null if the first record contains the column names
+	 * @param separator of the fields, e.g. ',' or ';'
+	 * @param numberOfLinesToSkip at the beginning of the file (in front of a record with column names)
+	 */
+	public CsvImporter(final Table table, 
+			           final List<String> columnNames,
+			           final char separator, 
+			           final int numberOfLinesToSkip) 
+	{
+		this.table = table;
+		this.columnNames = columnNames;
+		this.separator = separator;
+		this.numberOfLinesToSkip = numberOfLinesToSkip;
+	}
+
+	/**
+	 * @return number of rows imported
+	 */
+	public int importFile(final File csvFile) throws IOException, SQLException 
+	{
+		final List<Object[]> dataRows = parseFile(csvFile);
+		table.loadConvertedDataRows(columnNames, dataRows);
+		return dataRows.size();
+	}
+
+	/**
+	 * Parses the records of the file without appending them to the table.
+	 * @return values of the records converted into the column types and validated against them
+	 */
+	public List<Object[]> parseFile(final File csvFile) throws IOException, SQLException 
+	{
+		content = mapContent(csvFile);
+		
+		int position = startsWithByteOrderMark() ? BYTE_ORDER_MARK.length : 0;
+		for (int i = 0; i < numberOfLinesToSkip; i++) {
+			position = findEndOfRecord(position);
+		}
+		
+		if (columnNames == null) 
+		{
+			final int endOfHeader = findEndOfRecord(position);
+			final CharSequence header = decode(position, endOfHeader);
+			columnNames = new ArrayList<String>();
+			for (String columnName : parseRecord(header, 0, header.length())) {
+				columnNames.add(columnName == null ? "" : columnName.trim());
+			}
+			position = endOfHeader;
+		}
+		
+		columns = new Column[columnNames.size()];
+		for (int i = 0; i < columns.length; i++) {
+			columns[i] = table.getColumn(columnNames.get(i));
+		}
+		
+		final int numberOfThreads = Runtime.getRuntime().availableProcessors();
+		final ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+		try {
+			return parseChunks(findChunkBoundaries(position, numberOfThreads, executorService), executorService);
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	/**
+	 * @return names of the columns of the parsed values, read from the file if not given
+	 */
+	public List<String> getColumnNames() {
+		return columnNames;
+	}
+
+	private ByteBuffer mapContent(final File csvFile) throws IOException 
+	{
+		final FileInputStream inputStream = new FileInputStream(csvFile);
+		try {
+			final FileChannel channel = inputStream.getChannel();
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("CSV file " + csvFile.getAbsolutePath() + " is larger than 2 GB.");
+			}
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());  // stays valid after closing
+		} finally {
+			inputStream.close();
+		}
+	}
+
+	private boolean startsWithByteOrderMark() 
+	{
+		if (content.limit() < BYTE_ORDER_MARK.length) {
+			return false;
+		}
+		for (int i = 0; i < BYTE_ORDER_MARK.length; i++) {
+			if (content.get(i) != BYTE_ORDER_MARK[i]) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Splits the records behind the start position into chunks of about equal size. 
+	 * Since quotes may enclose line breaks, a record ends at a line feed only if the number 
+	 * of quotes in front of it is even. These numbers are counted in parallel for sections 
+	 * of the content, so that each chunk boundary is found by scanning from a section start 
+	 * to the next line feed outside of quotes. As quotes and line feeds are single bytes 
+	 * in UTF-8, the bytes are scanned without decoding them.
+	 * 
+	 * @return start positions of the chunks followed by the end of the content
+	 */
+	private List<Integer> findChunkBoundaries(final int start, 
+			                                  final int numberOfThreads, 
+			                                  final ExecutorService executorService) throws SQLException 
+	{
+		final int length = content.limit() - start;
+		final int numberOfSections = Math.max(1, Math.max(Math.min(numberOfThreads, length / MIN_CHUNK_SIZE), 
+				                                          length / MAX_CHUNK_SIZE + 1));
+		final int[] sectionStarts = new int[numberOfSections + 1];
+		for (int i = 0; i <= numberOfSections; i++) {
+			sectionStarts[i] = start + (int) ((long) length * i / numberOfSections);
+		}
+		
+		final List<Callable<Integer>> countingTasks = new ArrayList<Callable<Integer>>();
+		for (int i = 0; i < numberOfSections - 1; i++) 
+		{
+			final int sectionStart = sectionStarts[i];
+			final int sectionEnd = sectionStarts[i + 1];
+			countingTasks.add(new Callable<Integer>() {
+				@Override public Integer call() {
+					return countQuotes(sectionStart, sectionEnd);
+				}
+			});
+		}
+		final List<Integer> numbersOfQuotes = getResults(invokeAll(executorService, countingTasks));
+		
+		final List<Integer> toReturn = new ArrayList<Integer>();
+		toReturn.add(start);
+		boolean quoted = false;
+		for (int i = 1; i < numberOfSections; i++) 
+		{
+			quoted ^= numbersOfQuotes.get(i - 1) % 2 == 1;
+			if (toReturn.get(toReturn.size() - 1) >= sectionStarts[i]) {
+				continue;  // the previous chunk ends behind this section start
+			}
+			final int boundary = findEndOfRecord(sectionStarts[i], quoted);
+			if (boundary < content.limit()) {
+				toReturn.add(boundary);
+			}
+		}
+		toReturn.add(content.limit());
+		
+		return toReturn;
+	}
+
+	private int countQuotes(final int from, final int to) 
+	{
+		int toReturn = 0;
+		for (int i = from; i < to; i++) {
+			if (content.get(i) == QUOTE) toReturn++;
+		}
+		return toReturn;
+	}
+
+	/**
+	 * @return position behind the line feed that ends the record starting at the given position
+	 */
+	private int findEndOfRecord(final int recordStart) {
+		return findEndOfRecord(recordStart, false);
+	}
+
+	/**
+	 * @param quoted true if the position is within quotes
+	 * @return position behind the next line feed outside of quotes
+	 */
+	private int findEndOfRecord(final int position, boolean quoted) 
+	{
+		for (int i = position; i < content.limit(); i++) 
+		{
+			final byte b = content.get(i);
+			if (b == QUOTE) {
+				quoted = ! quoted;  // a doubled quote toggles twice
+			} else if (b == LINE_FEED && ! quoted) {
+				return i + 1;
+			}
+		}
+		return content.limit();
+	}
+
+	private CharSequence decode(final int from, final int to) 
+	{
+		final ByteBuffer bytes = content.duplicate();  // own position and limit for each thread
+		bytes.limit(to);
+		bytes.position(from);
+		return charset.decode(bytes);
+	}
+
+	private List<Object[]> parseChunks(final List<Integer> chunkBoundaries, 
+			                           final ExecutorService executorService) throws SQLException 
+	{
+		final List<Callable<List<Object[]>>> parsingTasks = new ArrayList<Callable<List<Object[]>>>();
+		for (int i = 0; i < chunkBoundaries.size() - 1; i++) 
+		{
+			final int chunkStart = chunkBoundaries.get(i);
+			final int chunkEnd = chunkBoundaries.get(i + 1);
+			parsingTasks.add(new Callable<List<Object[]>>() {
+				@Override public List<Object[]> call() throws SQLException {
+					return parseChunk(decode(chunkStart, chunkEnd));
+				}
+			});
+		}
+		
+		final List<Object[]> toReturn = new ArrayList<Object[]>();
+		for (List<Object[]> dataRows : getResults(invokeAll(executorService, parsingTasks))) {
+			toReturn.addAll(dataRows);
+		}
+		return toReturn;
+	}
+
+	private <T> List<Future<T>> invokeAll(final ExecutorService executorService, 
+			                              final List<Callable<T>> tasks) throws SQLException 
+	{
+		try {
+			return executorService.invokeAll(tasks);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("CSV import has been interrupted.", e);
+		}
+	}
+
+	private <T> List<T> getResults(final List<Future<T>> futures) throws SQLException 
+	{
+		final List<T> toReturn = new ArrayList<T>();
+		try {
+			for (Future<T> future : futures) {
+				toReturn.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("CSV import has been interrupted.", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof SQLException) {
+				throw (SQLException) e.getCause();
+			}
+			throw new SQLException("Error parsing CSV data: " + e.getCause().getMessage(), e.getCause());
+		}
+		return toReturn;
+	}
+
+	private List<Object[]> parseChunk(final CharSequence chunk) throws SQLException 
+	{
+		// SimpleDateFormat is not thread-safe, therefore each chunk uses its own instances
+		final SimpleDateFormat dateFormat = createDateFormat("yyyy-MM-dd");
+		final SimpleDateFormat timestampFormat = createDateFormat("yyyy-MM-dd HH:mm:ss");
+		final List<Object[]> toReturn = new ArrayList<Object[]>();
+		
+		int recordStart = 0;
+		while (recordStart < chunk.length()) 
+		{
+			final int recordEnd = findEndOfRecord(chunk, recordStart);
+			final List<String> fields = parseRecord(chunk, recordStart, recordEnd);
+			
+			if (fields.size() == 1 && fields.get(0) == null) {
+				recordStart = recordEnd;
+				continue;  // empty line
+			}
+			
+			if (fields.size() != columns.length) {
+				throw new SQLDataException("Unexpected number of fields (" + fields.size() + " instead of " 
+			                               + columns.length + ") in CSV record: " 
+						                   + chunk.subSequence(recordStart, recordEnd).toString().trim());
+			}
+			
+			final Object[] dataRow = new Object[columns.length];
+			for (int i = 0; i < columns.length; i++) 
+			{
+				final String field = fields.get(i);
+				if (field != null && columns[i].getValidationType() == ValidatorType.DATE) {
+					dataRow[i] = parseDate(columns[i], field, dateFormat, timestampFormat);
+				} else {
+					dataRow[i] = columns[i].convertBoundValueIntoColumnType(field);
+				}
+				columns[i].validate(dataRow[i]);
+			}
+			toReturn.add(dataRow);
+			recordStart = recordEnd;
+		}
+		
+		return toReturn;
+	}
+
+	private Object parseDate(final Column column, 
+			                 final String field, 
+			                 final SimpleDateFormat dateFormat, 
+			                 final SimpleDateFormat timestampFormat) throws SQLDataException 
+	{
+		final String value = field.trim();
+		try {
+			if (value.length() == 10) return dateFormat.parse(value);
+			if (value.length() == 19) return timestampFormat.parse(value);
+		} catch (ParseException e) {
+			// try formats of insert statements
+		}
+		return column.convertBoundValueIntoColumnType(value);
+	}
+
+	private SimpleDateFormat createDateFormat(final String pattern) 
+	{
+		final SimpleDateFormat toReturn = new SimpleDateFormat(pattern);
+		toReturn.setLenient(false);
+		return toReturn;
+	}
+
+	/**
+	 * @return position behind the line break that ends the record starting at the given position
+	 */
+	private int findEndOfRecord(final CharSequence chunk, 
+			                    final int recordStart) 
+	{
+		boolean quoted = false;
+		for (int i = recordStart; i < chunk.length(); i++) 
+		{
+			final char c = chunk.charAt(i);
+			if (c == QUOTE) {
+				quoted = ! quoted;  // a doubled quote toggles twice
+			} else if (c == LINE_FEED && ! quoted) {
+				return i + 1;
+			}
+		}
+		return chunk.length();
+	}
+
+	/**
+	 * @return field values of the record, null for empty fields without quotes
+	 */
+	private List<String> parseRecord(final CharSequence chunk, 
+			                         final int recordStart, 
+			                         int recordEnd) 
+	{
+		while (recordEnd > recordStart 
+			   && (chunk.charAt(recordEnd - 1) == '\n' || chunk.charAt(recordEnd - 1) == '\r')) {
+			recordEnd--;
+		}
+		
+		final List<String> toReturn = new ArrayList<String>();
+		final StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		boolean wasQuoted = false;
+		
+		for (int i = recordStart; i < recordEnd; i++) 
+		{
+			final char c = chunk.charAt(i);
+			if (quoted) 
+			{
+				if (c != QUOTE) {
+					field.append(c);
+				} else if (i + 1 < recordEnd && chunk.charAt(i + 1) == QUOTE) {
+					field.append((char) QUOTE);
+					i++;
+				} else {
+					quoted = false;
+				}
+			} 
+			else if (c == QUOTE) 
+			{
+				quoted = true;
+				wasQuoted = true;
+			} 
+			else if (c == separator) 
+			{
+				toReturn.add(toFieldValue(field, wasQuoted));
+				field.setLength(0);
+				wasQuoted = false;
+			} 
+			else 
+			{
+				field.append(c);
+			}
+		}
+		toReturn.add(toFieldValue(field, wasQuoted));
+		
+		return toReturn;
+	}
+
+	private String toFieldValue(final StringBuilder field, final boolean wasQuoted) 
+	{
+		if (field.length() == 0 && ! wasQuoted) {
+			return null;
+		}
+		return field.toString();
+	}
+}
\ No newline at end of file
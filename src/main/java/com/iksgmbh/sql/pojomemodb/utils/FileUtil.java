@@ -23,6 +23,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Writer;
+import java.lang.reflect.Array;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -162,6 +164,77 @@ public class FileUtil {
 		createNewFileWithContent(file, content);
 	}
 
+	/**
+	 * Replaces a file by a completely written new file. Where supported (e.g. POSIX), the new file is 
+	 * renamed over the old one, which is atomic. Otherwise the old file has to be deleted first, 
+	 * so that the new content is kept as replacement file until then (see getExistingFileOrReplacement).
+	 * Finally, the directory is synced so that the rename survives a crash.
+	 * @param file to replace
+	 * @param newFile written and synced completely
+	 */
+	public static void replaceFile(final File file, final File newFile) throws IOException 
+	{
+		final File replacementFile = getReplacementFile(file);
+		if ( ! file.exists() && replacementFile.exists() && ! replacementFile.renameTo(file) ) {
+			throw new IOException("Unable to restore " + file.getAbsolutePath() + " from " + replacementFile.getName() + ".");
+		}
+		
+		if ( ! newFile.renameTo(file) ) 
+		{
+			if (replacementFile.exists() && ! replacementFile.delete() 
+				|| ! newFile.renameTo(replacementFile)
+				|| file.exists() && ! file.delete()
+				|| ! replacementFile.renameTo(file)) 
+			{
+				throw new IOException("Unable to replace " + file.getAbsolutePath() + " by " + newFile.getName() + ".");
+			}
+		}
+		
+		syncDirectory(file.getAbsoluteFile().getParentFile());
+	}
+
+	/**
+	 * @return the file or, if replaceFile has been interrupted after deleting it, its complete replacement
+	 */
+	public static File getExistingFileOrReplacement(final File file) 
+	{
+		final File replacementFile = getReplacementFile(file);
+		if ( ! file.exists() && replacementFile.exists() ) {
+			return replacementFile;
+		}
+		return file;
+	}
+
+	/**
+	 * Forces the entries of a directory (e.g. a renamed file) to the storage device. 
+	 * Platforms that cannot open directories (e.g. Windows) are skipped.
+	 * Since java.nio.file is not available in Java 6, it is accessed by reflection.
+	 */
+	public static void syncDirectory(final File dir) throws IOException 
+	{
+		final FileChannel channel;
+		try {
+			final Class<?> openOptionClass = Class.forName("java.nio.file.OpenOption");
+			final Object openOptions = Array.newInstance(openOptionClass, 1);
+			Array.set(openOptions, 0, Class.forName("java.nio.file.StandardOpenOption").getField("READ").get(null));
+			final Object path = File.class.getMethod("toPath").invoke(dir);
+			channel = (FileChannel) FileChannel.class.getMethod("open", Class.forName("java.nio.file.Path"), openOptions.getClass())
+					                                 .invoke(null, path, openOptions);
+		} catch (Exception e) {
+			return;  // not supported
+		}
+		
+		try {
+			channel.force(true);
+		} finally {
+			channel.close();
+		}
+	}
+
+	private static File getReplacementFile(final File file) {
+		return new File(file.getPath() + ".new");
+	}
+
 	public static String getSystemLineSeparator() {
 		return System.getProperty("line.separator");
 	}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.utils;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+import com.iksgmbh.sql.pojomemodb.SqlPojoMemoDB;
+
+/**
+ * Tool that executes SQL scripts once and writes the resulting tables, sequences and rows 
+ * into a binary fixture bundle. Tests load the bundle by SqlPojoMemoDB.loadFixtureBundle
+ * instead of parsing the scripts again.
+ * 
+ * Usage: FixtureBundleCompiler <bundle file> <sql script> [<sql script> ...]
+ * 
+ * @author Reik Oberrath
+ */
+public class FixtureBundleCompiler 
+{
+	public static void main(final String[] args) throws IOException, SQLException 
+	{
+		if (args.length < 2) {
+			System.err.println("Usage: FixtureBundleCompiler <bundle file> <sql script> [<sql script> ...]");
+			System.exit(1);
+		}
+		
+		final String[] scriptFiles = new String[args.length - 1];
+		System.arraycopy(args, 1, scriptFiles, 0, scriptFiles.length);
+		compile(args[0], scriptFiles);
+		System.out.println("Fixture bundle " + args[0] + " has been written.");
+	}
+
+	/**
+	 * Resets the database, executes the scripts in their order and writes the database content 
+	 * into the bundle file. Afterwards, the database contains the content of the scripts.
+	 * 
+	 * @param bundleFile to write
+	 * @param scriptFiles to execute
+	 */
+	public static void compile(final String bundleFile, 
+			                   final String... scriptFiles) throws IOException, SQLException 
+	{
+		SqlPojoMemoDB.reset();
+		for (String scriptFile : scriptFiles) {
+			SqlStatementLoader.execAllSqlStatement(scriptFile);
+		}
+		SqlPojoMemoDB.saveSnapshot(bundleFile);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list of the data rows of a table that remain in a memory-mapped file 
+ * written by the TableStoreWriter. Only the start position of each row is kept on the heap; 
+ * the values of a row are decoded whenever the row is accessed.
+ * 
+ * @author Reik Oberrath
+ */
+public class MappedDataRows extends AbstractList<Object[]> implements RandomAccess
+{
+	private final File file;
+	private final ByteBuffer block;
+	private final int numberOfColumns;
+	private final int[] dataRowPositions;
+
+	MappedDataRows(final File file, 
+			       final ByteBuffer block, 
+			       final int numberOfColumns, 
+			       final int numberOfRows) throws IOException 
+	{
+		this.file = file;
+		this.block = block;
+		this.numberOfColumns = numberOfColumns;
+		this.dataRowPositions = TableStoreReader.findDataRowPositions(file, block.duplicate(), numberOfColumns, numberOfRows);
+	}
+
+	@Override
+	public Object[] get(final int index) 
+	{
+		final ByteBuffer dataRow = block.duplicate();  // own position for concurrent readers
+		dataRow.position(dataRowPositions[index]);
+		
+		try {
+			return TableStoreReader.readDataRow(file, dataRow, numberOfColumns);
+		} catch (IOException e) {
+			throw new IllegalStateException("Invalid data row " + index + " in file " + file.getAbsolutePath() + ".", e);
+		}
+	}
+
+	@Override
+	public int size() {
+		return dataRowPositions.length;
+	}
+}
\ No newline at end of file
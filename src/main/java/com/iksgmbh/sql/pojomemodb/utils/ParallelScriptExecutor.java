@@ -0,0 +1,245 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.utils;
+
+import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.DELETE_COMMAND;
+import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.FROM;
+import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.INSERT_INTO_COMMAND;
+import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.NEXTVAL;
+import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.SELECT_COMMAND;
+import static com.iksgmbh.sql.pojomemodb.SQLKeyWords.UPDATE_COMMAND;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.iksgmbh.sql.pojomemodb.sqlparser.helper.SqlToken;
+import com.iksgmbh.sql.pojomemodb.sqlparser.helper.SqlTokenizer;
+
+/**
+ * Executes the statements of a SQL script while reading it and runs the statements 
+ * on different tables concurrently.
+ * 
+ * Inserts, updates and deletes without subquery and sequence access a single table only. They are collected
+ * in groups per table, which keep the order of the script. Any other statement is a barrier:
+ * the collected groups are executed in parallel, and the statement is executed after all of them.
+ * 
+ * @author Reik Oberrath
+ */
+public class ParallelScriptExecutor 
+{
+	private static final int MAX_NUMBER_OF_PENDING_STATEMENTS = 10000;  // limits the memory needed for large scripts
+	
+	private final String pathAndFileName;
+	private final int numberOfThreads;
+	private final Map<String, List<ScriptStatement>> pendingStatementsByTable = new LinkedHashMap<String, List<ScriptStatement>>();
+	private int numberOfPendingStatements;
+
+	public ParallelScriptExecutor(final String pathAndFileName, 
+			                      final int numberOfThreads) 
+	{
+		if (numberOfThreads < 1) {
+			throw new IllegalArgumentException("Invalid number of threads: " + numberOfThreads);
+		}
+		this.pathAndFileName = pathAndFileName;
+		this.numberOfThreads = numberOfThreads;
+	}
+
+	/**
+	 * @return number of executed statements
+	 */
+	public int execute() throws IOException, SQLException 
+	{
+		final SqlScriptReader reader = new SqlScriptReader(new File(pathAndFileName));
+		final ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+		int counter = 0;
+		
+		try {
+			String statement = reader.nextStatement();
+			while (statement != null) 
+			{
+				final ScriptStatement scriptStatement = new ScriptStatement(statement, reader.getStatementLineNumber());
+				final String tableName = findTargetTableOfIndependentStatement(statement);
+				
+				if (tableName == null) 
+				{
+					executePendingStatements(executorService);
+					execute(scriptStatement);
+				} 
+				else 
+				{
+					addPendingStatement(tableName, scriptStatement);
+					if (numberOfPendingStatements >= MAX_NUMBER_OF_PENDING_STATEMENTS) {
+						executePendingStatements(executorService);
+					}
+				}
+				
+				counter++;
+				statement = reader.nextStatement();
+			}
+			
+			executePendingStatements(executorService);
+		} finally {
+			executorService.shutdownNow();
+			reader.close();
+		}
+		
+		return counter;
+	}
+
+	/**
+	 * @return name of the only table accessed by the statement 
+	 *         or null if the statement must be executed as barrier
+	 */
+	static String findTargetTableOfIndependentStatement(final String statement) 
+	{
+		final SqlTokenizer tokenizer;
+		try {
+			tokenizer = new SqlTokenizer(statement);
+		} catch (SQLException e) {
+			return null;  // the problem is reported on execution
+		}
+		
+		while (tokenizer.hasNext()) 
+		{
+			final SqlToken token = tokenizer.peek();
+			if (token.isKeyword(SELECT_COMMAND)) {
+				return null;  // the statement reads other tables
+			}
+			if (isSequenceAccess(token)) {
+				return null;  // sequence values must be drawn in the order of the script
+			}
+			tokenizer.setPosition(tokenizer.getPosition() + 1);
+		}
+		tokenizer.setPosition(0);
+		
+		if ( ! tokenizer.acceptKeyword(INSERT_INTO_COMMAND) 
+			 && ! tokenizer.acceptKeyword(UPDATE_COMMAND)
+			 && ! (tokenizer.acceptKeyword(DELETE_COMMAND) && tokenizer.acceptKeyword(FROM)) ) {
+			return null;
+		}
+		
+		final SqlToken tableToken = tokenizer.peek();
+		if (tableToken == null || tableToken.getType() != SqlToken.Type.IDENTIFIER) {
+			return null;
+		}
+		
+		return tableToken.getText().replace("\"", "").toUpperCase();
+	}
+
+	private static boolean isSequenceAccess(final SqlToken token) 
+	{
+		return token.getType() == SqlToken.Type.IDENTIFIER 
+			   && token.getText().toLowerCase().endsWith("." + NEXTVAL);
+	}
+
+	private void addPendingStatement(final String tableName, 
+			                         final ScriptStatement scriptStatement) 
+	{
+		List<ScriptStatement> statements = pendingStatementsByTable.get(tableName);
+		if (statements == null) {
+			statements = new ArrayList<ScriptStatement>();
+			pendingStatementsByTable.put(tableName, statements);
+		}
+		statements.add(scriptStatement);
+		numberOfPendingStatements++;
+	}
+
+	private void executePendingStatements(final ExecutorService executorService) throws SQLException 
+	{
+		if (pendingStatementsByTable.size() == 1) 
+		{
+			execute(pendingStatementsByTable.values().iterator().next());
+		} 
+		else if (pendingStatementsByTable.size() > 1) 
+		{
+			final List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			for (final List<ScriptStatement> statements : pendingStatementsByTable.values()) 
+			{
+				futures.add(executorService.submit(new Callable<Void>() {
+					@Override public Void call() throws SQLException {
+						execute(statements);
+						return null;
+					}
+				}));
+			}
+			waitFor(futures);
+		}
+		
+		pendingStatementsByTable.clear();
+		numberOfPendingStatements = 0;
+	}
+
+	/**
+	 * Waits for all groups to finish and reports the error of the first failed group.
+	 */
+	private void waitFor(final List<Future<Void>> futures) throws SQLException 
+	{
+		SQLException toThrow = null;
+		
+		for (Future<Void> future : futures) 
+		{
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SQLException("Execution of " + pathAndFileName + " has been interrupted.", e);
+			} catch (ExecutionException e) {
+				if (toThrow == null) {
+					toThrow = e.getCause() instanceof SQLException ? (SQLException) e.getCause() 
+							                                       : new SQLException(e.getCause());
+				}
+			}
+		}
+		
+		if (toThrow != null) {
+			throw toThrow;
+		}
+	}
+
+	private void execute(final List<ScriptStatement> statements) throws SQLException 
+	{
+		for (ScriptStatement statement : statements) {
+			execute(statement);
+		}
+	}
+
+	private void execute(final ScriptStatement statement) throws SQLException {
+		SqlStatementLoader.executeScriptStatement(statement.sql, statement.lineNumber, pathAndFileName);
+	}
+
+	private static class ScriptStatement 
+	{
+		final String sql;
+		final int lineNumber;
+		
+		ScriptStatement(final String sql, 
+				        final int lineNumber) 
+		{
+			this.sql = sql;
+			this.lineNumber = lineNumber;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+
+/**
+ * Reads the SQL statements of a script file one by one, so that the file does not need to fit 
+ * into memory. The file is read through a buffered file channel and decoded incrementally.
+ * 
+ * Statements are separated by semicolons outside of quoted literals and identifiers.
+ * Line comments (-- ...) and block comments (/* ... *&#47;) are removed, 
+ * line breaks are kept as '\n'. Empty statements are skipped.
+ * 
+ * @author Reik Oberrath
+ */
+public class SqlScriptReader implements Closeable
+{
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final char STATEMENT_SEPARATOR = ';';
+	private static final char BYTE_ORDER_MARK = '\uFEFF';
+	private static final int END_OF_FILE = -1;
+	private static final int NONE = -2;
+	
+	private final FileInputStream inputStream;
+	private final FileChannel channel;
+	private final CharsetDecoder decoder;
+	private final ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+	private boolean endOfInput = false;
+	private int pushedBackChar = NONE;
+	private int lineNumber = 1;
+	private int statementLineNumber;
+
+	public SqlScriptReader(final File file) throws IOException 
+	{
+		inputStream = new FileInputStream(file);
+		channel = inputStream.getChannel();
+		decoder = Charset.forName(IOEncodingHelper.STANDARD.getEncoding()).newDecoder();
+		chars.flip();  // empty
+		
+		final int firstChar = readChar();
+		if (firstChar != BYTE_ORDER_MARK) {
+			pushBack(firstChar);
+		}
+	}
+
+	/**
+	 * @return next statement without comments and separator or null if the end of the file is reached
+	 */
+	public String nextStatement() throws IOException 
+	{
+		final StringBuilder sb = new StringBuilder();
+		int quote = NONE;
+		statementLineNumber = lineNumber;
+		
+		int c = readChar();
+		while (c != END_OF_FILE) 
+		{
+			if (quote != NONE) 
+			{
+				sb.append((char) c);
+				if (c == quote) {
+					quote = NONE;  // a doubled quote reopens the literal with the next char
+				}
+			}
+			else if (c == '\'' || c == '"') 
+			{
+				quote = c;
+				sb.append((char) c);
+			}
+			else if (c == '-' && isNextChar('-')) 
+			{
+				skipLineComment();
+			}
+			else if (c == '/' && isNextChar('*')) 
+			{
+				skipBlockComment();
+				if (sb.length() > 0) {
+					sb.append(' ');
+				}
+			}
+			else if (c == STATEMENT_SEPARATOR) 
+			{
+				final String statement = sb.toString().trim();
+				if (statement.length() > 0) {
+					return statement;
+				}
+				sb.setLength(0);
+				statementLineNumber = lineNumber;
+			}
+			else if (c != '\r')
+			{
+				if (sb.length() == 0 && Character.isWhitespace(c)) {
+					statementLineNumber = lineNumber;
+				} else {
+					sb.append((char) c);
+				}
+			}
+			
+			c = readChar();
+		}
+		
+		final String statement = sb.toString().trim();  // last statement without separator
+		return statement.length() > 0 ? statement : null;
+	}
+
+	/**
+	 * @return line in which the statement last returned by nextStatement begins
+	 */
+	public int getStatementLineNumber() {
+		return statementLineNumber;
+	}
+
+	@Override
+	public void close() throws IOException {
+		inputStream.close();
+	}
+
+	private void skipLineComment() throws IOException 
+	{
+		int c = readChar();
+		while (c != END_OF_FILE && c != '\n') {
+			c = readChar();
+		}
+		pushBack(c);  // the line break separates the text around the comment
+	}
+
+	private void skipBlockComment() throws IOException 
+	{
+		int c = readChar();
+		while (c != END_OF_FILE && ! (c == '*' && isNextChar('/'))) {
+			c = readChar();
+		}
+	}
+
+	/**
+	 * Consumes the next char if it is the expected one.
+	 */
+	private boolean isNextChar(final char expected) throws IOException 
+	{
+		final int c = readChar();
+		if (c == expected) {
+			return true;
+		}
+		pushBack(c);
+		return false;
+	}
+
+	private void pushBack(final int c) 
+	{
+		pushedBackChar = c;
+		if (c == '\n') {
+			lineNumber--;
+		}
+	}
+
+	private int readChar() throws IOException 
+	{
+		final int toReturn;
+		if (pushedBackChar != NONE) {
+			toReturn = pushedBackChar;
+			pushedBackChar = NONE;
+		} else if (chars.hasRemaining() || fillCharBuffer()) {
+			toReturn = chars.get();
+		} else {
+			toReturn = END_OF_FILE;
+		}
+		
+		if (toReturn == '\n') {
+			lineNumber++;
+		}
+		return toReturn;
+	}
+
+	/**
+	 * @return false if the end of the file has been reached
+	 */
+	private boolean fillCharBuffer() throws IOException 
+	{
+		chars.clear();
+		while (chars.position() == 0 && ! endOfInput) 
+		{
+			endOfInput = channel.read(bytes) == END_OF_FILE;
+			bytes.flip();
+			final CoderResult result = decoder.decode(bytes, chars, endOfInput);
+			if (result.isError()) {
+				result.throwException();
+			}
+			bytes.compact();
+			if (endOfInput) {
+				decoder.flush(chars);
+			}
+		}
+		chars.flip();
+		return chars.hasRemaining();
+	}
+}
\ No newline at end of file
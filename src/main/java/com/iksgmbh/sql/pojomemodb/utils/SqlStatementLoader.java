@@ -24,7 +24,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Loads a single SQL statement from a text file.
+ * Loads SQL statements from a text file.
+ * Statements are read by a SqlScriptReader, i.e. semicolons within quotes 
+ * and comments are respected.
  * 
  * @author Reik Oberrath
  */
@@ -45,35 +47,79 @@ public class SqlStatementLoader {
 			throw new IllegalArgumentException("Invalid number.");
 		}
 		
-		final File file = new File(pathAndFileName);
-		final char[] content = FileUtil.getFileContent(file).toCharArray();
-		
-		StringBuilder sb = new StringBuilder ();
-		int counter = 1;
-		
-		for (char c : content) 
-		{
-			if (c == ';') {
+		final SqlScriptReader reader = new SqlScriptReader(new File(pathAndFileName));
+		try {
+			int counter = 1;
+			String statement = reader.nextStatement();
+			while (statement != null) 
+			{
 				if (counter == number) {
-					return sb.toString().trim();
+					return statement;
 				}
 				counter++;
-				sb = new StringBuilder ();
+				statement = reader.nextStatement();
 			}
-			else
+		} finally {
+			reader.close();
+		}
+		
+		throw new RuntimeException("File contains less than " + number + " statements!");
+	}
+
+	/**
+	 * Executes the SQL statements of a text file one after the other while reading the file,
+	 * so that also large dump files can be executed.
+	 * 
+	 * @param pathAndFileName defines sql file
+	 * @return number of executed statements
+	 */
+	public static final int execAllSqlStatement(final String pathAndFileName)
+			                                    throws IOException, SQLException 
+	{
+		final SqlScriptReader reader = new SqlScriptReader(new File(pathAndFileName));
+		int counter = 0;
+		try {
+			String statement = reader.nextStatement();
+			while (statement != null) 
 			{
-				sb.append(c);
+				executeScriptStatement(statement, reader.getStatementLineNumber(), pathAndFileName);
+				counter++;
+				statement = reader.nextStatement();
 			}
+		} finally {
+			reader.close();
 		}
 		
-		throw new RuntimeException("File contains less than " + number + " statements!");
+		return counter;
 	}
 
-	public static final void execAllSqlStatement(final String pathAndFileName)
-			                                     throws IOException, SQLException {
-		List<String> sqlStatements = loadAllSqlStatement(pathAndFileName);
-		for (String statement : sqlStatements) {
+	/**
+	 * Executes the SQL statements of a text file like execAllSqlStatement, but inserts, updates 
+	 * and deletes on different tables concurrently. The statements on the same table are executed 
+	 * in the order of the file. Any other statement, e.g. DDL or a statement with a subquery, 
+	 * is executed after all statements in front of it and before all behind it.
+	 * Note that sequence values are not assigned in the order of the file.
+	 * 
+	 * @param pathAndFileName defines sql file
+	 * @param numberOfThreads that execute statements concurrently
+	 * @return number of executed statements
+	 */
+	public static final int execAllSqlStatementInParallel(final String pathAndFileName,
+			                                              final int numberOfThreads)
+			                                              throws IOException, SQLException 
+	{
+		return new ParallelScriptExecutor(pathAndFileName, numberOfThreads).execute();
+	}
+
+	static void executeScriptStatement(final String statement, 
+			                           final int lineNumber, 
+			                           final String pathAndFileName) throws SQLException 
+	{
+		try {
 			SqlPojoMemoDB.execute(statement);
+		} catch (SQLException e) {
+			throw new SQLException("Error in statement at line " + lineNumber 
+			                       + " of " + pathAndFileName + ": " + e.getMessage(), e);
 		}
 	}
 
@@ -87,39 +133,18 @@ public class SqlStatementLoader {
 			                                       		 throws IOException
 	{
 		final List<String> toReturn = new ArrayList<String>();
-		final File file = new File(pathAndFileName);
-		final char[] content = FileUtil.getFileContent(file).toCharArray();
-		
-		StringBuilder sb = new StringBuilder();
-		
-		for (char c : content) 
-		{
-			if (c == ';') {
-				final String statement = sb.toString().trim();
-				toReturn.add( cutComments(statement) );
-				sb = new StringBuilder();
-			}
-			else
-			{
-				sb.append(c);
+		final SqlScriptReader reader = new SqlScriptReader(new File(pathAndFileName));
+		try {
+			String statement = reader.nextStatement();
+			while (statement != null) {
+				toReturn.add(statement);
+				statement = reader.nextStatement();
 			}
+		} finally {
+			reader.close();
 		}
 		
 		return toReturn;
 	}
-
-	private static String cutComments(final String statement) {
-		final StringBuilder sb = new StringBuilder();
-		final String[] splitResult = statement.split(System.getProperty("line.separator"));
-		for (String splitPart : splitResult) 
-		{
-			if (splitPart.trim().length() > 0 && ! splitPart.trim().startsWith("--"))
-			{
-				sb.append(splitPart).append(" ");
-			}
-		}
-		
-		return sb.toString().trim();
-	}
 	
 }
\ No newline at end of file
@@ -23,6 +23,7 @@ public class StringParseUtil
 	public static final String COMMA = ",";
 	public static final String EQUALSIGN = "=";
 	public static final String APOSTROPY = "'";
+	public static final String PARAMETER_MARKER = "?";
 	
 	public static final int INDEX_NOT_FOUND = -1;
 
@@ -306,6 +307,38 @@ public class StringParseUtil
 		}
 	}	
 
+	/**
+	 * Parameter markers are numbered by their position in the statement: ?1, ?2, ...
+	 * @param parameterIndex 1-based index of the parameter
+	 * @return marker that represents the parameter in parsed values
+	 */
+	public static String createParameterMarker(final int parameterIndex) {
+		return PARAMETER_MARKER + parameterIndex;
+	}
+
+	public static boolean isParameterMarker(final String value) 
+	{
+		if (value == null || value.length() < 2 || ! value.startsWith(PARAMETER_MARKER)) {
+			return false;
+		}
+		
+		for (int pos = 1; pos < value.length(); pos++) {
+			if ( ! Character.isDigit(value.charAt(pos)) ) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+
+	/**
+	 * @param parameterMarker e.g. ?2
+	 * @return 1-based index of the parameter, e.g. 2
+	 */
+	public static int getParameterIndex(final String parameterMarker) {
+		return Integer.parseInt(parameterMarker.substring(PARAMETER_MARKER.length()));
+	}
+
 	public static boolean isEmpty(String s) {
 		return s == null || "".equals(s);
 	}
@@ -0,0 +1,526 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.utils;
+
+import static com.iksgmbh.sql.pojomemodb.utils.TableStoreWriter.*;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.iksgmbh.sql.pojomemodb.SqlPojoMemoDB;
+import com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.metadata.TableStoreMetaData;
+import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Sequence;
+import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Table;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.ColumnInitData;
+
+/**
+ * Reads a file written by the TableStoreWriter and adds its sequences and tables to a database.
+ * The data rows are taken over as they are, i.e. without parsing and validating them.
+ * The indexes of the tables are built when they are used first.
+ * 
+ * Files of format version 1 are read sequentially. Since version 2, the data rows of each table 
+ * are memory-mapped and decoded in parallel to reading the next table.
+ * Alternatively, a single table can be attached read-only, so that its rows are decoded 
+ * from the mapped file whenever they are accessed (see MappedDataRows).
+ * 
+ * @author Reik Oberrath
+ */
+public class TableStoreReader implements Closeable
+{
+	private final File file;
+	private final FileInputStream inputStream;
+	private final FileChannel channel;  // null if the reader reads a mapped block of data rows
+	private final ByteBuffer buffer;
+	private long lastLoggedRecordNumber;
+
+	public TableStoreReader(final File file) throws IOException 
+	{
+		this.file = file;
+		inputStream = new FileInputStream(file);
+		channel = inputStream.getChannel();
+		buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		buffer.flip();  // empty
+	}
+
+	private TableStoreReader(final File file, 
+			                 final ByteBuffer block) 
+	{
+		this.file = file;
+		inputStream = null;
+		channel = null;
+		buffer = block;
+	}
+
+	/**
+	 * All data rows are decoded and all names are checked before anything is added to the database,
+	 * so that a file that cannot be read completely leaves the database unchanged.
+	 * @throws SQLException if a table or sequence of the file is already existing in the database
+	 */
+	public void read(final SqlPojoMemoDB memoryDb) throws IOException, SQLException 
+	{
+		final TableStoreMetaData tableStore = memoryDb.getTableStoreMetaData();
+		final int formatVersion = readHeader();
+		
+		final List<Sequence> sequences = new ArrayList<Sequence>();
+		final int numberOfSequences = readInt();
+		for (int i = 0; i < numberOfSequences; i++) 
+		{
+			final Sequence sequence = new Sequence(readString());
+			sequence.setCurrentValue(readLong());
+			sequences.add(sequence);
+		}
+		
+		final List<Table> tables = new ArrayList<Table>();
+		final ExecutorService executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		try {
+			final List<Table> mappedTables = new ArrayList<Table>();
+			final List<Future<List<Object[]>>> futures = new ArrayList<Future<List<Object[]>>>();
+			
+			final int numberOfTables = readInt();
+			for (int i = 0; i < numberOfTables; i++) 
+			{
+				final Table table = readTableDefinition(memoryDb, formatVersion);
+				tables.add(table);
+				final int numberOfRows = readInt();
+				final ByteBuffer block = formatVersion > 1 ? mapDataRows(readLong()) : null;
+				
+				if (block == null) {
+					table.setDataRows(readDataRows(table.getNumberOfColumns(), numberOfRows));
+				} else {
+					mappedTables.add(table);
+					futures.add(executorService.submit(createDecodingTask(block, table.getNumberOfColumns(), numberOfRows)));
+				}
+			}
+			
+			for (int i = 0; i < mappedTables.size(); i++) {
+				mappedTables.get(i).setDataRows(futures.get(i).get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Reading file " + file.getAbsolutePath() + " has been interrupted.");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException("Error reading file " + file.getAbsolutePath() + ": " + e.getCause(), e.getCause());
+		} finally {
+			executorService.shutdownNow();
+		}
+		
+		checkNamesAreNew(tableStore, sequences, tables);
+		addToDatabase(tableStore, sequences, tables);
+	}
+
+	private void checkNamesAreNew(final TableStoreMetaData tableStore, 
+			                      final List<Sequence> sequences, 
+			                      final List<Table> tables) throws SQLException 
+	{
+		final Set<String> sequenceNames = new HashSet<String>();
+		for (Sequence sequence : tableStore.getSequences()) {
+			sequenceNames.add(sequence.getSequenceName().toUpperCase());
+		}
+		for (Sequence sequence : sequences) 
+		{
+			final String sequenceName = sequence.getSequenceName().toUpperCase();
+			if ( ! sequenceNames.add(sequenceName) ) {
+				throw new SQLException("A sequence '" + sequenceName + "' is already existing in the database.");
+			}
+		}
+		
+		final Set<String> tableNames = new HashSet<String>(tableStore.getTableNames());
+		for (Table table : tables) 
+		{
+			final String tableName = table.getTableName().toUpperCase();
+			if ( ! tableNames.add(tableName) ) {
+				throw new SQLException("A table '" + tableName + "' is already existing in the database.");
+			}
+		}
+	}
+
+	/**
+	 * Removes what has been added if adding fails nevertheless, e.g. due to a concurrent CREATE TABLE.
+	 */
+	private void addToDatabase(final TableStoreMetaData tableStore, 
+			                   final List<Sequence> sequences, 
+			                   final List<Table> tables) throws SQLException 
+	{
+		final List<Sequence> addedSequences = new ArrayList<Sequence>();
+		final List<Table> addedTables = new ArrayList<Table>();
+		try {
+			for (Sequence sequence : sequences) {
+				tableStore.addSequence(sequence);
+				addedSequences.add(sequence);
+			}
+			for (Table table : tables) {
+				tableStore.addTable(table);
+				addedTables.add(table);
+			}
+		} catch (SQLException e) {
+			for (Table table : addedTables) {
+				tableStore.dropTable(table.getTableName().toUpperCase());
+			}
+			for (Sequence sequence : addedSequences) {
+				tableStore.dropSequence(sequence.getSequenceName().toUpperCase());
+			}
+			throw e;
+		}
+		
+		tableStore.increaseSchemaVersion();
+	}
+
+	/**
+	 * Adds a single table of the file to the database in read-only mode. Its data rows remain 
+	 * in the memory-mapped file, which is shared by all processes attaching it.
+	 * @throws SQLException if the table is already existing in the database
+	 */
+	public void attachTable(final SqlPojoMemoDB memoryDb, 
+			                final String tableName) throws IOException, SQLException 
+	{
+		final int formatVersion = readHeader();
+		if (formatVersion < 2) {
+			throw new IOException("Tables of file " + file.getAbsolutePath() + " cannot be attached. Please write it again.");
+		}
+		
+		final int numberOfSequences = readInt();
+		for (int i = 0; i < numberOfSequences; i++) {
+			readString();
+			readLong();
+		}
+		
+		final int numberOfTables = readInt();
+		for (int i = 0; i < numberOfTables; i++) 
+		{
+			final Table table = readTableDefinition(memoryDb, formatVersion);
+			final int numberOfRows = readInt();
+			final long length = readLong();
+			
+			if (table.getTableName().equalsIgnoreCase(tableName)) 
+			{
+				final ByteBuffer block = mapDataRows(length);
+				if (block == null) {
+					throw new IOException("Data rows of table " + tableName + " are too large to be attached.");
+				}
+				table.attachReadOnlyDataRows(new MappedDataRows(file, block, table.getNumberOfColumns(), numberOfRows));
+				memoryDb.getTableStoreMetaData().addTable(table);
+				return;
+			}
+			
+			skipBytes(length);
+		}
+		
+		throw new SQLException("Table " + tableName + " not found in file " + file.getAbsolutePath() + ".");
+	}
+
+	/**
+	 * @return number of the last write-ahead log record contained in the file (0 if none), known after reading it
+	 */
+	public long getLastLoggedRecordNumber() {
+		return lastLoggedRecordNumber;
+	}
+
+	/**
+	 * @return format version
+	 */
+	private int readHeader() throws IOException 
+	{
+		if (readInt() != MAGIC_NUMBER) {
+			throw new IOException("File " + file.getAbsolutePath() + " has not been written by the TableStoreWriter.");
+		}
+		
+		final int toReturn = readInt();
+		if (toReturn < 1 || toReturn > FORMAT_VERSION) {
+			throw new IOException("Unsupported format version " + toReturn + " of file " + file.getAbsolutePath() + ".");
+		}
+		if (toReturn > 2) {
+			lastLoggedRecordNumber = readLong();
+		}
+		return toReturn;
+	}
+
+	private Table readTableDefinition(final SqlPojoMemoDB memoryDb, 
+			                          final int formatVersion) throws IOException, SQLException 
+	{
+		final Table table = new Table(readString());
+		
+		final int numberOfColumns = readInt();
+		for (int i = 0; i < numberOfColumns; i++) 
+		{
+			final ColumnInitData columnInitData = new ColumnInitData(readString());
+			columnInitData.columnType = readString();
+			columnInitData.nullable = readBoolean();
+			columnInitData.defaultValue = readString();
+			columnInitData.primaryKey = readString();
+			columnInitData.uniqueKey = readString();
+			table.createNewColumn(columnInitData, memoryDb);
+		}
+		
+		if (formatVersion > 1) 
+		{
+			final int numberOfIndexes = readInt();
+			for (int i = 0; i < numberOfIndexes; i++) 
+			{
+				final String indexName = readString();
+				final boolean bitmap = readBoolean();
+				final List<String> columnNames = new ArrayList<String>();
+				final int numberOfIndexColumns = readInt();
+				for (int j = 0; j < numberOfIndexColumns; j++) {
+					columnNames.add(readString());
+				}
+				
+				if (bitmap) {
+					table.createBitmapIndex(indexName, columnNames.get(0));
+				} else {
+					table.createIndex(indexName, columnNames);  // also constraint indexes, which are not created again
+				}
+			}
+		}
+		
+		return table;
+	}
+
+	/**
+	 * Maps the data rows of a table and moves the reader behind them.
+	 * @return mapped data rows or null if they are too large to be mapped at once
+	 */
+	private ByteBuffer mapDataRows(final long length) throws IOException 
+	{
+		if (length > Integer.MAX_VALUE) {
+			return null;  // read sequentially
+		}
+		
+		final ByteBuffer toReturn = channel.map(FileChannel.MapMode.READ_ONLY, getPosition(), length);
+		skipBytes(length);
+		return toReturn;
+	}
+
+	/**
+	 * @return position in the file of the next byte to read
+	 */
+	private long getPosition() throws IOException {
+		return channel.position() - buffer.remaining();
+	}
+
+	private void skipBytes(final long length) throws IOException 
+	{
+		channel.position(getPosition() + length);
+		buffer.clear();
+		buffer.flip();  // empty
+	}
+
+	private Callable<List<Object[]>> createDecodingTask(final ByteBuffer block, 
+			                                            final int numberOfColumns, 
+			                                            final int numberOfRows) 
+	{
+		return new Callable<List<Object[]>>() {
+			@Override public List<Object[]> call() throws IOException {
+				return new TableStoreReader(file, block).readDataRows(numberOfColumns, numberOfRows);
+			}
+		};
+	}
+
+	private List<Object[]> readDataRows(final int numberOfColumns, 
+			                            final int numberOfRows) throws IOException 
+	{
+		final List<Object[]> toReturn = new ArrayList<Object[]>(numberOfRows);
+		for (int i = 0; i < numberOfRows; i++) {
+			toReturn.add(readDataRow(numberOfColumns));
+		}
+		return toReturn;
+	}
+
+	/**
+	 * Reads a data row from a mapped block.
+	 */
+	static Object[] readDataRow(final File file, 
+			                    final ByteBuffer block, 
+			                    final int numberOfColumns) throws IOException {
+		return new TableStoreReader(file, block).readDataRow(numberOfColumns);
+	}
+
+	private Object[] readDataRow(final int numberOfColumns) throws IOException 
+	{
+		final Object[] toReturn = new Object[numberOfColumns];
+		for (int i = 0; i < numberOfColumns; i++) {
+			toReturn[i] = readValue();
+		}
+		return toReturn;
+	}
+
+	/**
+	 * Determines the start positions of the data rows in a mapped block 
+	 * without creating their values.
+	 */
+	static int[] findDataRowPositions(final File file, 
+			                          final ByteBuffer block, 
+			                          final int numberOfColumns, 
+			                          final int numberOfRows) throws IOException 
+	{
+		final TableStoreReader reader = new TableStoreReader(file, block);
+		final int[] toReturn = new int[numberOfRows];
+		for (int i = 0; i < numberOfRows; i++) 
+		{
+			toReturn[i] = block.position();
+			for (int j = 0; j < numberOfColumns; j++) {
+				reader.skipValue();
+			}
+		}
+		return toReturn;
+	}
+
+	private void skipValue() throws IOException 
+	{
+		final byte tag = readByte();
+		switch (tag) 
+		{
+			case TAG_NULL: case TAG_TRUE: case TAG_FALSE: break;
+			case TAG_STRING: skipLengthPrefixedBytes(); break;
+			case TAG_DECIMAL: readInt(); readLong(); break;
+			case TAG_BIG_DECIMAL: readInt(); skipLengthPrefixedBytes(); break;
+			case TAG_DATE: case TAG_LONG: readLong(); break;
+			default: throw new IOException("Unknown value type " + tag + " in file " + file.getAbsolutePath() + ".");
+		}
+	}
+
+	private void skipLengthPrefixedBytes() throws IOException 
+	{
+		final int length = readInt();
+		if (length > 0) {
+			ensureAvailable(length);
+			buffer.position(buffer.position() + length);
+		}
+	}
+
+	private Object readValue() throws IOException 
+	{
+		final byte tag = readByte();
+		switch (tag) 
+		{
+			case TAG_NULL: return null;
+			case TAG_STRING: return readString();
+			case TAG_DECIMAL: 
+			{
+				final int scale = readInt();
+				return BigDecimal.valueOf(readLong(), scale);
+			}
+			case TAG_BIG_DECIMAL: 
+			{
+				final int scale = readInt();
+				return new BigDecimal(new BigInteger(readBytes()), scale);
+			}
+			case TAG_DATE: return new Date(readLong());
+			case TAG_TRUE: return Boolean.TRUE;
+			case TAG_FALSE: return Boolean.FALSE;
+			case TAG_LONG: return Long.valueOf(readLong());
+			default: throw new IOException("Unknown value type " + tag + " in file " + file.getAbsolutePath() + ".");
+		}
+	}
+
+	// ###########################################################################
+	//                          binary primitives
+	// ###########################################################################
+
+	private byte readByte() throws IOException {
+		ensureAvailable(1);
+		return buffer.get();
+	}
+
+	private boolean readBoolean() throws IOException {
+		return readByte() != 0;
+	}
+
+	private int readInt() throws IOException {
+		ensureAvailable(4);
+		return buffer.getInt();
+	}
+
+	private long readLong() throws IOException {
+		ensureAvailable(8);
+		return buffer.getLong();
+	}
+
+	private String readString() throws IOException 
+	{
+		final byte[] bytes = readBytes();
+		return bytes == null ? null : new String(bytes, IOEncodingHelper.STANDARD.getEncoding());
+	}
+
+	/**
+	 * @return bytes following their length or null for length -1
+	 */
+	private byte[] readBytes() throws IOException 
+	{
+		final int length = readInt();
+		if (length < 0) {
+			return null;
+		}
+		
+		final byte[] toReturn = new byte[length];
+		int offset = 0;
+		while (offset < length) 
+		{
+			ensureAvailable(1);
+			final int numberOfBytes = Math.min(buffer.remaining(), length - offset);
+			buffer.get(toReturn, offset, numberOfBytes);
+			offset += numberOfBytes;
+		}
+		return toReturn;
+	}
+
+	private void ensureAvailable(final int numberOfBytes) throws IOException 
+	{
+		if (buffer.remaining() >= numberOfBytes) {
+			return;
+		}
+		
+		if (channel == null) {
+			throw new EOFException("Unexpected end of data rows in file " + file.getAbsolutePath() + ".");
+		}
+		
+		buffer.compact();
+		while (buffer.position() < numberOfBytes) 
+		{
+			if (channel.read(buffer) < 0) {
+				throw new EOFException("Unexpected end of file " + file.getAbsolutePath() + ".");
+			}
+		}
+		buffer.flip();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (inputStream != null) {
+			inputStream.close();
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+
+import com.iksgmbh.sql.pojomemodb.SqlPojoMemoDB;
+import com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.metadata.TableStoreMetaData;
+import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.BitmapIndex;
+import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Column;
+import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Sequence;
+import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Table;
+import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.TableIndex;
+
+/**
+ * Writes the tables and sequences of a database into a binary file, 
+ * which is read by the TableStoreReader without any SQL parsing.
+ * 
+ * Format: magic number, format version, sequences (name, current value),
+ * tables (name, column definitions, index definitions, data rows). Each value is written 
+ * with a type tag followed by its binary representation. Strings are encoded in UTF-8.
+ * Since version 2, the data rows of a table are preceded by their length in bytes, 
+ * so that they can be decoded independently of the other tables.
+ * Since version 3, the format version is followed by the number of the last record 
+ * of the write-ahead log whose change is contained in the file (0 if none).
+ * 
+ * @author Reik Oberrath
+ */
+public class TableStoreWriter implements Closeable
+{
+	static final int MAGIC_NUMBER = 0x53504D44;  // "SPMD"
+	static final int FORMAT_VERSION = 3;
+	static final int BUFFER_SIZE = 256 * 1024;
+	
+	static final byte TAG_NULL = 0;
+	static final byte TAG_STRING = 1;
+	static final byte TAG_DECIMAL = 2;      // BigDecimal with an unscaled value that fits into a long
+	static final byte TAG_BIG_DECIMAL = 3;
+	static final byte TAG_DATE = 4;
+	static final byte TAG_TRUE = 5;
+	static final byte TAG_FALSE = 6;
+	static final byte TAG_LONG = 7;         // e.g. values from sequences
+	
+	private final FileOutputStream outputStream;
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+	public TableStoreWriter(final File file) throws IOException 
+	{
+		outputStream = new FileOutputStream(file);
+		channel = outputStream.getChannel();
+	}
+
+	public void write(final SqlPojoMemoDB memoryDb) throws IOException, SQLException {
+		write(memoryDb, 0);
+	}
+
+	/**
+	 * @param lastLoggedRecordNumber of the last write-ahead log record contained in the written content
+	 */
+	public void write(final SqlPojoMemoDB memoryDb, 
+			          final long lastLoggedRecordNumber) throws IOException, SQLException 
+	{
+		final TableStoreMetaData tableStore = memoryDb.getTableStoreMetaData();
+		
+		writeInt(MAGIC_NUMBER);
+		writeInt(FORMAT_VERSION);
+		writeLong(lastLoggedRecordNumber);
+		
+		final List<Sequence> sequences = tableStore.getSequences();
+		writeInt(sequences.size());
+		for (Sequence sequence : sequences) {
+			writeString(sequence.getSequenceName());
+			writeLong(sequence.getCurrentValue());
+		}
+		
+		final List<String> tableNames = tableStore.getTableNames();
+		writeInt(tableNames.size());
+		for (String tableName : tableNames) {
+			writeTable((Table) memoryDb.getTableStoreData().getTableData(tableName));
+		}
+	}
+
+	private void writeTable(final Table table) throws IOException, SQLException 
+	{
+		writeString(table.getTableName());
+		
+		writeInt(table.getNumberOfColumns());
+		for (String columnName : table.getNamesOfColumns()) 
+		{
+			final Column column = table.getColumn(columnName);
+			writeString(column.getColumnName());
+			writeString(column.getColumnType());
+			writeBoolean(column.isNullable());
+			writeString(column.getDefaultValue());
+			writeString(column.getPrimaryKeyId());
+			writeString(column.getUniqueConstraintId());
+		}
+		
+		writeInt(table.getIndexes().size() + table.getBitmapIndexes().size());
+		for (TableIndex index : table.getIndexes()) 
+		{
+			writeString(index.getIndexName());
+			writeBoolean(false);
+			writeInt(index.getColumns().size());
+			for (Column column : index.getColumns()) {
+				writeString(column.getColumnName());
+			}
+		}
+		for (BitmapIndex index : table.getBitmapIndexes()) 
+		{
+			writeString(index.getIndexName());
+			writeBoolean(true);
+			writeInt(1);
+			writeString(index.getColumn().getColumnName());
+		}
+		
+		final List<Object[]> dataRows = table.getDataRows();
+		writeInt(dataRows.size());
+		
+		final long lengthPosition = getPosition();
+		writeLong(0);  // placeholder for the length of the data rows
+		for (Object[] dataRow : dataRows) {
+			for (Object value : dataRow) {
+				writeValue(value);
+			}
+		}
+		writeLongAt(lengthPosition, getPosition() - lengthPosition - 8);
+	}
+
+	private void writeValue(final Object value) throws IOException 
+	{
+		if (value == null) {
+			writeByte(TAG_NULL);
+		} else if (value instanceof String) {
+			writeByte(TAG_STRING);
+			writeString((String) value);
+		} else if (value instanceof BigDecimal) {
+			writeDecimal((BigDecimal) value);
+		} else if (value instanceof Date) {
+			writeByte(TAG_DATE);
+			writeLong(((Date) value).getTime());
+		} else if (value instanceof Boolean) {
+			writeByte(((Boolean) value).booleanValue() ? TAG_TRUE : TAG_FALSE);
+		} else if (value instanceof Long) {
+			writeByte(TAG_LONG);
+			writeLong((Long) value);
+		} else {
+			throw new IOException("Unsupported type of data value: " + value.getClass().getName());
+		}
+	}
+
+	private void writeDecimal(final BigDecimal value) throws IOException 
+	{
+		if (value.unscaledValue().bitLength() < 64) {
+			writeByte(TAG_DECIMAL);
+			writeInt(value.scale());
+			writeLong(value.unscaledValue().longValue());
+		} else {
+			writeByte(TAG_BIG_DECIMAL);
+			writeInt(value.scale());
+			writeBytes(value.unscaledValue().toByteArray());
+		}
+	}
+
+	// ###########################################################################
+	//                          binary primitives
+	// ###########################################################################
+
+	private void writeByte(final byte value) throws IOException {
+		ensureCapacity(1);
+		buffer.put(value);
+	}
+
+	private void writeBoolean(final boolean value) throws IOException {
+		writeByte(value ? (byte) 1 : (byte) 0);
+	}
+
+	private void writeInt(final int value) throws IOException {
+		ensureCapacity(4);
+		buffer.putInt(value);
+	}
+
+	private void writeLong(final long value) throws IOException {
+		ensureCapacity(8);
+		buffer.putLong(value);
+	}
+
+	/**
+	 * Writes the length (-1 for null) followed by the UTF-8 bytes.
+	 */
+	private void writeString(final String value) throws IOException 
+	{
+		if (value == null) {
+			writeInt(-1);
+		} else {
+			writeBytes(value.getBytes(IOEncodingHelper.STANDARD.getEncoding()));
+		}
+	}
+
+	private void writeBytes(final byte[] bytes) throws IOException 
+	{
+		writeInt(bytes.length);
+		int offset = 0;
+		while (offset < bytes.length) 
+		{
+			if ( ! buffer.hasRemaining() ) {
+				flushBuffer();
+			}
+			final int length = Math.min(buffer.remaining(), bytes.length - offset);
+			buffer.put(bytes, offset, length);
+			offset += length;
+		}
+	}
+
+	/**
+	 * @return position in the file of the next byte to write
+	 */
+	private long getPosition() throws IOException {
+		return channel.position() + buffer.position();
+	}
+
+	private void writeLongAt(final long position, 
+			                 final long value) throws IOException 
+	{
+		flushBuffer();
+		final ByteBuffer longBuffer = ByteBuffer.allocate(8);
+		longBuffer.putLong(value).flip();
+		while (longBuffer.hasRemaining()) {
+			channel.write(longBuffer, position + longBuffer.position());
+		}
+	}
+
+	private void ensureCapacity(final int numberOfBytes) throws IOException 
+	{
+		if (buffer.remaining() < numberOfBytes) {
+			flushBuffer();
+		}
+	}
+
+	private void flushBuffer() throws IOException 
+	{
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Writes the buffered bytes and forces them to the storage device.
+	 */
+	public void sync() throws IOException 
+	{
+		flushBuffer();
+		channel.force(true);
+	}
+
+	@Override
+	public void close() throws IOException 
+	{
+		try {
+			flushBuffer();
+		} finally {
+			outputStream.close();
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,596 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.utils;
+
+import static com.iksgmbh.sql.pojomemodb.utils.TableStoreWriter.*;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import com.iksgmbh.sql.pojomemodb.SqlPojoMemoDB;
+
+/**
+ * Records every successful change of the database as a compact binary record, 
+ * so that the changes since the last snapshot can be replayed after a restart.
+ * 
+ * Format: magic number, format version, number of the first record, records. Records are numbered 
+ * consecutively across truncations, so that a snapshot can name the last record it contains. 
+ * Each record consists of its length, its type, its content and a CRC32 checksum of type and content. 
+ * Statements are recorded as sql,
+ * prepared statements as sql and bound values, rows loaded without sql as values. Values are 
+ * encoded with the type tags of the TableStoreWriter. Replaying stops at the first incomplete 
+ * or corrupt record, i.e. a record whose writing has been interrupted by a crash.
+ * 
+ * Changes are applied and appended to the log while holding its change lock, so that the records
+ * are in the order in which the changes have been applied. Then the lock is released and the record 
+ * is made durable by group commit: the thread that finds no write in progress writes and forces 
+ * all records appended so far, while the threads whose records are part of this write only wait for it. 
+ * So concurrent statements share a single fsync.
+ * 
+ * @author Reik Oberrath
+ */
+public class WriteAheadLog implements Closeable
+{
+	static final int MAGIC_NUMBER = 0x53504D4C;  // "SPML"
+	static final int FORMAT_VERSION = 2;
+	static final int HEADER_LENGTH = 16;
+	static final int HEADER_LENGTH_VERSION_1 = 8;  // without number of the first record
+	
+	static final byte STATEMENT = 1;
+	static final byte PREPARED_STATEMENT = 2;
+	static final byte PREPARED_BATCH = 3;
+	static final byte LOADED_ROWS = 4;
+	static final byte DROPPED_TABLE = 5;
+	static final byte REMOVED_ALL_CONTENT = 6;
+	static final byte RESET = 7;
+	
+	private final File file;
+	private final RandomAccessFile randomAccessFile;
+	private final FileChannel channel;
+	private final ReentrantLock changeLock = new ReentrantLock();
+	private int headerLength = HEADER_LENGTH;
+	
+	private ByteArrayOutputStream pendingRecords = new ByteArrayOutputStream();  // appended but not yet written
+	private long appendedRecordNumber;  // of the last appended record
+	private long durableRecordNumber;   // of the last record forced to the storage device
+	private boolean writing;
+	private IOException writeFailure;
+
+	public WriteAheadLog(final File file) throws IOException 
+	{
+		this.file = file;
+		randomAccessFile = new RandomAccessFile(file, "rw");
+		channel = randomAccessFile.getChannel();
+	}
+
+	/**
+	 * Applies all complete records of the log that are not contained in the snapshot to the database, 
+	 * removes an incomplete tail and prepares the log for appending further records. 
+	 * The database must not record its changes into this log while it is replayed.
+	 * @param lastRecordNumberOfSnapshot number of the last record contained in the loaded snapshot (0 if none)
+	 * @return number of replayed records
+	 * @throws SQLException if a record cannot be applied to the database
+	 */
+	public int replay(final long lastRecordNumberOfSnapshot) throws IOException, SQLException 
+	{
+		if (channel.size() < HEADER_LENGTH_VERSION_1) {
+			removeRecords(lastRecordNumberOfSnapshot + 1);  // new log
+			return 0;
+		}
+		
+		channel.position(0);
+		final DataInputStream inputStream = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+		if (inputStream.readInt() != MAGIC_NUMBER) {
+			throw new IOException("File " + file.getAbsolutePath() + " is no write-ahead log of a SqlPojoMemoDB.");
+		}
+		final int version = inputStream.readInt();
+		if (version < 1 || version > FORMAT_VERSION) {
+			throw new IOException("Unsupported format version " + version + " of write-ahead log " + file.getAbsolutePath() + ".");
+		}
+		headerLength = version == 1 ? HEADER_LENGTH_VERSION_1 : HEADER_LENGTH;
+		final long firstRecordNumber = version == 1 ? 1 : inputStream.readLong();
+		if (firstRecordNumber > lastRecordNumberOfSnapshot + 1) {
+			throw new IOException("Write-ahead log " + file.getAbsolutePath() + " starts with record " + firstRecordNumber 
+					              + ", but the snapshot contains only the records up to " + lastRecordNumberOfSnapshot + ".");
+		}
+		
+		long validLength = headerLength;
+		long recordNumber = firstRecordNumber - 1;
+		int toReturn = 0;
+		byte[] record;
+		while ((record = readRecord(inputStream)) != null) 
+		{
+			recordNumber++;
+			if (recordNumber > lastRecordNumberOfSnapshot)  // otherwise already contained in the snapshot
+			{
+				toReturn++;
+				try {
+					applyRecord(new DataInputStream(new ByteArrayInputStream(record)));
+				} catch (SQLException e) {
+					throw new SQLException("Error replaying record " + recordNumber + " of write-ahead log " 
+				                           + file.getAbsolutePath() + ": " + e.getMessage(), e);
+				}
+			}
+			validLength += record.length + 8;
+		}
+		
+		if (recordNumber < lastRecordNumberOfSnapshot) {
+			removeRecords(lastRecordNumberOfSnapshot + 1);  // snapshot contains records that had not been written yet
+			return toReturn;
+		}
+		
+		channel.truncate(validLength);
+		channel.position(validLength);
+		appendedRecordNumber = durableRecordNumber = recordNumber;
+		return toReturn;
+	}
+
+	/**
+	 * @return type and content of the next record or null if there is no further complete and valid record
+	 */
+	private byte[] readRecord(final DataInputStream inputStream) throws IOException 
+	{
+		try {
+			final int length = inputStream.readInt();
+			if (length <= 0 || length > channel.size()) {
+				return null;
+			}
+			final byte[] toReturn = new byte[length];
+			inputStream.readFully(toReturn);
+			final int checksum = inputStream.readInt();
+			
+			final CRC32 crc = new CRC32();
+			crc.update(toReturn);
+			return (int) crc.getValue() == checksum ? toReturn : null;
+		} catch (EOFException e) {
+			return null;
+		}
+	}
+
+	private void applyRecord(final DataInputStream record) throws IOException, SQLException 
+	{
+		final byte type = record.readByte();
+		switch (type) 
+		{
+			case STATEMENT: 
+				SqlPojoMemoDB.execute(readString(record));
+				break;
+			case PREPARED_STATEMENT: 
+				SqlPojoMemoDB.execute(prepare(readString(record)), readValues(record));
+				break;
+			case PREPARED_BATCH: 
+			{
+				final Object preparedStatement = prepare(readString(record));
+				final int numberOfValueSets = record.readInt();
+				final List<Object[]> valueSets = new ArrayList<Object[]>(numberOfValueSets);
+				for (int i = 0; i < numberOfValueSets; i++) {
+					valueSets.add(readValues(record));
+				}
+				SqlPojoMemoDB.executeBatch(preparedStatement, valueSets);
+				break;
+			}
+			case LOADED_ROWS: 
+			{
+				final String tableName = readString(record);
+				final int numberOfColumns = record.readInt();
+				final List<String> columnNames = new ArrayList<String>(numberOfColumns);
+				for (int i = 0; i < numberOfColumns; i++) {
+					columnNames.add(readString(record));
+				}
+				final int numberOfRows = record.readInt();
+				final List<Object[]> valueRows = new ArrayList<Object[]>(numberOfRows);
+				for (int i = 0; i < numberOfRows; i++) {
+					valueRows.add(readValues(record));
+				}
+				SqlPojoMemoDB.loadDataRows(tableName, columnNames, valueRows);
+				break;
+			}
+			case DROPPED_TABLE: 
+				SqlPojoMemoDB.dropTable(readString(record));
+				break;
+			case REMOVED_ALL_CONTENT: 
+				SqlPojoMemoDB.removeAllContentOfAllTables();
+				break;
+			case RESET: 
+				SqlPojoMemoDB.reset();
+				break;
+			default: throw new IOException("Unknown record type " + type + " in write-ahead log " + file.getAbsolutePath() + ".");
+		}
+	}
+
+	private Object prepare(final String sql) throws SQLException 
+	{
+		final Object toReturn = SqlPojoMemoDB.prepare(sql);
+		if (toReturn == null) {
+			throw new SQLException("Statement cannot be prepared: " + sql);
+		}
+		return toReturn;
+	}
+
+	// ###########################################################################
+	//                          recording changes
+	// ###########################################################################
+
+	// The log methods are called while holding the change lock. They append a record 
+	// and return its number, which is passed to commit after releasing the lock.
+
+	public long logStatement(final String sql) throws IOException 
+	{
+		final RecordBuilder record = new RecordBuilder(STATEMENT);
+		record.writeString(sql);
+		return append(record);
+	}
+
+	public long logPreparedStatement(final String sql, 
+			                         final Object[] parameterValues) throws IOException 
+	{
+		final RecordBuilder record = new RecordBuilder(PREPARED_STATEMENT);
+		record.writeString(sql);
+		record.writeValues(parameterValues);
+		return append(record);
+	}
+
+	public long logPreparedBatch(final String sql, 
+			                     final List<Object[]> parameterValueSets) throws IOException 
+	{
+		final RecordBuilder record = new RecordBuilder(PREPARED_BATCH);
+		record.writeString(sql);
+		record.writeInt(parameterValueSets.size());
+		for (Object[] parameterValues : parameterValueSets) {
+			record.writeValues(parameterValues);
+		}
+		return append(record);
+	}
+
+	public long logLoadedRows(final String tableName, 
+			                  final List<String> columnNames, 
+			                  final List<Object[]> valueRows) throws IOException 
+	{
+		final RecordBuilder record = new RecordBuilder(LOADED_ROWS);
+		record.writeString(tableName);
+		record.writeInt(columnNames.size());
+		for (String columnName : columnNames) {
+			record.writeString(columnName);
+		}
+		record.writeInt(valueRows.size());
+		for (Object[] valueRow : valueRows) {
+			record.writeValues(valueRow);
+		}
+		return append(record);
+	}
+
+	public long logDroppedTable(final String tableName) throws IOException 
+	{
+		final RecordBuilder record = new RecordBuilder(DROPPED_TABLE);
+		record.writeString(tableName);
+		return append(record);
+	}
+
+	public long logRemovedAllContent() throws IOException {
+		return append(new RecordBuilder(REMOVED_ALL_CONTENT));
+	}
+
+	public long logReset() throws IOException {
+		return append(new RecordBuilder(RESET));
+	}
+
+	/**
+	 * Must be held while a change is applied and appended to the log.
+	 */
+	public void lockChanges() {
+		changeLock.lock();
+	}
+
+	public void unlockChanges() {
+		changeLock.unlock();
+	}
+
+	/**
+	 * Waits until a record is forced to the storage device. 
+	 * Should be called after releasing the change lock, so that other changes can be appended meanwhile.
+	 * @param recordNumber as returned by the log methods
+	 */
+	public void commit(final long recordNumber) throws IOException {
+		waitUntilWritten(recordNumber);
+	}
+
+	/**
+	 * @return number of the last appended record
+	 */
+	public synchronized long getLastRecordNumber() {
+		return appendedRecordNumber;
+	}
+
+	/**
+	 * Removes all records, because their changes are contained in a new snapshot.
+	 * The numbering of the records is continued.
+	 * Must be called while holding the change lock.
+	 */
+	public void truncate() throws IOException 
+	{
+		final long lastRecordNumber = getLastRecordNumber();
+		waitUntilWritten(lastRecordNumber);
+		
+		synchronized (this) {
+			removeRecords(lastRecordNumber + 1);
+		}
+	}
+
+	private void removeRecords(final long nextRecordNumber) throws IOException 
+	{
+		channel.truncate(headerLength);  // first remove the records, then renumber them
+		channel.force(true);
+		writeHeader(nextRecordNumber);
+		channel.position(HEADER_LENGTH);
+		appendedRecordNumber = durableRecordNumber = nextRecordNumber - 1;
+	}
+
+	/**
+	 * @return number of the appended record
+	 */
+	private long append(final RecordBuilder record) throws IOException 
+	{
+		if ( ! changeLock.isHeldByCurrentThread() ) {
+			throw new IllegalStateException("Changes must be logged while holding the change lock.");
+		}
+		return append(record.toByteArray());
+	}
+
+	private synchronized long append(final byte[] record) throws IOException 
+	{
+		final CRC32 crc = new CRC32();
+		crc.update(record);
+		
+		final DataOutputStream outputStream = new DataOutputStream(pendingRecords);
+		outputStream.writeInt(record.length);
+		outputStream.write(record);
+		outputStream.writeInt((int) crc.getValue());
+		
+		return ++appendedRecordNumber;
+	}
+
+	/**
+	 * Waits until the record is forced to the storage device. If no other thread is writing,
+	 * the current thread writes all pending records, including those of other threads.
+	 */
+	private void waitUntilWritten(final long recordNumber) throws IOException 
+	{
+		final byte[] records;
+		final long lastRecordNumber;
+		
+		synchronized (this) 
+		{
+			while (writing && durableRecordNumber < recordNumber && writeFailure == null) {
+				waitForWrite();
+			}
+			if (durableRecordNumber >= recordNumber) {
+				return;  // written by another thread
+			}
+			if (writeFailure != null) {
+				throw writeFailure;
+			}
+			
+			writing = true;
+			records = pendingRecords.toByteArray();
+			pendingRecords = new ByteArrayOutputStream();
+			lastRecordNumber = appendedRecordNumber;
+		}
+		
+		try {
+			final ByteBuffer buffer = ByteBuffer.wrap(records);
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(false);
+		} catch (IOException e) {
+			synchronized (this) {
+				writeFailure = e;
+				writing = false;
+				notifyAll();
+			}
+			throw e;
+		}
+		
+		synchronized (this) 
+		{
+			durableRecordNumber = lastRecordNumber;
+			writing = false;
+			notifyAll();
+		}
+	}
+
+	private void waitForWrite() throws IOException 
+	{
+		try {
+			wait();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Waiting for the write-ahead log has been interrupted.", e);
+		}
+	}
+
+	private void writeHeader(final long firstRecordNumber) throws IOException 
+	{
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+		header.putInt(MAGIC_NUMBER).putInt(FORMAT_VERSION).putLong(firstRecordNumber).flip();
+		channel.position(0);
+		while (header.hasRemaining()) {
+			channel.write(header);
+		}
+		channel.force(true);
+		headerLength = HEADER_LENGTH;
+	}
+
+	@Override
+	public void close() throws IOException 
+	{
+		try {
+			waitUntilWritten(appendedRecordNumber);
+		} finally {
+			randomAccessFile.close();
+		}
+	}
+
+	// ###########################################################################
+	//                          value encoding
+	// ###########################################################################
+
+	private String readString(final DataInputStream record) throws IOException 
+	{
+		final int length = record.readInt();
+		if (length < 0) {
+			return null;
+		}
+		final byte[] bytes = new byte[length];
+		record.readFully(bytes);
+		return new String(bytes, IOEncodingHelper.STANDARD.getEncoding());
+	}
+
+	private Object[] readValues(final DataInputStream record) throws IOException 
+	{
+		final Object[] toReturn = new Object[record.readInt()];
+		for (int i = 0; i < toReturn.length; i++) {
+			toReturn[i] = readValue(record);
+		}
+		return toReturn;
+	}
+
+	private Object readValue(final DataInputStream record) throws IOException 
+	{
+		final byte tag = record.readByte();
+		switch (tag) 
+		{
+			case TAG_NULL: return null;
+			case TAG_STRING: return readString(record);
+			case TAG_DECIMAL: 
+			{
+				final int scale = record.readInt();
+				return BigDecimal.valueOf(record.readLong(), scale);
+			}
+			case TAG_BIG_DECIMAL: 
+			{
+				final int scale = record.readInt();
+				final byte[] bytes = new byte[record.readInt()];
+				record.readFully(bytes);
+				return new BigDecimal(new BigInteger(bytes), scale);
+			}
+			case TAG_DATE: return new Date(record.readLong());
+			case TAG_TRUE: return Boolean.TRUE;
+			case TAG_FALSE: return Boolean.FALSE;
+			case TAG_LONG: return Long.valueOf(record.readLong());
+			default: throw new IOException("Unknown value type " + tag + " in write-ahead log " + file.getAbsolutePath() + ".");
+		}
+	}
+
+	/**
+	 * Collects type and content of a record.
+	 * Bound values of other numeric types are recorded as long or decimal values
+	 * and java.sql dates and timestamps as dates, because the column types convert them alike.
+	 */
+	private static class RecordBuilder extends DataOutputStream
+	{
+		RecordBuilder(final byte type) throws IOException 
+		{
+			super(new ByteArrayOutputStream());
+			writeByte(type);
+		}
+
+		byte[] toByteArray() {
+			return ((ByteArrayOutputStream) out).toByteArray();
+		}
+
+		void writeString(final String value) throws IOException 
+		{
+			if (value == null) {
+				writeInt(-1);
+			} else {
+				writeBytes(value.getBytes(IOEncodingHelper.STANDARD.getEncoding()));
+			}
+		}
+
+		void writeBytes(final byte[] bytes) throws IOException 
+		{
+			writeInt(bytes.length);
+			write(bytes);
+		}
+
+		void writeValues(final Object[] values) throws IOException 
+		{
+			writeInt(values.length);
+			for (Object value : values) {
+				writeValue(value);
+			}
+		}
+
+		void writeValue(final Object value) throws IOException 
+		{
+			if (value == null) {
+				writeByte(TAG_NULL);
+			} else if (value instanceof String) {
+				writeByte(TAG_STRING);
+				writeString((String) value);
+			} else if (value instanceof BigDecimal) {
+				writeDecimal((BigDecimal) value);
+			} else if (value instanceof Double || value instanceof Float) {
+				writeDecimal(BigDecimal.valueOf(((Number) value).doubleValue()));
+			} else if (value instanceof BigInteger) {
+				writeDecimal(new BigDecimal((BigInteger) value));
+			} else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+				writeByte(TAG_LONG);
+				writeLong(((Number) value).longValue());
+			} else if (value instanceof Date) {
+				writeByte(TAG_DATE);
+				writeLong(((Date) value).getTime());
+			} else if (value instanceof Boolean) {
+				writeByte(((Boolean) value).booleanValue() ? TAG_TRUE : TAG_FALSE);
+			} else {
+				throw new IOException("Unsupported type of value: " + value.getClass().getName());
+			}
+		}
+
+		private void writeDecimal(final BigDecimal value) throws IOException 
+		{
+			if (value.unscaledValue().bitLength() < 64) {
+				writeByte(TAG_DECIMAL);
+				writeInt(value.scale());
+				writeLong(value.unscaledValue().longValue());
+			} else {
+				writeByte(TAG_BIG_DECIMAL);
+				writeInt(value.scale());
+				writeBytes(value.unscaledValue().toByteArray());
+			}
+		}
+	}
+}
\ No newline at end of file
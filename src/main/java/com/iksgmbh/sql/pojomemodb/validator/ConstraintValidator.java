@@ -54,12 +54,13 @@ public class ConstraintValidator
             if ( ! column.areDublicatesAllowed() )
             {
                 Object newValue = newDataRow[column.getIndexInTable()];
+                final ValueComparator valueComparator = column.getTypeValidator().getValueComparator();
 
                 for (Object[] oldDataRow : dataRows)
                 {
                     Object oldValue = oldDataRow[column.getIndexInTable()];
 
-                    if (newValue != null && oldValue != null && newValue.equals(oldValue)) {
+                    if (newValue != null && oldValue != null && valueComparator.isEqual(newValue, oldValue)) {
                         toReturn.add(new SQLDataException("Primary Key Constraint violated in column '" + columnName + "' with value '" + newValue + "'."));
                     }
                 }
@@ -68,4 +69,47 @@ public class ConstraintValidator
 
         return toReturn;
     }
+
+    /**
+     * Validates several new data rows at once: the values of the existing data rows are hashed once,
+     * instead of comparing each new data row with all existing data rows.
+     */
+    public static Collection<? extends SQLDataException> validatePrimaryKeyConstraints(final List<Object[]> dataRows,
+                                                                                       final List<Object[]> newDataRows,
+                                                                                       final List<String> sortedColumnNames,
+                                                                                       final HashMap<String, Column> columnMap)
+    {
+        final List<SQLDataException> toReturn = new ArrayList<SQLDataException>();
+
+        for (String columnName : sortedColumnNames)
+        {
+            final Column column = columnMap.get(columnName);
+            if ( ! column.areDublicatesAllowed() )
+            {
+                final int index = column.getIndexInTable();
+                final ValueHashMap<Boolean> knownValues = new ValueHashMap<Boolean>(column.getTypeValidator().getValueComparator());
+
+                for (Object[] oldDataRow : dataRows)
+                {
+                    if (oldDataRow[index] != null) {
+                        knownValues.put(oldDataRow[index], Boolean.TRUE);
+                    }
+                }
+
+                for (Object[] newDataRow : newDataRows)
+                {
+                    final Object newValue = newDataRow[index];
+                    if (newValue == null) continue;
+
+                    if (knownValues.containsKey(newValue)) {
+                        toReturn.add(new SQLDataException("Primary Key Constraint violated in column '" + columnName + "' with value '" + newValue + "'."));
+                    } else {
+                        knownValues.put(newValue, Boolean.TRUE);
+                    }
+                }
+            }
+        }
+
+        return toReturn;
+    }
 }
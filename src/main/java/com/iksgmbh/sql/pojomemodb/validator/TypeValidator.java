@@ -43,6 +43,21 @@ public abstract class TypeValidator
 	public abstract ValidatorType getType();
 	public abstract Object convertIntoColumnType(String valueAsString) throws SQLDataException;
 
+	/**
+	 * Converts a typed Java value bound to a parameter of a prepared statement.
+	 * In contrast to convertIntoColumnType(String) the value is no SQL literal
+	 * (e.g. a String is not surrounded by apostrophes).
+	 * @param value not null
+	 * @return value as stored in a column of this type
+	 * @throws SQLDataException if the value cannot be converted
+	 */
+	public abstract Object convertBoundValueIntoColumnType(Object value) throws SQLDataException;
+
+	/**
+	 * @return comparator to compare, equate and hash the values of this type
+	 */
+	public abstract ValueComparator getValueComparator();
+
 	/**
 	 * returns false for value1 < value2,
 	 * returns null value1 == value2,
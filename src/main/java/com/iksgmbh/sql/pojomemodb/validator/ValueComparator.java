@@ -0,0 +1,141 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.validator;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.Date;
+
+/**
+ * Compares, equates and hashes the typed values of a column type without converting them into strings.
+ * Each TypeValidator provides the instance for its type, so that filters, joins, indexes and constraints
+ * treat values alike, e.g. the numbers 1 and 1.0 are equal and have the same hash code.
+ * Null values are taken as smaller than any non-null value.
+ *
+ * @author Reik Oberrath
+ */
+public abstract class ValueComparator implements Comparator<Object>
+{
+	public static final ValueComparator VARCHAR = new ValueComparator() 
+	{
+		@Override protected int compareNonNullValues(Object value1, Object value2) {
+			return ((String) value1).compareTo((String) value2);
+		}
+		
+		@Override protected boolean areNonNullValuesEqual(Object value1, Object value2) {
+			return value1.equals(value2);
+		}
+	};
+	
+	/**
+	 * Besides BigDecimal values, NUMBER columns contain Long values taken from sequences.
+	 */
+	public static final ValueComparator NUMBER = new ValueComparator() 
+	{
+		@Override protected int compareNonNullValues(Object value1, Object value2) {
+			return toBigDecimal(value1).compareTo(toBigDecimal(value2));
+		}
+		
+		/**
+		 * Numbers that are equal according to compareTo have the same double value,
+		 * regardless of their scale.
+		 */
+		@Override protected int hashNonNullValue(Object value) {
+			final long bits = Double.doubleToLongBits(toBigDecimal(value).doubleValue());
+			return (int) (bits ^ (bits >>> 32));
+		}
+		
+		private BigDecimal toBigDecimal(final Object value) 
+		{
+			if (value instanceof BigDecimal) {
+				return (BigDecimal) value;
+			}
+			if (value instanceof Long || value instanceof Integer) {
+				return BigDecimal.valueOf(((Number) value).longValue());
+			}
+			return new BigDecimal(value.toString());
+		}
+	};
+	
+	public static final ValueComparator DATE = new ValueComparator() 
+	{
+		@Override protected int compareNonNullValues(Object value1, Object value2) {
+			final long time1 = ((Date) value1).getTime();
+			final long time2 = ((Date) value2).getTime();
+			return time1 < time2 ? -1 : (time1 == time2 ? 0 : 1);
+		}
+		
+		@Override protected int hashNonNullValue(Object value) {
+			final long time = ((Date) value).getTime();
+			return (int) (time ^ (time >>> 32));
+		}
+	};
+	
+	public static final ValueComparator BOOLEAN = new ValueComparator() 
+	{
+		@Override protected int compareNonNullValues(Object value1, Object value2) {
+			return ((Boolean) value1).compareTo((Boolean) value2);
+		}
+		
+		@Override protected boolean areNonNullValuesEqual(Object value1, Object value2) {
+			return value1.equals(value2);
+		}
+	};
+
+	protected abstract int compareNonNullValues(Object value1, Object value2);
+
+	@Override
+	public int compare(final Object value1, final Object value2) 
+	{
+		if (value1 == null) {
+			return value2 == null ? 0 : -1;
+		}
+		if (value2 == null) {
+			return 1;
+		}
+		return compareNonNullValues(value1, value2);
+	}
+
+	/**
+	 * @return true if both values are equal or both are null
+	 */
+	public boolean isEqual(final Object value1, final Object value2) 
+	{
+		if (value1 == null || value2 == null) {
+			return value1 == value2;
+		}
+		return areNonNullValuesEqual(value1, value2);
+	}
+
+	/**
+	 * @return hash code that is equal for all values that are equal by isEqual
+	 */
+	public int hash(final Object value) 
+	{
+		if (value == null) {
+			return 0;
+		}
+		return hashNonNullValue(value);
+	}
+
+	protected boolean areNonNullValuesEqual(final Object value1, final Object value2) {
+		return compareNonNullValues(value1, value2) == 0;
+	}
+
+	protected int hashNonNullValue(final Object value) {
+		return value.hashCode();
+	}
+}
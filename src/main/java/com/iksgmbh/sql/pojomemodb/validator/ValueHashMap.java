@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.validator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hash map for typed column values that uses the equality and hash code of a ValueComparator,
+ * so that lookups neither convert values nor allocate wrapper objects.
+ * Keys are stored with open addressing. Null keys are not supported.
+ *
+ * @author Reik Oberrath
+ */
+public class ValueHashMap<V>
+{
+	private final ValueComparator valueComparator;
+	private final List<Object> keysInInsertionOrder = new ArrayList<Object>();
+	private Object[] keys;
+	private Object[] values;
+
+	public ValueHashMap(final ValueComparator valueComparator) 
+	{
+		this.valueComparator = valueComparator;
+		this.keys = new Object[16];
+		this.values = new Object[16];
+	}
+
+	public void put(final Object key, final V value) 
+	{
+		if (key == null) {
+			throw new IllegalArgumentException("Null keys are not supported.");
+		}
+		
+		if (2 * (keysInInsertionOrder.size() + 1) > keys.length) {
+			resize();
+		}
+		
+		final int slot = findSlot(keys, key);
+		if (keys[slot] == null) {
+			keys[slot] = key;
+			keysInInsertionOrder.add(key);
+		}
+		values[slot] = value;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(final Object key) 
+	{
+		if (key == null) {
+			return null;
+		}
+		return (V) values[findSlot(keys, key)];
+	}
+
+	public boolean containsKey(final Object key) {
+		return key != null && keys[findSlot(keys, key)] != null;
+	}
+
+	public int size() {
+		return keysInInsertionOrder.size();
+	}
+
+	/**
+	 * @return distinct keys in the order they were put first
+	 */
+	public List<Object> getKeys() {
+		return keysInInsertionOrder;
+	}
+
+	private int findSlot(final Object[] keyArray, final Object key) 
+	{
+		final int mask = keyArray.length - 1;
+		int slot = spread(valueComparator.hash(key)) & mask;
+		
+		while (keyArray[slot] != null && ! valueComparator.isEqual(keyArray[slot], key)) {
+			slot = (slot + 1) & mask;
+		}
+		
+		return slot;
+	}
+
+	private void resize() 
+	{
+		final Object[] newKeys = new Object[2 * keys.length];
+		final Object[] newValues = new Object[2 * keys.length];
+		
+		for (int i = 0; i < keys.length; i++) 
+		{
+			if (keys[i] != null) {
+				final int slot = findSlot(newKeys, keys[i]);
+				newKeys[slot] = keys[i];
+				newValues[slot] = values[i];
+			}
+		}
+		
+		keys = newKeys;
+		values = newValues;
+	}
+
+	private static int spread(final int hash) {
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -19,6 +19,7 @@ import java.sql.SQLDataException;
 
 import com.iksgmbh.sql.pojomemodb.SQLKeyWords;
 import com.iksgmbh.sql.pojomemodb.validator.TypeValidator;
+import com.iksgmbh.sql.pojomemodb.validator.ValueComparator;
 
 
 public class BooleanTypeValidator extends TypeValidator
@@ -53,6 +54,11 @@ public class BooleanTypeValidator extends TypeValidator
 		return VALIDATION_TYPE; 
 	}
 
+	@Override
+	public ValueComparator getValueComparator() {
+		return ValueComparator.BOOLEAN;
+	}
+
 	@Override
 	public Object convertIntoColumnType(String valueAsString) throws SQLDataException
     {
@@ -67,6 +73,16 @@ public class BooleanTypeValidator extends TypeValidator
 		throw new SQLDataException("Insert values '" + valueAsString + "' is no boolean.");
 	}
 	
+	@Override
+	public Object convertBoundValueIntoColumnType(Object value) throws SQLDataException
+	{
+		if (value instanceof Boolean) {
+			return value;
+		}
+		
+		return convertIntoColumnType(value.toString());
+	}
+	
 	@Override
 	public Boolean isValue1SmallerThanValue2(Object value1, Object value2) throws SQLDataException
 	{
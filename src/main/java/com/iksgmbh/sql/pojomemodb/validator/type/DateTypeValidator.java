@@ -16,6 +16,7 @@
 package com.iksgmbh.sql.pojomemodb.validator.type;
 
 import com.iksgmbh.sql.pojomemodb.validator.TypeValidator;
+import com.iksgmbh.sql.pojomemodb.validator.ValueComparator;
 import com.iksgmbh.sql.pojomemodb.SQLKeyWords;
 import com.iksgmbh.sql.pojomemodb.utils.StringParseUtil;
 
@@ -62,6 +63,11 @@ public class DateTypeValidator extends TypeValidator
 		return VALIDATION_TYPE; 
 	}
 
+	@Override
+	public ValueComparator getValueComparator() {
+		return ValueComparator.DATE;
+	}
+
 	@Override
 	public Object convertIntoColumnType(String valueAsString) throws SQLDataException
     {
@@ -87,6 +93,20 @@ public class DateTypeValidator extends TypeValidator
 		throw new SQLDataException("Insert values '" + valueAsString + "' is no date.");
 	}
 	
+	@Override
+	public Object convertBoundValueIntoColumnType(Object value) throws SQLDataException 
+	{
+		if (value instanceof Date) {
+			return new Date(((Date) value).getTime());  // also for java.sql.Timestamp, that are not comparable to dates
+		}
+		
+		if (value instanceof String) {
+			return convertIntoColumnType((String) value);
+		}
+		
+		throw new SQLDataException("Bound value '" + value + "' is no date.");
+	}
+	
 	private Object convertMySqlDateFormats(String valueAsString) throws SQLDataException 
 	{
 
@@ -97,7 +117,9 @@ public class DateTypeValidator extends TypeValidator
 				valueAsString = valueAsString.substring(1).trim();
 				if (valueAsString.startsWith("'") && valueAsString.endsWith("'")) {
 					valueAsString = valueAsString.substring(1, valueAsString.length()-1).trim();
-					return MYSQL_D_SIMPLEDATEFORMAT.parse(valueAsString);
+					synchronized (MYSQL_D_SIMPLEDATEFORMAT) {  // SimpleDateFormat is not thread-safe
+						return MYSQL_D_SIMPLEDATEFORMAT.parse(valueAsString);
+					}
 				}
 			}
 					
@@ -105,7 +127,9 @@ public class DateTypeValidator extends TypeValidator
 				valueAsString = valueAsString.substring(2).trim();
 				if (valueAsString.startsWith("'") && valueAsString.endsWith("'")) {
 					valueAsString = valueAsString.substring(1, valueAsString.length()-1).trim();
-					return MYSQL_TS_SIMPLEDATEFORMAT.parse(valueAsString);
+					synchronized (MYSQL_TS_SIMPLEDATEFORMAT) {
+						return MYSQL_TS_SIMPLEDATEFORMAT.parse(valueAsString);
+					}
 				}
 			}
 		} catch (Exception pe) {
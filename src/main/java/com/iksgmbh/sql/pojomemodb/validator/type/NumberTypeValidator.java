@@ -17,8 +17,10 @@ package com.iksgmbh.sql.pojomemodb.validator.type;
 
 import com.iksgmbh.sql.pojomemodb.SQLKeyWords;
 import com.iksgmbh.sql.pojomemodb.validator.TypeValidator;
+import com.iksgmbh.sql.pojomemodb.validator.ValueComparator;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.sql.SQLDataException;
 
 public class NumberTypeValidator extends TypeValidator
@@ -82,6 +84,11 @@ public class NumberTypeValidator extends TypeValidator
 		return VALIDATION_TYPE;
 	}
 
+	@Override
+	public ValueComparator getValueComparator() {
+		return ValueComparator.NUMBER;
+	}
+
 
 	@Override
 	public Object convertIntoColumnType(String valueAsString) throws SQLDataException {
@@ -92,16 +99,39 @@ public class NumberTypeValidator extends TypeValidator
 		}
 	}
 
+	@Override
+	public Object convertBoundValueIntoColumnType(Object value) throws SQLDataException 
+	{
+		if (value instanceof BigDecimal) {
+			return value;
+		}
+		
+		if (value instanceof Double || value instanceof Float) {
+			return BigDecimal.valueOf(((Number) value).doubleValue());
+		}
+		
+		if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+			return BigDecimal.valueOf(((Number) value).longValue());
+		}
+		
+		if (value instanceof BigInteger) {
+			return new BigDecimal((BigInteger) value);
+		}
+		
+		if (value instanceof Number || value instanceof String) {
+			return convertIntoColumnType(value.toString().trim());
+		}
+		
+		throw new SQLDataException("Bound value '" + value + "' is no number.");
+	}
+
 	@Override
 	public Boolean isValue1SmallerThanValue2(Object value1, Object value2) throws SQLDataException
 	{
 		if (value1 == null || value2 == null)
 			return isValue1SmallerThanValue2ForNullvalues(value1, value2);
 
-		final BigDecimal number1 = (BigDecimal) value1;
-		final BigDecimal number2 = (BigDecimal) value2;
-
-		int result = number1.compareTo(number2);
+		int result = ValueComparator.NUMBER.compare(value1, value2);
 
 		if (result == 0) return null;
 
@@ -16,6 +16,7 @@
 package com.iksgmbh.sql.pojomemodb.validator.type;
 
 import com.iksgmbh.sql.pojomemodb.validator.TypeValidator;
+import com.iksgmbh.sql.pojomemodb.validator.ValueComparator;
 
 import java.sql.SQLDataException;
 
@@ -49,6 +50,11 @@ public class VarcharTypeValidator extends TypeValidator
 		return VALIDATION_TYPE;
 	}
 
+	@Override
+	public ValueComparator getValueComparator() {
+		return ValueComparator.VARCHAR;
+	}
+
 	@Override
 	public Object convertIntoColumnType(String valueAsString) throws SQLDataException {
 		if (! valueAsString.startsWith("'") || 
@@ -60,6 +66,11 @@ public class VarcharTypeValidator extends TypeValidator
 		return valueAsString.substring( 1, valueAsString.length() - 1 );
 	}
 
+	@Override
+	public Object convertBoundValueIntoColumnType(Object value) throws SQLDataException {
+		return String.valueOf(value);
+	}
+
 	@Override
 	public Boolean isValue1SmallerThanValue2(Object value1, Object value2) throws SQLDataException
 	{
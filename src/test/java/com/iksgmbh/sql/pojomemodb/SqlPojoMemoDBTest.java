@@ -16,19 +16,30 @@
 package com.iksgmbh.sql.pojomemodb;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.SQLDataException;
 import java.sql.SQLException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Before;
 import org.junit.Ignore;
@@ -36,8 +47,12 @@ import org.junit.Test;
 
 import com.iksgmbh.sql.pojomemodb.dataobjects.interfaces.statistics.TableStoreStatistics;
 import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Sequence;
+import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Table;
 import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.TableStore;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.SelectionTable;
+import com.iksgmbh.sql.pojomemodb.utils.FileUtil;
+import com.iksgmbh.sql.pojomemodb.utils.FixtureBundleCompiler;
+import com.iksgmbh.sql.pojomemodb.utils.MappedDataRows;
 import com.iksgmbh.sql.pojomemodb.utils.SqlStatementLoader;
 
 public class SqlPojoMemoDBTest {
@@ -530,6 +545,974 @@ public class SqlPojoMemoDBTest {
 		assertEquals("row number", 4, result2.size());
 		assertEquals("row number", 5, result3.size());
 	}
+
+	@Test
+	public void selectsDataRowsForValueList() throws SQLException
+	{
+		// arrange
+		createDbStandardTestContent();
+		final String selectStatement1 =  "select ID from TEST_TABLE_NAME where ID in (12, 56, 99)";
+		final String selectStatement2 =  "select ID from TEST_TABLE_NAME where Name not in ('abc', 'xyz')";
+
+		// act
+		final List<Object[]> result1 = ((SelectionTable) SqlPojoMemoDB.execute(selectStatement1)).getDataRows();
+		final List<Object[]> result2 = ((SelectionTable) SqlPojoMemoDB.execute(selectStatement2)).getDataRows();
+		
+		// assert
+		assertEquals("row number", 2, result1.size());
+		assertEquals("value", "12",  "" + result1.get(0)[0]);
+		assertEquals("value", "56",  "" + result1.get(1)[0]);
+		assertEquals("row number", 2, result2.size());
+		assertEquals("value", "34",  "" + result2.get(0)[0]);
+		assertEquals("value", "null",  "" + result2.get(1)[0]);
+	}
+	
+	@Test
+	public void selectsDataRowsForValueListUsingIndex() throws SQLException
+	{
+		// arrange
+		createDbStandardTestContent();
+		SqlPojoMemoDB.execute( "create index TEST_INDEX on TEST_TABLE_NAME (ID)" );
+		SqlPojoMemoDB.execute( "insert into TEST_TABLE_NAME (ID, Name) VALUES (78, 'jkl')" );
+		SqlPojoMemoDB.execute( "update TEST_TABLE_NAME set Name='xyz' where ID=34" );
+		final String selectStatement =  "select Name from TEST_TABLE_NAME where ID in (78, 34, 12) and Name<>'abc'";
+		
+		// act
+		final List<Object[]> result = ((SelectionTable) SqlPojoMemoDB.execute(selectStatement)).getDataRows();
+		
+		// assert
+		assertEquals("row number", 2, result.size());
+		assertEquals("value", "xyz",  "" + result.get(0)[0]);
+		assertEquals("value", "jkl",  "" + result.get(1)[0]);
+	}
+	
+	@Test
+	public void selectsDataRowsForLikePatterns() throws SQLException
+	{
+		// arrange
+		createDbStandardTestContent();
+		SqlPojoMemoDB.execute( "insert into TEST_TABLE_NAME (ID, Name) VALUES (78, 'abcde')" );
+		
+		// act
+		final int exact = ((SelectionTable) SqlPojoMemoDB.execute("select * from TEST_TABLE_NAME where Name like 'abc'")).getDataRows().size();
+		final int prefix = ((SelectionTable) SqlPojoMemoDB.execute("select * from TEST_TABLE_NAME where Name like 'ab%'")).getDataRows().size();
+		final int suffix = ((SelectionTable) SqlPojoMemoDB.execute("select * from TEST_TABLE_NAME where Name like '%de'")).getDataRows().size();
+		final int contains = ((SelectionTable) SqlPojoMemoDB.execute("select * from TEST_TABLE_NAME where Name like '%h%'")).getDataRows().size();
+		final int general = ((SelectionTable) SqlPojoMemoDB.execute("select * from TEST_TABLE_NAME where Name like '_b%e'")).getDataRows().size();
+		final int negated = ((SelectionTable) SqlPojoMemoDB.execute("select * from TEST_TABLE_NAME where Name not like 'a%'")).getDataRows().size();
+		
+		// assert
+		assertEquals("exact", 1, exact);
+		assertEquals("prefix", 2, prefix);
+		assertEquals("suffix", 1, suffix);
+		assertEquals("contains", 1, contains);
+		assertEquals("general", 1, general);
+		assertEquals("negated", 2, negated);  // null values do not match
+	}
+	
+	@Test
+	public void selectsDataRowsForLikePrefixUsingIndex() throws SQLException
+	{
+		// arrange
+		createDbStandardTestContent();
+		SqlPojoMemoDB.execute( "create index NAME_INDEX on TEST_TABLE_NAME (Name)" );
+		SqlPojoMemoDB.execute( "insert into TEST_TABLE_NAME (ID, Name) VALUES (78, 'abx')" );
+		SqlPojoMemoDB.execute( "insert into TEST_TABLE_NAME (ID, Name) VALUES (90, 'ac')" );
+		final String selectStatement =  "select ID from TEST_TABLE_NAME where Name like 'ab%' and ID<>12";
+		
+		// act
+		final List<Object[]> result = ((SelectionTable) SqlPojoMemoDB.execute(selectStatement)).getDataRows();
+		
+		// assert
+		assertEquals("row number", 1, result.size());
+		assertEquals("value", "78",  "" + result.get(0)[0]);
+	}
+	
+	@Test
+	public void selectsDataRowsForBooleanExpression() throws SQLException
+	{
+		// arrange
+		createDbStandardTestContent();
+		final String selectStatement1 =  "select ID from TEST_TABLE_NAME where ID=12 or Name='def'";
+		final String selectStatement2 =  "select ID from TEST_TABLE_NAME where not (ID=12 or Name is null) and (Name='def' or Name='ghi')";
+
+		// act
+		final List<Object[]> result1 = ((SelectionTable) SqlPojoMemoDB.execute(selectStatement1)).getDataRows();
+		final List<Object[]> result2 = ((SelectionTable) SqlPojoMemoDB.execute(selectStatement2)).getDataRows();
+		
+		// assert
+		assertEquals("row number", 2, result1.size());
+		assertEquals("value", "12",  "" + result1.get(0)[0]);
+		assertEquals("value", "34",  "" + result1.get(1)[0]);
+		assertEquals("row number", 1, result2.size());
+		assertEquals("value", "34",  "" + result2.get(0)[0]);
+	}
+	
+	@Test
+	public void negatesConditionsOnNullValuesToUnknown() throws SQLException
+	{
+		// arrange
+		createDbStandardTestContent();
+		
+		// act
+		final List<Object[]> result1 = ((SelectionTable) SqlPojoMemoDB.execute("select Name from TEST_TABLE_NAME where not (Name = 'abc')")).getDataRows();
+		final List<Object[]> result2 = ((SelectionTable) SqlPojoMemoDB.execute("select Name from TEST_TABLE_NAME where not (Name in ('abc', 'def'))")).getDataRows();
+		final List<Object[]> result3 = ((SelectionTable) SqlPojoMemoDB.execute("select Name from TEST_TABLE_NAME where not (Name like 'a%' or ID = 34)")).getDataRows();
+		
+		// assert
+		assertEquals("row number", 2, result1.size());
+		assertEquals("value", "def", result1.get(0)[0]);
+		assertEquals("value", "ghi", result1.get(1)[0]);
+		assertEquals("row number", 1, result2.size());
+		assertEquals("value", "ghi", result2.get(0)[0]);
+		assertEquals("row number", 0, result3.size());
+	}
+	
+	@Test
+	public void selectsDataRowsForDisjunctionUsingIndexes() throws SQLException
+	{
+		// arrange
+		createDbStandardTestContent();
+		SqlPojoMemoDB.execute( "create index ID_INDEX on TEST_TABLE_NAME (ID)" );
+		SqlPojoMemoDB.execute( "create index NAME_INDEX on TEST_TABLE_NAME (Name)" );
+		final String selectStatement =  "select ID from TEST_TABLE_NAME where ID=56 or (Name like 'gh%' and ID is null) or ID in (12, 99)";
+		
+		// act
+		final List<Object[]> result = ((SelectionTable) SqlPojoMemoDB.execute(selectStatement)).getDataRows();
+		
+		// assert
+		assertEquals("row number", 3, result.size());
+		assertEquals("value", "12",  "" + result.get(0)[0]);
+		assertEquals("value", "56",  "" + result.get(1)[0]);
+		assertEquals("value", "null",  "" + result.get(2)[0]);
+	}
+	
+	@Test
+	public void selectsDataRowsForNumbersWithDifferentScale() throws SQLException
+	{
+		// arrange
+		createDbStandardTestContent();
+		final String selectStatement1 =  "select Name from TEST_TABLE_NAME where ID in (34.00, 99)";
+		final String selectStatement2 =  "select Name from TEST_TABLE_NAME where ID not in (12.0, 56.000)";
+		
+		// act
+		final List<Object[]> result1 = ((SelectionTable) SqlPojoMemoDB.execute(selectStatement1)).getDataRows();
+		final List<Object[]> result2 = ((SelectionTable) SqlPojoMemoDB.execute(selectStatement2)).getDataRows();
+		
+		// assert
+		assertEquals("row number", 1, result1.size());
+		assertEquals("value", "def",  "" + result1.get(0)[0]);
+		assertEquals("row number", 1, result2.size());
+		assertEquals("value", "def",  "" + result2.get(0)[0]);
+	}
+	
+	@Test
+	public void reusesParsedStatementsFromCache() throws SQLException
+	{
+		// arrange
+		createDbStandardTestContent();
+		final TableStoreStatistics dbStatistics = SqlPojoMemoDB.getDbStatistics();
+		final long hitsBefore = dbStatistics.getNumberOfParsedStatementCacheHits();
+		final long missesBefore = dbStatistics.getNumberOfParsedStatementCacheMisses();
+		
+		// act
+		final List<Object[]> result1 = ((SelectionTable) SqlPojoMemoDB.execute("select Name from TEST_TABLE_NAME where ID = 34")).getDataRows();
+		final List<Object[]> result2 = ((SelectionTable) SqlPojoMemoDB.execute("select  Name from TEST_TABLE_NAME\twhere ID = 34")).getDataRows();
+		final List<Object[]> result3 = ((SelectionTable) SqlPojoMemoDB.execute("select Name from TEST_TABLE_NAME where ID = 34")).getDataRows();
+		
+		// assert
+		assertEquals("row number", 1, result1.size());
+		assertEquals("row number", 1, result2.size());
+		assertEquals("row number", 1, result3.size());
+		assertEquals("value", "def",  "" + result3.get(0)[0]);
+		assertEquals("cache misses", 1, dbStatistics.getNumberOfParsedStatementCacheMisses() - missesBefore);
+		assertEquals("cache hits", 2, dbStatistics.getNumberOfParsedStatementCacheHits() - hitsBefore);
+	}
+	
+	@Test
+	public void resolvesCachedStatementAgainAfterTableHasBeenRecreated() throws SQLException
+	{
+		// arrange
+		createDbStandardTestContent();
+		final String selectStatement = "select Name from TEST_TABLE_NAME where ID = 34";
+		final List<Object[]> result1 = ((SelectionTable) SqlPojoMemoDB.execute(selectStatement)).getDataRows();
+		
+		// act
+		SqlPojoMemoDB.dropTable("TEST_TABLE_NAME");
+		SqlPojoMemoDB.execute("create table TEST_TABLE_NAME (Name VARCHAR(10), ID NUMBER(2))");
+		SqlPojoMemoDB.execute("insert into TEST_TABLE_NAME (ID, Name) VALUES (34, 'recreated')");
+		final List<Object[]> result2 = ((SelectionTable) SqlPojoMemoDB.execute(selectStatement)).getDataRows();
+		
+		// assert
+		assertEquals("value", "def",  "" + result1.get(0)[0]);
+		assertEquals("row number", 1, result2.size());
+		assertEquals("value", "recreated",  "" + result2.get(0)[0]);
+	}
+	
+	@Test
+	public void insertsSeveralRowsAndSelectedRowsAsBulk() throws SQLException
+	{
+		// arrange
+		createDbStandardTestContent();
+		SqlPojoMemoDB.execute( "create table COPY_TABLE (ID NUMBER(2) primary key, Name VARCHAR(5))" );
+		SqlPojoMemoDB.execute( "create index COPY_INDEX on COPY_TABLE (Name)" );
+		
+		// act
+		final Object result1 = SqlPojoMemoDB.execute( "insert into COPY_TABLE (ID, Name) values (1, 'one'), (2, 'two')" );
+		final Object result2 = SqlPojoMemoDB.execute( "insert into COPY_TABLE (Name, ID) select Name, ID from TEST_TABLE_NAME where ID in (12, 34)" );
+		final List<Object[]> result3 = ((SelectionTable) SqlPojoMemoDB.execute("select ID from COPY_TABLE where Name = 'def'")).getDataRows();
+		
+		// assert
+		assertEquals("result", "2 data rows have been inserted into COPY_TABLE.", result1);
+		assertEquals("result", "2 data rows have been inserted into COPY_TABLE.", result2);
+		assertEquals("row number", 4, SqlPojoMemoDB.getDbStatistics().getNumberOfRows("COPY_TABLE"));
+		assertEquals("value", "34", "" + result3.get(0)[0]);
+		
+		try {
+			SqlPojoMemoDB.execute( "insert into COPY_TABLE (ID, Name) values (3, 'three'), (1, 'dup')" );
+			fail("Expected exception was not thrown!");
+		} catch (SQLException e) {
+			assertEquals("Error message", "Primary Key Constraint violated in column 'ID' with value '1'.", e.getMessage().trim());
+		}
+		assertEquals("row number", 4, SqlPojoMemoDB.getDbStatistics().getNumberOfRows("COPY_TABLE"));
+	}
+	
+	@Test
+	public void loadsRowsOfJavaValuesWithoutSql() throws SQLException
+	{
+		// arrange
+		SqlPojoMemoDB.execute( "create table FIXTURE_TABLE (ID NUMBER(5) primary key, Name VARCHAR(10), Created DATE)" );
+		final Date created = new Date(1000000000000L);
+		final List<Object[]> valueRows = new ArrayList<Object[]>();
+		valueRows.add(new Object[] { 1, "first", created });
+		valueRows.add(new Object[] { 2L, "second", null });
+		final List<Object[]> invalidValueRows = new ArrayList<Object[]>();
+		invalidValueRows.add(new Object[] { 3, "third", null });
+		invalidValueRows.add(new Object[] { Boolean.TRUE, "fourth", null });
+		
+		// act
+		SqlPojoMemoDB.loadDataRows("FIXTURE_TABLE", Arrays.asList("ID", "Name", "Created"), valueRows);
+		try {
+			SqlPojoMemoDB.loadDataRows("FIXTURE_TABLE", Arrays.asList("ID", "Name", "Created"), invalidValueRows);
+			fail("Expected exception was not thrown!");
+		} catch (SQLDataException e) {
+			// expected
+		}
+		final List<Object[]> result = ((SelectionTable) SqlPojoMemoDB.execute("select Name, Created from FIXTURE_TABLE where ID = 1")).getDataRows();
+		
+		// assert
+		assertEquals("row number", 2, SqlPojoMemoDB.getDbStatistics().getNumberOfRows("FIXTURE_TABLE"));
+		assertEquals("value", "first", result.get(0)[0]);
+		assertEquals("value", created, result.get(0)[1]);
+	}
+	
+	@Test
+	public void importsCsvFilesInParallelChunks() throws Exception
+	{
+		// arrange
+		SqlPojoMemoDB.execute( "create table CSV_TABLE (ID NUMBER(5) primary key, Name VARCHAR(50), Created DATE)" );
+		final StringBuilder csvContent = new StringBuilder("ID,NAME,CREATED\r\n");
+		csvContent.append("1,\"Doe, \"\"John\"\"\",2016-01-31\r\n");
+		csvContent.append("2,,\r\n");
+		csvContent.append("3,\"two\nlines\",2016-02-01 12:30:00\r\n");
+		for (int i = 4; i <= 10000; i++) {
+			if (i % 7 == 0) {
+				csvContent.append(i).append(",\"quoted\nrow \u00e4\"\"").append(i).append("\",2016-03-01\n");  // chunks may start within quotes
+			} else {
+				csvContent.append(i).append(",name of row ").append(i).append(",2016-03-01\n");
+			}
+		}
+		final File csvFile = writeTempFile(csvContent.toString());
+		final File csvFileWithoutHeader = writeTempFile("Comment line\n10001;last\n");
+		
+		// act
+		final int result1 = SqlPojoMemoDB.importCsv("CSV_TABLE", csvFile.getAbsolutePath());
+		final Object result2 = SqlPojoMemoDB.execute("load data infile '" + csvFileWithoutHeader.getAbsolutePath() 
+		                                             + "' into table CSV_TABLE fields terminated by ';' ignore 1 lines (ID, Name)");
+		final List<Object[]> selectedRows = ((SelectionTable) SqlPojoMemoDB.execute("select ID, Name, Created from CSV_TABLE where ID in (1, 2, 3, 5000, 7000, 10001) order by ID")).getDataRows();
+		
+		// assert
+		assertEquals("row number", 10000, result1);
+		assertEquals("result", "1 data rows have been imported into CSV_TABLE.", result2);
+		assertEquals("row number", 10001, SqlPojoMemoDB.getDbStatistics().getNumberOfRows("CSV_TABLE"));
+		assertEquals("value", "Doe, \"John\"", selectedRows.get(0)[1]);
+		assertEquals("value", new SimpleDateFormat("yyyy-MM-dd").parse("2016-01-31"), selectedRows.get(0)[2]);
+		assertNull("value", selectedRows.get(1)[1]);
+		assertNull("value", selectedRows.get(1)[2]);
+		assertEquals("value", "two\nlines", selectedRows.get(2)[1]);
+		assertEquals("value", "name of row 5000", selectedRows.get(3)[1]);
+		assertEquals("value", "quoted\nrow \u00e4\"7000", selectedRows.get(4)[1]);
+		assertEquals("value", "last", selectedRows.get(5)[1]);
+	}
+
+	@Test
+	public void drawsSequenceValuesInTheOrderOfTheScriptIfExecutedInParallel() throws Exception
+	{
+		// arrange
+		final StringBuilder script = new StringBuilder();
+		script.append("create sequence TEST_SEQ start with 0 increment by 1 nocache;\n");
+		script.append("create table TABLE_A (ID NUMBER(5), Name VARCHAR(20));\n");
+		script.append("create table TABLE_B (ID NUMBER(5), Name VARCHAR(20));\n");
+		script.append("create table TABLE_C (ID NUMBER(5), Name VARCHAR(20));\n");
+		for (int i = 1; i <= 1000; i++) {
+			script.append("insert into TABLE_A (ID, Name) values (TEST_SEQ.nextval, 'a" + i + "');\n");
+			script.append("insert into TABLE_B (ID, Name) values (TEST_SEQ.nextval, 'b" + i + "');\n");
+			script.append("insert into TABLE_C (ID, Name) values (" + i + ", 'c" + i + "');\n");
+		}
+		final File scriptFile = writeTempFile(script.toString());
+		SqlStatementLoader.execAllSqlStatement(scriptFile.getAbsolutePath());
+		final List<Object[]> expectedRows = ((SelectionTable) SqlPojoMemoDB.execute("select ID, Name from TABLE_B")).getDataRows();
+		SqlPojoMemoDB.reset();
+		
+		// act
+		SqlStatementLoader.execAllSqlStatementInParallel(scriptFile.getAbsolutePath(), 4);
+		final List<Object[]> result = ((SelectionTable) SqlPojoMemoDB.execute("select ID, Name from TABLE_B")).getDataRows();
+		
+		// assert
+		assertEquals("row number", 1000, result.size());
+		assertEquals("row", Arrays.asList(new Object[] { 2000L, "b1000" }), Arrays.asList(result.get(999)));
+		for (int i = 0; i < result.size(); i++) {
+			assertEquals("row", Arrays.asList(expectedRows.get(i)), Arrays.asList(result.get(i)));
+		}
+		assertEquals("row number", 1000, SqlPojoMemoDB.getDbStatistics().getNumberOfRows("TABLE_C"));
+	}
+
+	@Test
+	public void executesStatementsOnDifferentTablesOfAScriptInParallel() throws Exception
+	{
+		// arrange
+		final StringBuilder script = new StringBuilder();
+		script.append("create table TABLE_A (ID NUMBER(5) primary key, Name VARCHAR(20));\n");
+		script.append("create table TABLE_B (ID NUMBER(5) primary key, Name VARCHAR(20));\n");
+		for (int i = 1; i <= 3000; i++) {
+			script.append("insert into TABLE_A (ID, Name) values (" + i + ", 'a" + i + "');\n");
+			script.append("insert into TABLE_B (ID, Name) values (" + i + ", 'b" + i + "');\n");
+		}
+		script.append("update TABLE_A set Name = 'updated' where ID = 3000;\n");
+		script.append("delete from TABLE_B where ID = 3000;\n");
+		script.append("create table TABLE_C (ID NUMBER(5), Name VARCHAR(20));\n");
+		script.append("insert into TABLE_C (ID, Name) select ID, Name from TABLE_A where ID in (1, 3000);\n");
+		final File scriptFile = writeTempFile(script.toString());
+		
+		// act
+		final int result = SqlStatementLoader.execAllSqlStatementInParallel(scriptFile.getAbsolutePath(), 4);
+		final List<Object[]> selectedRows = ((SelectionTable) SqlPojoMemoDB.execute("select Name from TABLE_C order by ID")).getDataRows();
+		
+		// assert
+		assertEquals("statement number", 6006, result);
+		assertEquals("row number", 3000, SqlPojoMemoDB.getDbStatistics().getNumberOfRows("TABLE_A"));
+		assertEquals("row number", 2999, SqlPojoMemoDB.getDbStatistics().getNumberOfRows("TABLE_B"));
+		assertEquals("row number", 2, selectedRows.size());
+		assertEquals("value", "a1", selectedRows.get(0)[0]);
+		assertEquals("value", "updated", selectedRows.get(1)[0]);
+	}
+
+	@Test
+	public void loadsFixtureBundleCompiledFromSqlScripts() throws Exception
+	{
+		// arrange
+		final File scriptFile = writeTempFile("create table BUNDLE_TABLE (ID NUMBER(5) primary key, Name VARCHAR(20), Amount NUMBER(30,2), Created DATE);\n"
+				+ "create sequence BUNDLE_SEQ start with 10 increment by 1;\n"
+				+ "insert into BUNDLE_TABLE (ID, Name, Amount, Created) values (1, 'first', 12.5, to_date('31.01.2016','DD.MM.RRRR'));\n"
+				+ "insert into BUNDLE_TABLE (ID, Name, Amount) values (2, null, 1234567890123456789012345.67);\n");
+		final File bundleFile = File.createTempFile("SqlPojoMemoDBTest", ".bundle");
+		bundleFile.deleteOnExit();
+		FixtureBundleCompiler.compile(bundleFile.getAbsolutePath(), scriptFile.getAbsolutePath());
+		final List<Object[]> expectedRows = ((SelectionTable) SqlPojoMemoDB.execute("select ID, Name, Amount, Created from BUNDLE_TABLE order by ID")).getDataRows();
+		SqlPojoMemoDB.reset();
+		
+		// act
+		SqlPojoMemoDB.loadFixtureBundle(bundleFile.getAbsolutePath());
+		final List<Object[]> result = ((SelectionTable) SqlPojoMemoDB.execute("select ID, Name, Amount, Created from BUNDLE_TABLE order by ID")).getDataRows();
+		
+		// assert
+		assertEquals("row number", 2, result.size());
+		for (int i = 0; i < result.size(); i++) {
+			assertEquals("row", Arrays.asList(expectedRows.get(i)), Arrays.asList(result.get(i)));
+		}
+		assertEquals("sequence value", 10, ((Sequence) SqlPojoMemoDB.getInstance().getSequenceData("BUNDLE_SEQ")).getCurrentValue());
+		try {
+			SqlPojoMemoDB.execute("insert into BUNDLE_TABLE (ID, Name) values (2, 'duplicate')");
+			fail("Expected exception was not thrown!");
+		} catch (SQLDataException e) {
+			// expected: primary key is still validated
+		}
+	}
+
+	@Test
+	public void leavesDatabaseUnchangedIfFixtureBundleCannotBeLoaded() throws Exception
+	{
+		// arrange
+		final File scriptFile = writeTempFile("create sequence BUNDLE_SEQ start with 10 increment by 1;\n"
+				+ "create table BUNDLE_TABLE_A (ID NUMBER(5) primary key);\n"
+				+ "create table BUNDLE_TABLE_B (ID NUMBER(5));\n"
+				+ "insert into BUNDLE_TABLE_A (ID) values (1);\n");
+		final File bundleFile = File.createTempFile("SqlPojoMemoDBTest", ".bundle");
+		bundleFile.deleteOnExit();
+		FixtureBundleCompiler.compile(bundleFile.getAbsolutePath(), scriptFile.getAbsolutePath());
+		SqlPojoMemoDB.reset();
+		SqlPojoMemoDB.execute( "create table BUNDLE_TABLE_B (ID NUMBER(5))" );
+		
+		// act
+		try {
+			SqlPojoMemoDB.loadFixtureBundle(bundleFile.getAbsolutePath());
+			fail("Expected exception was not thrown!");
+		} catch (SQLException e) {
+			assertEquals("error message", "A table 'BUNDLE_TABLE_B' is already existing in the database.", e.getMessage());
+		}
+		
+		// assert
+		assertEquals("table names", Arrays.asList("BUNDLE_TABLE_B"), SqlPojoMemoDB.getDbStatistics().getTableNames());
+		assertEquals("sequence number", 0, SqlPojoMemoDB.getInstance().getTableStoreMetaData().getSequences().size());
+	}
+
+	@Test
+	public void restoresSnapshotFromReplacementFileIfReplacingHasBeenInterrupted() throws Exception
+	{
+		// arrange
+		SqlPojoMemoDB.execute( "create table SNAPSHOT_TABLE (ID NUMBER(5))" );
+		SqlPojoMemoDB.execute( "insert into SNAPSHOT_TABLE (ID) values (1)" );
+		final File snapshotFile = File.createTempFile("SqlPojoMemoDBTest", ".snapshot");
+		final File replacementFile = new File(snapshotFile.getPath() + ".new");
+		replacementFile.deleteOnExit();
+		SqlPojoMemoDB.saveSnapshot(snapshotFile.getAbsolutePath());
+		assertTrue("renamed", snapshotFile.renameTo(replacementFile));  // old snapshot deleted, new one not yet renamed
+		SqlPojoMemoDB.reset();
+		
+		// act
+		SqlPojoMemoDB.loadSnapshot(snapshotFile.getAbsolutePath());
+		SqlPojoMemoDB.saveSnapshot(snapshotFile.getAbsolutePath());
+		
+		// assert
+		assertEquals("row number", 1, SqlPojoMemoDB.getDbStatistics().getNumberOfRows("SNAPSHOT_TABLE"));
+		assertTrue("file restored", snapshotFile.delete());
+		assertFalse("replacement file", replacementFile.exists());
+	}
+
+	@Test
+	public void restoresDatabaseFromSnapshot() throws Exception
+	{
+		// arrange
+		createDbStandardTestContent();
+		SqlPojoMemoDB.execute( "create index NAME_INDEX on TEST_TABLE_NAME (Name)" );
+		SqlPojoMemoDB.execute( "create table SNAPSHOT_TABLE (ID NUMBER(5) primary key, Flag VARCHAR(1))" );
+		SqlPojoMemoDB.execute( "create bitmap index FLAG_INDEX on SNAPSHOT_TABLE (Flag)" );
+		for (int i = 1; i <= 1000; i++) {
+			SqlPojoMemoDB.execute( "insert into SNAPSHOT_TABLE (ID, Flag) values (" + i + ", '" + (i % 2 == 0 ? "Y" : "N") + "')" );
+		}
+		final File snapshotFile = File.createTempFile("SqlPojoMemoDBTest", ".snapshot");
+		snapshotFile.deleteOnExit();
+		SqlPojoMemoDB.saveSnapshot(snapshotFile.getAbsolutePath());
+		SqlPojoMemoDB.execute( "delete from SNAPSHOT_TABLE where Flag = 'Y'" );
+		SqlPojoMemoDB.execute( "create table OTHER_TABLE (ID NUMBER(5))" );
+		
+		// act
+		SqlPojoMemoDB.loadSnapshot(snapshotFile.getAbsolutePath());
+		final List<Object[]> plan = ((SelectionTable) SqlPojoMemoDB.execute("explain select ID from TEST_TABLE_NAME where Name = 'def'")).getDataRows();
+		final List<Object[]> result = ((SelectionTable) SqlPojoMemoDB.execute("select ID from SNAPSHOT_TABLE where Flag = 'Y'")).getDataRows();
+		
+		// assert
+		assertEquals("table number", 2, SqlPojoMemoDB.getDbStatistics().getNumberOfTables());
+		assertEquals("row number", 4, SqlPojoMemoDB.getDbStatistics().getNumberOfRows("TEST_TABLE_NAME"));
+		assertEquals("row number", 1000, SqlPojoMemoDB.getDbStatistics().getNumberOfRows("SNAPSHOT_TABLE"));
+		assertEquals("row number", 500, result.size());
+		assertTrue("index used", ("" + plan.get(plan.size() - 1)[3]).contains("NAME_INDEX"));
+	}
+
+	@Test
+	public void attachesReadOnlyTableFromMappedSnapshot() throws Exception
+	{
+		// arrange
+		SqlPojoMemoDB.execute( "create table REFERENCE_TABLE (ID NUMBER(5) primary key, Name VARCHAR(20), Created DATE)" );
+		SqlPojoMemoDB.execute( "create table OTHER_TABLE (ID NUMBER(5))" );
+		SqlPojoMemoDB.execute( "insert into OTHER_TABLE (ID) values (1)" );
+		for (int i = 1; i <= 100; i++) {
+			SqlPojoMemoDB.execute( "insert into REFERENCE_TABLE (ID, Name, Created) values (" + i + ", 'name" + i + "', sysdate)" );
+		}
+		SqlPojoMemoDB.execute( "insert into REFERENCE_TABLE (ID) values (101)" );
+		final File snapshotFile = File.createTempFile("SqlPojoMemoDBTest", ".snapshot");
+		snapshotFile.deleteOnExit();
+		SqlPojoMemoDB.saveSnapshot(snapshotFile.getAbsolutePath());
+		SqlPojoMemoDB.reset();
+		
+		// act
+		SqlPojoMemoDB.attachReadOnlyTable(snapshotFile.getAbsolutePath(), "REFERENCE_TABLE");
+		final List<Object[]> result = ((SelectionTable) SqlPojoMemoDB.execute("select Name, Created from REFERENCE_TABLE where ID in (42, 101)")).getDataRows();
+		SqlPojoMemoDB.removeAllContentOfAllTables();
+		
+		// assert
+		assertEquals("table number", 1, SqlPojoMemoDB.getDbStatistics().getNumberOfTables());
+		assertEquals("row number", 101, SqlPojoMemoDB.getDbStatistics().getNumberOfRows("REFERENCE_TABLE"));
+		assertTrue("mapped", ((Table) SqlPojoMemoDB.getInstance().getTableStoreData().getTableData("REFERENCE_TABLE")).getDataRows() instanceof MappedDataRows);
+		assertEquals("value", "name42", result.get(0)[0]);
+		assertNotNull("value", result.get(0)[1]);
+		assertNull("value", result.get(1)[0]);
+		try {
+			SqlPojoMemoDB.execute("update REFERENCE_TABLE set Name = 'x' where ID = 1");
+			fail("Expected exception was not thrown!");
+		} catch (SQLDataException e) {
+			assertEquals("error message", "Table REFERENCE_TABLE is read-only.", e.getMessage());
+		}
+	}
+
+	@Test
+	public void replaysChangesOfWriteAheadLogAfterLastSnapshot() throws Exception
+	{
+		// arrange
+		final File snapshotFile = File.createTempFile("SqlPojoMemoDBTest", ".snapshot");
+		final File logFile = File.createTempFile("SqlPojoMemoDBTest", ".log");
+		snapshotFile.delete();
+		snapshotFile.deleteOnExit();
+		logFile.deleteOnExit();
+		SqlPojoMemoDB.startWriteAheadLog(snapshotFile.getAbsolutePath(), logFile.getAbsolutePath());
+		try {
+			SqlPojoMemoDB.execute( "create table WAL_TABLE (ID NUMBER(5) primary key, Name VARCHAR(20))" );
+			SqlPojoMemoDB.execute( "insert into WAL_TABLE (ID, Name) values (1, 'one')" );
+			SqlPojoMemoDB.checkpoint();
+			final Object preparedInsert = SqlPojoMemoDB.prepare("insert into WAL_TABLE (ID, Name) values (?, ?)");
+			SqlPojoMemoDB.execute(preparedInsert, new Object[] { Integer.valueOf(2), "two" });
+			SqlPojoMemoDB.executeBatch(preparedInsert, Arrays.asList(new Object[] { 3L, "three" }, new Object[] { new BigDecimal("4"), null }));
+			SqlPojoMemoDB.loadDataRows("WAL_TABLE", Arrays.asList("ID", "Name"), Arrays.<Object[]>asList(new Object[] { 5L, "five" }));
+			SqlPojoMemoDB.execute( "update WAL_TABLE set Name = 'updated' where ID = 1" );
+			SqlPojoMemoDB.execute( "delete from WAL_TABLE where ID = 2" );
+			SqlPojoMemoDB.execute( "select * from WAL_TABLE" );
+		} finally {
+			SqlPojoMemoDB.stopWriteAheadLog();
+		}
+		final FileOutputStream outputStream = new FileOutputStream(logFile, true);
+		try {
+			outputStream.write(new byte[] { 0, 0, 1 });  // incomplete record of a crash
+		} finally {
+			outputStream.close();
+		}
+		SqlPojoMemoDB.reset();
+		
+		// act
+		final int numberOfReplayedChanges = SqlPojoMemoDB.startWriteAheadLog(snapshotFile.getAbsolutePath(), logFile.getAbsolutePath());
+		SqlPojoMemoDB.stopWriteAheadLog();
+		final List<Object[]> result = ((SelectionTable) SqlPojoMemoDB.execute("select ID, Name from WAL_TABLE order by ID")).getDataRows();
+		
+		// assert
+		assertEquals("number of changes", 5, numberOfReplayedChanges);
+		assertEquals("row number", 4, result.size());
+		assertEquals("value", "updated", result.get(0)[1]);
+		assertEquals("value", new BigDecimal("3"), result.get(1)[0]);
+		assertNull("value", result.get(2)[1]);
+		assertEquals("value", "five", result.get(3)[1]);
+	}
+
+	@Test
+	public void rejectsAttachingTablesWhileWriteAheadLogIsActive() throws Exception
+	{
+		// arrange
+		SqlPojoMemoDB.execute( "create table REFERENCE_TABLE (ID NUMBER(5))" );
+		final File referenceFile = File.createTempFile("SqlPojoMemoDBTest", ".snapshot");
+		referenceFile.deleteOnExit();
+		SqlPojoMemoDB.saveSnapshot(referenceFile.getAbsolutePath());
+		final File snapshotFile = File.createTempFile("SqlPojoMemoDBTest", ".snapshot");
+		final File logFile = File.createTempFile("SqlPojoMemoDBTest", ".log");
+		snapshotFile.delete();
+		snapshotFile.deleteOnExit();
+		logFile.deleteOnExit();
+		SqlPojoMemoDB.startWriteAheadLog(snapshotFile.getAbsolutePath(), logFile.getAbsolutePath());
+		
+		// act
+		try {
+			SqlPojoMemoDB.attachReadOnlyTable(referenceFile.getAbsolutePath(), "REFERENCE_TABLE");
+			fail("Expected exception was not thrown!");
+		} catch (SQLException e) {
+			assertEquals("error message", "Tables cannot be attached while the write-ahead log is active.", e.getMessage());
+		} finally {
+			SqlPojoMemoDB.stopWriteAheadLog();
+		}
+		
+		// assert
+		assertEquals("table number", 0, SqlPojoMemoDB.getDbStatistics().getNumberOfTables());
+	}
+
+	@Test
+	public void skipsChangesOfWriteAheadLogContainedInSnapshot() throws Exception
+	{
+		// arrange
+		final File snapshotFile = File.createTempFile("SqlPojoMemoDBTest", ".snapshot");
+		final File logFile = File.createTempFile("SqlPojoMemoDBTest", ".log");
+		snapshotFile.delete();
+		snapshotFile.deleteOnExit();
+		logFile.deleteOnExit();
+		final File copyOfLogFile = File.createTempFile("SqlPojoMemoDBTest", ".log");
+		copyOfLogFile.deleteOnExit();
+		SqlPojoMemoDB.startWriteAheadLog(snapshotFile.getAbsolutePath(), logFile.getAbsolutePath());
+		try {
+			SqlPojoMemoDB.execute( "create table WAL_TABLE (ID NUMBER(5))" );
+			SqlPojoMemoDB.execute( "insert into WAL_TABLE (ID) values (1)" );
+			FileUtil.copyBinaryFile(logFile, copyOfLogFile);
+			SqlPojoMemoDB.checkpoint();
+		} finally {
+			SqlPojoMemoDB.stopWriteAheadLog();
+		}
+		FileUtil.copyBinaryFile(copyOfLogFile, logFile);  // crash before the log has been truncated
+		SqlPojoMemoDB.reset();
+		
+		// act
+		final int numberOfReplayedChanges = SqlPojoMemoDB.startWriteAheadLog(snapshotFile.getAbsolutePath(), logFile.getAbsolutePath());
+		try {
+			SqlPojoMemoDB.execute( "insert into WAL_TABLE (ID) values (2)" );
+		} finally {
+			SqlPojoMemoDB.stopWriteAheadLog();
+		}
+		final int numberOfChangesAfterRestart = SqlPojoMemoDB.startWriteAheadLog(snapshotFile.getAbsolutePath(), logFile.getAbsolutePath());
+		SqlPojoMemoDB.stopWriteAheadLog();
+		
+		// assert
+		assertEquals("number of changes", 0, numberOfReplayedChanges);
+		assertEquals("number of changes", 1, numberOfChangesAfterRestart);
+		assertEquals("row number", 2, SqlPojoMemoDB.getDbStatistics().getNumberOfRows("WAL_TABLE"));
+	}
+
+	@Test(timeout = 60000)
+	public void loadsSnapshotsConcurrentlyToCheckpoints() throws Exception
+	{
+		// arrange
+		SqlPojoMemoDB.execute( "create table SNAPSHOT_TABLE (ID NUMBER(5))" );
+		SqlPojoMemoDB.execute( "insert into SNAPSHOT_TABLE (ID) values (1)" );
+		final File loadedSnapshotFile = File.createTempFile("SqlPojoMemoDBTest", ".snapshot");
+		loadedSnapshotFile.deleteOnExit();
+		SqlPojoMemoDB.saveSnapshot(loadedSnapshotFile.getAbsolutePath());
+		final File snapshotFile = File.createTempFile("SqlPojoMemoDBTest", ".snapshot");
+		final File logFile = File.createTempFile("SqlPojoMemoDBTest", ".log");
+		snapshotFile.delete();
+		snapshotFile.deleteOnExit();
+		logFile.deleteOnExit();
+		SqlPojoMemoDB.startWriteAheadLog(snapshotFile.getAbsolutePath(), logFile.getAbsolutePath());
+		final ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			// act
+			final Future<Object> future = executorService.submit(new Callable<Object>() {
+				@Override
+				public Object call() throws Exception 
+				{
+					for (int i = 0; i < 50; i++) {
+						SqlPojoMemoDB.loadSnapshot(loadedSnapshotFile.getAbsolutePath());
+					}
+					return null;
+				}
+			});
+			for (int i = 0; i < 50; i++) {
+				SqlPojoMemoDB.checkpoint();
+			}
+			future.get();
+		} finally {
+			executorService.shutdown();
+			SqlPojoMemoDB.stopWriteAheadLog();
+		}
+		
+		// assert
+		assertEquals("row number", 1, SqlPojoMemoDB.getDbStatistics().getNumberOfRows("SNAPSHOT_TABLE"));
+	}
+
+	@Test
+	public void replaysConcurrentChangesInTheOrderOfTheirExecution() throws Exception
+	{
+		// arrange
+		final File snapshotFile = File.createTempFile("SqlPojoMemoDBTest", ".snapshot");
+		final File logFile = File.createTempFile("SqlPojoMemoDBTest", ".log");
+		snapshotFile.delete();
+		snapshotFile.deleteOnExit();
+		logFile.deleteOnExit();
+		final List<Object[]> expectedRows;
+		SqlPojoMemoDB.startWriteAheadLog(snapshotFile.getAbsolutePath(), logFile.getAbsolutePath());
+		try {
+			SqlPojoMemoDB.execute( "create sequence WAL_SEQ start with 100 increment by 1 nocache" );
+			SqlPojoMemoDB.execute( "create table WAL_TABLE (ID NUMBER(10), Name VARCHAR(20), Seq NUMBER(10))" );
+			SqlPojoMemoDB.execute( "insert into WAL_TABLE (ID, Name) values (1, 'initial')" );
+			final ExecutorService executorService = Executors.newFixedThreadPool(4);
+			try {
+				final List<Future<Object>> futures = new ArrayList<Future<Object>>();
+				for (int thread = 0; thread < 4; thread++) 
+				{
+					final String name = "thread" + thread;
+					futures.add(executorService.submit(new Callable<Object>() {
+						@Override
+						public Object call() throws Exception 
+						{
+							final Object preparedUpdate = SqlPojoMemoDB.prepare("update WAL_TABLE set Name = ? where ID = 1");
+							for (int i = 0; i < 100; i++) {
+								SqlPojoMemoDB.execute( "insert into WAL_TABLE (ID, Name, Seq) values (2, '" + name + "', WAL_SEQ.nextval)" );
+								SqlPojoMemoDB.execute( "update WAL_TABLE set Name = '" + name + "-" + i + "' where ID = 1" );
+								SqlPojoMemoDB.execute(preparedUpdate, new Object[] { name });
+							}
+							return null;
+						}
+					}));
+				}
+				for (Future<Object> future : futures) {
+					SqlPojoMemoDB.checkpoint();  // while the other threads change the database
+					future.get();
+				}
+			} finally {
+				executorService.shutdown();
+			}
+			expectedRows = ((SelectionTable) SqlPojoMemoDB.execute("select ID, Name, Seq from WAL_TABLE")).getDataRows();  // in the order of insertion
+		} finally {
+			SqlPojoMemoDB.stopWriteAheadLog();
+		}
+		SqlPojoMemoDB.reset();
+		
+		// act
+		SqlPojoMemoDB.startWriteAheadLog(snapshotFile.getAbsolutePath(), logFile.getAbsolutePath());
+		SqlPojoMemoDB.stopWriteAheadLog();
+		final List<Object[]> result = ((SelectionTable) SqlPojoMemoDB.execute("select ID, Name, Seq from WAL_TABLE")).getDataRows();
+		
+		// assert
+		assertEquals("row number", 401, result.size());
+		for (int i = 0; i < result.size(); i++) {
+			assertEquals("row", Arrays.asList(expectedRows.get(i)), Arrays.asList(result.get(i)));
+		}
+	}
+
+	private File writeTempFile(final String content) throws IOException 
+	{
+		final File toReturn = File.createTempFile("SqlPojoMemoDBTest", ".tmp");
+		toReturn.deleteOnExit();
+		final Writer writer = new OutputStreamWriter(new FileOutputStream(toReturn), "UTF-8");
+		try {
+			writer.write(content);
+		} finally {
+			writer.close();
+		}
+		return toReturn;
+	}
+	
+	@Test
+	public void explainsSelectPipelineAndAnalyzesRowsOfEachOperator() throws SQLException
+	{
+		// arrange
+		createDbStandardTestContent();
+		SqlPojoMemoDB.execute( "create index ID_INDEX on TEST_TABLE_NAME (ID)" );
+		final String selectStatement = "select Name from TEST_TABLE_NAME where ID = 34 order by Name";
+		
+		// act
+		final SelectionTable plan = (SelectionTable) SqlPojoMemoDB.execute("explain " + selectStatement);
+		final List<Object[]> analyzedPlan = ((SelectionTable) SqlPojoMemoDB.execute("explain analyze " + selectStatement)).getDataRows();
+		
+		// assert
+		assertEquals("column number", 4, plan.getNumberOfColumns());
+		assertEquals("operator number", 4, plan.getNumberOfRows());
+		assertEquals("operation", "PROJECTION", analyzedPlan.get(0)[2]);
+		assertEquals("operation", "SORT", analyzedPlan.get(1)[2]);
+		assertEquals("operation", "FILTER", analyzedPlan.get(2)[2]);
+		assertEquals("operation", "TABLE ACCESS BY INDEX", analyzedPlan.get(3)[2]);
+		assertEquals("parent id", "3", "" + analyzedPlan.get(3)[1]);
+		assertEquals("details", "TEST_TABLE_NAME, indexes [ID_INDEX], candidate rows 1 of 4", analyzedPlan.get(3)[3]);
+		assertEquals("actual rows", "1", "" + analyzedPlan.get(0)[4]);
+		assertEquals("actual rows", "1", "" + analyzedPlan.get(3)[4]);
+	}
+	
+	@Test
+	public void sharesParsedStatementsWithDifferentLiteralsIfLiteralsAreParameterized() throws SQLException
+	{
+		// arrange
+		createDbStandardTestContent();
+		final TableStoreStatistics dbStatistics = SqlPojoMemoDB.getDbStatistics();
+		DbProperties.PARAMETERIZE_LITERALS = true;
+		
+		try {
+			final long hitsBefore = dbStatistics.getNumberOfParsedStatementCacheHits();
+			final long missesBefore = dbStatistics.getNumberOfParsedStatementCacheMisses();
+			
+			// act
+			final List<Object[]> result1 = ((SelectionTable) SqlPojoMemoDB.execute("select Name from TEST_TABLE_NAME where ID = 34")).getDataRows();
+			final List<Object[]> result2 = ((SelectionTable) SqlPojoMemoDB.execute("select Name from TEST_TABLE_NAME where ID = 12")).getDataRows();
+			final List<Object[]> result3 = ((SelectionTable) SqlPojoMemoDB.execute("select Name from TEST_TABLE_NAME where ID = 56")).getDataRows();
+			
+			// assert
+			assertEquals("value", "def",  "" + result1.get(0)[0]);
+			assertEquals("value", "abc",  "" + result2.get(0)[0]);
+			assertEquals("value", null,  result3.get(0)[0]);
+			assertEquals("cache misses", 1, dbStatistics.getNumberOfParsedStatementCacheMisses() - missesBefore);
+			assertEquals("cache hits", 2, dbStatistics.getNumberOfParsedStatementCacheHits() - hitsBefore);
+		} finally {
+			DbProperties.PARAMETERIZE_LITERALS = false;
+		}
+	}
+	
+	@Test
+	public void validatesParameterizedLiteralsLikeLiterals() throws SQLException
+	{
+		// arrange
+		createDbStandardTestContent();
+		final String insertStatement1 = "insert into TEST_TABLE_NAME (ID, Name) values ('5', 'x')";
+		final String insertStatement2 = "insert into TEST_TABLE_NAME (ID, Name) values (5, 123)";
+		final List<String> errorMessages = new ArrayList<String>();
+		
+		// act
+		for (boolean parameterizeLiterals : new boolean[] { false, true }) 
+		{
+			DbProperties.PARAMETERIZE_LITERALS = parameterizeLiterals;
+			try {
+				for (String insertStatement : Arrays.asList(insertStatement1, insertStatement2)) 
+				{
+					try {
+						SqlPojoMemoDB.execute(insertStatement);
+						errorMessages.add(null);
+					} catch (SQLException e) {
+						errorMessages.add(e.getMessage());
+					}
+				}
+			} finally {
+				DbProperties.PARAMETERIZE_LITERALS = false;
+			}
+		}
+		
+		// assert
+		assertNotNull("error message", errorMessages.get(0));
+		assertNotNull("error message", errorMessages.get(1));
+		assertEquals("error message", errorMessages.get(0), errorMessages.get(2));
+		assertEquals("error message", errorMessages.get(1), errorMessages.get(3));
+		assertEquals("row number", 4, SqlPojoMemoDB.getDbStatistics().getNumberOfRows("TEST_TABLE_NAME"));
+	}
+	
+	@Test
+	public void selectsDataRowsUsingBitmapIndexes() throws SQLException
+	{
+		// arrange
+		SqlPojoMemoDB.execute( "create table ORDER_TABLE (ID NUMBER(3), Status VARCHAR(10), Express VARCHAR(1))" );
+		final String[] statusValues = { "OPEN", "OPEN", "OPEN", "DONE", "DONE", "NEW", "OPEN", "DONE" };
+		final String[] expressValues = { "Y", "N", "Y", "Y", "N", "Y", "N", "N" };
+		for (int i = 0; i < statusValues.length; i++) {
+			SqlPojoMemoDB.execute( "insert into ORDER_TABLE (ID, Status, Express) VALUES (" + (i+1) + ", '" 
+		                           + statusValues[i] + "', '" + expressValues[i] + "')" );
+		}
+		SqlPojoMemoDB.execute( "create bitmap index STATUS_BITMAP on ORDER_TABLE (Status)" );
+		SqlPojoMemoDB.execute( "create bitmap index EXPRESS_BITMAP on ORDER_TABLE (Express)" );
+		final String selectStatement1 =  "select ID from ORDER_TABLE where Status in ('OPEN', 'NEW') and Express='Y'";
+		final String selectStatement2 =  "select ID from ORDER_TABLE where Status='NEW' or (Status='DONE' and Express='N')";
+		
+		// act
+		final List<Object[]> result1 = ((SelectionTable) SqlPojoMemoDB.execute(selectStatement1)).getDataRows();
+		SqlPojoMemoDB.execute( "update ORDER_TABLE set Express='N' where ID=6" );
+		final List<Object[]> result2 = ((SelectionTable) SqlPojoMemoDB.execute(selectStatement2)).getDataRows();
+		
+		// assert
+		assertEquals("row number", 3, result1.size());
+		assertEquals("value", "1",  "" + result1.get(0)[0]);
+		assertEquals("value", "3",  "" + result1.get(1)[0]);
+		assertEquals("value", "6",  "" + result1.get(2)[0]);
+		assertEquals("row number", 3, result2.size());
+		assertEquals("value", "5",  "" + result2.get(0)[0]);
+		assertEquals("value", "6",  "" + result2.get(1)[0]);
+		assertEquals("value", "8",  "" + result2.get(2)[0]);
+	}
+	
+	@Test
+	public void selectsDataRowsForSubqueries() throws SQLException
+	{
+		// arrange
+		createDb_Join_BigTestContent();
+		final String selectStatement1 =  "select ID from TEST_TABLE_NAME where ID in (select ID from TEST_TABLE_NAME_2 where Type<>'T1')";
+		final String selectStatement2 =  "select ID from TEST_TABLE_NAME where ID not in (select ID from TEST_TABLE_NAME_2)";
+		final String selectStatement3 =  "select ID from TEST_TABLE_NAME where exists (select * from TEST_TABLE_NAME_2 where Type='T3')";
+		final String selectStatement4 =  "select ID from TEST_TABLE_NAME where not exists (select * from TEST_TABLE_NAME_2 where Type='T9')"
+				                         + " and ID is not null";
+
+		// act
+		final List<Object[]> result1 = ((SelectionTable) SqlPojoMemoDB.execute(selectStatement1)).getDataRows();
+		final List<Object[]> result2 = ((SelectionTable) SqlPojoMemoDB.execute(selectStatement2)).getDataRows();
+		final List<Object[]> result3 = ((SelectionTable) SqlPojoMemoDB.execute(selectStatement3)).getDataRows();
+		final List<Object[]> result4 = ((SelectionTable) SqlPojoMemoDB.execute(selectStatement4)).getDataRows();
+		
+		// assert
+		assertEquals("row number", 2, result1.size());
+		assertEquals("value", "34",  "" + result1.get(0)[0]);
+		assertEquals("value", "56",  "" + result1.get(1)[0]);
+		assertEquals("row number", 1, result2.size());
+		assertEquals("value", "12",  "" + result2.get(0)[0]);
+		assertEquals("row number", 4, result3.size());
+		assertEquals("row number", 3, result4.size());
+	}
+	
+	@Test
+	public void convertsSubqueryValuesIntoTheColumnType() throws SQLException
+	{
+		// arrange
+		SqlPojoMemoDB.execute( "create table TEST_TABLE_NAME (ID NUMBER(5), Name VARCHAR(5))" );
+		SqlPojoMemoDB.execute( "create table TEST_TABLE_NAME_2 (Value VARCHAR(5))" );
+		SqlPojoMemoDB.execute( "insert into TEST_TABLE_NAME (ID, Name) values (1, 'abc')" );
+		SqlPojoMemoDB.execute( "insert into TEST_TABLE_NAME (ID, Name) values (2, 'def')" );
+		SqlPojoMemoDB.execute( "insert into TEST_TABLE_NAME_2 (Value) values ('2')" );
+		
+		// act
+		final List<Object[]> result = ((SelectionTable) SqlPojoMemoDB.execute("select Name from TEST_TABLE_NAME where ID in (select Value from TEST_TABLE_NAME_2)")).getDataRows();
+		SqlPojoMemoDB.execute( "insert into TEST_TABLE_NAME_2 (Value) values ('x')" );
+		try {
+			SqlPojoMemoDB.execute("select Name from TEST_TABLE_NAME where ID in (select Value from TEST_TABLE_NAME_2)");
+			fail("Expected exception was not thrown!");
+		} catch (SQLDataException e) {
+			assertEquals("error message", "Insert values 'x' is no number.", e.getMessage());
+		}
+		
+		// assert
+		assertEquals("row number", 1, result.size());
+		assertEquals("value", "def", result.get(0)[0]);
+	}
+	
+	@Test
+	public void deletesDataRowsForSubquery() throws SQLException
+	{
+		// arrange
+		createDb_Join_BigTestContent();
+		
+		// act
+		final int result = (Integer) SqlPojoMemoDB.execute("delete from TEST_TABLE_NAME where ID in (select ID from TEST_TABLE_NAME_2)");
+		
+		// assert
+		assertEquals("deleted rows", 2, result);
+		assertEquals("remaining rows", 2, ((SelectionTable) SqlPojoMemoDB.execute("select * from TEST_TABLE_NAME")).getDataRows().size());
+	}
+	
+	@Test
+	public void selectsDataRowsFromCoveringIndex() throws SQLException
+	{
+		// arrange
+		createDbStandardTestContent();
+		SqlPojoMemoDB.execute( "create index NAME_ID_INDEX on TEST_TABLE_NAME (Name, ID)" );
+		SqlPojoMemoDB.execute( "insert into TEST_TABLE_NAME (ID, Name) VALUES (78, 'abx')" );
+		SqlPojoMemoDB.execute( "insert into TEST_TABLE_NAME (ID, Name) VALUES (90, 'abc')" );
+		final String selectStatement1 =  "select ID, Name from TEST_TABLE_NAME where Name like 'ab%' and ID<>78 order by ID desc";
+		final String selectStatement2 =  "select ID from TEST_TABLE_NAME where Name in ('abc', 'def') or Name='ghi'";
+
+		// act
+		final List<Object[]> result1 = ((SelectionTable) SqlPojoMemoDB.execute(selectStatement1)).getDataRows();
+		final List<Object[]> result2 = ((SelectionTable) SqlPojoMemoDB.execute(selectStatement2)).getDataRows();
+		
+		// assert
+		assertEquals("row number", 2, result1.size());
+		assertEquals("column number", 2,  result1.get(0).length);
+		assertEquals("value", "90",  "" + result1.get(0)[0]);
+		assertEquals("value", "abc",  "" + result1.get(0)[1]);
+		assertEquals("value", "12",  "" + result1.get(1)[0]);
+		assertEquals("row number", 4, result2.size());
+		assertEquals("value", "12",  "" + result2.get(0)[0]);
+		assertEquals("value", "34",  "" + result2.get(1)[0]);
+		assertEquals("value", "null",  "" + result2.get(2)[0]);
+		assertEquals("value", "90",  "" + result2.get(3)[0]);
+	}
+	
+	@Test
+	public void throwsExceptionForIndexNameDouble() throws SQLException 
+	{
+		// arrange
+		createDbStandardTestContent();
+		SqlPojoMemoDB.execute( "create index TEST_INDEX on TEST_TABLE_NAME (ID)" );
+		
+		try {
+			// act			
+			SqlPojoMemoDB.execute( "create index TEST_INDEX on TEST_TABLE_NAME (Name)" );
+			fail("Expected exception was not thrown!");
+		} catch (SQLDataException e) {			
+			assertEquals("Error message", "An index 'TEST_INDEX' is already existing for table 'TEST_TABLE_NAME'.", e.getMessage());
+		}
+ 	}
 	
 	@Test
 	public void selectsDateValuesAndConvertsThemAsString() throws SQLException
@@ -739,6 +1722,92 @@ public class SqlPojoMemoDBTest {
 		assertEquals("current value", 123, sequence.getCurrentValue());
 	}
 
+	@Test
+	public void findsSequenceValuesInIndexedNumberColumns() throws SQLException
+	{
+		// arrange
+		SqlPojoMemoDB.execute( "create sequence TEST_SEQ start with 1 increment by 1 nocache" );
+		SqlPojoMemoDB.execute( "create table TEST_TABLE_NAME (ID NUMBER primary key, Name VARCHAR(5))" );
+		
+		// act
+		SqlPojoMemoDB.execute( "insert into TEST_TABLE_NAME (ID, Name) VALUES (TEST_SEQ.nextval, 'abc')" );
+		SqlPojoMemoDB.execute( "insert into TEST_TABLE_NAME (ID, Name) VALUES (TEST_SEQ.nextval, 'def')" );
+		final List<Object[]> result1 = ((SelectionTable) SqlPojoMemoDB.execute("select Name from TEST_TABLE_NAME where ID = 3")).getDataRows();
+		final List<Object[]> result2 = ((SelectionTable) SqlPojoMemoDB.execute("select Name from TEST_TABLE_NAME where ID in (2, 3) order by ID desc")).getDataRows();
+		
+		// assert
+		assertEquals("number of rows", 1, result1.size());
+		assertEquals("Name", "def", result1.get(0)[0]);
+		assertEquals("number of rows", 2, result2.size());
+		assertEquals("Name", "def", result2.get(0)[0]);
+		assertEquals("Name", "abc", result2.get(1)[0]);
+	}
+
+	@Test
+	public void selectsAllRowsOnExecuteButOnDemandOnExecuteQuery() throws SQLException
+	{
+		// arrange
+		SqlPojoMemoDB.execute( "create table TEST_TABLE_NAME (ID VARCHAR(10), Name VARCHAR(5))" );
+		SqlPojoMemoDB.execute( "insert into TEST_TABLE_NAME (ID, Name) VALUES ('1', 'abc')" );
+		SqlPojoMemoDB.execute( "insert into TEST_TABLE_NAME (ID, Name) VALUES ('2', 'def')" );
+		
+		// act
+		final SelectionTable result1 = (SelectionTable) SqlPojoMemoDB.execute("select Name from TEST_TABLE_NAME where ID <> '0'");
+		final SelectionTable result2 = (SelectionTable) SqlPojoMemoDB.executeQuery("select Name from TEST_TABLE_NAME where ID <> '0'");
+		
+		// assert
+		assertNull("row source", result1.getRowSource());
+		assertEquals("number of fetched rows", 2, result1.getFetchedDataRows().size());
+		assertNotNull("row source", result2.getRowSource());
+		assertEquals("number of fetched rows", 0, result2.getFetchedDataRows().size());
+		assertEquals("number of rows", 2, result2.fetchAllRows().size());
+	}
+
+	@Test
+	public void rebuildsIndexesForConcurrentQueries() throws Exception
+	{
+		// arrange
+		SqlPojoMemoDB.execute( "create table TEST_TABLE_NAME (ID VARCHAR(10), Flag VARCHAR(1))" );
+		SqlPojoMemoDB.execute( "create index ID_INDEX on TEST_TABLE_NAME (ID)" );
+		SqlPojoMemoDB.execute( "create bitmap index FLAG_INDEX on TEST_TABLE_NAME (Flag)" );
+		final List<Object[]> valueRows = new ArrayList<Object[]>();
+		for (int i = 0; i < 20000; i++) {
+			valueRows.add(new Object[] { "k" + i, i % 2 == 0 ? "Y" : "N" });
+		}
+		SqlPojoMemoDB.loadDataRows("TEST_TABLE_NAME", Arrays.asList("ID", "Flag"), valueRows);
+		final ExecutorService executorService = Executors.newFixedThreadPool(4);
+		
+		// act
+		final List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+		try {
+			for (int round = 0; round < 5; round++) 
+			{
+				SqlPojoMemoDB.execute( "update TEST_TABLE_NAME set Flag = 'Y' where ID = 'k" + round + "'" );  // outdates the indexes
+				final List<Future<Integer>> futuresOfRound = new ArrayList<Future<Integer>>();
+				for (int thread = 0; thread < 4; thread++) 
+				{
+					futuresOfRound.add(executorService.submit(new Callable<Integer>() {
+						@Override
+						public Integer call() throws Exception {
+							return ((SelectionTable) SqlPojoMemoDB.execute("select ID from TEST_TABLE_NAME where ID = 'k19999' and Flag = 'N'")).getDataRows().size();
+						}
+					}));
+				}
+				for (Future<Integer> future : futuresOfRound) {
+					future.get();
+				}
+				futures.addAll(futuresOfRound);
+			}
+		} finally {
+			executorService.shutdown();
+		}
+		
+		// assert
+		for (Future<Integer> future : futures) {
+			assertEquals("row number", Integer.valueOf(1), future.get());
+		}
+	}
+
 	@Test
 	public void usesSequence() throws SQLException
 	{
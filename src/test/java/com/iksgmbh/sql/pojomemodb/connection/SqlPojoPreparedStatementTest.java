@@ -16,8 +16,13 @@
 package com.iksgmbh.sql.pojomemodb.connection;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
+import java.math.BigDecimal;
+import java.sql.BatchUpdateException;
 import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.Arrays;
 
 import org.junit.Test;
 
@@ -55,4 +60,120 @@ public class SqlPojoPreparedStatementTest {
 		assertEquals("result", "select * from TEN_SUM_FIELD where ID=1", result);
 	}
 
+	@Test
+	public void executesStatementsWithBoundTypedParameterValues() throws Exception 
+	{
+		// arrange
+		SqlPojoMemoDB.reset();
+		SqlPojoMemoDB.execute("create table PREPARED_PERSON (ID NUMBER(5), NAME VARCHAR(20), SALARY NUMBER(10,2), BIRTHDAY DATE)");
+		final Timestamp birthday = new Timestamp(1000000000000L);
+		final SqlPojoPreparedStatement insertStatement = new SqlPojoPreparedStatement(
+				"insert into PREPARED_PERSON (ID, NAME, SALARY, BIRTHDAY) values (?, ?, ?, ?)");
+		final SqlPojoPreparedStatement selectStatement = new SqlPojoPreparedStatement(
+				"select ID, SALARY from PREPARED_PERSON where NAME = ? and BIRTHDAY = ?");
+		final SqlPojoPreparedStatement updateStatement = new SqlPojoPreparedStatement(
+				"update PREPARED_PERSON set SALARY = ? where NAME like ?");
+		
+		// act
+		for (int id = 1; id <= 2; id++) 
+		{
+			insertStatement.clearParameters();
+			insertStatement.setInt(1, id);
+			insertStatement.setString(2, "O'Brien " + id);  // would be an invalid literal in the sql
+			insertStatement.setBigDecimal(3, new BigDecimal("1000.50"));
+			insertStatement.setTimestamp(4, birthday);
+			insertStatement.execute();
+		}
+		updateStatement.setBigDecimal(1, new BigDecimal("2000"));
+		updateStatement.setString(2, "%2");
+		final int numberOfUpdatedRows = updateStatement.executeUpdate();
+		selectStatement.setString(1, "O'Brien 2");
+		selectStatement.setTimestamp(2, birthday);
+		final ResultSet result = selectStatement.executeQuery();
+		
+		// assert
+		assertEquals("number of updated rows", 1, numberOfUpdatedRows);
+		assertEquals("row found", true, result.next());
+		assertEquals("id", 2, result.getInt(1));
+		assertEquals("salary", new BigDecimal("2000"), result.getBigDecimal(2));
+		assertEquals("more rows found", false, result.next());
+	}
+
+	@Test
+	public void executesBatchOfParameterValueSets() throws Exception 
+	{
+		// arrange
+		SqlPojoMemoDB.reset();
+		SqlPojoMemoDB.execute("create table BATCH_PERSON (ID NUMBER(5) primary key, NAME VARCHAR(20))");
+		final SqlPojoPreparedStatement insertStatement = new SqlPojoPreparedStatement(
+				"insert into BATCH_PERSON (ID, NAME) values (?, ?)");
+		final SqlPojoPreparedStatement updateStatement = new SqlPojoPreparedStatement(
+				"update BATCH_PERSON set NAME = ? where ID = ?");
+		
+		for (int id = 1; id <= 3; id++) 
+		{
+			insertStatement.setInt(1, id);
+			insertStatement.setString(2, "Person " + id);
+			insertStatement.addBatch();
+		}
+		updateStatement.setString(1, "Changed");
+		updateStatement.setInt(2, 2);
+		updateStatement.addBatch();
+		updateStatement.setString(1, "Changed");
+		updateStatement.setInt(2, 4);
+		updateStatement.addBatch();
+		
+		// act
+		final int[] insertCounts = insertStatement.executeBatch();
+		final int[] updateCounts = updateStatement.executeBatch();
+		insertStatement.setInt(1, 4);
+		insertStatement.setString(2, "Person 4");
+		insertStatement.addBatch();
+		insertStatement.setInt(1, 1);
+		insertStatement.setString(2, "Duplicate");
+		insertStatement.addBatch();
+		try {
+			insertStatement.executeBatch();
+			fail("Expected exception was not thrown!");
+		} catch (BatchUpdateException e) {
+			// assert
+			assertEquals("update counts", 0, e.getUpdateCounts().length);
+		}
+		
+		// assert
+		assertEquals("insert counts", "[1, 1, 1]", Arrays.toString(insertCounts));
+		assertEquals("update counts", "[1, 0]", Arrays.toString(updateCounts));
+		assertEquals("number of rows", 3, SqlPojoMemoDB.getDbStatistics().getNumberOfRows("BATCH_PERSON"));
+	}
+
+	@Test
+	public void reportsUpdateCountsOfAppliedSetsIfUpdateBatchFails() throws Exception 
+	{
+		// arrange
+		SqlPojoMemoDB.reset();
+		SqlPojoMemoDB.execute("create table BATCH_PERSON (ID NUMBER(5) primary key, NAME VARCHAR(20))");
+		SqlPojoMemoDB.execute("insert into BATCH_PERSON (ID, NAME) values (1, 'Person 1')");
+		SqlPojoMemoDB.execute("insert into BATCH_PERSON (ID, NAME) values (2, 'Person 2')");
+		final SqlPojoPreparedStatement updateStatement = new SqlPojoPreparedStatement(
+				"update BATCH_PERSON set NAME = ? where ID = ?");
+		updateStatement.setString(1, "Changed");
+		updateStatement.setInt(2, 1);
+		updateStatement.addBatch();
+		updateStatement.setString(1, "Changed");
+		updateStatement.setInt(2, 3);
+		updateStatement.addBatch();
+		updateStatement.setString(1, "Changed");
+		updateStatement.setString(2, "no number");
+		updateStatement.addBatch();
+		
+		// act
+		try {
+			updateStatement.executeBatch();
+			fail("Expected exception was not thrown!");
+		} catch (BatchUpdateException e) {
+			// assert
+			assertEquals("update counts", "[1, 0]", Arrays.toString(e.getUpdateCounts()));
+		}
+	}
+
 }
\ No newline at end of file
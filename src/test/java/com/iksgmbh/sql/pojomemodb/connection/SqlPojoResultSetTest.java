@@ -18,9 +18,11 @@ package com.iksgmbh.sql.pojomemodb.connection;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.math.BigDecimal;
 import java.sql.SQLDataException;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -30,7 +32,9 @@ import org.junit.Test;
 
 import com.iksgmbh.sql.pojomemodb.dataobjects.persistent.Table;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.ColumnInitData;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.RowOperator;
 import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.SelectionTable;
+import com.iksgmbh.sql.pojomemodb.dataobjects.temporal.TableScanOperator;
 
 public class SqlPojoResultSetTest 
 {
@@ -219,7 +223,96 @@ public class SqlPojoResultSetTest
 		assertEquals("field content", dataset4[0], bd);
 	}
 
+	@Test
+	public void fetchesRowsFromSelectPipelineOnDemand() throws Exception 
+	{
+		// arrange
+		list.add(new Object[] {"A"});
+		list.add(new Object[] {"B"});
+		list.add(new Object[] {"C"});
+		final SelectionTable selectionTable = createSelectionTable();
+		selectionTable.setRowSource(new TableScanOperator(list, null));
+		final SqlPojoResultSet cut = new SqlPojoResultSet(selectionTable);
+		
+		// act
+		boolean next1 = cut.next();
+		final int numberOfFetchedRows = selectionTable.getFetchedDataRows().size();
+		final String value1 = cut.getString(1);
+		boolean next2 = cut.next();
+		boolean next3 = cut.next();
+		boolean next4 = cut.next();
+		final boolean first = cut.first();
+		
+		// assert
+		assertTrue("true expected", next1);
+		assertEquals("number of fetched rows", 1, numberOfFetchedRows);
+		assertEquals("field content", "A", value1);
+		assertTrue("true expected", next2);
+		assertTrue("true expected", next3);
+		assertFalse("false expected", next4);
+		assertTrue("true expected", first);
+		assertEquals("field content", "A", cut.getString(1));
+	}
+
+	@Test
+	public void throwsSelectionErrorOnNext() throws Exception 
+	{
+		// arrange
+		final SelectionTable selectionTable = createSelectionTable();
+		selectionTable.setRowSource(createFailingRowSource());
+		final SqlPojoResultSet cut = new SqlPojoResultSet(selectionTable);
+		
+		try {
+			// act
+			cut.next();
+			fail("Expected exception was not thrown!");
+		} catch (SQLException e) {
+			// assert
+			assertEquals("Error message", "Selection failed.", e.getMessage());
+		}
+	}
+
+	@Test
+	public void throwsSelectionErrorOnFetchingAllRows() throws Exception 
+	{
+		// arrange
+		final SelectionTable selectionTable = createSelectionTable();
+		selectionTable.setRowSource(createFailingRowSource());
+		
+		try {
+			// act
+			selectionTable.fetchAllRows();
+			fail("Expected exception was not thrown!");
+		} catch (SQLDataException e) {
+			// assert
+			assertEquals("Error message", "Selection failed.", e.getMessage());
+		}
+	}
+
+	private RowOperator createFailingRowSource() 
+	{
+		return new RowOperator() 
+		{
+			@Override protected Object[] computeNextRow() throws SQLDataException {
+				throw new SQLDataException("Selection failed.");
+			}
+			@Override public String getOperation() {
+				return "FAILING";
+			}
+			@Override public String getDetails() {
+				return "";
+			}
+		};
+	}
+
     private SqlPojoResultSet createCut(final List<Object[]> dataRows) throws SQLDataException
+    {
+		final SelectionTable selectionTable = createSelectionTable();
+        selectionTable.setDataRows(dataRows);
+        return new SqlPojoResultSet(selectionTable);
+    }
+
+    private SelectionTable createSelectionTable() throws SQLDataException
     {
         final Table table = new Table("TestTable");
         final ColumnInitData columnInitData = new ColumnInitData("TestCol");
@@ -227,9 +320,7 @@ public class SqlPojoResultSetTest
 		table.createNewColumn(columnInitData, null);
         ArrayList<String> sortedColumnNames = new ArrayList<String>();
         sortedColumnNames.add("TestCol");
-		final SelectionTable selectionTable = new SelectionTable(table, sortedColumnNames);
-        selectionTable.setDataRows(dataRows);
-        return new SqlPojoResultSet(selectionTable);
+		return new SelectionTable(table, sortedColumnNames);
     }
    
 }
\ No newline at end of file
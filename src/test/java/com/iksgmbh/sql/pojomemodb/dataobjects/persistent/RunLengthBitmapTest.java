@@ -0,0 +1,90 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.dataobjects.persistent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+public class RunLengthBitmapTest {
+
+	@Test
+	public void storesConsecutivePositionsAsRuns() 
+	{
+		// act
+		final RunLengthBitmap result = createBitmap(1, 2, 3, 4, 8, 9);
+		
+		// assert
+		assertEquals("number of runs", 2, result.getNumberOfRuns());
+		assertEquals("cardinality", 6, result.cardinality());
+		assertEquals("positions", "{1, 2, 3, 4, 8, 9}", result.toBitSet().toString());
+	}
+
+	@Test
+	public void combinesBitmapsWithAnd() 
+	{
+		// arrange
+		final RunLengthBitmap bitmap1 = createBitmap(0, 1, 2, 3, 7, 8, 9, 12);
+		final RunLengthBitmap bitmap2 = createBitmap(2, 3, 4, 5, 6, 7, 9, 13);
+		
+		// act
+		final RunLengthBitmap result = bitmap1.and(bitmap2);
+		
+		// assert
+		assertEquals("positions", "{2, 3, 7, 9}", result.toBitSet().toString());
+	}
+
+	@Test
+	public void combinesBitmapsWithOr() 
+	{
+		// arrange
+		final RunLengthBitmap bitmap1 = createBitmap(0, 1, 5, 12);
+		final RunLengthBitmap bitmap2 = createBitmap(2, 3, 5, 6, 20);
+		
+		// act
+		final RunLengthBitmap result = bitmap1.or(bitmap2);
+		
+		// assert
+		assertEquals("positions", "{0, 1, 2, 3, 5, 6, 12, 20}", result.toBitSet().toString());
+		assertEquals("number of runs", 4, result.getNumberOfRuns());
+	}
+
+	@Test
+	public void throwsExceptionForPositionsNotInAscendingOrder() 
+	{
+		// arrange
+		final RunLengthBitmap bitmap = createBitmap(3, 4);
+		
+		try {
+			// act
+			bitmap.add(2);
+			fail("Expected exception was not thrown!");
+		} catch (IllegalArgumentException e) {
+			// assert
+			assertEquals("Error message", "Position 2 must be added in ascending order.", e.getMessage());
+		}
+	}
+
+	private RunLengthBitmap createBitmap(final int... positions) 
+	{
+		final RunLengthBitmap toReturn = new RunLengthBitmap();
+		for (int position : positions) {
+			toReturn.add(position);
+		}
+		return toReturn;
+	}
+}
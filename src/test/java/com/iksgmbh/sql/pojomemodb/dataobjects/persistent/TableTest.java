@@ -87,6 +87,38 @@ public class TableTest {
 	}
 
 	
+	@Test
+	public void reusesResolvedProjectionForSameSelectedColumns() throws SQLDataException 
+	{
+		// arrange
+        sut.createNewColumn(createColumnInitData("Column1", "Date"), null);
+        sut.createNewColumn(createColumnInitData("Column2", "varchar(50)"), null);
+		final List<ApartValue> values = new ArrayList<ApartValue>();
+		values.add(new ApartValue("to_date('15.05.16','DD.MM.RR')", "Column1"));
+		values.add(new ApartValue("'Test'", "Column2"));
+		sut.insertDataRow(values);
+		
+		// act
+		final List<Object[]> result1 = sut.select(createSelectedColumns(), new ArrayList<WhereCondition>(), new ArrayList<OrderCondition>());
+		final List<String> selectedColumns = createSelectedColumns();
+		final List<Object[]> result2 = sut.select(selectedColumns, new ArrayList<WhereCondition>(), new ArrayList<OrderCondition>());
+		
+		// assert
+		assertEquals("number of cached projections", 1, sut.projectionCache.size());
+		assertEquals("column value", "Test", result1.get(0)[0]);
+		assertEquals("column value", "Test", result2.get(0)[0]);
+		assertEquals("date value", "15.05.2016", result2.get(0)[1]);
+		assertEquals("column name", "Column1", selectedColumns.get(1));
+	}
+
+	private List<String> createSelectedColumns() 
+	{
+		final List<String> toReturn = new ArrayList<String>();
+		toReturn.add("Column2");
+		toReturn.add("to_char(Column1, 'dd.mm.yyyy')");
+		return toReturn;
+	}
+	
 	@Test
 	public void buildsCloneOfDataRows() throws SQLDataException {
 
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.sqlparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+
+import org.junit.Test;
+
+import com.iksgmbh.sql.pojomemodb.SqlExecutor.ParsedIndexData;
+
+
+public class CreateIndexParserTest {
+	
+	private CreateIndexParser sut = new CreateIndexParser(null);
+
+	@Test
+	public void parsesCreateIndexStatement() throws SQLException 
+	{
+		// arrange
+		final String createIndexStatement = "CREATE INDEX \"TEST_IDX\" ON \"TEST_TABLE\" (\"ID\", Name) TABLESPACE USERS;";
+		
+		// act
+		final ParsedIndexData result = sut.parseCreateIndexStatement(createIndexStatement);
+		
+		// assert
+		assertEquals("indexName", "TEST_IDX", result.indexName);
+		assertEquals("tableName", "TEST_TABLE", result.tableName);
+		assertEquals("columnNames", "[ID, NAME]", result.columnNames.toString());
+	}
+
+	@Test
+	public void parsesCreateBitmapIndexStatement() throws SQLException 
+	{
+		// arrange
+		final String createIndexStatement = "create bitmap index STATUS_IDX on TEST_TABLE (Status)";
+		
+		// act
+		final ParsedIndexData result = sut.parseCreateIndexStatement(createIndexStatement);
+		
+		// assert
+		assertEquals("indexName", "STATUS_IDX", result.indexName);
+		assertEquals("tableName", "TEST_TABLE", result.tableName);
+		assertEquals("columnNames", "[STATUS]", result.columnNames.toString());
+		assertEquals("bitmap", true, result.bitmap);
+	}
+
+	@Test
+	public void throwsExceptionForMissingColumnList() throws SQLException 
+	{
+		// arrange
+		final String createIndexStatement = "create index TEST_IDX on TEST_TABLE";
+		
+		try {
+			// act
+			sut.parseCreateIndexStatement(createIndexStatement);
+			fail("Expected exception was not thrown!");
+		} catch (Exception e) {
+			// assert
+			assertEquals("Error message", "Missing column list for index 'TEST_IDX' in: create index TEST_IDX on TEST_TABLE", e.getMessage());
+		}
+	}
+	
+}
@@ -61,6 +61,25 @@ public class InsertIntoParserTest {
 		assertEquals("column name", "ID",  result.columnNames.get(1));
  	}
 		
+	@Test
+	public void parsesInsertDataOfSeveralRowsAndInsertSelect() throws SQLException 
+	{
+		// arrange
+		final String insertStatement1 = "insert into TEST_TABLE_NAME (NAME, ID) VALUES ('abc', 12), ('def', 34),('ghi', 56)";
+		final String insertStatement2 = "insert into TEST_TABLE_NAME select NAME, ID from OTHER_TABLE where ID > 5";
+		
+		// act
+		final ParsedInsertData result1 = sut.parseInsertStatement(insertStatement1);
+		final ParsedInsertData result2 = sut.parseInsertStatement(insertStatement2);
+		
+		// assert
+		assertEquals("number of rows", 3,  result1.dataValueRows.size());
+		assertEquals("data value", "'def'",  result1.dataValueRows.get(1).get(0));
+		assertEquals("data value", "56",  result1.dataValueRows.get(2).get(1));
+		assertEquals("column names", null,  result2.columnNames);
+		assertEquals("select statement", "select NAME, ID from OTHER_TABLE where ID > 5",  result2.selectSql);
+ 	}
+	
 	@Test
 	public void parsesApostophy() throws SQLException 
 	{
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.sqlparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class ParsedStatementCacheTest
+{
+	@Test
+	public void removesLeastRecentlyUsedStatement() 
+	{
+		// arrange
+		final ParsedStatementCache sut = new ParsedStatementCache(2);
+		sut.put("select A from T", "A");
+		sut.put("select B from T", "B");
+		sut.get("select A from T");
+		
+		// act
+		sut.put("select C from T", "C");
+		
+		// assert
+		assertEquals("size", 2, sut.size());
+		assertEquals("parse result", "A", sut.get("select A from T"));
+		assertNull("parse result", sut.get("select B from T"));
+		assertEquals("parse result", "C", sut.get("select C from T"));
+		assertEquals("hits", 3, sut.getNumberOfHits());
+		assertEquals("misses", 1, sut.getNumberOfMisses());
+	}
+
+	@Test
+	public void normalizesWhiteSpaceOutsideOfQuotes() 
+	{
+		// act
+		final String result1 = ParsedStatementCache.normalize("  select  *\tfrom T where Name = 'a   b'  ");
+		final String result2 = ParsedStatementCache.normalize("select * from T");
+		
+		// assert
+		assertEquals("normalized sql", "select * from T where Name = 'a   b'", result1);
+		assertEquals("normalized sql", "select * from T", result2);
+	}
+}
@@ -178,6 +178,78 @@ public class SelectParserTest
 		assertEquals("value", "123",  result.whereConditions.get(1).getValueAsString() );
 	}
 
+	@Test
+	public void parsesSelectStatementWithKeywordsInStringLiteralsAndDecimalNumbers() throws SQLException
+	{
+		// arrange
+		final String selectStatement =  "select Name from TEST_TABLE_NAME where Name='from x where y order by z' AND ID>=34.00 order by Name desc";
+
+		// act
+		final ParsedSelectData result = sut.parseSelectSql(selectStatement);
+		
+		// assert
+		assertEquals("tableName", "TEST_TABLE_NAME", result.tableNames.get(0));
+		assertEquals("number of where conditions", 2,  result.whereConditions.size() );
+		assertEquals("value", "'from x where y order by z'",  result.whereConditions.get(0).getValueAsString() );
+		assertEquals("column name", "ID",  result.whereConditions.get(1).getColumnName() );
+		assertEquals("Comparator", ">=",  result.whereConditions.get(1).getComparator() );
+		assertEquals("value", "34.00",  result.whereConditions.get(1).getValueAsString() );
+		assertEquals("number of order conditions", 1,  result.orderConditions.size() );
+		assertEquals("order column", "Name",  result.orderConditions.get(0).getColumnName() );
+	}
+
+	@Test
+	public void parsesSelectStatementWithBooleanExpression() throws SQLException
+	{
+		// arrange
+		final String selectStatement =  "select Name from TEST_TABLE_NAME where (ID=1 OR Name='x or y' and not (ID=2)) AND ID in (1, 2)";
+
+		// act
+		final ParsedSelectData result = sut.parseSelectSql(selectStatement);
+		
+		// assert
+		assertEquals("number of where conditions", 2,  result.whereConditions.size() );
+		assertEquals("first condition", "WhereCondition [OR [WhereCondition [ID = 1], WhereCondition [AND [WhereCondition [Name = 'x or y'], "
+				     + "WhereCondition [NOT [WhereCondition [ID = 2]]]]]]]",  result.whereConditions.get(0).toString() );
+		assertEquals("second condition", "WhereCondition [ID IN (1, 2)]",  result.whereConditions.get(1).toString() );
+	}
+
+	@Test
+	public void parsesSelectStatementWithSubqueries() throws SQLException
+	{
+		// arrange
+		final String selectStatement =  "select Name from TEST_TABLE_NAME where ID not in (select ID from OTHER where Name='a and b') "
+		                                + "and not exists (select * from OTHER)";
+
+		// act
+		final ParsedSelectData result = sut.parseSelectSql(selectStatement);
+		
+		// assert
+		assertEquals("number of where conditions", 2,  result.whereConditions.size() );
+		assertEquals("first condition", "WhereCondition [ID NOT IN (select ID from OTHER where Name='a and b')]",  
+				     result.whereConditions.get(0).toString() );
+		assertEquals("second condition", "WhereCondition [NOT [WhereCondition [EXISTS (select * from OTHER)]]]",  
+				     result.whereConditions.get(1).toString() );
+	}
+
+	@Test
+	public void parsesSelectStatementWithLikeConditions() throws SQLException
+	{
+		// arrange
+		final String selectStatement =  "select Name from TEST_TABLE_NAME where Name like 'a=b%' AND Name NOT LIKE '%c_'";
+
+		// act
+		final ParsedSelectData result = sut.parseSelectSql(selectStatement);
+		
+		// assert
+		assertEquals("number of where conditions", 2,  result.whereConditions.size() );
+		assertEquals("column name", "Name",  result.whereConditions.get(0).getColumnName() );
+		assertEquals("Comparator", "LIKE",  result.whereConditions.get(0).getComparator() );
+		assertEquals("value", "'a=b%'",  result.whereConditions.get(0).getValueAsString() );
+		assertEquals("Comparator", "NOT LIKE",  result.whereConditions.get(1).getComparator() );
+		assertEquals("value", "'%c_'",  result.whereConditions.get(1).getValueAsString() );
+	}
+
 	
 	// #############################################################################################
 	//                                   J O I N    T E S T S
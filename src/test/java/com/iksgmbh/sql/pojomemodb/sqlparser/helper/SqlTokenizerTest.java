@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.sqlparser.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.iksgmbh.sql.pojomemodb.sqlparser.helper.SqlToken.Type;
+
+public class SqlTokenizerTest
+{
+	@Test
+	public void splitsStatementIntoTokens() throws SQLException 
+	{
+		// arrange
+		final SqlTokenizer sut = new SqlTokenizer("select T1.ID from T1 where Name<>'it''s, (x)' and ID>=12.5");
+		
+		// act
+		final StringBuilder result = new StringBuilder();
+		while (sut.hasNext()) {
+			result.append(sut.next()).append(" ");
+		}
+		
+		// assert
+		assertEquals("tokens", "IDENTIFIER[select] IDENTIFIER[T1.ID] IDENTIFIER[from] IDENTIFIER[T1] IDENTIFIER[where] "
+				               + "IDENTIFIER[Name] SYMBOL[<>] STRING['it''s, (x)'] IDENTIFIER[and] "
+				               + "IDENTIFIER[ID] SYMBOL[>=] NUMBER[12.5] ", result.toString());
+	}
+
+	@Test
+	public void parsesParenthesizedListInOriginalNotation() throws SQLException 
+	{
+		// arrange
+		final SqlTokenizer sut = new SqlTokenizer("( 1, 'a,b' , to_date('15.05.16', 'DD.MM.RR'),  null ) rest");
+		
+		// act
+		final List<String> result = sut.parseParenthesizedList();
+		
+		// assert
+		assertEquals("number of values", 4, result.size());
+		assertEquals("value", "1", result.get(0));
+		assertEquals("value", "'a,b'", result.get(1));
+		assertEquals("value", "to_date('15.05.16', 'DD.MM.RR')", result.get(2));
+		assertEquals("value", "null", result.get(3));
+		assertTrue("rest", sut.isKeywordAhead("REST"));
+	}
+
+	@Test
+	public void findsKeywordsOutsideOfParenthesesOnly() throws SQLException 
+	{
+		// arrange
+		final SqlTokenizer sut = new SqlTokenizer("select ID from T where ID in (select ID from U order by ID) order  by ID");
+		
+		// act
+		final int result = sut.indexOfKeyword("ORDER BY");
+		
+		// assert
+		assertEquals("index", 16, result);
+		assertEquals("type", Type.IDENTIFIER, sut.createSubTokenizer(result, sut.getLimit()).next().getType());
+	}
+
+	@Test
+	public void throwsExceptionForUnterminatedStringLiteral() 
+	{
+		try {
+			// act
+			new SqlTokenizer("insert into T (ID) values ('x)");
+			fail("Expected exception was not thrown!");
+		} catch (SQLException e) {
+			// assert
+			assertEquals("Error message", "Missing closing ' in: insert into T (ID) values ('x)", e.getMessage());
+		}
+	}
+}
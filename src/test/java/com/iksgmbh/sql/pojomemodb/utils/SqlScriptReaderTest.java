@@ -0,0 +1,94 @@
+/*
+ * Copyright 2016 IKS Gesellschaft fuer Informations- und Kommunikationssysteme mbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iksgmbh.sql.pojomemodb.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import org.junit.Test;
+
+public class SqlScriptReaderTest
+{
+	@Test
+	public void readsStatementsOneByOneRespectingQuotesAndComments() throws IOException 
+	{
+		// arrange
+		final File scriptFile = writeTempFile("-- comment; not a statement\r\n"
+				+ "insert into T (A) values ('a;b''c');\r\n"
+				+ "\r\n"
+				+ "insert into T (\"A;\") /* block; comment */ values ('x'); -- trailing comment\n"
+				+ ";;\n"
+				+ "select * from T");
+		final SqlScriptReader reader = new SqlScriptReader(scriptFile);
+		
+		// act
+		final String statement1 = reader.nextStatement();
+		final int lineNumber1 = reader.getStatementLineNumber();
+		final String statement2 = reader.nextStatement();
+		final int lineNumber2 = reader.getStatementLineNumber();
+		final String statement3 = reader.nextStatement();
+		final String statement4 = reader.nextStatement();
+		reader.close();
+		
+		// assert
+		assertEquals("statement", "insert into T (A) values ('a;b''c')", statement1);
+		assertEquals("line number", 2, lineNumber1);
+		assertEquals("statement", "insert into T (\"A;\")   values ('x')", statement2);
+		assertEquals("line number", 4, lineNumber2);
+		assertEquals("statement", "select * from T", statement3);
+		assertNull("end of file", statement4);
+	}
+
+	@Test
+	public void readsStatementsLargerThanTheBuffer() throws IOException 
+	{
+		// arrange
+		final StringBuilder longValue = new StringBuilder();
+		for (int i = 0; i < 100000; i++) {
+			longValue.append("\u00e4");
+		}
+		final File scriptFile = writeTempFile("insert into T (A) values ('" + longValue + "');\nselect * from T;\n");
+		final SqlScriptReader reader = new SqlScriptReader(scriptFile);
+		
+		// act
+		final String statement1 = reader.nextStatement();
+		final String statement2 = reader.nextStatement();
+		reader.close();
+		
+		// assert
+		assertEquals("statement", "insert into T (A) values ('" + longValue + "')", statement1);
+		assertEquals("statement", "select * from T", statement2);
+	}
+
+	private File writeTempFile(final String content) throws IOException 
+	{
+		final File toReturn = File.createTempFile("SqlScriptReaderTest", ".sql");
+		toReturn.deleteOnExit();
+		final Writer writer = new OutputStreamWriter(new FileOutputStream(toReturn), "UTF-8");
+		try {
+			writer.write(content);
+		} finally {
+			writer.close();
+		}
+		return toReturn;
+	}
+}
\ No newline at end of file
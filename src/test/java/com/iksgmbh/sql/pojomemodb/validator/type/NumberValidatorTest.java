@@ -1,5 +1,6 @@
 package com.iksgmbh.sql.pojomemodb.validator.type;
 
+import com.iksgmbh.sql.pojomemodb.validator.ValueComparator;
 import com.iksgmbh.sql.pojomemodb.validator.type.NumberTypeValidator;
 import org.junit.Test;
 
@@ -27,6 +28,21 @@ public class NumberValidatorTest {
         assertNull(validator.isValue1SmallerThanValue2(number3, value20));
     }
     
+    @Test
+    public void equatesAndHashesNumbersRegardlessOfTheirScale() throws SQLDataException
+    {
+        final BigDecimal value1 = new BigDecimal("1.50");
+        final BigDecimal value2 = new BigDecimal("1.5");
+        final BigDecimal value3 = new BigDecimal("1.51");
+
+        final ValueComparator valueComparator = new NumberTypeValidator("NUMBER").getValueComparator();
+
+        assertTrue(valueComparator.isEqual(value1, value2));
+        assertFalse(valueComparator.isEqual(value1, value3));
+        assertEquals("hash code", valueComparator.hash(value1), valueComparator.hash(value2));
+        assertEquals("comparison result", -1, valueComparator.compare(null, value1));
+    }
+    
     @Test
     public void validatesStringNull() throws SQLDataException
     {